@@ -1045,6 +1045,18 @@ abstract class AbstractStatementBuilder<E extends SimpleSQLBuffer> implements SQ
 			break;
 		}
 
+		case count: {
+			buffer.append("COUNT");
+			buffer.append('(');
+			if (sql.getArguments().isEmpty()) {
+				buffer.append('*');
+			} else {
+				appendSeparated(sql.getArguments(), buffer, ", ");
+			}
+			buffer.append(')');
+			break;
+		}
+
 		case greatest:
 		case least:
 		case min:
@@ -524,6 +524,13 @@ public class SQLFactory {
 		return function(SQLFun.max, expr);
 	}
 
+	/**
+	 * Counts all rows of the result.
+	 */
+	public static SQLExpression count() {
+		return function(SQLFun.count);
+	}
+
 	public static SQLExpression function(SQLFun fun, SQLExpression... arguments) {
 		return function(fun, Arrays.asList(arguments));
 	}
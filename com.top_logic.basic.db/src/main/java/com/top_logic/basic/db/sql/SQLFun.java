@@ -54,6 +54,16 @@ public enum SQLFun {
 	 */
 	least,
 
+	/**
+	 * Function counting the rows in the result set.
+	 * 
+	 * <p>
+	 * Without arguments, all rows are counted (<code>COUNT(*)</code>). With an argument, only rows
+	 * with a non-<code>null</code> value of the argument are counted.
+	 * </p>
+	 */
+	count,
+
 	/**
 	 * Function that returns <code>1</code>, if its argument is
 	 * <code>true</code>, <code>0</code> otherwise.
@@ -153,7 +153,7 @@ public abstract class AbstractConfiguredConnectionPool extends AbstractConfigure
 	/**
 	 * Internal read pool implementation.
 	 */
-	private final ObjectPool readPool;
+	private final GenericObjectPool readPool;
 	
 	/**
 	 * Internal write pool implementation.
@@ -254,6 +254,15 @@ public abstract class AbstractConfiguredConnectionPool extends AbstractConfigure
 		return result;
 	}
 	
+	@Override
+	public int getFreeReadConnections() {
+		int maxActive = readPool.getMaxActive();
+		if (maxActive < 0 || readPool.getWhenExhaustedAction() == GenericObjectPool.WHEN_EXHAUSTED_GROW) {
+			return Integer.MAX_VALUE;
+		}
+		return Math.max(0, maxActive - readPool.getNumActive());
+	}
+
 	@Override
 	public PooledConnection borrowReadConnection() {
 		LocalConnections localConnections = getLocalConnections();
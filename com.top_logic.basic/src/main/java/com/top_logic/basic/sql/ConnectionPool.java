@@ -98,6 +98,22 @@ public interface ConnectionPool {
 	 */
 	void releaseReadConnection(PooledConnection connection);
 
+	/**
+	 * The number of read connections that can currently be borrowed by other threads without
+	 * waiting.
+	 * 
+	 * <p>
+	 * The value is a snapshot that may change concurrently. It allows parallel tasks to limit
+	 * themselves to the capacity of the pool instead of blocking until connections are released.
+	 * </p>
+	 * 
+	 * @return The number of free read connections, {@link Integer#MAX_VALUE}, if the number of
+	 *         read connections is not limited.
+	 */
+	default int getFreeReadConnections() {
+		return Integer.MAX_VALUE;
+	}
+
 	/**
 	 * Releases a connection borrowed through {@link #borrowWriteConnection()}.
 	 * 
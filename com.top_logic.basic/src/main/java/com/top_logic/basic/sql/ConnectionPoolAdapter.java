@@ -59,6 +59,11 @@ public class ConnectionPoolAdapter implements ConnectionPool {
 		_impl.invalidateReadConnection(connection);
 	}
 
+	@Override
+	public int getFreeReadConnections() {
+		return _impl.getFreeReadConnections();
+	}
+
 	@Override
 	public PooledConnection borrowWriteConnection() {
 		return _impl.borrowWriteConnection();
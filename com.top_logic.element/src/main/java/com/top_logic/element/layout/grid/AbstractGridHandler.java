@@ -83,11 +83,8 @@ public abstract class AbstractGridHandler<R> implements GridHandler<R> {
 
 	@Override
 	public void updateTableRow(R gridRow, boolean structureChange) {
-		TableModel tableModel = getTableField().getTableModel();
-		for (Object obj : getTableRows(gridRow)) {
-			int updatedRowId = tableModel.getRowOfObject(obj);
-			tableModel.updateRows(updatedRowId, updatedRowId);
-		}
+		// Re-filters and re-sorts only the changed rows.
+		getTableField().getViewModel().revalidateRowObjects(getTableRows(gridRow));
 	}
 
 	/** Returns the {@link FormGroup} representing the the given {@link TLObject}. */
@@ -34,7 +34,6 @@ import com.top_logic.layout.table.component.TableComponent;
 import com.top_logic.layout.table.model.ColumnConfiguration;
 import com.top_logic.layout.table.model.ColumnConfiguration.DisplayMode;
 import com.top_logic.layout.table.model.EditableRowTableModel;
-import com.top_logic.layout.table.model.ObjectTableModel;
 import com.top_logic.layout.table.model.TableConfiguration;
 import com.top_logic.mig.html.ListModelBuilder;
 import com.top_logic.mig.html.layout.LayoutComponent;
@@ -99,7 +98,7 @@ public class AttributedSearchResultComponent extends TableComponent
     }
 
     @Override
-	protected ObjectTableModel createApplicationModel() {
+	protected EditableRowTableModel createApplicationModel() {
     	AttributedSearchResultSet theModel = getSearchResult();
         if (theModel != null) {
             List theColumns = theModel.getResultColumns();
@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr;
+
+/**
+ * Base class for pipeline stages applying a {@link #getFunction() function} to each element of a
+ * {@link #getBase() base} collection.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public abstract class AbstractFunctionStage extends SearchExpression implements StreamingExpression {
+
+	private SearchExpression _base;
+
+	private SearchExpression _function;
+
+	/**
+	 * Whether {@link #_function} can be evaluated lazily, <code>null</code> if not yet computed.
+	 */
+	private Boolean _lazy;
+
+	/**
+	 * Creates a {@link AbstractFunctionStage}.
+	 *
+	 * @param base
+	 *        See {@link #getBase()}.
+	 * @param function
+	 *        See {@link #getFunction()}.
+	 */
+	protected AbstractFunctionStage(SearchExpression base, SearchExpression function) {
+		_base = base;
+		_function = function;
+	}
+
+	/**
+	 * The input collection.
+	 */
+	public SearchExpression getBase() {
+		return _base;
+	}
+
+	/**
+	 * @see #getBase()
+	 */
+	public void setBase(SearchExpression base) {
+		_base = base;
+	}
+
+	/**
+	 * The {@link Lambda function} that is evaluated for each element of the {@link #getBase()}
+	 * collection by passing it as argument.
+	 */
+	public SearchExpression getFunction() {
+		return _function;
+	}
+
+	/**
+	 * @see #getFunction()
+	 */
+	public void setFunction(SearchExpression function) {
+		_function = function;
+		_lazy = null;
+	}
+
+	/**
+	 * Whether the {@link #getFunction()} can be applied on demand or in parallel.
+	 *
+	 * @see StreamingExpression#isLazy(SearchExpression)
+	 */
+	protected final boolean isLazy() {
+		Boolean result = _lazy;
+		if (result == null) {
+			result = Boolean.valueOf(StreamingExpression.isLazy(_function));
+			_lazy = result;
+		}
+		return result.booleanValue();
+	}
+
+}
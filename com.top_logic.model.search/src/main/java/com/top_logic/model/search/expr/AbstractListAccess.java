@@ -9,6 +9,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import com.top_logic.model.TLType;
+import com.top_logic.model.search.expr.query.Args;
 
 /**
  * Base class for expression accessing list-like values.
@@ -29,6 +30,28 @@ public abstract class AbstractListAccess extends GenericMethod {
 		return argumentTypes.get(0);
 	}
 
+	@Override
+	public Object internalEval(EvalContext definitions, Args args) {
+		SearchExpression[] argExprs = getArguments();
+		if (!(argExprs[0] instanceof StreamingExpression)) {
+			return super.internalEval(definitions, args);
+		}
+
+		Object[] arguments = new Object[argExprs.length];
+		for (int n = 1, cnt = arguments.length; n < cnt; n++) {
+			SearchExpression argExpr = argExprs[n];
+			arguments[n] = argExpr == null ? null : argExpr.eval(definitions);
+		}
+
+		// Only pull as many elements from the base as required to compute the result.
+		return argExprs[0].evalStreamWith(definitions, Args.none(), iterator -> {
+			if (!iterator.hasNext()) {
+				return evalOnEmpty(arguments);
+			}
+			return evalOnIterator(iterator, arguments);
+		});
+	}
+
 	@Override
 	protected Object eval(Object[] arguments, EvalContext definitions) {
 		Object base = arguments[0];
@@ -57,7 +80,8 @@ public abstract class AbstractListAccess extends GenericMethod {
 	 * 
 	 * @param arguments
 	 *        All arguments given in {@link #eval(Object[], EvalContext)}. The first element of the
-	 *        arguments is the "list like" element.
+	 *        arguments is the "list like" element, or <code>null</code>, if it is evaluated from a
+	 *        {@link StreamingExpression}.
 	 */
 	protected abstract Object evalOnEmpty(Object[] arguments);
 
@@ -75,7 +99,8 @@ public abstract class AbstractListAccess extends GenericMethod {
 	 * 
 	 * @param arguments
 	 *        All arguments given in {@link #eval(Object[], EvalContext)}. The first element of the
-	 *        arguments is the "list like" element.
+	 *        arguments is the "list like" element, or <code>null</code>, if it is evaluated from a
+	 *        {@link StreamingExpression}.
 	 */
 	protected abstract Object evalOnIterator(Iterator<?> iterator, Object[] arguments);
 
@@ -53,6 +53,25 @@ public class ArithmeticExpr extends BinaryOperation implements WithFlatMapSemant
 		 * Modulo operation
 		 */
 		MOD;
+
+		/**
+		 * Applies this operation to primitive numbers.
+		 */
+		public double apply(double left, double right) {
+			switch (this) {
+				case ADD:
+					return left + right;
+				case SUB:
+					return left - right;
+				case MUL:
+					return left * right;
+				case DIV:
+					return left / right;
+				case MOD:
+					return left % right;
+			}
+			throw new UnreachableAssertion("No such operation: " + this);
+		}
 	}
 
 	/**
@@ -91,6 +110,9 @@ public class ArithmeticExpr extends BinaryOperation implements WithFlatMapSemant
 
 	@Override
 	public Object evalDirect(EvalContext definitions, Object leftResult, Object rightResult) {
+		if (leftResult instanceof Number left && rightResult instanceof Number right) {
+			return toNumber(_op.apply(left.doubleValue(), right.doubleValue()));
+		}
 		if (_op == Op.ADD) {
 			if (leftResult instanceof ResKey || rightResult instanceof ResKey) {
 				return addResKey(leftResult, rightResult);
@@ -106,22 +128,7 @@ public class ArithmeticExpr extends BinaryOperation implements WithFlatMapSemant
 			return null;
 		}
 
-		double left = asDouble(leftResult);
-		double right = asDouble(rightResult);
-		switch (_op) {
-			case ADD:
-				return left + right;
-			case SUB:
-				return left - right;
-			case MUL:
-				return left * right;
-			case DIV:
-				return left / right;
-			case MOD:
-				return left % right;
-		}
-
-		throw new UnreachableAssertion("No such operation: " + _op);
+		return toNumber(_op.apply(asDouble(leftResult), asDouble(rightResult)));
 	}
 
 	private Object addString(Object left, Object right) {
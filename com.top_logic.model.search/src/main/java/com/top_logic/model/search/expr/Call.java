@@ -5,6 +5,8 @@
  */
 package com.top_logic.model.search.expr;
 
+import java.util.Iterator;
+
 import com.top_logic.model.search.expr.query.Args;
 import com.top_logic.model.search.expr.visit.Visitor;
 
@@ -13,7 +15,7 @@ import com.top_logic.model.search.expr.visit.Visitor;
  * 
  * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
  */
-public class Call extends SearchExpression {
+public class Call extends SearchExpression implements StreamingExpression {
 
 	private SearchExpression _function;
 
@@ -72,6 +74,19 @@ public class Call extends SearchExpression {
 		return fun.evalWith(definitions, Args.cons(argument, args));
 	}
 
+	@Override
+	public Iterator<?> evalIterator(EvalContext definitions, Args args) {
+		SearchExpression function = getFunction();
+		if (function.getClass() == Lambda.class) {
+			// A local variable binding, stream the result of its body.
+			Lambda let = (Lambda) function;
+			Object argument = getArgument().evalWith(definitions, Args.none());
+			definitions.defineVar(let.getKey(), let.getSlot(), argument);
+			return StreamingExpression.iterator(let.getBody(), definitions, args);
+		}
+		return asCollection(evalWith(definitions, args)).iterator();
+	}
+
 	@Override
 	public <R, A> R visit(Visitor<R, A> visitor, A arg) {
 		return visitor.visitCall(this, arg);
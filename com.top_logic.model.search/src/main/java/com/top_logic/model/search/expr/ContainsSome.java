@@ -6,6 +6,7 @@
 package com.top_logic.model.search.expr;
 
 import java.util.Collection;
+import java.util.Iterator;
 
 import com.top_logic.model.search.expr.query.Args;
 import com.top_logic.model.search.expr.visit.Visitor;
@@ -43,9 +44,9 @@ public class ContainsSome extends BinaryOperation implements BooleanExpression {
 	@Override
 	public Object internalEval(EvalContext definitions, Args args) {
 		Collection<?> set = asCollection(getLeft().evalWith(definitions, args));
-		Collection<?> test = asCollection(getRight().evalWith(definitions, args));
-		for (Object element : test) {
-			if (set.contains(element)) {
+		Iterator<?> test = StreamingExpression.iterator(getRight(), definitions, args);
+		while (test.hasNext()) {
+			if (set.contains(test.next())) {
 				return true;
 			}
 		}
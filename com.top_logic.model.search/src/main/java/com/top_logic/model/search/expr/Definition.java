@@ -22,4 +22,26 @@ public interface Definition extends SearchExpressionPart {
 	 */
 	NamedConstant getKey();
 
+	/**
+	 * Index of the {@link EvalContext} slot the bound variable is stored in, {@link #NO_SLOT} if
+	 * no slot has been assigned.
+	 * 
+	 * @see EvalContext#defineVar(NamedConstant, int, Object)
+	 */
+	int getSlot();
+
+	/**
+	 * Assigns the {@link #getSlot() slot}.
+	 * 
+	 * <p>
+	 * A slot is assigned only once, when the expression is resolved for the first time.
+	 * </p>
+	 */
+	void initSlot(int slot);
+
+	/**
+	 * Value of {@link #getSlot()} of a definition that has not been resolved.
+	 */
+	int NO_SLOT = -1;
+
 }
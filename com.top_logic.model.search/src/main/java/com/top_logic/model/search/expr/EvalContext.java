@@ -5,7 +5,9 @@
  */
 package com.top_logic.model.search.expr;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -17,6 +19,7 @@ import com.top_logic.layout.DisplayContext;
 import com.top_logic.layout.Renderer;
 import com.top_logic.layout.basic.ResourceRenderer;
 import com.top_logic.model.TLModel;
+import com.top_logic.model.search.expr.profile.ScriptProfiler;
 import com.top_logic.util.error.TopLogicException;
 
 /**
@@ -28,10 +31,42 @@ public final class EvalContext {
 
 	private final KnowledgeBase _kb;
 
+	private static final NamedConstant[] NO_KEYS = {};
+
+	private static final Object[] NO_VALUES = {};
+
+	/**
+	 * Keys of the local variables stored in {@link #_slotValues}.
+	 * 
+	 * <p>
+	 * A variable {@link Definition} of a resolved expression has a {@link Definition#getSlot()
+	 * slot} assigned. Its value is stored at this index, if the slot is not occupied by another
+	 * variable (e.g. of another script evaluated in the same context).
+	 * </p>
+	 */
+	private NamedConstant[] _slotKeys = NO_KEYS;
+
+	/**
+	 * Values of the local variables identified by {@link #_slotKeys}.
+	 */
+	private Object[] _slotValues = NO_VALUES;
+
 	/**
-	 * Set of local variables bound while evaluating a {@link SearchExpression} model.
+	 * Index of the slot in {@link #_slotKeys} for each key stored there, <code>null</code> if no
+	 * slot is occupied.
+	 * 
+	 * <p>
+	 * Allows looking up slot variables by key only (e.g. in {@link #hasVar(NamedConstant)})
+	 * without scanning all slots.
+	 * </p>
 	 */
-	private final Map<NamedConstant, Object> _vars = new HashMap<>();
+	private Map<NamedConstant, Integer> _slotIndex;
+
+	/**
+	 * Local variables without a slot, or whose slot is occupied, <code>null</code> if there are
+	 * no such variables.
+	 */
+	private Map<NamedConstant, Object> _vars;
 
 	private final TLModel _model;
 
@@ -43,6 +78,8 @@ public final class EvalContext {
 
 	private boolean _interactive;
 
+	private final ScriptProfiler _profiler;
+
 	/**
 	 * Creates a {@link EvalContext}.
 	 * 
@@ -61,6 +98,19 @@ public final class EvalContext {
 		_model = model;
 		_displayContext = displayContext;
 		_out = out;
+		_profiler = ScriptProfiler.current();
+	}
+
+	/**
+	 * The profiler recording the evaluation, or <code>null</code>, if the evaluation is not
+	 * profiled.
+	 * 
+	 * <p>
+	 * The profiler is determined when the context is created.
+	 * </p>
+	 */
+	public ScriptProfiler getProfiler() {
+		return _profiler;
 	}
 
 	/**
@@ -148,7 +198,54 @@ public final class EvalContext {
 	 *        The value of the variable.
 	 */
 	public void defineVar(NamedConstant name, Object value) {
-		_vars.put(name, value);
+		int index = indexOf(name);
+		if (index >= 0) {
+			_slotValues[index] = value;
+		} else {
+			vars().put(name, value);
+		}
+	}
+
+	/**
+	 * Allocates a local variable in the given slot.
+	 * 
+	 * @param name
+	 *        The key of the variable to define.
+	 * @param slot
+	 *        The {@link Definition#getSlot() slot} of the variable's definition.
+	 * @param value
+	 *        The value of the variable.
+	 */
+	public void defineVar(NamedConstant name, int slot, Object value) {
+		if (slot < 0) {
+			defineVar(name, value);
+			return;
+		}
+		if (slot >= _slotKeys.length) {
+			int capacity = Math.max(slot + 1, 2 * _slotKeys.length);
+			_slotKeys = Arrays.copyOf(_slotKeys, capacity);
+			_slotValues = Arrays.copyOf(_slotValues, capacity);
+		}
+		NamedConstant slotKey = _slotKeys[slot];
+		if (slotKey == name) {
+			_slotValues[slot] = value;
+		} else if (slotKey == null) {
+			_slotKeys[slot] = name;
+			_slotValues[slot] = value;
+			Integer before = slotIndex().put(name, Integer.valueOf(slot));
+			if (before != null) {
+				// Move the variable from the slot assigned by another definition.
+				_slotKeys[before.intValue()] = null;
+				_slotValues[before.intValue()] = null;
+			}
+			if (_vars != null) {
+				// Drop a value stored while the slot was occupied.
+				_vars.remove(name);
+			}
+		} else {
+			// Slot is in use by another variable.
+			defineVar(name, value);
+		}
 	}
 
 	/**
@@ -160,7 +257,15 @@ public final class EvalContext {
 	 *         was defined.
 	 */
 	public Object deleteVar(NamedConstant name) {
-		return _vars.remove(name);
+		int index = indexOf(name);
+		if (index >= 0) {
+			Object before = _slotValues[index];
+			_slotKeys[index] = null;
+			_slotValues[index] = null;
+			_slotIndex.remove(name);
+			return before;
+		}
+		return _vars == null ? null : _vars.remove(name);
 	}
 
 	/**
@@ -172,11 +277,29 @@ public final class EvalContext {
 	 */
 	public Object getVar(NamedConstant key) {
 		if (!hasVar(key)) {
-			throw new TopLogicException(I18NConstants.ERROR_ACCES_TO_UNDEFINED_VARIABLE__NAME.fill(key.asString()));
+			throw undefined(key);
 		}
 		return getVarOrNull(key);
 	}
 
+	/**
+	 * Value of the local variable with the given key stored in the given slot.
+	 * 
+	 * @param key
+	 *        The variable ID.
+	 * @param slot
+	 *        The {@link Definition#getSlot() slot} of the variable's definition.
+	 * @return The variable value.
+	 * 
+	 * @see #defineVar(NamedConstant, int, Object)
+	 */
+	public Object getVar(NamedConstant key, int slot) {
+		if (slot >= 0 && slot < _slotKeys.length && _slotKeys[slot] == key) {
+			return _slotValues[slot];
+		}
+		return getVar(key);
+	}
+
 	/**
 	 * Access to the value of a local variable, if it is defined, <code>null</code> otherwise.
 	 * 
@@ -185,14 +308,44 @@ public final class EvalContext {
 	 * @return The variable value.
 	 */
 	public Object getVarOrNull(NamedConstant key) {
-		return _vars.get(key);
+		int index = indexOf(key);
+		if (index >= 0) {
+			return _slotValues[index];
+		}
+		return _vars == null ? null : _vars.get(key);
 	}
 
 	/**
 	 * Whether a variable with the given key is {@link #defineVar(NamedConstant, Object) defined}.
 	 */
 	public boolean hasVar(NamedConstant key) {
-		return _vars.containsKey(key);
+		return indexOf(key) >= 0 || (_vars != null && _vars.containsKey(key));
+	}
+
+	private int indexOf(NamedConstant key) {
+		if (_slotIndex == null) {
+			return -1;
+		}
+		Integer index = _slotIndex.get(key);
+		return index == null ? -1 : index.intValue();
+	}
+
+	private Map<NamedConstant, Integer> slotIndex() {
+		if (_slotIndex == null) {
+			_slotIndex = new IdentityHashMap<>();
+		}
+		return _slotIndex;
+	}
+
+	private Map<NamedConstant, Object> vars() {
+		if (_vars == null) {
+			_vars = new HashMap<>();
+		}
+		return _vars;
+	}
+
+	private static TopLogicException undefined(NamedConstant key) {
+		return new TopLogicException(I18NConstants.ERROR_ACCES_TO_UNDEFINED_VARIABLE__NAME.fill(key.asString()));
 	}
 
 	/**
@@ -215,7 +368,16 @@ public final class EvalContext {
 	@FrameworkInternal
 	public final EvalContext snapshot() {
 		EvalContext result = new EvalContext(_interactive, _kb, _model, null, null);
-		result._vars.putAll(_vars);
+		if (_slotKeys.length > 0) {
+			result._slotKeys = _slotKeys.clone();
+			result._slotValues = _slotValues.clone();
+		}
+		if (_slotIndex != null) {
+			result._slotIndex = new IdentityHashMap<>(_slotIndex);
+		}
+		if (_vars != null) {
+			result._vars = new HashMap<>(_vars);
+		}
 		result._renderer = _renderer;
 		return result;
 	}
@@ -225,18 +387,30 @@ public final class EvalContext {
 		StringBuilder result = new StringBuilder();
 		result.append('{');
 		boolean first = true;
-		for (Entry<NamedConstant, Object> entry : _vars.entrySet()) {
-			if (first) {
-				first = false;
-			} else {
-				result.append("; ");
+		for (int n = 0, cnt = _slotKeys.length; n < cnt; n++) {
+			NamedConstant key = _slotKeys[n];
+			if (key == null) {
+				continue;
+			}
+			first = appendVar(result, first, key, _slotValues[n]);
+		}
+		if (_vars != null) {
+			for (Entry<NamedConstant, Object> entry : _vars.entrySet()) {
+				first = appendVar(result, first, entry.getKey(), entry.getValue());
 			}
-			result.append(entry.getKey().asString());
-			result.append('=');
-			result.append(entry.getValue());
 		}
 		result.append('}');
 		return result.toString();
 	}
 
+	private static boolean appendVar(StringBuilder result, boolean first, NamedConstant key, Object value) {
+		if (!first) {
+			result.append("; ");
+		}
+		result.append(key.asString());
+		result.append('=');
+		result.append(value);
+		return false;
+	}
+
 }
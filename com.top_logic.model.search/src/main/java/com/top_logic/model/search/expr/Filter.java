@@ -7,8 +7,10 @@ package com.top_logic.model.search.expr;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 
+import com.top_logic.basic.col.FilteredIterator;
 import com.top_logic.model.search.expr.query.Args;
 import com.top_logic.model.search.expr.visit.Visitor;
 
@@ -26,10 +28,7 @@ import com.top_logic.model.search.expr.visit.Visitor;
  * 
  * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
  */
-public class Filter extends SearchExpression {
-	private SearchExpression _base;
-
-	private SearchExpression _function;
+public class Filter extends AbstractFunctionStage {
 
 	/**
 	 * Creates a {@link Filter}.
@@ -37,40 +36,10 @@ public class Filter extends SearchExpression {
 	 * @param base
 	 *        See {@link #getBase()}.
 	 * @param function
-	 *        See {@link #getFunction()}.
+	 *        See {@link #getFunction()}, a {@link Boolean} decision function.
 	 */
 	Filter(SearchExpression base, SearchExpression function) {
-		_base = base;
-		_function = function;
-	}
-
-	/**
-	 * The base collection whose elements are filtered.
-	 */
-	public SearchExpression getBase() {
-		return _base;
-	}
-
-	/**
-	 * @see #getBase()
-	 */
-	public void setBase(SearchExpression base) {
-		_base = base;
-	}
-
-	/**
-	 * A {@link Boolean} {@link Lambda function} expression that is evaluated for each element of
-	 * the {@link #getBase()} collection by passing it as argument.
-	 */
-	public SearchExpression getFunction() {
-		return _function;
-	}
-
-	/**
-	 * @see #getFunction()
-	 */
-	public void setFunction(SearchExpression function) {
-		_function = function;
+		super(base, function);
 	}
 
 	@Override
@@ -80,14 +49,46 @@ public class Filter extends SearchExpression {
 
 	@Override
 	public Object internalEval(EvalContext definitions, Args args) {
-		Collection<?> base = asCollection(_base.evalWith(definitions, args));
+		Collection<?> base = asCollection(getBase().evalWith(definitions, args));
+		if (isLazy() && ParallelEvaluation.isApplicable(base, definitions)) {
+			return filterParallel(base, definitions);
+		}
+		SearchExpression function = getFunction();
 		List<Object> result = new ArrayList<>();
 		for (Object value : base) {
-			boolean decision = isTrue(_function.evalWith(definitions, Args.some(value)));
+			boolean decision = isTrue(function.evalWith(definitions, Args.some(value)));
 			if (decision) {
 				result.add(value);
 			}
 		}
 		return result;
 	}
+
+	private List<Object> filterParallel(Collection<?> base, EvalContext definitions) {
+		List<Object> decisions = ParallelEvaluation.apply(getFunction(), base, definitions);
+		List<Object> result = new ArrayList<>();
+		int index = 0;
+		for (Object value : base) {
+			if (isTrue(decisions.get(index++))) {
+				result.add(value);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Iterator<?> evalIterator(EvalContext definitions, Args args) {
+		if (!isLazy()) {
+			return asCollection(evalWith(definitions, args)).iterator();
+		}
+		Iterator<?> base = StreamingExpression.iterator(getBase(), definitions, args);
+		SearchExpression function = getFunction();
+		return new FilteredIterator<Object>(base) {
+			@Override
+			protected boolean test(Object value) {
+				return isTrue(function.evalWith(definitions, Args.some(value)));
+			}
+		};
+	}
+
 }
\ No newline at end of file
@@ -7,7 +7,10 @@ package com.top_logic.model.search.expr;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import com.top_logic.model.search.expr.query.Args;
 import com.top_logic.model.search.expr.visit.Visitor;
@@ -27,7 +30,7 @@ import com.top_logic.model.search.expr.visit.Visitor;
  * 
  * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
  */
-public class Flatten extends UnaryOperation {
+public class Flatten extends UnaryOperation implements StreamingExpression {
 
 	/**
 	 * Creates a {@link Flatten}.
@@ -54,4 +57,31 @@ public class Flatten extends UnaryOperation {
 		return result;
 	}
 
+	@Override
+	public Iterator<?> evalIterator(EvalContext definitions, Args args) {
+		Iterator<?> sets = StreamingExpression.iterator(getArgument(), definitions, args);
+		return new Iterator<>() {
+			private Iterator<?> _current = Collections.emptyIterator();
+
+			@Override
+			public boolean hasNext() {
+				while (!_current.hasNext()) {
+					if (!sets.hasNext()) {
+						return false;
+					}
+					_current = asCollection(sets.next()).iterator();
+				}
+				return true;
+			}
+
+			@Override
+			public Object next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return _current.next();
+			}
+		};
+	}
+
 }
\ No newline at end of file
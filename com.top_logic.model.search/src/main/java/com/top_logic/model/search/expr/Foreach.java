@@ -7,8 +7,10 @@ package com.top_logic.model.search.expr;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 
+import com.top_logic.basic.shared.collection.map.MappedIterator;
 import com.top_logic.model.search.expr.query.Args;
 import com.top_logic.model.search.expr.visit.Visitor;
 
@@ -23,11 +25,7 @@ import com.top_logic.model.search.expr.visit.Visitor;
  * 
  * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
  */
-public class Foreach extends SearchExpression {
-
-	private SearchExpression _base;
-
-	private SearchExpression _function;
+public class Foreach extends AbstractFunctionStage {
 
 	/**
 	 * Creates a {@link Foreach}.
@@ -38,36 +36,7 @@ public class Foreach extends SearchExpression {
 	 *        See {@link #getFunction()}.
 	 */
 	Foreach(SearchExpression base, SearchExpression function) {
-		_base = base;
-		_function = function;
-	}
-
-	/**
-	 * The input collection.
-	 */
-	public SearchExpression getBase() {
-		return _base;
-	}
-
-	/**
-	 * @see #getBase()
-	 */
-	public void setBase(SearchExpression base) {
-		_base = base;
-	}
-
-	/**
-	 * The function to apply to each element of {@link #getBase()}.
-	 */
-	public SearchExpression getFunction() {
-		return _function;
-	}
-
-	/**
-	 * @see #getFunction()
-	 */
-	public void setFunction(SearchExpression function) {
-		_function = function;
+		super(base, function);
 	}
 
 	@Override
@@ -78,6 +47,9 @@ public class Foreach extends SearchExpression {
 	@Override
 	public Object internalEval(EvalContext definitions, Args args) {
 		Collection<?> base = asCollection(getBase().evalWith(definitions, args));
+		if (isLazy() && ParallelEvaluation.isApplicable(base, definitions)) {
+			return ParallelEvaluation.apply(getFunction(), base, definitions);
+		}
 		List<Object> result = new ArrayList<>(base.size());
 		for (Object element : base) {
 			result.add(getFunction().evalWith(definitions, Args.some(element)));
@@ -85,4 +57,19 @@ public class Foreach extends SearchExpression {
 		return result;
 	}
 
+	@Override
+	public Iterator<?> evalIterator(EvalContext definitions, Args args) {
+		if (!isLazy()) {
+			return asCollection(evalWith(definitions, args)).iterator();
+		}
+		Iterator<?> base = StreamingExpression.iterator(getBase(), definitions, args);
+		SearchExpression function = getFunction();
+		return new MappedIterator<Object, Object>(base) {
+			@Override
+			protected Object map(Object element) {
+				return function.evalWith(definitions, Args.some(element));
+			}
+		};
+	}
+
 }
\ No newline at end of file
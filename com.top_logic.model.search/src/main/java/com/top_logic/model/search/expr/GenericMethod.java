@@ -147,6 +147,25 @@ public abstract class GenericMethod extends SearchExpression {
 	 */
 	protected abstract Object eval(Object[] arguments, EvalContext definitions);
 
+	/**
+	 * Invokes this method with already evaluated arguments.
+	 * 
+	 * <p>
+	 * Entry point for compiled code that evaluates the {@link #getArguments() argument
+	 * expressions} itself.
+	 * </p>
+	 * 
+	 * @param arguments
+	 *        The values of the {@link #getArguments() argument expressions}.
+	 * @param definitions
+	 *        See {@link SearchExpression#evalWith(EvalContext, Args)}.
+	 * @return The result of the invocation.
+	 */
+	@FrameworkInternal
+	public final Object invoke(Object[] arguments, EvalContext definitions) {
+		return eval(arguments, definitions);
+	}
+
 	/**
 	 * Evaluates this method at compile time.
 	 * 
@@ -38,6 +38,10 @@ public class IsEmpty extends UnaryOperation implements BooleanExpression {
 
 	@Override
 	public Object internalEval(EvalContext definitions, Args args) {
+		SearchExpression argument = getArgument();
+		if (argument instanceof StreamingExpression) {
+			return argument.evalStreamWith(definitions, args, iterator -> Boolean.valueOf(!iterator.hasNext()));
+		}
 		Object value = getArgument().evalWith(definitions, args);
 		return compute(value);
 	}
@@ -6,12 +6,19 @@
 package com.top_logic.model.search.expr;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import com.top_logic.basic.col.CloseableIterator;
+import com.top_logic.knowledge.search.BranchParam;
+import com.top_logic.knowledge.search.CompiledQuery;
+import com.top_logic.knowledge.search.ConcatenatedCompiledQuery;
 import com.top_logic.knowledge.search.Expression;
 import com.top_logic.knowledge.search.ExpressionFactory;
+import com.top_logic.knowledge.search.Order;
+import com.top_logic.knowledge.search.OrderSpec;
+import com.top_logic.knowledge.search.RangeParam;
+import com.top_logic.knowledge.search.RevisionQuery;
+import com.top_logic.knowledge.search.RevisionQueryArguments;
 import com.top_logic.knowledge.search.SetExpression;
 import com.top_logic.knowledge.service.KnowledgeBase;
 import com.top_logic.model.TLClass;
@@ -28,21 +35,42 @@ import com.top_logic.model.search.expr.visit.Visitor;
  * </p>
  * 
  * @see SearchExpressionFactory#query(TLClass, SetExpression, List)
+ * @see SearchExpressionFactory#query(TLClass, SetExpression, List, List, int, int)
  * 
  * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
  */
 public class KBQuery extends SearchExpression {
 
+	/**
+	 * Value of {@link #getStopRow()} for a query without result limit.
+	 */
+	public static final int NO_LIMIT = -1;
+
 	private final TLClass _classType;
 
 	private final SetExpression _query;
 
 	private final List<CompiledValue> _dynamic;
 
-	KBQuery(TLClass classType, SetExpression query, List<CompiledValue> dynamicFilters) {
+	private final List<OrderSpec> _order;
+
+	private final int _startRow;
+
+	private final int _stopRow;
+
+	/**
+	 * The compiled query for {@link #count(EvalContext)}, if this query has no dynamic filters.
+	 */
+	private volatile CompiledCount _countQuery;
+
+	KBQuery(TLClass classType, SetExpression query, List<CompiledValue> dynamicFilters, List<OrderSpec> order,
+			int startRow, int stopRow) {
 		_classType = classType;
 		_query = query;
 		_dynamic = dynamicFilters;
+		_order = order;
+		_startRow = startRow;
+		_stopRow = stopRow;
 	}
 
 	/**
@@ -67,40 +95,95 @@ public class KBQuery extends SearchExpression {
 		return _dynamic;
 	}
 
+	/**
+	 * The sort criteria of the result, most significant first.
+	 * 
+	 * <p>
+	 * If empty, the order of the result is undefined.
+	 * </p>
+	 */
+	public List<OrderSpec> getOrder() {
+		return _order;
+	}
+
+	/**
+	 * Index of the first result (inclusive) to retrieve in the {@link #getOrder() order} of the
+	 * result.
+	 */
+	public int getStartRow() {
+		return _startRow;
+	}
+
+	/**
+	 * Index of the last result (exclusive) to retrieve, or {@link #NO_LIMIT}.
+	 */
+	public int getStopRow() {
+		return _stopRow;
+	}
+
+	/**
+	 * Whether only a part of the results is retrieved.
+	 * 
+	 * @see #getStartRow()
+	 * @see #getStopRow()
+	 */
+	public boolean hasRange() {
+		return _startRow > 0 || _stopRow != NO_LIMIT;
+	}
+
 	@Override
 	public Object internalEval(EvalContext definitions, Args args) {
 		KnowledgeBase kb = definitions.getKnowledgeBase();
 
-		List<CompiledValue> deferredFilterParts = Collections.emptyList();
+		List<CompiledValue> deferredFilterParts = new ArrayList<>();
+		SetExpression query = buildQuery(definitions, deferredFilterParts);
 
-		SetExpression query = getQuery();
-		for (CompiledValue part : _dynamic) {
-			try {
-				Expression expression = part.buildExpression(definitions);
-				query = ExpressionFactory.filter(query, expression);
-			} catch (CompiledValue.IncompatibleTypes ex) {
-				// Could not be resolved to valid expression. Store for later in memory evaluation.
-				if (deferredFilterParts.size() == 0) {
-					deferredFilterParts = new ArrayList<>();
-				}
-				deferredFilterParts.add(part);
-			}
+		int limit = _stopRow == NO_LIMIT ? Integer.MAX_VALUE : _stopRow - _startRow;
+		if (limit <= 0) {
+			return new ArrayList<>();
+		}
+
+		// A range can only be applied in the database, if all filters are evaluated there.
+		RangeParam range = deferredFilterParts.isEmpty() ? rangeParam() : RangeParam.complete;
+		CompiledQuery<TLObject> compiledQuery = kb.compileQuery(revisionQuery(query, range));
+		if (range == RangeParam.range && compiledQuery instanceof ConcatenatedCompiledQuery) {
+			// A polymorphic query is executed separately for each table. An offset would be applied to
+			// each partial result instead of the combined result. Only the limit can be applied in the
+			// database, the first results are skipped in memory.
+			range = RangeParam.head;
+			compiledQuery = kb.compileQuery(revisionQuery(query, range));
+		}
+		int skip = range == RangeParam.range ? 0 : _startRow;
+
+		RevisionQueryArguments queryArguments = ExpressionFactory.revisionArgs();
+		switch (range) {
+			case range:
+				queryArguments.setStartRow(_startRow);
+				//$FALL-THROUGH$
+			case head:
+				queryArguments.setStopRow(_stopRow);
+				break;
+			default:
+				break;
 		}
 
 		// The result is not filtered for security: access to the individual objects' data is secured
 		// when their attributes are accessed, and the final result of a script is secured by the
 		// caller. The deferred filter parts below are the query's own (non-security) predicates.
 		List<TLObject> result = new ArrayList<>();
-		try (CloseableIterator<TLObject> dbResult =
-			kb.searchStream(ExpressionFactory.queryResolved(query, TLObject.class))) {
+		try (CloseableIterator<TLObject> dbResult = compiledQuery.searchStream(queryArguments)) {
 			dbResult:
-			while (dbResult.hasNext()) {
+			while (result.size() < limit && dbResult.hasNext()) {
 				TLObject match = dbResult.next();
 				for (CompiledValue deferred : deferredFilterParts) {
 					if (!SearchExpression.asBoolean(deferred.eval(match, definitions))) {
 						continue dbResult;
 					}
 				}
+				if (skip > 0) {
+					skip--;
+					continue;
+				}
 				result.add(match);
 			}
 		}
@@ -108,9 +191,102 @@ public class KBQuery extends SearchExpression {
 		return result;
 	}
 
+	/**
+	 * Computes the number of results of this query.
+	 * 
+	 * <p>
+	 * If all filters of this query can be evaluated in the database, the results are counted in
+	 * the database without loading them.
+	 * </p>
+	 */
+	public int count(EvalContext definitions) {
+		List<CompiledValue> deferredFilterParts = new ArrayList<>();
+		SetExpression query = buildQuery(definitions, deferredFilterParts);
+		if (!deferredFilterParts.isEmpty() || hasRange()) {
+			return ((List<?>) internalEval(definitions, Args.none())).size();
+		}
+
+		KnowledgeBase kb = definitions.getKnowledgeBase();
+		CompiledQuery<TLObject> compiledQuery;
+		if (_dynamic.isEmpty()) {
+			// The query does not depend on the evaluation context, the compiled query can be reused.
+			CompiledCount countQuery = _countQuery;
+			if (countQuery == null || countQuery._kb != kb) {
+				countQuery = new CompiledCount(kb, kb.compileQuery(ExpressionFactory.queryResolved(query, TLObject.class)));
+				_countQuery = countQuery;
+			}
+			compiledQuery = countQuery._query;
+		} else {
+			compiledQuery = kb.compileQuery(ExpressionFactory.queryResolved(query, TLObject.class));
+		}
+		return compiledQuery.count(ExpressionFactory.revisionArgs());
+	}
+
+	private RevisionQuery<TLObject> revisionQuery(SetExpression query, RangeParam range) {
+		return ExpressionFactory.queryResolved(BranchParam.single, range, ExpressionFactory.NO_QUERY_PARAMETERS, query,
+			order(), TLObject.class);
+	}
+
+	/**
+	 * Creates the database query.
+	 * 
+	 * @param deferredFilterParts
+	 *        Output parameter receiving the filters that could not be translated to the database
+	 *        query and must be evaluated in memory on the query result.
+	 */
+	private SetExpression buildQuery(EvalContext definitions, List<CompiledValue> deferredFilterParts) {
+		SetExpression query = getQuery();
+		for (CompiledValue part : _dynamic) {
+			try {
+				Expression expression = part.buildExpression(definitions);
+				query = ExpressionFactory.filter(query, expression);
+			} catch (CompiledValue.IncompatibleTypes ex) {
+				// Could not be resolved to valid expression. Store for later in memory evaluation.
+				deferredFilterParts.add(part);
+			}
+		}
+		return query;
+	}
+
+	private RangeParam rangeParam() {
+		if (_stopRow == NO_LIMIT) {
+			// An offset without limit is not supported by the database query, the first results are
+			// skipped in memory.
+			return RangeParam.complete;
+		}
+		return _startRow > 0 ? RangeParam.range : RangeParam.head;
+	}
+
+	private Order order() {
+		switch (_order.size()) {
+			case 0:
+				return ExpressionFactory.NO_ORDER;
+			case 1:
+				return _order.get(0);
+			default:
+				return ExpressionFactory.orders(_order);
+		}
+	}
+
 	@Override
 	public <R, A> R visit(Visitor<R, A> visitor, A arg) {
 		return visitor.visitKBQuery(this, arg);
 	}
 
+	/**
+	 * A count query compiled for a certain {@link KnowledgeBase}.
+	 */
+	private static final class CompiledCount {
+
+		final KnowledgeBase _kb;
+
+		final CompiledQuery<TLObject> _query;
+
+		CompiledCount(KnowledgeBase kb, CompiledQuery<TLObject> query) {
+			_kb = kb;
+			_query = query;
+		}
+
+	}
+
 }
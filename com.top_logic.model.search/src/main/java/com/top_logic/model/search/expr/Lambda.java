@@ -32,6 +32,8 @@ public class Lambda extends SearchExpression implements Definition {
 
 	private final NamedConstant _key;
 
+	private int _slot = NO_SLOT;
+
 	private Object _name;
 
 	private SearchExpression _body;
@@ -85,6 +87,16 @@ public class Lambda extends SearchExpression implements Definition {
 		return _key;
 	}
 
+	@Override
+	public int getSlot() {
+		return _slot;
+	}
+
+	@Override
+	public void initSlot(int slot) {
+		_slot = slot;
+	}
+
 	@Override
 	public <R, A> R visit(Visitor<R, A> visitor, A arg) {
 		return visitor.visitLambda(this, arg);
@@ -107,12 +119,12 @@ public class Lambda extends SearchExpression implements Definition {
 					// Copy to avoid race conditions.
 					EvalContext execSnapshot = contextSnapshot.snapshot();
 
-					execSnapshot.defineVar(_key, outerArgs.value());
+					execSnapshot.defineVar(_key, _slot, outerArgs.value());
 					return _body.evalWith(execSnapshot, outerArgs.next());
 				}
 			};
 		}
-		innerDefinitions.defineVar(_key, innerArgs.value());
+		innerDefinitions.defineVar(_key, _slot, innerArgs.value());
 		return _body.evalWith(innerDefinitions, innerArgs.next());
 	}
 
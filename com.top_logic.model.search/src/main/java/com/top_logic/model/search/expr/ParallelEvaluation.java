@@ -0,0 +1,190 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+
+import com.top_logic.base.context.TLSubSessionContext;
+import com.top_logic.basic.SubSessionContext;
+import com.top_logic.basic.UnreachableAssertion;
+import com.top_logic.basic.thread.ThreadContext;
+import com.top_logic.basic.thread.ThreadContextManager;
+import com.top_logic.basic.util.Computation;
+import com.top_logic.knowledge.service.HistoryManager;
+import com.top_logic.knowledge.service.KBUtils;
+import com.top_logic.model.search.expr.config.SearchBuilder;
+import com.top_logic.model.search.expr.query.Args;
+
+/**
+ * Evaluation of a function on all elements of a large collection using multiple threads.
+ *
+ * <p>
+ * The collection is split into chunks that are evaluated in the
+ * {@link SearchBuilder#getParallelPool() parallel pool}. Each chunk is evaluated in its own copy
+ * of the {@link EvalContext} and in its own {@link SubSessionContext}. The worker context is
+ * initialized with the user, locale, time zone and session revision of the calling thread. The
+ * caller's {@link SubSessionContext} itself is not thread-safe and must not be shared with the
+ * workers.
+ * </p>
+ *
+ * <p>
+ * Parallel evaluation is opt-in (see {@link SearchBuilder.Config#getParallelThreshold()}) and is
+ * only used, if the function has no side effects, no transaction is active (uncommitted changes
+ * are only visible to the thread that made them), and the script does not render output.
+ * </p>
+ *
+ * @see Foreach
+ * @see Filter
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+final class ParallelEvaluation {
+
+	/**
+	 * Number of chunks per worker thread, to balance the load if the evaluation time differs
+	 * between elements.
+	 */
+	private static final int CHUNKS_PER_WORKER = 4;
+
+	private ParallelEvaluation() {
+		// Utility class.
+	}
+
+	/**
+	 * Whether a side effect free function should be evaluated in parallel on the given
+	 * collection.
+	 */
+	static boolean isApplicable(Collection<?> base, EvalContext definitions) {
+		if (!SearchBuilder.Module.INSTANCE.isActive()) {
+			return false;
+		}
+		SearchBuilder<?> builder = SearchBuilder.getInstance();
+		int threshold = builder.getParallelThreshold();
+		if (threshold <= 0 || base.size() < threshold) {
+			return false;
+		}
+		if (ForkJoinTask.inForkJoinPool()) {
+			// Nested collection operations within a parallel evaluation are evaluated sequentially,
+			// the outer operation already occupies all workers.
+			return false;
+		}
+		if (definitions.getDisplayContext() != null || definitions.getOut() != null) {
+			// Rendering is bound to the request thread.
+			return false;
+		}
+		if (KBUtils.getCurrentContext(definitions.getKnowledgeBase()) != null) {
+			// Local changes of a transaction are not visible in other threads.
+			return false;
+		}
+		return ThreadContextManager.getSubSession() != null;
+	}
+
+	/**
+	 * Evaluates the given function on all elements of the given collection in parallel.
+	 *
+	 * @param function
+	 *        The function to apply, must not have side effects.
+	 * @param base
+	 *        The elements to pass to the function.
+	 * @param definitions
+	 *        The context of the caller.
+	 * @return The function results in the order of the given elements.
+	 *
+	 * @see #isApplicable(Collection, EvalContext)
+	 */
+	static List<Object> apply(SearchExpression function, Collection<?> base, EvalContext definitions) {
+		SearchBuilder<?> builder = SearchBuilder.getInstance();
+		ForkJoinPool pool = builder.getParallelPool();
+		SubSessionContext subSession = ThreadContextManager.getSubSession();
+		HistoryManager historyManager = definitions.getKnowledgeBase().getHistoryManager();
+
+		List<?> elements = base instanceof List<?> ? (List<?>) base : new ArrayList<>(base);
+		int size = elements.size();
+		int chunkCnt = Math.min(size, pool.getParallelism() * CHUNKS_PER_WORKER);
+
+		List<Callable<Object[]>> chunks = new ArrayList<>(chunkCnt);
+		for (int n = 0; n < chunkCnt; n++) {
+			int start = (int) ((long) size * n / chunkCnt);
+			int stop = (int) ((long) size * (n + 1) / chunkCnt);
+			List<?> chunk = elements.subList(start, stop);
+
+			// Create the local contexts in the calling thread, the caller's contexts are not
+			// thread-safe.
+			EvalContext localDefinitions = definitions.snapshot();
+			SubSessionContext localSubSession = workerContext(subSession, historyManager);
+			Computation<Object[]> job = () -> evalChunk(function, chunk, localDefinitions);
+			chunks.add(() -> ThreadContextManager.inContext(localSubSession, job));
+		}
+
+		builder.countParallelEvaluation();
+		List<Object> result = new ArrayList<>(size);
+		for (Future<Object[]> future : pool.invokeAll(chunks)) {
+			for (Object value : getResult(future)) {
+				result.add(value);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a {@link SubSessionContext} for a worker that acts on behalf of the same user as the
+	 * given context of the calling thread.
+	 */
+	private static SubSessionContext workerContext(SubSessionContext subSession, HistoryManager historyManager) {
+		ThreadContext result = ThreadContextManager.getManager().newSubSessionContext();
+		result.setSessionContext(subSession.getSessionContext());
+		if (subSession instanceof TLSubSessionContext && result instanceof TLSubSessionContext) {
+			TLSubSessionContext source = (TLSubSessionContext) subSession;
+			TLSubSessionContext copy = (TLSubSessionContext) result;
+			copy.setPerson(source.getPerson());
+			copy.setSessionBranch(source.getSessionBranch(historyManager));
+			copy.updateSessionRevision(historyManager, source.getSessionRevision(historyManager));
+			if (source.getPerson() == null) {
+				copy.setContextId(source.getContextId());
+			}
+		} else {
+			result.setContextId(subSession.getContextId());
+		}
+		result.setCurrentLocale(subSession.getCurrentLocale());
+		result.setCurrentTimeZone(subSession.getCurrentTimeZone());
+		return result;
+	}
+
+	private static Object[] evalChunk(SearchExpression function, List<?> chunk, EvalContext definitions) {
+		Object[] result = new Object[chunk.size()];
+		int index = 0;
+		for (Object element : chunk) {
+			result[index++] = function.evalWith(definitions, Args.some(element));
+		}
+		return result;
+	}
+
+	private static Object[] getResult(Future<Object[]> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting for parallel evaluation.", ex);
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new UnreachableAssertion(ex);
+		}
+	}
+
+}
@@ -16,6 +16,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -25,6 +26,7 @@ import java.util.Map.Entry;
 import java.util.RandomAccess;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import com.top_logic.basic.Logger;
@@ -51,6 +53,7 @@ import com.top_logic.model.TLStructuredTypePart;
 import com.top_logic.model.TLType;
 import com.top_logic.model.search.expr.config.operations.MethodBuilder;
 import com.top_logic.model.search.expr.interpreter.SearchExpressionPart;
+import com.top_logic.model.search.expr.profile.ScriptProfiler;
 import com.top_logic.model.search.expr.query.Args;
 import com.top_logic.model.search.expr.visit.ToString;
 import com.top_logic.model.search.expr.visit.Visitor;
@@ -120,6 +123,25 @@ public abstract class SearchExpression extends LazyTypedAnnotatable implements S
 	 * @return The evaluation result.
 	 */
 	public final Object evalWith(EvalContext context, Args args) {
+		ScriptProfiler profiler = context.getProfiler();
+		if (profiler != null) {
+			return evalProfiled(profiler, context, args);
+		}
+		return evalDirect(context, args);
+	}
+
+	private Object evalProfiled(ScriptProfiler profiler, EvalContext context, Args args) {
+		long start = profiler.enter(this);
+		Object result = null;
+		try {
+			result = evalDirect(context, args);
+			return result;
+		} finally {
+			profiler.exit(start, result);
+		}
+	}
+
+	private Object evalDirect(EvalContext context, Args args) {
 		try {
 			return internalCheckValue(internalEval(context, args));
 		} catch (ScriptAbort ex) {
@@ -132,6 +154,50 @@ public abstract class SearchExpression extends LazyTypedAnnotatable implements S
 		}
 	}
 
+	/**
+	 * Evaluates this expression and passes the elements of its result to the given consumer.
+	 * 
+	 * <p>
+	 * For a {@link StreamingExpression}, no result collection is built. Instead, the elements are
+	 * computed on demand, while the consumer pulls them from the given {@link Iterator}. As with
+	 * {@link #evalWith(EvalContext, Args)}, the evaluation is recorded by the
+	 * {@link EvalContext#getProfiler() profiler} and failures are reported as evaluation failure of
+	 * this expression. Since elements are computed while consuming, this also holds for the work
+	 * done by the consumer.
+	 * </p>
+	 * 
+	 * @param context
+	 *        The context information for the search.
+	 * @param args
+	 *        Function arguments.
+	 * @param consumer
+	 *        Function pulling the elements of the result. The iterator must not be used after the
+	 *        consumer has returned.
+	 * @return The result of the consumer.
+	 */
+	public final <T> T evalStreamWith(EvalContext context, Args args, Function<Iterator<?>, T> consumer) {
+		if (!(this instanceof StreamingExpression streaming)) {
+			return consumer.apply(asCollection(evalWith(context, args)).iterator());
+		}
+
+		ScriptProfiler profiler = context.getProfiler();
+		long start = profiler == null ? 0 : profiler.enter(this);
+		try {
+			return consumer.apply(streaming.evalIterator(context, args));
+		} catch (ScriptAbort ex) {
+			throw ex;
+		} catch (I18NRuntimeException ex) {
+			throw ex;
+		} catch (Error | Exception ex) {
+			throw new TopLogicException(
+				I18NConstants.ERROR_EVALUATION_FAILED__EXPR_ARGS_DEFS.fill(this, args, context), ex);
+		} finally {
+			if (profiler != null) {
+				profiler.exit(start, null);
+			}
+		}
+	}
+
 	/**
 	 * Checks the given value to adhere to TL-Script number semantics.
 	 */
@@ -6,10 +6,12 @@
 package com.top_logic.model.search.expr;
 
 
+import java.util.Collections;
 import java.util.List;
 
 import com.top_logic.basic.treexf.TreeMaterializer.NoFactory;
 import com.top_logic.knowledge.search.Expression;
+import com.top_logic.knowledge.search.OrderSpec;
 import com.top_logic.knowledge.search.SetExpression;
 import com.top_logic.mig.html.HTMLConstants;
 import com.top_logic.model.TLAssociationEnd;
@@ -81,7 +83,30 @@ public class SearchExpressionFactory {
 	 *        during compile time to use at execution time.
 	 */
 	public static KBQuery query(TLClass classType, SetExpression query, List<CompiledValue> compiled) {
-		return new KBQuery(classType, query, compiled);
+		return query(classType, query, compiled, Collections.emptyList(), 0, KBQuery.NO_LIMIT);
+	}
+
+	/**
+	 * Creates a pre-compiled expression that evaluates the given knowledge base query and retrieves
+	 * an ordered range of the result.
+	 * 
+	 * @param classType
+	 *        The type of items retrieved.
+	 * @param query
+	 *        The knowledge base query to execute.
+	 * @param compiled
+	 *        Factories to create an additional filter {@link Expression} that could not be created
+	 *        during compile time to use at execution time.
+	 * @param order
+	 *        See {@link KBQuery#getOrder()}.
+	 * @param startRow
+	 *        See {@link KBQuery#getStartRow()}.
+	 * @param stopRow
+	 *        See {@link KBQuery#getStopRow()}.
+	 */
+	public static KBQuery query(TLClass classType, SetExpression query, List<CompiledValue> compiled,
+			List<OrderSpec> order, int startRow, int stopRow) {
+		return new KBQuery(classType, query, compiled, order, startRow, stopRow);
 	}
 
 	/**
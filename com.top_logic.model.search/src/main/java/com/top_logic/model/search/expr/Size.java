@@ -6,6 +6,7 @@
 package com.top_logic.model.search.expr;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 
 import com.top_logic.model.search.expr.query.Args;
@@ -28,7 +29,25 @@ public class Size extends UnaryOperation {
 
 	@Override
 	public Object internalEval(EvalContext definitions, Args args) {
-		return compute(getArgument().evalWith(definitions, args));
+		SearchExpression argument = getArgument();
+		if (argument instanceof KBQuery) {
+			// Count in the database without loading the results.
+			return toNumber(((KBQuery) argument).count(definitions));
+		}
+		if (argument instanceof StreamingExpression) {
+			// Count without building the result collection.
+			return toNumber(argument.evalStreamWith(definitions, args, Size::count).intValue());
+		}
+		return compute(argument.evalWith(definitions, args));
+	}
+
+	private static Integer count(Iterator<?> iterator) {
+		int size = 0;
+		while (iterator.hasNext()) {
+			iterator.next();
+			size++;
+		}
+		return Integer.valueOf(size);
 	}
 
 	/**
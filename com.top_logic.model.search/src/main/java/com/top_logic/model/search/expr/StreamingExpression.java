@@ -0,0 +1,77 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.top_logic.model.search.expr.compile.transform.HasSideEffects;
+import com.top_logic.model.search.expr.query.Args;
+
+/**
+ * {@link SearchExpression} whose collection result can be consumed lazily.
+ * 
+ * <p>
+ * Operations that only inspect a prefix of a collection (e.g. <code>firstElement()</code>,
+ * <code>isEmpty()</code>, <code>subList(...)</code>) pull the elements of a streaming argument
+ * through an {@link Iterator}. Pipeline stages like {@link Filter}, {@link Foreach} and
+ * {@link Flatten} then compute their elements on demand instead of materializing an intermediate
+ * list for each step.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public interface StreamingExpression {
+
+	/**
+	 * Evaluates the expression and delivers the elements of its result lazily.
+	 * 
+	 * <p>
+	 * The result contains the same elements as the collection returned from
+	 * {@link SearchExpression#evalWith(EvalContext, Args)}. The returned iterator must be consumed
+	 * before the given {@link EvalContext} is used for other evaluations.
+	 * </p>
+	 */
+	Iterator<?> evalIterator(EvalContext definitions, Args args);
+
+	/**
+	 * The elements of the result of the given expression.
+	 * 
+	 * @see #evalIterator(EvalContext, Args)
+	 */
+	static Iterator<?> iterator(SearchExpression expr, EvalContext definitions, Args args) {
+		if (expr instanceof StreamingExpression) {
+			return ((StreamingExpression) expr).evalIterator(definitions, args);
+		}
+		return SearchExpression.asCollection(expr.evalWith(definitions, args)).iterator();
+	}
+
+	/**
+	 * Collects the remaining elements of the given iterator.
+	 */
+	static List<Object> toList(Iterator<?> iterator) {
+		List<Object> result = new ArrayList<>();
+		while (iterator.hasNext()) {
+			result.add(iterator.next());
+		}
+		return result;
+	}
+
+	/**
+	 * Whether the given function can be evaluated on demand.
+	 * 
+	 * <p>
+	 * A function with side effects must be applied to all elements, even if only a prefix of the
+	 * result is requested. The same holds for a function that applies another function not known
+	 * before evaluation.
+	 * </p>
+	 */
+	static boolean isLazy(SearchExpression function) {
+		return !function.visit(HasSideEffects.WITH_UNKNOWN_FUNCTIONS, null).booleanValue();
+	}
+
+}
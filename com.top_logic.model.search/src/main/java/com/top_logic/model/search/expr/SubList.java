@@ -5,6 +5,7 @@
  */
 package com.top_logic.model.search.expr;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.top_logic.basic.config.ConfigurationException;
@@ -13,6 +14,7 @@ import com.top_logic.model.TLType;
 import com.top_logic.model.search.expr.config.dom.Expr;
 import com.top_logic.model.search.expr.config.operations.AbstractSimpleMethodBuilder;
 import com.top_logic.model.search.expr.config.operations.MethodBuilder;
+import com.top_logic.model.search.expr.query.Args;
 
 /**
  * Part of a list from a start index (inclusive) to a stop index (exclusive).
@@ -38,6 +40,31 @@ public class SubList extends GenericMethod {
 		return argumentTypes.get(0);
 	}
 
+	@Override
+	public Object internalEval(EvalContext definitions, Args args) {
+		SearchExpression[] argExprs = getArguments();
+		if (argExprs.length == 3 && argExprs[0] instanceof StreamingExpression
+			&& argExprs[1] instanceof Literal && argExprs[2] instanceof Literal) {
+			int beginIndex = asInt(((Literal) argExprs[1]).getValue());
+			int endIndex = asInt(((Literal) argExprs[2]).getValue());
+
+			// Negative indices require the size of the list, fall back to full evaluation.
+			if (beginIndex >= 0 && endIndex > 0 && beginIndex <= endIndex) {
+				return argExprs[0].evalStreamWith(definitions, Args.none(), iterator -> {
+					List<Object> result = new ArrayList<>(endIndex - beginIndex);
+					for (int n = 0; n < endIndex && iterator.hasNext(); n++) {
+						Object element = iterator.next();
+						if (n >= beginIndex) {
+							result.add(element);
+						}
+					}
+					return result;
+				});
+			}
+		}
+		return super.internalEval(definitions, args);
+	}
+
 	@Override
 	protected Object eval(Object[] arguments, EvalContext definitions) {
 		List<?> list = asList(arguments[0]);
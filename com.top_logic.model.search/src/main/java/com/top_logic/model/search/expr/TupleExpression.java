@@ -35,6 +35,8 @@ public class TupleExpression extends SearchExpression {
 
 		private final NamedConstant _key;
 
+		private int _slot = NO_SLOT;
+
 		private Object _name;
 
 		private SearchExpression _expr;
@@ -77,6 +79,16 @@ public class TupleExpression extends SearchExpression {
 			return _key;
 		}
 
+		@Override
+		public int getSlot() {
+			return _slot;
+		}
+
+		@Override
+		public void initSlot(int slot) {
+			_slot = slot;
+		}
+
 		/**
 		 * The sub-search deriving potential values for this coordinate.
 		 */
@@ -123,7 +135,7 @@ public class TupleExpression extends SearchExpression {
 		if (index == _coords.length) {
 			TLObject tuple = TransientModelFactory.createTransientObject(resultType);
 			for (Coord coord : _coords) {
-				tuple.tUpdateByName(coord.getName().toString(), definitions.getVar(coord.getKey()));
+				tuple.tUpdateByName(coord.getName().toString(), definitions.getVar(coord.getKey(), coord.getSlot()));
 			}
 			buffer.add(tuple);
 		} else {
@@ -146,7 +158,7 @@ public class TupleExpression extends SearchExpression {
 			Object[] values, int index,
 			Object coordValue) {
 		values[index] = coordValue;
-		definitions.defineVar(coord.getKey(), coordValue);
+		definitions.defineVar(coord.getKey(), coord.getSlot(), coordValue);
 		addResults(resultType, buffer, definitions, values, index + 1);
 	}
 
@@ -79,6 +79,6 @@ public class Var extends SearchExpression {
 
 	@Override
 	public Object internalEval(EvalContext definitions, Args args) {
-		return definitions.getVar(_key);
+		return definitions.getVar(_key, _def.getSlot());
 	}
 }
\ No newline at end of file
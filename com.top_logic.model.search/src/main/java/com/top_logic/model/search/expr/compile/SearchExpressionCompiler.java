@@ -17,9 +17,12 @@ import com.top_logic.model.search.expr.SearchExpression;
 import com.top_logic.model.search.expr.compile.transform.CreateTableAccess;
 import com.top_logic.model.search.expr.compile.transform.FilterCompiler;
 import com.top_logic.model.search.expr.compile.transform.HasSideEffects;
+import com.top_logic.model.search.expr.compile.transform.QueryPushDown;
 import com.top_logic.model.search.expr.config.SearchBuilder;
+import com.top_logic.model.search.expr.interpreter.CommonSubExpressions;
 import com.top_logic.model.search.expr.interpreter.ConstantFolding;
 import com.top_logic.model.search.expr.interpreter.DefResolver;
+import com.top_logic.model.search.expr.interpreter.LoopInvariants;
 import com.top_logic.model.search.expr.interpreter.transform.Transformations;
 import com.top_logic.model.search.expr.interpreter.transform.TreeBuilder;
 import com.top_logic.model.search.expr.query.QueryExecutor;
@@ -73,6 +76,8 @@ public class SearchExpressionCompiler {
 
 	private final FilterCompiler _filterCompiler;
 
+	private final QueryPushDown _queryPushDown;
+
 	/**
 	 * Creates a {@link SearchExpressionCompiler}.
 	 *
@@ -82,6 +87,7 @@ public class SearchExpressionCompiler {
 	public SearchExpressionCompiler(TypeContext typeContext) {
 		_createSource = new CreateTableAccess(typeContext);
 		_filterCompiler = new FilterCompiler(typeContext);
+		_queryPushDown = new QueryPushDown(typeContext);
 	}
 
 	/**
@@ -118,13 +124,15 @@ public class SearchExpressionCompiler {
 		// (Partially) compile filter functions to DB queries.
 		expr = expr.visit(_filterCompiler, null);
 
+		// Move sorting, result ranges and min/max reductions on queries to the DB.
+		expr = expr.visit(_queryPushDown, null);
+
 		if (sideEffectFree) {
 			// Extract independent parts of e.g. filter functions that were not compiled into the DB
 			// query to speed up interpretation of the resulting expression.
-
-			// TODO #22261: Optimization is broken - it pulls out subexpressions to far causing
-			// undefined variable accesses.
-			// expr = SubExpressionPullOut.transform(expr);
+			expr.visit(new DefResolver(), null);
+			expr = CommonSubExpressions.transform(expr);
+			expr = LoopInvariants.transform(expr);
 		}
 
 		return expr;
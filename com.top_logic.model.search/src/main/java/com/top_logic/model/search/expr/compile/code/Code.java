@@ -0,0 +1,85 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr.compile.code;
+
+import com.top_logic.basic.exception.I18NRuntimeException;
+import com.top_logic.model.search.expr.EvalContext;
+import com.top_logic.model.search.expr.I18NConstants;
+import com.top_logic.model.search.expr.ScriptAbort;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.query.Args;
+import com.top_logic.util.error.TopLogicException;
+
+/**
+ * Executable form of a {@link SearchExpression} node.
+ * 
+ * <p>
+ * In contrast to {@link SearchExpression#evalWith(EvalContext, Args)}, {@link Code} is always
+ * evaluated without function arguments. Arguments of a script are bound to its parameters before
+ * its body {@link Code} is executed, see {@link CompiledScript}.
+ * </p>
+ *
+ * @see CodeGenerator
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public abstract class Code {
+
+	private final SearchExpression _expr;
+
+	/**
+	 * Creates a {@link Code}.
+	 *
+	 * @param expr
+	 *        See {@link #getExpr()}.
+	 */
+	protected Code(SearchExpression expr) {
+		_expr = expr;
+	}
+
+	/**
+	 * The {@link SearchExpression} this {@link Code} was generated from.
+	 */
+	public final SearchExpression getExpr() {
+		return _expr;
+	}
+
+	/**
+	 * Evaluates this {@link Code}.
+	 * 
+	 * <p>
+	 * Failures are reported in the same way as in
+	 * {@link SearchExpression#evalWith(EvalContext, Args)}.
+	 * </p>
+	 *
+	 * @param context
+	 *        The context information for the evaluation.
+	 * @return The evaluation result.
+	 */
+	public final Object eval(EvalContext context) {
+		try {
+			return exec(context);
+		} catch (ScriptAbort ex) {
+			throw ex;
+		} catch (I18NRuntimeException ex) {
+			throw ex;
+		} catch (Error | Exception ex) {
+			throw new TopLogicException(
+				I18NConstants.ERROR_EVALUATION_FAILED__EXPR_ARGS_DEFS.fill(_expr, Args.none(), context), ex);
+		}
+	}
+
+	/**
+	 * Implementation of {@link #eval(EvalContext)}.
+	 */
+	protected abstract Object exec(EvalContext context);
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "(" + _expr + ")";
+	}
+
+}
@@ -0,0 +1,950 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr.compile.code;
+
+import java.util.Collection;
+
+import com.top_logic.basic.NamedConstant;
+import com.top_logic.basic.UnreachableAssertion;
+import com.top_logic.basic.col.NumberComparator;
+import com.top_logic.basic.util.NumberUtil;
+import com.top_logic.model.TLPrimitive;
+import com.top_logic.model.search.expr.Access;
+import com.top_logic.model.search.expr.And;
+import com.top_logic.model.search.expr.AnnotatedSearchExpression;
+import com.top_logic.model.search.expr.ArithmeticExpr;
+import com.top_logic.model.search.expr.Block;
+import com.top_logic.model.search.expr.Call;
+import com.top_logic.model.search.expr.Compare;
+import com.top_logic.model.search.expr.CompareOp;
+import com.top_logic.model.search.expr.Definition;
+import com.top_logic.model.search.expr.EvalContext;
+import com.top_logic.model.search.expr.Foreach;
+import com.top_logic.model.search.expr.GenericMethod;
+import com.top_logic.model.search.expr.IfElse;
+import com.top_logic.model.search.expr.IsEqual;
+import com.top_logic.model.search.expr.Lambda;
+import com.top_logic.model.search.expr.Literal;
+import com.top_logic.model.search.expr.Not;
+import com.top_logic.model.search.expr.Or;
+import com.top_logic.model.search.expr.Round;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.Var;
+import com.top_logic.model.search.expr.interpreter.TypeResolver;
+import com.top_logic.model.search.expr.query.Args;
+import com.top_logic.model.search.expr.reductions.NumericReduction;
+
+/**
+ * Translates a resolved {@link SearchExpression} tree into a tree of {@link Code} nodes.
+ *
+ * <p>
+ * The generated {@link Code} evaluates the same operations as the interpreter (it calls the
+ * operation implementations of the original nodes), but saves the per-node overhead of the
+ * interpreter: Function arguments are not passed down the tree, result values are not re-checked
+ * after each step, and local variable bindings of a block (<code>x = ...; ...</code>) do not
+ * create a snapshot copy of the whole variable environment.
+ * </p>
+ *
+ * <p>
+ * Arithmetic operations, comparisons, and rounding of expressions that the {@link TypeResolver}
+ * has proven to be numeric pass intermediate results as primitive <code>double</code> values. A
+ * {@link NumericReduction} (e.g. <code>sum()</code>) of a <code>map()</code> operation feeds the
+ * function results directly into the reduction without building an intermediate collection.
+ * </p>
+ *
+ * <p>
+ * Nodes without a specialized {@link Code} are evaluated through the interpreter. The same is true
+ * for nodes of sub-classes that customize the evaluation of a supported node type.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public final class CodeGenerator {
+
+	/**
+	 * The class that declares the evaluation method of an expression class.
+	 */
+	private static final ClassValue<Class<?>> IMPLEMENTATION = new ClassValue<>() {
+		@Override
+		protected Class<?> computeValue(Class<?> type) {
+			for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+				try {
+					current.getDeclaredMethod("internalEval", EvalContext.class, Args.class);
+					return current;
+				} catch (NoSuchMethodException ex) {
+					// Inherited, continue in super class.
+				}
+			}
+			return SearchExpression.class;
+		}
+	};
+
+	private CodeGenerator() {
+		// Utility class.
+	}
+
+	/**
+	 * Creates {@link Code} for the given expression.
+	 *
+	 * @param expr
+	 *        The resolved expression to translate.
+	 * @return {@link Code} that evaluates the given expression without arguments.
+	 */
+	public static Code generate(SearchExpression expr) {
+		expr = unwrap(expr);
+
+		Class<?> implementation = implementation(expr);
+		if (implementation == Literal.class) {
+			return new Constant(expr, ((Literal) expr).getValue());
+		}
+		if (implementation == Var.class) {
+			return new Variable(expr, ((Var) expr).getDef());
+		}
+		if (implementation == Call.class) {
+			Call call = (Call) expr;
+			SearchExpression function = unwrap(call.getFunction());
+			if (implementation(function) == Lambda.class) {
+				Lambda lambda = (Lambda) function;
+				return new Let(expr, lambda, generate(call.getArgument()), generate(lambda.getBody()));
+			}
+			return new Apply(expr, generate(function), generate(call.getArgument()));
+		}
+		if (implementation == Block.class) {
+			SearchExpression[] contents = ((Block) expr).getContents();
+			Code[] code = new Code[contents.length];
+			for (int n = 0, cnt = contents.length; n < cnt; n++) {
+				code[n] = generate(contents[n]);
+			}
+			return new Sequence(expr, code);
+		}
+		if (implementation == IfElse.class) {
+			IfElse ifElse = (IfElse) expr;
+			return new Conditional(expr, generate(ifElse.getCondition()), generate(ifElse.getIfClause()),
+				generate(ifElse.getElseClause()));
+		}
+		if (implementation == And.class) {
+			And and = (And) expr;
+			return new Conjunction(expr, generate(and.getLeft()), generate(and.getRight()));
+		}
+		if (implementation == Or.class) {
+			Or or = (Or) expr;
+			return new Disjunction(expr, generate(or.getLeft()), generate(or.getRight()));
+		}
+		if (implementation == Not.class) {
+			return new Negation(expr, generate(((Not) expr).getArgument()));
+		}
+		if (implementation == IsEqual.class) {
+			IsEqual isEqual = (IsEqual) expr;
+			return new Equality(expr, generate(isEqual.getLeft()), generate(isEqual.getRight()));
+		}
+		if (implementation == CompareOp.class) {
+			CompareOp compareOp = (CompareOp) expr;
+			if (isNumeric(compareOp.getLeft()) && isNumeric(compareOp.getRight())) {
+				return new NumericComparison(compareOp, numeric(compareOp.getLeft()), numeric(compareOp.getRight()));
+			}
+			return new Comparison(compareOp, generate(compareOp.getLeft()), generate(compareOp.getRight()));
+		}
+		if (implementation == Compare.class) {
+			Compare compare = (Compare) expr;
+			if (isNumeric(compare.getLeft()) && isNumeric(compare.getRight())) {
+				return new NumericCompareValues(compare, numeric(compare.getLeft()), numeric(compare.getRight()));
+			}
+			return new CompareValues(compare, generate(compare.getLeft()), generate(compare.getRight()));
+		}
+		if (implementation == ArithmeticExpr.class) {
+			ArithmeticExpr arithmetic = (ArithmeticExpr) expr;
+			if (isNumeric(arithmetic.getLeft()) && isNumeric(arithmetic.getRight())) {
+				return new NumericArithmetic(arithmetic, numeric(arithmetic.getLeft()), numeric(arithmetic.getRight()));
+			}
+			return new Arithmetic(arithmetic, generate(arithmetic.getLeft()), generate(arithmetic.getRight()));
+		}
+		if (implementation == Round.class && isNumeric(((Round) expr).getLeft())) {
+			Round round = (Round) expr;
+			return new Rounding(round, numeric(round.getLeft()), generate(round.getRight()));
+		}
+		if (implementation == Access.class) {
+			Access access = (Access) expr;
+			return new AttributeAccess(access, generate(access.getSelf()));
+		}
+		if (implementation == GenericMethod.class) {
+			GenericMethod method = (GenericMethod) expr;
+			SearchExpression[] arguments = method.getArguments();
+			if (method instanceof NumericReduction reduction && arguments.length == 1) {
+				Code fused = reduceMapping(reduction, arguments[0]);
+				if (fused != null) {
+					return fused;
+				}
+			}
+			Code[] code = new Code[arguments.length];
+			for (int n = 0, cnt = arguments.length; n < cnt; n++) {
+				code[n] = arguments[n] == null ? null : generate(arguments[n]);
+			}
+			return new Invocation(method, code);
+		}
+		return new Interpreted(expr);
+	}
+
+	/**
+	 * Creates {@link Code} for a reduction of the results of a <code>map()</code> operation that
+	 * feeds the function results directly into the reduction without creating an intermediate
+	 * collection.
+	 *
+	 * @return The fused {@link Code}, or <code>null</code> if the reduction argument is not a
+	 *         mapping with an inline function.
+	 */
+	private static Code reduceMapping(NumericReduction reduction, SearchExpression argument) {
+		argument = unwrap(argument);
+		if (implementation(argument) != Foreach.class) {
+			return null;
+		}
+		Foreach mapping = (Foreach) argument;
+		SearchExpression function = unwrap(mapping.getFunction());
+		if (implementation(function) != Lambda.class) {
+			return null;
+		}
+		Lambda lambda = (Lambda) function;
+		return new Reduction(reduction, generate(mapping.getBase()), lambda, generate(lambda.getBody()));
+	}
+
+	/**
+	 * Whether the {@link TypeResolver} has proven that the given expression computes numbers.
+	 *
+	 * <p>
+	 * Since types do not describe multiplicities, a numeric expression may still evaluate to a
+	 * collection of numbers or <code>null</code>. Numeric {@link Code} falls back to the generic
+	 * computation in such cases.
+	 * </p>
+	 */
+	private static boolean isNumeric(SearchExpression expr) {
+		if (!(TypeResolver.getType(expr) instanceof TLPrimitive primitive)) {
+			return false;
+		}
+		switch (primitive.getKind()) {
+			case INT:
+			case FLOAT:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Creates {@link NumericCode} for the given expression with a numeric type.
+	 */
+	private static NumericCode numeric(SearchExpression expr) {
+		Code code = generate(expr);
+		if (code instanceof NumericCode numeric) {
+			return numeric;
+		}
+		return new Unbox(code);
+	}
+
+	/**
+	 * Strips {@link AnnotatedSearchExpression} wrappers that only keep the source code of an
+	 * expression.
+	 */
+	static SearchExpression unwrap(SearchExpression expr) {
+		while (expr instanceof AnnotatedSearchExpression) {
+			expr = ((AnnotatedSearchExpression) expr).getExecutable();
+		}
+		return expr;
+	}
+
+	/**
+	 * The class declaring the evaluation of the given expression.
+	 *
+	 * <p>
+	 * A specialized {@link Code} may only be used, if the result is exactly the class the
+	 * {@link Code} was written for.
+	 * </p>
+	 */
+	static Class<?> implementation(SearchExpression expr) {
+		return IMPLEMENTATION.get(expr.getClass());
+	}
+
+	private static final class Interpreted extends Code {
+
+		Interpreted(SearchExpression expr) {
+			super(expr);
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			return getExpr().evalWith(context, Args.none());
+		}
+
+	}
+
+	private static final class Constant extends Code {
+
+		private final Object _value;
+
+		Constant(SearchExpression expr, Object value) {
+			super(expr);
+			_value = value;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			return _value;
+		}
+
+	}
+
+	private static final class Variable extends Code {
+
+		private final Definition _def;
+
+		private final NamedConstant _key;
+
+		Variable(SearchExpression expr, Definition def) {
+			super(expr);
+			_def = def;
+			_key = def.getKey();
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			return context.getVar(_key, _def.getSlot());
+		}
+
+	}
+
+	private static final class Let extends Code {
+
+		private final Definition _def;
+
+		private final NamedConstant _key;
+
+		private final Code _value;
+
+		private final Code _body;
+
+		Let(SearchExpression expr, Definition def, Code value, Code body) {
+			super(expr);
+			_def = def;
+			_key = def.getKey();
+			_value = value;
+			_body = body;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			context.defineVar(_key, _def.getSlot(), _value.eval(context));
+			return _body.eval(context);
+		}
+
+	}
+
+	private static final class Apply extends Code {
+
+		private final Code _function;
+
+		private final Code _argument;
+
+		Apply(SearchExpression expr, Code function, Code argument) {
+			super(expr);
+			_function = function;
+			_argument = argument;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			Object function = _function.eval(context);
+			if (!(function instanceof SearchExpression)) {
+				// A plain value is interpreted as "constant function" returning this value.
+				return function;
+			}
+			Object argument = _argument.eval(context);
+			return ((SearchExpression) function).evalWith(context, Args.cons(argument, Args.none()));
+		}
+
+	}
+
+	private static final class Sequence extends Code {
+
+		private final Code[] _contents;
+
+		Sequence(SearchExpression expr, Code[] contents) {
+			super(expr);
+			_contents = contents;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			Object result = null;
+			for (Code content : _contents) {
+				result = content.eval(context);
+			}
+			return result;
+		}
+
+	}
+
+	private static final class Conditional extends Code {
+
+		private final Code _condition;
+
+		private final Code _then;
+
+		private final Code _else;
+
+		Conditional(SearchExpression expr, Code condition, Code thenCode, Code elseCode) {
+			super(expr);
+			_condition = condition;
+			_then = thenCode;
+			_else = elseCode;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			if (SearchExpression.isTrue(_condition.eval(context))) {
+				return _then.eval(context);
+			} else {
+				return _else.eval(context);
+			}
+		}
+
+	}
+
+	private static final class Conjunction extends Code {
+
+		private final Code _left;
+
+		private final Code _right;
+
+		Conjunction(SearchExpression expr, Code left, Code right) {
+			super(expr);
+			_left = left;
+			_right = right;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			if (!SearchExpression.isTrue(_left.eval(context))) {
+				return Boolean.FALSE;
+			}
+			return SearchExpression.asBoolean(_right.eval(context));
+		}
+
+	}
+
+	private static final class Disjunction extends Code {
+
+		private final Code _left;
+
+		private final Code _right;
+
+		Disjunction(SearchExpression expr, Code left, Code right) {
+			super(expr);
+			_left = left;
+			_right = right;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			Object left = _left.eval(context);
+			if (SearchExpression.isTrue(left)) {
+				// Not converted to boolean, see Or.
+				return left;
+			}
+			return _right.eval(context);
+		}
+
+	}
+
+	private static final class Negation extends Code {
+
+		private final Code _argument;
+
+		Negation(SearchExpression expr, Code argument) {
+			super(expr);
+			_argument = argument;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			return Boolean.valueOf(!SearchExpression.isTrue(_argument.eval(context)));
+		}
+
+	}
+
+	private static final class Equality extends Code {
+
+		private final Code _left;
+
+		private final Code _right;
+
+		Equality(SearchExpression expr, Code left, Code right) {
+			super(expr);
+			_left = left;
+			_right = right;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			Object left = _left.eval(context);
+			Object right = _right.eval(context);
+			return Boolean.valueOf(IsEqual.equals(left, right));
+		}
+
+	}
+
+	private static final class Comparison extends Code {
+
+		private final CompareOp _op;
+
+		private final Code _left;
+
+		private final Code _right;
+
+		Comparison(CompareOp expr, Code left, Code right) {
+			super(expr);
+			_op = expr;
+			_left = left;
+			_right = right;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			Object left = _left.eval(context);
+			Object right = _right.eval(context);
+			return _op.compute(left, right);
+		}
+
+	}
+
+	private static final class CompareValues extends Code {
+
+		private final Compare _compare;
+
+		private final Code _left;
+
+		private final Code _right;
+
+		CompareValues(Compare expr, Code left, Code right) {
+			super(expr);
+			_compare = expr;
+			_left = left;
+			_right = right;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			Object left = _left.eval(context);
+			Object right = _right.eval(context);
+			return _compare.compute(left, right);
+		}
+
+	}
+
+	private static final class Arithmetic extends Code {
+
+		private final ArithmeticExpr _op;
+
+		private final Code _left;
+
+		private final Code _right;
+
+		Arithmetic(ArithmeticExpr expr, Code left, Code right) {
+			super(expr);
+			_op = expr;
+			_left = left;
+			_right = right;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			Object left = _left.eval(context);
+			Object right = _right.eval(context);
+			return _op.compute(left, right);
+		}
+
+	}
+
+	/**
+	 * Signal that a {@link NumericCode} computed a value that is not a single number.
+	 *
+	 * <p>
+	 * The signal carries the result of the generic computation. It is only used in the rare case
+	 * that an expression with numeric type evaluates to <code>null</code> or a collection and
+	 * does not record a stack trace.
+	 * </p>
+	 */
+	private static final class NotNumeric extends RuntimeException {
+
+		private final transient Object _value;
+
+		NotNumeric(Object value) {
+			super(null, null, false, false);
+			_value = value;
+		}
+
+		/**
+		 * The result of the computation.
+		 */
+		public Object getValue() {
+			return _value;
+		}
+
+	}
+
+	/**
+	 * {@link Code} that computes a primitive <code>double</code> value.
+	 *
+	 * <p>
+	 * Nested numeric computations pass their intermediate results as primitive values. A result
+	 * object is only allocated at the boundary to generic {@link Code}.
+	 * </p>
+	 */
+	private static abstract class NumericCode extends Code {
+
+		NumericCode(SearchExpression expr) {
+			super(expr);
+		}
+
+		@Override
+		protected final Object exec(EvalContext context) {
+			try {
+				return SearchExpression.toNumber(execDouble(context));
+			} catch (NotNumeric ex) {
+				return ex.getValue();
+			}
+		}
+
+		/**
+		 * Computes the result as primitive value.
+		 *
+		 * @throws NotNumeric
+		 *         If the result is not a single number. The signal carries the actual result.
+		 */
+		abstract double execDouble(EvalContext context) throws NotNumeric;
+
+		/**
+		 * Whether this code delivers a value that is not computed as primitive number.
+		 *
+		 * <p>
+		 * Such value is not necessarily a <code>Double</code>. E.g. a <code>Long</code> value
+		 * above 2<sup>53</sup> cannot be converted to <code>double</code> without loss of
+		 * precision.
+		 * </p>
+		 *
+		 * @see #evalExact(EvalContext)
+		 */
+		boolean isBoxed() {
+			return false;
+		}
+
+		/**
+		 * Computes the result without converting it to a <code>double</code> value.
+		 *
+		 * @see #isBoxed()
+		 */
+		Object evalExact(EvalContext context) {
+			return eval(context);
+		}
+
+		/**
+		 * Converts a generically computed value to a primitive number.
+		 */
+		static double unbox(Object value) throws NotNumeric {
+			if (value instanceof Number number) {
+				return number.doubleValue();
+			}
+			throw new NotNumeric(value);
+		}
+
+	}
+
+	private static final class Unbox extends NumericCode {
+
+		private final Code _value;
+
+		Unbox(Code value) {
+			super(value.getExpr());
+			_value = value;
+		}
+
+		@Override
+		double execDouble(EvalContext context) {
+			return unbox(_value.eval(context));
+		}
+
+		@Override
+		boolean isBoxed() {
+			return true;
+		}
+
+		@Override
+		Object evalExact(EvalContext context) {
+			return _value.eval(context);
+		}
+
+	}
+
+	private static final class NumericArithmetic extends NumericCode {
+
+		private final ArithmeticExpr _op;
+
+		private final NumericCode _left;
+
+		private final NumericCode _right;
+
+		NumericArithmetic(ArithmeticExpr expr, NumericCode left, NumericCode right) {
+			super(expr);
+			_op = expr;
+			_left = left;
+			_right = right;
+		}
+
+		@Override
+		double execDouble(EvalContext context) {
+			double left;
+			try {
+				left = _left.execDouble(context);
+			} catch (NotNumeric ex) {
+				return unbox(_op.compute(ex.getValue(), _right.eval(context)));
+			}
+			double right;
+			try {
+				right = _right.execDouble(context);
+			} catch (NotNumeric ex) {
+				return unbox(_op.compute(SearchExpression.toNumber(left), ex.getValue()));
+			}
+			return _op.getOp().apply(left, right);
+		}
+
+	}
+
+	private static final class Rounding extends NumericCode {
+
+		private final Round _round;
+
+		private final NumericCode _value;
+
+		private final Code _precision;
+
+		Rounding(Round expr, NumericCode value, Code precision) {
+			super(expr);
+			_round = expr;
+			_value = value;
+			_precision = precision;
+		}
+
+		@Override
+		double execDouble(EvalContext context) {
+			double value;
+			try {
+				value = _value.execDouble(context);
+			} catch (NotNumeric ex) {
+				return unbox(_round.compute(ex.getValue(), _precision.eval(context)));
+			}
+			Object precision = _precision.eval(context);
+			return NumberUtil.round(value, precision == null ? 0 : ((Number) precision).intValue());
+		}
+
+	}
+
+	private static final class NumericComparison extends Code {
+
+		private final CompareOp _op;
+
+		private final NumericCode _left;
+
+		private final NumericCode _right;
+
+		private final boolean _exact;
+
+		NumericComparison(CompareOp expr, NumericCode left, NumericCode right) {
+			super(expr);
+			_op = expr;
+			_left = left;
+			_right = right;
+			_exact = left.isBoxed() || right.isBoxed();
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			if (_exact) {
+				// Compare like the interpreter, e.g. long values without conversion to double.
+				Object left = _left.evalExact(context);
+				Object right = _right.evalExact(context);
+				if (left instanceof Number leftNumber && right instanceof Number rightNumber) {
+					return result(NumberComparator.INSTANCE.compare(leftNumber, rightNumber));
+				}
+				return _op.compute(left, right);
+			}
+
+			double left;
+			try {
+				left = _left.execDouble(context);
+			} catch (NotNumeric ex) {
+				return _op.compute(ex.getValue(), _right.eval(context));
+			}
+			double right;
+			try {
+				right = _right.execDouble(context);
+			} catch (NotNumeric ex) {
+				return _op.compute(SearchExpression.toNumber(left), ex.getValue());
+			}
+
+			return result(Double.compare(left, right));
+		}
+
+		private Boolean result(int comparison) {
+			switch (_op.getKind()) {
+				case GE:
+					return Boolean.valueOf(comparison >= 0);
+				case GT:
+					return Boolean.valueOf(comparison > 0);
+				case LE:
+					return Boolean.valueOf(comparison <= 0);
+				case LT:
+					return Boolean.valueOf(comparison < 0);
+			}
+			throw new UnreachableAssertion("No such comparison: " + _op.getKind());
+		}
+
+	}
+
+	private static final class NumericCompareValues extends Code {
+
+		private final Compare _compare;
+
+		private final NumericCode _left;
+
+		private final NumericCode _right;
+
+		private final boolean _exact;
+
+		NumericCompareValues(Compare expr, NumericCode left, NumericCode right) {
+			super(expr);
+			_compare = expr;
+			_left = left;
+			_right = right;
+			_exact = left.isBoxed() || right.isBoxed();
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			if (_exact) {
+				// Compare like the interpreter, e.g. long values without conversion to double.
+				Object left = _left.evalExact(context);
+				Object right = _right.evalExact(context);
+				if (left instanceof Number leftNumber && right instanceof Number rightNumber) {
+					return SearchExpression.toNumber(NumberComparator.INSTANCE.compare(leftNumber, rightNumber));
+				}
+				return _compare.compute(left, right);
+			}
+
+			double left;
+			try {
+				left = _left.execDouble(context);
+			} catch (NotNumeric ex) {
+				return _compare.compute(ex.getValue(), _right.eval(context));
+			}
+			double right;
+			try {
+				right = _right.execDouble(context);
+			} catch (NotNumeric ex) {
+				return _compare.compute(SearchExpression.toNumber(left), ex.getValue());
+			}
+			return SearchExpression.toNumber(Double.compare(left, right));
+		}
+
+	}
+
+	private static final class Reduction extends Code {
+
+		private final NumericReduction _reduction;
+
+		private final Code _base;
+
+		private final Definition _def;
+
+		private final NamedConstant _key;
+
+		private final Code _body;
+
+		Reduction(NumericReduction expr, Code base, Definition def, Code body) {
+			super(expr);
+			_reduction = expr;
+			_base = base;
+			_def = def;
+			_key = def.getKey();
+			_body = body;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			NumericReduction.Accumulator accumulator = _reduction.createAccumulator();
+			Collection<?> base = SearchExpression.asCollection(_base.eval(context));
+			if (_body instanceof NumericCode numericBody) {
+				for (Object element : base) {
+					context.defineVar(_key, _def.getSlot(), element);
+					try {
+						accumulator.add(numericBody.execDouble(context));
+					} catch (NotNumeric ex) {
+						accumulator.addAny(ex.getValue());
+					}
+				}
+			} else {
+				for (Object element : base) {
+					context.defineVar(_key, _def.getSlot(), element);
+					accumulator.addAny(_body.eval(context));
+				}
+			}
+			return accumulator.getResult();
+		}
+
+	}
+
+	private static final class AttributeAccess extends Code {
+
+		private final Access _access;
+
+		private final Code _self;
+
+		AttributeAccess(Access expr, Code self) {
+			super(expr);
+			_access = expr;
+			_self = self;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			Object base = _self.eval(context);
+			return _access.evalPotentialFlatMap(context, base, _access.getPart());
+		}
+
+	}
+
+	private static final class Invocation extends Code {
+
+		private final GenericMethod _method;
+
+		private final Code[] _arguments;
+
+		Invocation(GenericMethod expr, Code[] arguments) {
+			super(expr);
+			_method = expr;
+			_arguments = arguments;
+		}
+
+		@Override
+		protected Object exec(EvalContext context) {
+			Code[] argumentCode = _arguments;
+			Object[] arguments = new Object[argumentCode.length];
+			for (int n = 0, cnt = arguments.length; n < cnt; n++) {
+				Code code = argumentCode[n];
+				arguments[n] = code == null ? null : code.eval(context);
+			}
+			return SearchExpression.internalCheckValue(_method.invoke(arguments, context));
+		}
+
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr.compile.code;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.top_logic.model.search.expr.Definition;
+import com.top_logic.model.search.expr.EvalContext;
+import com.top_logic.model.search.expr.Lambda;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.query.Args;
+
+/**
+ * A TL-Script function compiled to {@link Code}.
+ * 
+ * <p>
+ * The parameters of the script (its outermost {@link Lambda}s) are bound directly to the
+ * arguments of an invocation, the function body is executed as {@link Code} generated by
+ * {@link CodeGenerator}. An invocation with a number of arguments that does not match the number
+ * of parameters (partial application, or a function result that is applied to further arguments)
+ * is delegated to the interpreter.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public final class CompiledScript {
+
+	private final SearchExpression _expr;
+
+	private final Definition[] _parameters;
+
+	private final Code _body;
+
+	private CompiledScript(SearchExpression expr, Definition[] parameters, Code body) {
+		_expr = expr;
+		_parameters = parameters;
+		_body = body;
+	}
+
+	/**
+	 * Compiles the given expression.
+	 *
+	 * @param expr
+	 *        The resolved and optimized expression.
+	 * @return The executable form of the given expression.
+	 */
+	public static CompiledScript compile(SearchExpression expr) {
+		List<Definition> parameters = new ArrayList<>();
+		SearchExpression body = CodeGenerator.unwrap(expr);
+		while (CodeGenerator.implementation(body) == Lambda.class) {
+			Lambda lambda = (Lambda) body;
+			parameters.add(lambda);
+			body = CodeGenerator.unwrap(lambda.getBody());
+		}
+		return new CompiledScript(expr, parameters.toArray(new Definition[parameters.size()]),
+			CodeGenerator.generate(body));
+	}
+
+	/**
+	 * The compiled expression.
+	 */
+	public SearchExpression getExpr() {
+		return _expr;
+	}
+
+	/**
+	 * Executes the script.
+	 *
+	 * @param context
+	 *        The context information for the evaluation.
+	 * @param args
+	 *        The function arguments.
+	 * @return The evaluation result, the same as
+	 *         {@link SearchExpression#evalWith(EvalContext, Args)} of {@link #getExpr()}.
+	 */
+	public Object execute(EvalContext context, Args args) {
+		if (!matches(args)) {
+			return _expr.evalWith(context, args);
+		}
+		for (Definition parameter : _parameters) {
+			context.defineVar(parameter.getKey(), parameter.getSlot(), args.value());
+			args = args.next();
+		}
+		return _body.eval(context);
+	}
+
+	private boolean matches(Args args) {
+		for (int n = 0, cnt = _parameters.length; n < cnt; n++) {
+			if (!args.hasValue()) {
+				return false;
+			}
+			args = args.next();
+		}
+		return !args.hasValue();
+	}
+
+}
@@ -0,0 +1,12 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+
+/**
+ * Compilation of resolved {@link com.top_logic.model.search.expr.SearchExpression}s into
+ * executable {@link com.top_logic.model.search.expr.compile.code.Code}.
+ */
+@com.top_logic.basic.annotation.FrameworkInternal
+package com.top_logic.model.search.expr.compile.code;
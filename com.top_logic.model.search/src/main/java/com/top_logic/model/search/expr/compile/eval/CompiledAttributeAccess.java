@@ -37,6 +37,20 @@ public class CompiledAttributeAccess extends CompiledExpression {
 		_base = base;
 	}
 
+	/**
+	 * The accessed model attribute.
+	 */
+	public TLStructuredTypePart getPart() {
+		return _part;
+	}
+
+	/**
+	 * The database column storing {@link #getPart()}.
+	 */
+	public MOAttribute getAttribute() {
+		return _attribute;
+	}
+
 	@Override
 	public boolean needsEvalContext() {
 		return _base.needsEvalContext();
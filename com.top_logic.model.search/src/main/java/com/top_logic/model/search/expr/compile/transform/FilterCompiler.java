@@ -143,6 +143,9 @@ public class FilterCompiler extends Rewriter<Void> {
 
 		@Override
 		public SearchExpression visitKBQuery(KBQuery expr, CompiledValue arg) {
+			if (expr.hasRange()) {
+				throw new UnreachableAssertion("Ranged queries are created after filter optimization, see QueryPushDown.");
+			}
 			List<CompiledValue> dynamicFilters = expr.getDynamicFilters();
 			List<CompiledValue> extendedDynamicFilters = new ArrayList<>(dynamicFilters);
 			Expression filter = buildFilter(ExpressionFactory.literal(Boolean.TRUE), extendedDynamicFilters, arg);
@@ -155,7 +158,8 @@ public class FilterCompiler extends Rewriter<Void> {
 				newDynamicFilters = extendedDynamicFilters;
 			}
 
-			return SearchExpressionFactory.query(expr.getClassType(), newQuery, newDynamicFilters);
+			return SearchExpressionFactory.query(expr.getClassType(), newQuery, newDynamicFilters, expr.getOrder(),
+				expr.getStartRow(), expr.getStopRow());
 		}
 
 		/**
@@ -5,14 +5,29 @@
  */
 package com.top_logic.model.search.expr.compile.transform;
 
+import java.util.List;
+
+import com.top_logic.model.search.expr.AnnotatedSearchExpression;
+import com.top_logic.model.search.expr.Call;
+import com.top_logic.model.search.expr.Filter;
+import com.top_logic.model.search.expr.Foreach;
 import com.top_logic.model.search.expr.GenericMethod;
+import com.top_logic.model.search.expr.Lambda;
+import com.top_logic.model.search.expr.Recursion;
 import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.Sort;
 import com.top_logic.model.search.expr.Update;
 import com.top_logic.model.search.expr.visit.DefaultDescendingVisitor;
 
 /**
  * Decides, whether the visited {@link SearchExpression} may have side-effects.
  * 
+ * <p>
+ * The body of a function that is not given literally (e.g. the function <code>$f</code> in
+ * <code>$x.map($f)</code>) is not known before evaluation. Such function is only considered by
+ * {@link #WITH_UNKNOWN_FUNCTIONS}.
+ * </p>
+ * 
  * @see Update
  * 
  * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
@@ -20,12 +35,25 @@ import com.top_logic.model.search.expr.visit.DefaultDescendingVisitor;
 public class HasSideEffects extends DefaultDescendingVisitor<Boolean, Void> {
 
 	/**
-	 * Singleton {@link HasSideEffects} instance.
+	 * {@link HasSideEffects} instance that only considers the visited expression.
 	 */
-	public static final HasSideEffects INSTANCE = new HasSideEffects();
+	public static final HasSideEffects INSTANCE = new HasSideEffects(false);
 
-	private HasSideEffects() {
-		// Singleton constructor.
+	/**
+	 * {@link HasSideEffects} instance that additionally considers the application of a function
+	 * whose body is not part of the visited expression as side effect.
+	 * 
+	 * <p>
+	 * Used to decide, whether a function may be applied on demand, see
+	 * {@link com.top_logic.model.search.expr.StreamingExpression#isLazy(SearchExpression)}.
+	 * </p>
+	 */
+	public static final HasSideEffects WITH_UNKNOWN_FUNCTIONS = new HasSideEffects(true);
+
+	private final boolean _unknownFunctions;
+
+	private HasSideEffects(boolean unknownFunctions) {
+		_unknownFunctions = unknownFunctions;
 	}
 
 	@Override
@@ -34,8 +62,64 @@ public class HasSideEffects extends DefaultDescendingVisitor<Boolean, Void> {
 	}
 
 	@Override
-	public Boolean visitGenericMethod(GenericMethod expr, Void arg) {
-		return Boolean.valueOf(!expr.isSideEffectFree());
+	protected Boolean composeGenericMethod(GenericMethod expr, Void arg, List<Boolean> argumentsResult) {
+		if (!expr.isSideEffectFree()) {
+			return Boolean.TRUE;
+		}
+		return super.composeGenericMethod(expr, arg, argumentsResult);
+	}
+
+	@Override
+	protected Boolean composeCall(Call expr, Void arg, Boolean functionResult, Boolean argumentResult) {
+		return combine(unknownFunction(expr.getFunction()),
+			super.composeCall(expr, arg, functionResult, argumentResult));
+	}
+
+	@Override
+	protected Boolean composeForeach(Foreach expr, Void arg, Boolean baseResult, Boolean functionResult) {
+		return combine(unknownFunction(expr.getFunction()),
+			super.composeForeach(expr, arg, baseResult, functionResult));
+	}
+
+	@Override
+	protected Boolean composeFilter(Filter expr, Void arg, Boolean baseResult, Boolean functionResult) {
+		return combine(unknownFunction(expr.getFunction()),
+			super.composeFilter(expr, arg, baseResult, functionResult));
+	}
+
+	@Override
+	protected Boolean composeRecursion(Recursion expr, Void arg, Boolean startResult, Boolean functionResult,
+			Boolean minDepthResult, Boolean maxDepthResult) {
+		return combine(unknownFunction(expr.getFunction()),
+			super.composeRecursion(expr, arg, startResult, functionResult, minDepthResult, maxDepthResult));
+	}
+
+	@Override
+	protected Boolean composeSort(Sort expr, Void arg, Boolean listResult, Boolean comparatorResult) {
+		return combine(unknownFunction(expr.getComparator()),
+			super.composeSort(expr, arg, listResult, comparatorResult));
+	}
+
+	/**
+	 * Whether the given function expression may evaluate to a function whose body is not part of
+	 * the visited expression.
+	 * 
+	 * <p>
+	 * The bodies of {@link Lambda}s are visited. The result of a {@link Call} is checked when
+	 * visiting the {@link Call} itself. Built-in functions ({@link GenericMethod}s) are checked
+	 * with {@link GenericMethod#isSideEffectFree()}. All other expressions (e.g. variables) may
+	 * evaluate to arbitrary functions.
+	 * </p>
+	 */
+	private Boolean unknownFunction(SearchExpression function) {
+		if (!_unknownFunctions) {
+			return Boolean.FALSE;
+		}
+		while (function instanceof AnnotatedSearchExpression annotated) {
+			function = annotated.getExecutable();
+		}
+		return Boolean.valueOf(
+			!(function instanceof Lambda || function instanceof Call || function instanceof GenericMethod));
 	}
 
 	@Override
@@ -0,0 +1,137 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr.compile.transform;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.top_logic.basic.NamedConstant;
+import com.top_logic.model.TLStructuredTypePart;
+import com.top_logic.model.export.EmptyPreloadContribution;
+import com.top_logic.model.export.NavigationPreload;
+import com.top_logic.model.export.PreloadContribution;
+import com.top_logic.model.export.Preloader;
+import com.top_logic.model.search.expr.Access;
+import com.top_logic.model.search.expr.Lambda;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.Var;
+import com.top_logic.model.search.expr.visit.DefaultDescendingVisitor;
+
+/**
+ * Derives a {@link PreloadContribution} from the attribute navigation steps in a TL-Script
+ * function.
+ *
+ * <p>
+ * For a function <code>row -> ...</code> all navigation paths starting at the function parameter
+ * (e.g. <code>$row.get(`my.module:MyType#a`).get(`my.module:Other#b`)</code>) are collected. The
+ * resulting {@link PreloadContribution} loads the values of each step for all rows in bulk,
+ * before the function is evaluated for each row.
+ * </p>
+ *
+ * @see NavigationPreload
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public class PreloadPlanner extends DefaultDescendingVisitor<Void, Void> {
+
+	private final NamedConstant _root;
+
+	/**
+	 * Navigation paths found, as tree of steps.
+	 */
+	private final Step _paths = new Step();
+
+	private PreloadPlanner(NamedConstant root) {
+		_root = root;
+	}
+
+	/**
+	 * Computes the {@link PreloadContribution} for the argument of the given function.
+	 *
+	 * @param fun
+	 *        A compiled function expecting the objects to preload as first argument.
+	 * @return The {@link PreloadContribution} to apply to all objects the given function is
+	 *         evaluated on. {@link EmptyPreloadContribution#INSTANCE}, if the function does not
+	 *         navigate its argument.
+	 */
+	public static PreloadContribution plan(SearchExpression fun) {
+		if (!(fun instanceof Lambda)) {
+			return EmptyPreloadContribution.INSTANCE;
+		}
+		Lambda lambda = (Lambda) fun;
+		PreloadPlanner planner = new PreloadPlanner(lambda.getKey());
+		lambda.getBody().visit(planner, null);
+
+		if (planner._paths._next.isEmpty()) {
+			return EmptyPreloadContribution.INSTANCE;
+		}
+		Preloader result = new Preloader();
+		for (NavigationPreload preload : planner._paths.toPreloads()) {
+			result.addPreload(preload);
+		}
+		return result;
+	}
+
+	@Override
+	protected Void composeAccess(Access expr, Void arg, Void selfResult) {
+		List<TLStructuredTypePart> path = path(expr);
+		if (path != null) {
+			Step step = _paths;
+			for (TLStructuredTypePart part : path) {
+				step = step.next(part);
+			}
+		}
+		return super.composeAccess(expr, arg, selfResult);
+	}
+
+	/**
+	 * The navigation path from the function argument to the value of the given expression.
+	 *
+	 * @return The navigation steps, or <code>null</code>, if the given expression is not a
+	 *         navigation starting at the function argument.
+	 */
+	private List<TLStructuredTypePart> path(SearchExpression expr) {
+		if (expr instanceof Var) {
+			if (((Var) expr).getKey() == _root) {
+				return new ArrayList<>();
+			}
+			return null;
+		}
+		if (expr instanceof Access) {
+			Access access = (Access) expr;
+			List<TLStructuredTypePart> result = path(access.getSelf());
+			if (result != null) {
+				result.add(access.getPart());
+			}
+			return result;
+		}
+		return null;
+	}
+
+	/**
+	 * Node in the tree of navigation paths.
+	 */
+	private static final class Step {
+
+		final Map<TLStructuredTypePart, Step> _next = new LinkedHashMap<>();
+
+		Step next(TLStructuredTypePart part) {
+			return _next.computeIfAbsent(part, x -> new Step());
+		}
+
+		List<NavigationPreload> toPreloads() {
+			List<NavigationPreload> result = new ArrayList<>(_next.size());
+			for (Entry<TLStructuredTypePart, Step> entry : _next.entrySet()) {
+				result.add(new NavigationPreload(entry.getKey(), entry.getValue().toPreloads()));
+			}
+			return result;
+		}
+	}
+
+}
@@ -0,0 +1,362 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr.compile.transform;
+
+import static com.top_logic.model.search.expr.SearchExpressionFactory.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.top_logic.dob.MOAttribute;
+import com.top_logic.dob.MetaObject;
+import com.top_logic.dob.ex.UnknownTypeException;
+import com.top_logic.dob.meta.TypeContext;
+import com.top_logic.knowledge.search.ExpressionFactory;
+import com.top_logic.knowledge.search.OrderSpec;
+import com.top_logic.model.ModelKind;
+import com.top_logic.model.search.expr.Access;
+import com.top_logic.model.search.expr.Call;
+import com.top_logic.model.search.expr.Compare;
+import com.top_logic.model.search.expr.Desc;
+import com.top_logic.model.search.expr.FirstElement;
+import com.top_logic.model.search.expr.Foreach;
+import com.top_logic.model.search.expr.GenericMethod;
+import com.top_logic.model.search.expr.KBQuery;
+import com.top_logic.model.search.expr.Lambda;
+import com.top_logic.model.search.expr.Literal;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.Sort;
+import com.top_logic.model.search.expr.SubList;
+import com.top_logic.model.search.expr.Var;
+import com.top_logic.model.search.expr.compile.eval.CompiledAttributeAccess;
+import com.top_logic.model.search.expr.compile.eval.CompiledCompareOp;
+import com.top_logic.model.search.expr.compile.eval.CompiledContext;
+import com.top_logic.model.search.expr.compile.eval.CompiledValue;
+import com.top_logic.model.search.expr.compile.eval.Value;
+import com.top_logic.model.search.expr.config.operations.ComparatorBuilder;
+import com.top_logic.model.search.expr.interpreter.Rewriter;
+import com.top_logic.model.search.expr.reductions.Max;
+import com.top_logic.model.search.expr.reductions.Min;
+
+/**
+ * {@link Rewriter} that pushes sorting, result limits and min/max reductions applied to a
+ * {@link KBQuery} down into the database query.
+ *
+ * <p>
+ * The following patterns are translated:
+ * </p>
+ *
+ * <ul>
+ * <li><code>all(T).sort(comparator(x -> $x.get(a)))</code> (also with <code>desc(...)</code> and
+ * explicit comparators of the form <code>a -> b -> compare($a.get(x), $b.get(x))</code>) becomes
+ * an <code>ORDER BY</code>.</li>
+ * <li><code>all(T).subList(begin, end)</code> and <code>all(T).firstElement()</code> become a row
+ * range of the query.</li>
+ * <li><code>all(T).map(x -> $x.get(a)).min()</code> (and <code>max()</code>) become an ordered
+ * query limited to a single result.</li>
+ * </ul>
+ *
+ * <p>
+ * Sort keys are only pushed down, if they are mandatory numeric or temporal columns: Ordering of
+ * strings would use the database collation and <code>null</code> values would be ordered according
+ * to the database vendor, both may differ from the in-memory {@link Compare} semantics (see
+ * {@link CompiledCompareOp#supportsCompiledCompare(MetaObject)}).
+ * </p>
+ *
+ * <p>
+ * As pre-requisite, the {@link FilterCompiler} transformation must be executed.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public class QueryPushDown extends Rewriter<Void> {
+
+	private final TypeContext _typeContext;
+
+	/**
+	 * Creates a {@link QueryPushDown}.
+	 *
+	 * @param typeContext
+	 *        The table types.
+	 */
+	public QueryPushDown(TypeContext typeContext) {
+		_typeContext = typeContext;
+	}
+
+	@Override
+	protected SearchExpression composeSort(Sort expr, Void arg, SearchExpression listResult,
+			SearchExpression keyFunResult) {
+		SearchExpression result = super.composeSort(expr, arg, listResult, keyFunResult);
+		if (listResult instanceof KBQuery) {
+			KBQuery query = (KBQuery) listResult;
+			if (!query.hasRange()) {
+				OrderSpec order = comparatorOrder(query, keyFunResult);
+				if (order != null) {
+					// The in-memory sort is stable, sorting an already sorted list makes the new
+					// criterion the most significant one.
+					List<OrderSpec> newOrder = new ArrayList<>(query.getOrder().size() + 1);
+					newOrder.add(order);
+					newOrder.addAll(query.getOrder());
+					return withOrder(query, newOrder);
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	protected SearchExpression composeGenericMethod(GenericMethod expr, Void arg,
+			List<SearchExpression> argumentsResult) {
+		SearchExpression result = super.composeGenericMethod(expr, arg, argumentsResult);
+		SearchExpression[] args = expr.getArguments();
+		if (expr instanceof SubList) {
+			KBQuery rangedQuery = pushDownSubList(args);
+			if (rangedQuery != null) {
+				return rangedQuery;
+			}
+		} else if (expr instanceof FirstElement) {
+			if (args.length == 1 && isUnlimitedQuery(args[0])) {
+				expr.setArguments(new SearchExpression[] { withRange((KBQuery) args[0], 0, 1) });
+			}
+		} else if (expr instanceof Min) {
+			pushDownReduction(args, false);
+		} else if (expr instanceof Max) {
+			pushDownReduction(args, true);
+		}
+		return result;
+	}
+
+	/**
+	 * The query equivalent to <code>query.subList(begin, end)</code>, or <code>null</code>, if the
+	 * given arguments cannot be translated.
+	 */
+	private static KBQuery pushDownSubList(SearchExpression[] args) {
+		if (args.length < 2 || args.length > 3 || !isUnlimitedQuery(args[0])) {
+			return null;
+		}
+		int begin = literalIndex(args[1]);
+		if (begin < 0) {
+			return null;
+		}
+		int end;
+		if (args.length == 3) {
+			end = literalIndex(args[2]);
+			if (end <= begin) {
+				// Negative indices count from the end of the list and require the result size.
+				return null;
+			}
+		} else {
+			end = KBQuery.NO_LIMIT;
+		}
+		return withRange((KBQuery) args[0], begin, end);
+	}
+
+	/**
+	 * Replaces <code>query.map(x -> $x.get(a))</code> in the arguments of a min/max reduction with
+	 * a query that delivers the single object with the smallest/greatest value.
+	 */
+	private void pushDownReduction(SearchExpression[] args, boolean descending) {
+		if (args.length != 1 || !(args[0] instanceof Foreach)) {
+			return;
+		}
+		Foreach map = (Foreach) args[0];
+		if (!isUnlimitedQuery(map.getBase()) || !(map.getFunction() instanceof Lambda)) {
+			return;
+		}
+		KBQuery query = (KBQuery) map.getBase();
+		Lambda accessor = (Lambda) map.getFunction();
+		Access access = attributeAccess(accessor.getBody(), accessor.getName());
+		if (access == null) {
+			return;
+		}
+		OrderSpec order = order(query, access, descending);
+		if (order == null) {
+			return;
+		}
+		map.setBase(withRange(withOrder(query, Collections.singletonList(order)), 0, 1));
+	}
+
+	/**
+	 * Analyzes a comparator function and creates an {@link OrderSpec} that sorts the same way.
+	 *
+	 * @return The {@link OrderSpec} equivalent to the given comparator, or <code>null</code>, if
+	 *         the comparator cannot be translated.
+	 */
+	private OrderSpec comparatorOrder(KBQuery query, SearchExpression comparator) {
+		if (!(comparator instanceof Lambda)) {
+			return null;
+		}
+		Lambda outer = (Lambda) comparator;
+		if (!(outer.getBody() instanceof Lambda)) {
+			return null;
+		}
+		Lambda inner = (Lambda) outer.getBody();
+		Object o1 = outer.getName();
+		Object o2 = inner.getName();
+		SearchExpression body = inner.getBody();
+
+		if (body instanceof Compare) {
+			// Explicit comparator: a -> b -> compare($a.get(x), $b.get(x))
+			Compare compare = (Compare) body;
+			Access left = attributeAccess(compare.getLeft(), o1);
+			Access right = attributeAccess(compare.getRight(), o2);
+			boolean descending = false;
+			if (left == null || right == null) {
+				left = attributeAccess(compare.getLeft(), o2);
+				right = attributeAccess(compare.getRight(), o1);
+				descending = true;
+			}
+			if (left == null || right == null || left.getPart() != right.getPart()) {
+				return null;
+			}
+			return order(query, left, descending);
+		}
+
+		if (body instanceof Call) {
+			// Comparator from an accessor, see ComparatorBuilder#comparator(SearchExpression).
+			Call let = (Call) body;
+			if (!(let.getFunction() instanceof Lambda) || !(let.getArgument() instanceof Lambda)) {
+				return null;
+			}
+			Lambda letFun = (Lambda) let.getFunction();
+			if (!(letFun.getBody() instanceof Compare)) {
+				return null;
+			}
+			Compare compare = (Compare) letFun.getBody();
+			Object fun = letFun.getName();
+			boolean descending;
+			if (isCall(compare.getLeft(), fun, o1) && isCall(compare.getRight(), fun, o2)) {
+				descending = false;
+			} else if (isCall(compare.getLeft(), fun, o2) && isCall(compare.getRight(), fun, o1)) {
+				descending = true;
+			} else {
+				return null;
+			}
+
+			Lambda accessor = (Lambda) let.getArgument();
+			SearchExpression key = accessor.getBody();
+			if (key instanceof Desc) {
+				key = ((Desc) key).getArgument();
+				descending = !descending;
+			}
+			Access access = attributeAccess(key, accessor.getName());
+			if (access == null) {
+				return null;
+			}
+			return order(query, access, descending);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Creates an {@link OrderSpec} for the query result by the given attribute.
+	 *
+	 * @return The order specification, or <code>null</code>, if the attribute cannot be used as
+	 *         database sort key.
+	 *
+	 * @see ComparatorBuilder#comparator(SearchExpression)
+	 */
+	private OrderSpec order(KBQuery query, Access access, boolean descending) {
+		String tableName = query.visit(FilterCompiler.GetTableType.INSTANCE, null);
+		if (tableName == null) {
+			return null;
+		}
+		MetaObject tableType;
+		try {
+			tableType = _typeContext.getType(tableName);
+		} catch (UnknownTypeException ex) {
+			throw new IllegalArgumentException("Unknown table type in: " + query, ex);
+		}
+
+		Value key = new CompiledContext(tableType).processAccess(access, access.getPart());
+		if (!(key instanceof CompiledAttributeAccess)) {
+			return null;
+		}
+		CompiledAttributeAccess attributeAccess = (CompiledAttributeAccess) key;
+		if (attributeAccess.getPart().getModelKind() != ModelKind.PROPERTY) {
+			return null;
+		}
+		MOAttribute attribute = attributeAccess.getAttribute();
+		if (!attribute.isMandatory()) {
+			// Null values are sorted differently by different databases.
+			return null;
+		}
+		if (!CompiledCompareOp.supportsCompiledCompare(attributeAccess.compiledType())) {
+			return null;
+		}
+		try {
+			return ExpressionFactory.order(attributeAccess.buildExpression(null), descending);
+		} catch (CompiledValue.IncompatibleTypes ex) {
+			return null;
+		}
+	}
+
+	private static KBQuery withOrder(KBQuery query, List<OrderSpec> order) {
+		return query(query.getClassType(), query.getQuery(), query.getDynamicFilters(), order,
+			query.getStartRow(), query.getStopRow());
+	}
+
+	private static KBQuery withRange(KBQuery query, int startRow, int stopRow) {
+		return query(query.getClassType(), query.getQuery(), query.getDynamicFilters(), query.getOrder(),
+			startRow, stopRow);
+	}
+
+	private static boolean isUnlimitedQuery(SearchExpression expr) {
+		return expr instanceof KBQuery && !((KBQuery) expr).hasRange();
+	}
+
+	/**
+	 * The {@link Access} to an attribute of the given variable, or <code>null</code>, if the given
+	 * expression has another form.
+	 */
+	private static Access attributeAccess(SearchExpression expr, Object varName) {
+		if (!(expr instanceof Access)) {
+			return null;
+		}
+		Access access = (Access) expr;
+		if (!isVar(access.getSelf(), varName)) {
+			return null;
+		}
+		return access;
+	}
+
+	/**
+	 * Whether the given expression is the call <code>$fun($arg)</code>.
+	 */
+	private static boolean isCall(SearchExpression expr, Object fun, Object arg) {
+		if (!(expr instanceof Call)) {
+			return false;
+		}
+		Call call = (Call) expr;
+		return isVar(call.getFunction(), fun) && isVar(call.getArgument(), arg);
+	}
+
+	private static boolean isVar(SearchExpression expr, Object varName) {
+		return expr instanceof Var && ((Var) expr).getName().equals(varName);
+	}
+
+	/**
+	 * The non-negative integer value of a literal index, or <code>-1</code>, if the given
+	 * expression is not a literal or its value is not a non-negative integer.
+	 */
+	private static int literalIndex(SearchExpression expr) {
+		if (!(expr instanceof Literal)) {
+			return -1;
+		}
+		Object value = ((Literal) expr).getValue();
+		if (!(value instanceof Number)) {
+			return -1;
+		}
+		double index = ((Number) value).doubleValue();
+		if (index < 0 || index > Integer.MAX_VALUE || index != Math.floor(index)) {
+			return -1;
+		}
+		return (int) index;
+	}
+
+}
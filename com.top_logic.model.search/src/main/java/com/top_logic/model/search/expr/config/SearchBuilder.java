@@ -22,6 +22,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import org.jsoup.Jsoup;
@@ -29,8 +31,10 @@ import org.jsoup.nodes.Document;
 
 import com.top_logic.basic.CalledByReflection;
 import com.top_logic.basic.ConfigurationError;
+import com.top_logic.basic.Logger;
 import com.top_logic.basic.NamedConstant;
 import com.top_logic.basic.StringServices;
+import com.top_logic.basic.annotation.FrameworkInternal;
 import com.top_logic.basic.config.ConfigurationException;
 import com.top_logic.basic.config.InstantiationContext;
 import com.top_logic.basic.config.NamedConfiguration;
@@ -38,6 +42,7 @@ import com.top_logic.basic.config.PolymorphicConfiguration;
 import com.top_logic.basic.config.TypedConfiguration;
 import com.top_logic.basic.config.annotation.Key;
 import com.top_logic.basic.config.annotation.Name;
+import com.top_logic.basic.config.annotation.defaults.IntDefault;
 import com.top_logic.basic.module.ConfiguredManagedClass;
 import com.top_logic.basic.module.TypedRuntimeModule;
 import com.top_logic.basic.reflect.JavaTypeUtil;
@@ -47,6 +52,7 @@ import com.top_logic.basic.treexf.TreeMaterializer.Factory;
 import com.top_logic.basic.util.ResKey;
 import com.top_logic.basic.util.ResKey.Builder;
 import com.top_logic.basic.xml.TagWriter;
+import com.top_logic.knowledge.service.PersistencyLayer;
 import com.top_logic.layout.DisplayContext;
 import com.top_logic.model.TLModel;
 import com.top_logic.model.TLType;
@@ -61,6 +67,7 @@ import com.top_logic.model.search.expr.SearchExpression;
 import com.top_logic.model.search.expr.SearchExpressionFactory;
 import com.top_logic.model.search.expr.SearchExpressions;
 import com.top_logic.model.search.expr.TupleExpression.Coord;
+import com.top_logic.model.search.expr.compile.code.CompiledScript;
 import com.top_logic.model.search.expr.config.dom.Expr;
 import com.top_logic.model.search.expr.config.dom.Expr.Access;
 import com.top_logic.model.search.expr.config.dom.Expr.Add;
@@ -110,6 +117,8 @@ import com.top_logic.model.search.expr.config.dom.ExprVisitor;
 import com.top_logic.model.search.expr.config.operations.MethodBuilder;
 import com.top_logic.model.search.expr.documentation.DocumentationConstants;
 import com.top_logic.model.search.expr.html.AttributeMacro;
+import com.top_logic.model.search.expr.query.ExpressionCache;
+import com.top_logic.model.search.expr.query.QueryExecutor;
 import com.top_logic.model.search.ui.help.HelpPageIndex;
 import com.top_logic.model.search.ui.help.HelpPageIndex.Page;
 import com.top_logic.model.util.TLModelUtil;
@@ -146,6 +155,56 @@ public class SearchBuilder<C extends SearchBuilder.Config<?>> extends Configured
 		@Name("method-resolvers")
 		List<PolymorphicConfiguration<MethodResolver>> getMethodResolvers();
 
+		/**
+		 * Whether scripts executed through a {@link QueryExecutor} are compiled to
+		 * {@link CompiledScript}s instead of being interpreted node by node.
+		 * 
+		 * <p>
+		 * Compilation is disabled by default, it must be enabled explicitly for an application.
+		 * </p>
+		 */
+		@Name("compile-scripts")
+		boolean isCompileScripts();
+
+		/**
+		 * Minimum size of a collection, for which <code>map()</code> and <code>filter()</code>
+		 * evaluate their function in parallel.
+		 * 
+		 * <p>
+		 * Parallel evaluation is only used for functions without side effects, and only if the
+		 * script is neither executed within a transaction nor while rendering. A value of
+		 * <code>0</code> disables parallel evaluation.
+		 * </p>
+		 * 
+		 * @see #getParallelism()
+		 */
+		@Name("parallel-threshold")
+		int getParallelThreshold();
+
+		/**
+		 * Number of worker threads for parallel evaluation.
+		 * 
+		 * <p>
+		 * A value of <code>0</code> uses the number of available processors.
+		 * </p>
+		 * 
+		 * @see #getParallelThreshold()
+		 */
+		@Name("parallelism")
+		int getParallelism();
+
+		/**
+		 * Maximum number of compiled expressions kept in the application-wide
+		 * {@link ExpressionCache}.
+		 * 
+		 * <p>
+		 * A value of <code>0</code> disables the cache.
+		 * </p>
+		 */
+		@Name("expression-cache-size")
+		@IntDefault(1000)
+		int getExpressionCacheSize();
+
 	}
 
 	private Map<String, MethodBuilder<?>> _builders = new HashMap<>();
@@ -154,6 +213,12 @@ public class SearchBuilder<C extends SearchBuilder.Config<?>> extends Configured
 
 	private List<MethodResolver> _resolvers;
 
+	private ForkJoinPool _parallelPool;
+
+	private final LongAdder _parallelEvaluations = new LongAdder();
+
+	private ExpressionCache _expressionCache;
+
 	/**
 	 * Creates a {@link SearchBuilder} from configuration.
 	 * 
@@ -736,6 +801,98 @@ public class SearchBuilder<C extends SearchBuilder.Config<?>> extends Configured
 		return search;
 	}
 
+	/**
+	 * Whether scripts are executed as {@link CompiledScript}s.
+	 * 
+	 * @see Config#isCompileScripts()
+	 */
+	public boolean isCompileScripts() {
+		return getConfig().isCompileScripts();
+	}
+
+	/**
+	 * The minimum collection size for parallel evaluation, <code>0</code> if parallel evaluation
+	 * is disabled.
+	 * 
+	 * @see Config#getParallelThreshold()
+	 */
+	public int getParallelThreshold() {
+		return _parallelPool == null ? 0 : getConfig().getParallelThreshold();
+	}
+
+	/**
+	 * The pool for parallel evaluation, <code>null</code> if parallel evaluation is disabled.
+	 * 
+	 * @see #getParallelThreshold()
+	 */
+	public ForkJoinPool getParallelPool() {
+		return _parallelPool;
+	}
+
+	/**
+	 * The number of collection operations that have been evaluated in the
+	 * {@link #getParallelPool() parallel pool}.
+	 */
+	public long getParallelEvaluationCount() {
+		return _parallelEvaluations.sum();
+	}
+
+	/**
+	 * Records a collection operation evaluated in the {@link #getParallelPool() parallel pool}.
+	 * 
+	 * @see #getParallelEvaluationCount()
+	 */
+	@FrameworkInternal
+	public void countParallelEvaluation() {
+		_parallelEvaluations.increment();
+	}
+
+	/**
+	 * The cache of compiled expressions, <code>null</code> if caching is disabled.
+	 * 
+	 * @see Config#getExpressionCacheSize()
+	 */
+	public ExpressionCache getExpressionCache() {
+		return _expressionCache;
+	}
+
+	@Override
+	protected void startUp() {
+		super.startUp();
+
+		int cacheSize = getConfig().getExpressionCacheSize();
+		if (cacheSize > 0) {
+			_expressionCache = new ExpressionCache(cacheSize);
+			if (PersistencyLayer.Module.INSTANCE.isActive()) {
+				_expressionCache.observe(PersistencyLayer.getKnowledgeBase());
+			}
+			_expressionCache.register();
+		}
+
+		if (getConfig().getParallelThreshold() > 0) {
+			int parallelism = getConfig().getParallelism();
+			if (parallelism <= 0) {
+				parallelism = Runtime.getRuntime().availableProcessors();
+			}
+			_parallelPool = new ForkJoinPool(parallelism);
+		}
+	}
+
+	@Override
+	protected void shutDown() {
+		if (_expressionCache != null) {
+			Logger.info("Compiled TL-Script expressions: " + _expressionCache, SearchBuilder.class);
+			_expressionCache.unregister();
+			_expressionCache = null;
+		}
+		if (_parallelPool != null) {
+			_parallelPool.shutdown();
+			_parallelPool = null;
+		}
+
+		super.shutDown();
+	}
+
 	/**
 	 * The {@link TreeMaterializer} for transforming {@link SearchExpression} trees.
 	 */
@@ -0,0 +1,137 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr.interpreter;
+
+import static com.top_logic.model.search.expr.SearchExpressionFactory.*;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.top_logic.basic.NamedConstant;
+import com.top_logic.model.search.expr.Definition;
+import com.top_logic.model.search.expr.KBQuery;
+import com.top_logic.model.search.expr.Lambda;
+import com.top_logic.model.search.expr.SearchExpression;
+
+/**
+ * Transformation that evaluates structurally identical sub-expressions only once.
+ *
+ * <p>
+ * Within the top-level expression and within the body of each function, sub-expressions that occur
+ * more than once are bound to a local variable and all occurrences are replaced with a reference
+ * to this variable. The expression <code>$x.get(`my:T#a`) + $x.get(`my:T#a`)</code> is transformed
+ * to <code>{shared = $x.get(`my:T#a`); $shared + $shared}</code>.
+ * </p>
+ *
+ * <p>
+ * Only sub-expressions are shared that are evaluated exactly once whenever the surrounding body is
+ * evaluated. Occurrences in conditional branches or within nested functions are not considered,
+ * since moving them would evaluate an expression that is not evaluated in the original script.
+ * </p>
+ *
+ * <p>
+ * {@link KBQuery} sources are never shared. Binding a query to a variable materializes its result,
+ * while each occurrence of the query may be evaluated more efficiently on its own (e.g. by counting
+ * in the database or by streaming only the first results).
+ * </p>
+ *
+ * <p>
+ * Precondition: {@link DefResolver}, the expression is free of side effects.
+ * </p>
+ *
+ * @see LoopInvariants
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public class CommonSubExpressions {
+
+	private int _nextVar;
+
+	private CommonSubExpressions() {
+		// Internal state for a single transformation.
+	}
+
+	/**
+	 * Transforms the given expression.
+	 *
+	 * @param expr
+	 *        The expression to transform. Must no longer be used after this method returns, since
+	 *        parts may have been reused in the result.
+	 * @return The transformed expression.
+	 */
+	public static SearchExpression transform(SearchExpression expr) {
+		return new CommonSubExpressions().transformAll(expr);
+	}
+
+	private SearchExpression transformAll(SearchExpression expr) {
+		List<Lambda> functions = ScopeAnalysis.functions(expr);
+		SearchExpression result = transformBody(expr);
+		for (Lambda function : functions) {
+			function.setBody(transformBody(function.getBody()));
+		}
+		return result;
+	}
+
+	private SearchExpression transformBody(SearchExpression body) {
+		while (true) {
+			List<SearchExpression> occurrences = largestCommon(body);
+			if (occurrences == null) {
+				return body;
+			}
+			body = share(body, occurrences);
+		}
+	}
+
+	/**
+	 * The occurrences of the largest sub-expression that occurs more than once within the given
+	 * body, <code>null</code> if there is no such expression.
+	 */
+	private static List<SearchExpression> largestCommon(SearchExpression body) {
+		// Expressions depending on variables bound within the body cannot be moved to its top.
+		Set<Definition> local = ScopeAnalysis.definitions(body);
+
+		Map<Object, List<SearchExpression>> groups = new LinkedHashMap<>();
+		for (SearchExpression candidate : ScopeAnalysis.strictCandidates(body)) {
+			if (candidate instanceof KBQuery) {
+				continue;
+			}
+			if (ScopeAnalysis.isIndependent(candidate, local)) {
+				groups.computeIfAbsent(ScopeAnalysis.structuralKey(candidate), x -> new ArrayList<>()).add(candidate);
+			}
+		}
+
+		List<SearchExpression> result = null;
+		int resultSize = 0;
+		for (List<SearchExpression> group : groups.values()) {
+			if (group.size() < 2) {
+				continue;
+			}
+			int size = ScopeAnalysis.size(group.get(0));
+			if (size > resultSize) {
+				result = group;
+				resultSize = size;
+			}
+		}
+		return result;
+	}
+
+	private SearchExpression share(SearchExpression body, List<SearchExpression> occurrences) {
+		Lambda definition = lambda(new NamedConstant("shared" + _nextVar++), null);
+
+		Map<SearchExpression, SearchExpression> replacements = new IdentityHashMap<>();
+		for (SearchExpression occurrence : occurrences) {
+			replacements.put(occurrence, ScopeAnalysis.reference(definition));
+		}
+		definition.setBody(ScopeAnalysis.replace(body, replacements));
+
+		return call(definition, occurrences.get(0));
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr.interpreter;
+
+import static com.top_logic.model.search.expr.SearchExpressionFactory.*;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.top_logic.basic.NamedConstant;
+import com.top_logic.model.search.expr.Definition;
+import com.top_logic.model.search.expr.Filter;
+import com.top_logic.model.search.expr.Foreach;
+import com.top_logic.model.search.expr.Lambda;
+import com.top_logic.model.search.expr.SearchExpression;
+
+/**
+ * Transformation that moves loop-invariant sub-expressions out of {@link Filter} and
+ * {@link Foreach} functions.
+ *
+ * <p>
+ * A sub-expression of a loop function that does not depend on the function parameter (or on any
+ * variable bound within the function) computes the same value for each element. Such expressions
+ * (e.g. <code>all(`my:T`)</code> in <code>$list.filter(x -> all(`my:T`).containsElement($x))</code>)
+ * are bound to a local variable before the loop and evaluated only once.
+ * </p>
+ *
+ * <p>
+ * Only sub-expressions are moved that are evaluated exactly once per loop iteration, i.e. not
+ * within conditional branches. The moved expressions are only evaluated, if the loop is applied to
+ * a non-empty collection. Otherwise, a moved expression could fail (e.g.
+ * <code>$empty.map(x -> $null.get(`my:T#a`))</code>), where the original loop does not evaluate
+ * it at all. The loop above is transformed to
+ * <code>{base = $empty; if ($base.isEmpty(), list(), {invariant = $null.get(`my:T#a`); $base.map(x -> $invariant)})}</code>.
+ * </p>
+ *
+ * <p>
+ * Precondition: {@link DefResolver}, the expression is free of side effects.
+ * </p>
+ *
+ * @see CommonSubExpressions
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public class LoopInvariants extends Rewriter<Void> {
+
+	private int _nextVar;
+
+	private LoopInvariants() {
+		// Internal state for a single transformation.
+	}
+
+	/**
+	 * Transforms the given expression.
+	 *
+	 * @param expr
+	 *        The expression to transform. Must no longer be used after this method returns, since
+	 *        parts may have been reused in the result.
+	 * @return The transformed expression.
+	 */
+	public static SearchExpression transform(SearchExpression expr) {
+		return expr.visit(new LoopInvariants(), null);
+	}
+
+	@Override
+	protected SearchExpression composeFilter(Filter expr, Void arg, SearchExpression baseResult,
+			SearchExpression functionResult) {
+		Filter loop = (Filter) super.composeFilter(expr, arg, baseResult, functionResult);
+		return hoist(loop, loop.getBase(), loop::setBase, loop.getFunction());
+	}
+
+	@Override
+	protected SearchExpression composeForeach(Foreach expr, Void arg, SearchExpression baseResult,
+			SearchExpression functionResult) {
+		Foreach loop = (Foreach) super.composeForeach(expr, arg, baseResult, functionResult);
+		return hoist(loop, loop.getBase(), loop::setBase, loop.getFunction());
+	}
+
+	/**
+	 * Binds the invariant parts of the given loop function to local variables around the given
+	 * loop.
+	 *
+	 * <p>
+	 * The invariants are evaluated within a guard that checks that the loop base is not empty.
+	 * Since the guarded part is not strict, expressions moved out of an inner loop are not moved
+	 * further out of an outer loop, because the inner loop base may be empty in all iterations of
+	 * the outer loop.
+	 * </p>
+	 *
+	 * @param loop
+	 *        The loop to transform.
+	 * @param base
+	 *        The expression computing the collection the loop iterates over.
+	 * @param setBase
+	 *        Callback to replace the base of the loop with a reference to the evaluated base.
+	 * @param function
+	 *        The loop function.
+	 */
+	private SearchExpression hoist(SearchExpression loop, SearchExpression base,
+			Consumer<SearchExpression> setBase, SearchExpression function) {
+		if (function == null || function.getClass() != Lambda.class) {
+			return loop;
+		}
+		Lambda lambda = (Lambda) function;
+
+		Set<Definition> local = ScopeAnalysis.definitions(lambda);
+		List<SearchExpression> invariants = new ArrayList<>();
+		ScopeAnalysis.visitStrict(lambda.getBody(), part -> {
+			if (ScopeAnalysis.isCandidate(part) && ScopeAnalysis.isIndependent(part, local)) {
+				invariants.add(part);
+
+				// Only move maximal invariant expressions.
+				return false;
+			}
+			return true;
+		});
+		if (invariants.isEmpty()) {
+			return loop;
+		}
+
+		List<Lambda> definitions = new ArrayList<>(invariants.size());
+		Map<SearchExpression, SearchExpression> replacements = new IdentityHashMap<>();
+		for (SearchExpression invariant : invariants) {
+			Lambda definition = lambda(new NamedConstant("invariant" + _nextVar++), null);
+			definitions.add(definition);
+			replacements.put(invariant, ScopeAnalysis.reference(definition));
+		}
+		lambda.setBody(ScopeAnalysis.replace(lambda.getBody(), replacements));
+
+		// The base is evaluated only once for the emptiness check and for the loop.
+		Lambda baseDefinition = lambda(new NamedConstant("base" + _nextVar++), null);
+		setBase.accept(ScopeAnalysis.reference(baseDefinition));
+
+		SearchExpression hoisted = loop;
+		for (int n = invariants.size() - 1; n >= 0; n--) {
+			Lambda definition = definitions.get(n);
+			definition.setBody(hoisted);
+			hoisted = call(definition, invariants.get(n));
+		}
+
+		baseDefinition.setBody(ifElse(isEmpty(ScopeAnalysis.reference(baseDefinition)), list(), hoisted));
+		return call(baseDefinition, base);
+	}
+
+}
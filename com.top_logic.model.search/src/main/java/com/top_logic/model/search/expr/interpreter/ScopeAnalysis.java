@@ -0,0 +1,433 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr.interpreter;
+
+import static com.top_logic.model.search.expr.SearchExpressionFactory.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import com.top_logic.model.search.expr.And;
+import com.top_logic.model.search.expr.Call;
+import com.top_logic.model.search.expr.Definition;
+import com.top_logic.model.search.expr.EvalContext;
+import com.top_logic.model.search.expr.GenericMethod;
+import com.top_logic.model.search.expr.IfElse;
+import com.top_logic.model.search.expr.Lambda;
+import com.top_logic.model.search.expr.Literal;
+import com.top_logic.model.search.expr.Or;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.Try;
+import com.top_logic.model.search.expr.TupleExpression;
+import com.top_logic.model.search.expr.Var;
+import com.top_logic.model.search.expr.query.Args;
+import com.top_logic.model.search.expr.visit.DefaultDescendingVisitor;
+import com.top_logic.model.search.expr.visit.GenericDescendingVisitor;
+
+/**
+ * Analysis of variable scopes and evaluation order in a {@link SearchExpression} tree.
+ *
+ * <p>
+ * A sub-expression is <i>strict</i> within a body, if it is evaluated exactly once whenever the
+ * body is evaluated. The contents of functions and conditionally evaluated parts (e.g. the branches
+ * of a conditional) are not strict. The body of a local variable binding
+ * (<code>x = ...; ...</code>) is strict, since it is evaluated exactly once.
+ * </p>
+ *
+ * <p>
+ * Precondition: {@link DefResolver}.
+ * </p>
+ *
+ * @see CommonSubExpressions
+ * @see LoopInvariants
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+final class ScopeAnalysis {
+
+	private ScopeAnalysis() {
+		// Utility class.
+	}
+
+	/**
+	 * Whether it is worth to share the result of the given expression.
+	 */
+	static boolean isCandidate(SearchExpression expr) {
+		return !(expr instanceof Var) && !(expr instanceof Literal) && !(expr instanceof Lambda);
+	}
+
+	/**
+	 * Visits all strict sub-expressions of the given body in pre-order.
+	 *
+	 * @param body
+	 *        The expression whose strict parts should be visited. The body itself is visited
+	 *        first.
+	 * @param action
+	 *        Callback for each strict sub-expression. Returns whether to descend into the parts of
+	 *        the given expression.
+	 */
+	static void visitStrict(SearchExpression body, Predicate<SearchExpression> action) {
+		new StrictParts(action).visitStrict(body);
+	}
+
+	/**
+	 * All strict sub-expressions of the given body that are {@link #isCandidate(SearchExpression)
+	 * candidates} for sharing.
+	 */
+	static List<SearchExpression> strictCandidates(SearchExpression body) {
+		List<SearchExpression> result = new ArrayList<>();
+		visitStrict(body, expr -> {
+			if (isCandidate(expr)) {
+				result.add(expr);
+			}
+			return true;
+		});
+		return result;
+	}
+
+	/**
+	 * All {@link Definition}s declared within the given expression.
+	 */
+	static Set<Definition> definitions(SearchExpression expr) {
+		Set<Definition> result = Collections.newSetFromMap(new IdentityHashMap<>());
+		expr.visit(new Definitions(result), null);
+		return result;
+	}
+
+	/**
+	 * All {@link Definition}s referenced from the given expression that are not declared within
+	 * the expression.
+	 */
+	static Set<Definition> freeVariables(SearchExpression expr) {
+		Set<Definition> result = Collections.newSetFromMap(new IdentityHashMap<>());
+		expr.visit(new References(result), null);
+		result.removeAll(definitions(expr));
+		return result;
+	}
+
+	/**
+	 * Whether none of the free variables of the given expression is contained in the given set of
+	 * definitions.
+	 */
+	static boolean isIndependent(SearchExpression expr, Set<Definition> definitions) {
+		for (Definition free : freeVariables(expr)) {
+			if (definitions.contains(free)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * A key that is equal for two expressions, iff both expressions are structurally identical
+	 * and refer to the same outer variables.
+	 */
+	static Object structuralKey(SearchExpression expr) {
+		return expr.visit(new StructuralKey(), null);
+	}
+
+	/**
+	 * The number of nodes in the given expression.
+	 */
+	static int size(SearchExpression expr) {
+		return expr.visit(Size.INSTANCE, null).intValue();
+	}
+
+	/**
+	 * Replaces the given sub-expressions.
+	 *
+	 * @param expr
+	 *        The expression to modify.
+	 * @param replacements
+	 *        Mapping of sub-expressions (by identity) to their replacements.
+	 * @return The given expression, or its replacement, if the expression itself is replaced.
+	 */
+	static SearchExpression replace(SearchExpression expr, Map<SearchExpression, SearchExpression> replacements) {
+		SearchExpression direct = replacements.get(expr);
+		if (direct != null) {
+			return direct;
+		}
+		return expr.visit(new Replace(replacements), null);
+	}
+
+	/**
+	 * Creates a reference to the variable bound by the given definition.
+	 */
+	static Var reference(Lambda definition) {
+		Var result = var(definition.getName());
+		result.setDef(definition);
+		return result;
+	}
+
+	/**
+	 * All functions within the given expression that are not local variable bindings.
+	 */
+	static List<Lambda> functions(SearchExpression expr) {
+		List<Lambda> result = new ArrayList<>();
+		Set<Lambda> lets = Collections.newSetFromMap(new IdentityHashMap<>());
+		expr.visit(new DefaultDescendingVisitor<Void, Void>() {
+			@Override
+			public Void visitCall(Call call, Void arg) {
+				if (isLetFunction(call, call.getFunction())) {
+					lets.add((Lambda) call.getFunction());
+				}
+				return super.visitCall(call, arg);
+			}
+
+			@Override
+			public Void visitLambda(Lambda lambda, Void arg) {
+				result.add(lambda);
+				return super.visitLambda(lambda, arg);
+			}
+		}, null);
+		result.removeAll(lets);
+		return result;
+	}
+
+	/**
+	 * Whether the given part is evaluated exactly once, whenever its parent is evaluated.
+	 */
+	private static boolean isStrict(SearchExpression parent, SearchExpression part) {
+		if (parent instanceof Lambda) {
+			return false;
+		}
+		if (parent instanceof IfElse ifElse) {
+			return part == ifElse.getCondition();
+		}
+		if (parent instanceof And and) {
+			return part == and.getLeft();
+		}
+		if (parent instanceof Or or) {
+			return part == or.getLeft();
+		}
+		if (parent instanceof Try) {
+			// Moving an expression out of a try block changes error handling.
+			return false;
+		}
+		if (parent instanceof GenericMethod) {
+			// A custom evaluation may evaluate its arguments lazily.
+			return !overridesEval(parent);
+		}
+		return true;
+	}
+
+	private static boolean overridesEval(SearchExpression expr) {
+		try {
+			return expr.getClass().getMethod("internalEval", EvalContext.class, Args.class)
+				.getDeclaringClass() != GenericMethod.class;
+		} catch (NoSuchMethodException ex) {
+			return true;
+		}
+	}
+
+	/**
+	 * Whether the given part is the function of a local variable binding in its parent.
+	 */
+	private static boolean isLetFunction(SearchExpression parent, SearchExpression part) {
+		return parent instanceof Call call && call.getFunction() == part && part.getClass() == Lambda.class;
+	}
+
+	private static final class StrictParts extends DefaultDescendingVisitor<Void, Void> {
+
+		private final Predicate<SearchExpression> _action;
+
+		StrictParts(Predicate<SearchExpression> action) {
+			_action = action;
+		}
+
+		void visitStrict(SearchExpression expr) {
+			if (_action.test(expr)) {
+				expr.visit(this, null);
+			}
+		}
+
+		@Override
+		protected Void descendPart(SearchExpression expr, Void arg, SearchExpression part) {
+			if (part == null) {
+				return none();
+			}
+			if (isLetFunction(expr, part)) {
+				// The body of a local variable binding is evaluated exactly once.
+				visitStrict(((Lambda) part).getBody());
+				return none();
+			}
+			if (isStrict(expr, part)) {
+				visitStrict(part);
+			}
+			return none();
+		}
+
+	}
+
+	private static final class Definitions extends DefaultDescendingVisitor<Void, Void> {
+
+		private final Set<Definition> _result;
+
+		Definitions(Set<Definition> result) {
+			_result = result;
+		}
+
+		@Override
+		public Void visitLambda(Lambda expr, Void arg) {
+			_result.add(expr);
+			return super.visitLambda(expr, arg);
+		}
+
+		@Override
+		public Void visitTuple(TupleExpression expr, Void arg) {
+			_result.addAll(Arrays.asList(expr.getCoords()));
+			return super.visitTuple(expr, arg);
+		}
+
+	}
+
+	private static final class References extends DefaultDescendingVisitor<Void, Void> {
+
+		private final Set<Definition> _result;
+
+		References(Set<Definition> result) {
+			_result = result;
+		}
+
+		@Override
+		public Void visitVar(Var expr, Void arg) {
+			_result.add(expr.getDef());
+			return super.visitVar(expr, arg);
+		}
+
+	}
+
+	/**
+	 * Computes a structural key of an expression.
+	 *
+	 * <p>
+	 * Variables bound within the expression are identified by their binding depth, so that two
+	 * copies of the same function have the same key. Variables bound outside are identified by
+	 * their {@link Definition}.
+	 * </p>
+	 */
+	private static final class StructuralKey extends GenericDescendingVisitor<Object, Void> {
+
+		private final List<Definition> _bound = new ArrayList<>();
+
+		@Override
+		public Object visitLambda(Lambda expr, Void arg) {
+			_bound.add(expr);
+			Object body = descendPart(expr, arg, expr.getBody());
+			_bound.remove(_bound.size() - 1);
+			return Arrays.asList(Lambda.class, body);
+		}
+
+		@Override
+		public Object visitVar(Var expr, Void arg) {
+			Definition def = expr.getDef();
+			int index = _bound.lastIndexOf(def);
+			if (index >= 0) {
+				return Arrays.asList(Var.class, Integer.valueOf(_bound.size() - index));
+			}
+			return Arrays.asList(Var.class, new Identity(def));
+		}
+
+		@Override
+		protected Object compose(SearchExpression expr, Void arg, List<Object> descendResult) {
+			List<Object> result = new ArrayList<>(descendResult.size() + 1);
+			result.add(expr.getId());
+			result.addAll(descendResult);
+			return result;
+		}
+
+		@Override
+		protected Object compose(Class<?> type, Void arg, List<Object> contents) {
+			List<Object> result = new ArrayList<>(contents.size() + 1);
+			result.add(type);
+			result.addAll(contents);
+			return result;
+		}
+
+		@Override
+		protected Object wrap(Object value) {
+			if (value instanceof SearchExpression || value instanceof Definition) {
+				return new Identity(value);
+			}
+			return value;
+		}
+
+	}
+
+	/**
+	 * Wrapper comparing an object by identity.
+	 */
+	private static final class Identity {
+
+		private final Object _value;
+
+		Identity(Object value) {
+			_value = value;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(_value);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Identity other && other._value == _value;
+		}
+
+	}
+
+	private static final class Size extends DefaultDescendingVisitor<Integer, Void> {
+
+		static final Size INSTANCE = new Size();
+
+		@Override
+		protected Integer compose(SearchExpression expr, Void arg, Integer result) {
+			return Integer.valueOf(1 + count(result));
+		}
+
+		@Override
+		protected Integer combine(Integer result1, Integer result2) {
+			return Integer.valueOf(count(result1) + count(result2));
+		}
+
+		private static int count(Integer result) {
+			return result == null ? 0 : result.intValue();
+		}
+
+		@Override
+		protected Integer none() {
+			return Integer.valueOf(0);
+		}
+
+	}
+
+	private static final class Replace extends Rewriter<Void> {
+
+		private final Map<SearchExpression, SearchExpression> _replacements;
+
+		Replace(Map<SearchExpression, SearchExpression> replacements) {
+			_replacements = replacements;
+		}
+
+		@Override
+		protected SearchExpression descendPart(SearchExpression expr, Void arg, SearchExpression part) {
+			SearchExpression replacement = _replacements.get(part);
+			if (replacement != null) {
+				return replacement;
+			}
+			return super.descendPart(expr, arg, part);
+		}
+
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr.interpreter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.top_logic.model.search.expr.Definition;
+import com.top_logic.model.search.expr.EvalContext;
+import com.top_logic.model.search.expr.Lambda;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.TupleExpression;
+import com.top_logic.model.search.expr.TupleExpression.Coord;
+import com.top_logic.model.search.expr.visit.DefaultDescendingVisitor;
+
+/**
+ * Assigns {@link Definition#getSlot() slots} to all variable definitions of an expression.
+ * 
+ * <p>
+ * Each definition in an expression gets its own slot. This allows storing all local variables of
+ * an evaluation in an array of the {@link EvalContext} instead of a hash map. Definitions that
+ * already have a slot (from a previous resolution) keep it, new definitions are numbered after
+ * the highest slot in use.
+ * </p>
+ *
+ * @see EvalContext#defineVar(com.top_logic.basic.NamedConstant, int, Object)
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public class SlotAllocator extends DefaultDescendingVisitor<Void, Void> {
+
+	private final List<Definition> _unassigned = new ArrayList<>();
+
+	private int _nextSlot;
+
+	private SlotAllocator() {
+		// Use allocate().
+	}
+
+	/**
+	 * Assigns slots to all definitions in the given expression.
+	 */
+	public static void allocate(SearchExpression expr) {
+		SlotAllocator allocator = new SlotAllocator();
+		expr.visit(allocator, null);
+		allocator.assign();
+	}
+
+	@Override
+	public Void visitLambda(Lambda expr, Void arg) {
+		add(expr);
+		return super.visitLambda(expr, arg);
+	}
+
+	@Override
+	public Void visitTuple(TupleExpression expr, Void arg) {
+		for (Coord coord : expr.getCoords()) {
+			add(coord);
+		}
+		return super.visitTuple(expr, arg);
+	}
+
+	private void add(Definition def) {
+		int slot = def.getSlot();
+		if (slot == Definition.NO_SLOT) {
+			_unassigned.add(def);
+		} else {
+			_nextSlot = Math.max(_nextSlot, slot + 1);
+		}
+	}
+
+	private void assign() {
+		for (Definition def : _unassigned) {
+			def.initSlot(_nextSlot++);
+		}
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr.profile;
+
+import com.top_logic.model.search.expr.profile.ScriptProfiler.CallNode;
+
+/**
+ * Profiling data of a single expression recorded by a {@link ScriptProfiler}.
+ *
+ * <p>
+ * The values are accumulated over all call paths, in which the expression was evaluated. For
+ * recursive evaluations, the total time contains the time of nested evaluations more than once.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public final class ExpressionStatistics {
+
+	private final String _expression;
+
+	private long _calls;
+
+	private long _totalNanos;
+
+	private long _selfNanos;
+
+	private long _elements;
+
+	ExpressionStatistics(String expression) {
+		_expression = expression;
+	}
+
+	void add(CallNode node) {
+		_calls += node.getCalls();
+		_totalNanos += node.getNanos();
+		_selfNanos += node.getSelfNanos();
+		_elements += node.getElements();
+	}
+
+	/**
+	 * The expression type and its (abbreviated) source.
+	 */
+	public String getExpression() {
+		return _expression;
+	}
+
+	/**
+	 * The number of evaluations.
+	 */
+	public long getCalls() {
+		return _calls;
+	}
+
+	/**
+	 * The cumulative time in milliseconds spent in evaluations including nested expressions.
+	 */
+	public double getTotalTime() {
+		return _totalNanos / 1_000_000.0;
+	}
+
+	/**
+	 * The cumulative time in milliseconds spent in evaluations excluding nested expressions.
+	 */
+	public double getSelfTime() {
+		return _selfNanos / 1_000_000.0;
+	}
+
+	/**
+	 * The average time in milliseconds of a single evaluation including nested expressions.
+	 */
+	public double getAverageTime() {
+		return _calls == 0 ? 0.0 : getTotalTime() / _calls;
+	}
+
+	/**
+	 * The total number of collection elements produced by all evaluations.
+	 */
+	public long getElements() {
+		return _elements;
+	}
+
+	@Override
+	public String toString() {
+		return _expression + " (calls=" + _calls + ", total=" + getTotalTime() + "ms)";
+	}
+
+}
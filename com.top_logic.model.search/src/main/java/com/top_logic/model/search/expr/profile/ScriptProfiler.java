@@ -0,0 +1,347 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr.profile;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.top_logic.basic.SessionContext;
+import com.top_logic.basic.thread.ThreadContextManager;
+import com.top_logic.model.search.expr.EvalContext;
+import com.top_logic.model.search.expr.SearchExpression;
+
+/**
+ * Instrumenting profiler for the evaluation of <i>TL-Script</i> expressions.
+ *
+ * <p>
+ * While a profiler is {@link #start(SessionContext) active}, all scripts evaluated on behalf of the
+ * profiled session are interpreted node by node and each {@link SearchExpression} evaluation is
+ * recorded in a call tree. For each node in the call tree, the number of evaluations, the
+ * cumulative evaluation time, and the number of collection elements produced are counted. Scripts
+ * evaluated in other sessions are not affected.
+ * </p>
+ *
+ * <p>
+ * The recorded data can be inspected {@link #getNodeStatistics() per expression} or
+ * {@link #getScriptStatistics() per script}.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public final class ScriptProfiler {
+
+	/**
+	 * Maximum number of call tree nodes recorded. Evaluations in deeper or wider call trees are
+	 * accounted to their parent node.
+	 */
+	private static final int MAX_NODES = 100_000;
+
+	/**
+	 * Maximum length of an expression label.
+	 */
+	private static final int MAX_LABEL_LENGTH = 80;
+
+	private static volatile ScriptProfiler _active;
+
+	private static volatile ScriptProfiler _last;
+
+	private final SessionContext _session;
+
+	private final long _startTime = System.currentTimeMillis();
+
+	private final CallNode _root = new CallNode(null, null);
+
+	private final ThreadLocal<ThreadState> _state = new ThreadLocal<>();
+
+	private final AtomicInteger _nodeCount = new AtomicInteger();
+
+	private ScriptProfiler(SessionContext session) {
+		_session = session;
+	}
+
+	/**
+	 * Starts profiling all scripts evaluated in the given session.
+	 *
+	 * <p>
+	 * A profiler that is currently active for another session is stopped.
+	 * </p>
+	 *
+	 * @return The new profiler.
+	 */
+	public static synchronized ScriptProfiler start(SessionContext session) {
+		ScriptProfiler profiler = new ScriptProfiler(session);
+		_active = profiler;
+		_last = profiler;
+		return profiler;
+	}
+
+	/**
+	 * Stops profiling.
+	 *
+	 * <p>
+	 * The data of the stopped profiler is still available through {@link #getLast()}.
+	 * </p>
+	 */
+	public static synchronized void stop() {
+		_active = null;
+	}
+
+	/**
+	 * Whether a profiler is currently active.
+	 */
+	public static boolean isActive() {
+		return _active != null;
+	}
+
+	/**
+	 * The most recently started profiler, <code>null</code> if none has been started.
+	 */
+	public static ScriptProfiler getLast() {
+		return _last;
+	}
+
+	/**
+	 * The profiler recording evaluations in the current session, or <code>null</code> if the
+	 * current session is not profiled.
+	 *
+	 * @see EvalContext#getProfiler()
+	 */
+	public static ScriptProfiler current() {
+		ScriptProfiler active = _active;
+		if (active == null) {
+			return null;
+		}
+		return ThreadContextManager.getSession() == active._session ? active : null;
+	}
+
+	/**
+	 * The session being profiled.
+	 */
+	public SessionContext getSession() {
+		return _session;
+	}
+
+	/**
+	 * The time in milliseconds since 1970, when profiling started.
+	 */
+	public long getStartTime() {
+		return _startTime;
+	}
+
+	/**
+	 * Records the start of the evaluation of the given expression.
+	 *
+	 * @return The start time to pass to {@link #exit(long, Object)}.
+	 */
+	public long enter(SearchExpression expr) {
+		ThreadState state = _state.get();
+		if (state == null) {
+			state = new ThreadState(_root);
+			_state.set(state);
+		}
+		state.enter(this, expr);
+		return System.nanoTime();
+	}
+
+	/**
+	 * Records the end of the evaluation started with the last call to
+	 * {@link #enter(SearchExpression)} in the current thread.
+	 *
+	 * @param start
+	 *        The value returned from {@link #enter(SearchExpression)}.
+	 * @param result
+	 *        The result of the evaluation, or <code>null</code> if the evaluation failed.
+	 */
+	public void exit(long start, Object result) {
+		ThreadState state = _state.get();
+		if (state.exit(System.nanoTime() - start, result instanceof Collection<?> c ? c.size() : 0)) {
+			_state.remove();
+		}
+	}
+
+	CallNode createChild(CallNode parent, SearchExpression expr) {
+		if (_nodeCount.incrementAndGet() > MAX_NODES) {
+			_nodeCount.decrementAndGet();
+			return null;
+		}
+		return new CallNode(parent, expr);
+	}
+
+	/**
+	 * Statistics per script, i.e. for all expressions that were evaluated at top-level.
+	 */
+	public List<ExpressionStatistics> getScriptStatistics() {
+		Map<SearchExpression, ExpressionStatistics> result = new IdentityHashMap<>();
+		for (CallNode node : _root.getChildren()) {
+			accumulate(result, node);
+		}
+		return new ArrayList<>(result.values());
+	}
+
+	/**
+	 * Statistics per expression node, accumulated over all call paths.
+	 */
+	public List<ExpressionStatistics> getNodeStatistics() {
+		Map<SearchExpression, ExpressionStatistics> result = new IdentityHashMap<>();
+		for (CallNode node : _root.getChildren()) {
+			accumulateAll(result, node);
+		}
+		return new ArrayList<>(result.values());
+	}
+
+	private static void accumulateAll(Map<SearchExpression, ExpressionStatistics> result, CallNode node) {
+		accumulate(result, node);
+		for (CallNode child : node.getChildren()) {
+			accumulateAll(result, child);
+		}
+	}
+
+	private static void accumulate(Map<SearchExpression, ExpressionStatistics> result, CallNode node) {
+		result.computeIfAbsent(node.getExpr(), x -> new ExpressionStatistics(label(x))).add(node);
+	}
+
+	static String label(SearchExpression expr) {
+		String source = expr.toString();
+		if (source.length() > MAX_LABEL_LENGTH) {
+			source = source.substring(0, MAX_LABEL_LENGTH - 3) + "...";
+		}
+		return expr.getClass().getSimpleName() + ": " + source;
+	}
+
+	/**
+	 * Position of a thread in the call tree of a {@link ScriptProfiler}.
+	 */
+	private static final class ThreadState {
+
+		private final CallNode _root;
+
+		private CallNode _current;
+
+		/**
+		 * Nesting depth of evaluations that are not recorded, because the node limit was reached.
+		 * Their time is accounted to the current node.
+		 */
+		private int _untracked;
+
+		ThreadState(CallNode root) {
+			_root = root;
+			_current = root;
+		}
+
+		void enter(ScriptProfiler profiler, SearchExpression expr) {
+			if (_untracked > 0) {
+				_untracked++;
+				return;
+			}
+			CallNode child = _current.getChild(profiler, expr);
+			if (child == null) {
+				_untracked = 1;
+			} else {
+				_current = child;
+			}
+		}
+
+		/**
+		 * Records the end of the current evaluation.
+		 *
+		 * @return Whether the thread has left the outermost evaluation.
+		 */
+		boolean exit(long nanos, int elements) {
+			if (_untracked > 0) {
+				_untracked--;
+				return false;
+			}
+			_current.record(nanos, elements);
+			_current = _current.getParent();
+			return _current == _root;
+		}
+	}
+
+	/**
+	 * Node in the call tree of a {@link ScriptProfiler}.
+	 */
+	static final class CallNode {
+
+		private final CallNode _parent;
+
+		private final SearchExpression _expr;
+
+		private final Map<SearchExpression, CallNode> _children = new ConcurrentHashMap<>();
+
+		private final LongAdder _calls = new LongAdder();
+
+		private final LongAdder _nanos = new LongAdder();
+
+		private final LongAdder _elements = new LongAdder();
+
+		CallNode(CallNode parent, SearchExpression expr) {
+			_parent = parent;
+			_expr = expr;
+		}
+
+		CallNode getParent() {
+			return _parent;
+		}
+
+		SearchExpression getExpr() {
+			return _expr;
+		}
+
+		Collection<CallNode> getChildren() {
+			return _children.values();
+		}
+
+		/**
+		 * The node for evaluating the given expression from within this node, <code>null</code>
+		 * if the node limit has been reached.
+		 */
+		CallNode getChild(ScriptProfiler profiler, SearchExpression expr) {
+			CallNode child = _children.get(expr);
+			if (child != null) {
+				return child;
+			}
+			CallNode newChild = profiler.createChild(this, expr);
+			if (newChild == null) {
+				return null;
+			}
+			CallNode clash = _children.putIfAbsent(expr, newChild);
+			return clash != null ? clash : newChild;
+		}
+
+		void record(long nanos, int elements) {
+			_calls.increment();
+			_nanos.add(nanos);
+			_elements.add(elements);
+		}
+
+		long getCalls() {
+			return _calls.sum();
+		}
+
+		long getNanos() {
+			return _nanos.sum();
+		}
+
+		long getElements() {
+			return _elements.sum();
+		}
+
+		long getSelfNanos() {
+			long result = getNanos();
+			for (CallNode child : getChildren()) {
+				result -= child.getNanos();
+			}
+			return Math.max(0, result);
+		}
+	}
+
+}
@@ -0,0 +1,10 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+
+/**
+ * Profiling of <i>TL-Script</i> evaluation.
+ */
+package com.top_logic.model.search.expr.profile;
@@ -9,6 +9,8 @@ import com.top_logic.knowledge.service.KnowledgeBase;
 import com.top_logic.model.TLModel;
 import com.top_logic.model.search.expr.EvalContext;
 import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.compile.code.CompiledScript;
+import com.top_logic.model.search.expr.config.SearchBuilder;
 import com.top_logic.model.search.expr.interpreter.UpdateSecurityVisitor;
 
 /**
@@ -24,6 +26,11 @@ public final class DirectQueryExecutor extends QueryExecutor {
 
 	private final SearchExpression _search;
 
+	/**
+	 * The {@link CompiledScript} for {@link #_search}, created on first execution.
+	 */
+	private volatile CompiledScript _script;
+
 	/**
 	 * Creates a {@link DirectQueryExecutor}.
 	 * 
@@ -62,7 +69,24 @@ public final class DirectQueryExecutor extends QueryExecutor {
 
 	@Override
 	protected Object internalExecuteWith(EvalContext definitions, Args args) {
-		return getSearch().evalWith(definitions, args);
+		if (definitions.getProfiler() != null) {
+			// Record the evaluation of each expression node.
+			return getSearch().evalWith(definitions, args);
+		}
+
+		CompiledScript script = _script;
+		if (script == null) {
+			if (!compileScripts()) {
+				return getSearch().evalWith(definitions, args);
+			}
+			script = CompiledScript.compile(getSearch());
+			_script = script;
+		}
+		return script.execute(definitions, args);
+	}
+
+	private static boolean compileScripts() {
+		return SearchBuilder.Module.INSTANCE.isActive() && SearchBuilder.getInstance().isCompileScripts();
 	}
 
 }
@@ -0,0 +1,375 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr.query;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.top_logic.basic.Logger;
+import com.top_logic.basic.annotation.FrameworkInternal;
+import com.top_logic.dob.identifier.ObjectKey;
+import com.top_logic.knowledge.service.KnowledgeBase;
+import com.top_logic.knowledge.service.UpdateEvent;
+import com.top_logic.knowledge.service.db2.AbstractWeakUpdateListener;
+import com.top_logic.layout.scripting.recorder.ref.ApplicationObjectUtil;
+import com.top_logic.model.TLModel;
+import com.top_logic.model.TLModelPart;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.config.ExprPrinter;
+import com.top_logic.model.search.expr.config.SearchBuilder;
+import com.top_logic.model.search.expr.config.dom.Expr;
+import com.top_logic.model.search.expr.visit.Copy;
+
+/**
+ * Bounded cache of compiled {@link SearchExpression}s shared by all scripts of the application.
+ *
+ * <p>
+ * Compiled expressions are looked up by their normalized source and the context they were compiled
+ * in. Since compiled expressions are mutable (e.g. security can be disabled for an expression), the
+ * cache hands out {@link Copy copies} of the cached expression. Copying and resolving an expression
+ * is much cheaper than building it from its configuration and running all compiler optimizations.
+ * </p>
+ *
+ * <p>
+ * Compiled expressions refer to model elements and may depend on the model structure. Therefore,
+ * the cache is cleared, whenever a {@link TLModelPart} is created, changed, or deleted. The
+ * {@link KnowledgeBase} is {@link #observe(KnowledgeBase) observed} before the first expression
+ * for it is compiled. Changes to a {@link TLModel#tTransient() transient} model are not announced,
+ * expressions compiled for such model are not cached.
+ * </p>
+ *
+ * <p>
+ * The statistics of the application's cache are published via JMX, see
+ * {@link ExpressionCacheMXBean}.
+ * </p>
+ *
+ * @see SearchBuilder.Config#getExpressionCacheSize()
+ * @see QueryExecutor#compileExpr(KnowledgeBase, TLModel, Expr)
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public final class ExpressionCache implements ExpressionCacheMXBean {
+
+	private final int _maxSize;
+
+	private final Map<Key, Entry> _entries;
+
+	/**
+	 * Number of model changes seen, used to prevent caching an expression that was compiled
+	 * concurrently to a model change.
+	 */
+	private long _modCount;
+
+	/**
+	 * The {@link KnowledgeBase}s that are observed for model changes.
+	 */
+	private final Set<KnowledgeBase> _observed = Collections.newSetFromMap(new WeakHashMap<>());
+
+	private final AtomicLong _hits = new AtomicLong();
+
+	private final AtomicLong _misses = new AtomicLong();
+
+	private final AtomicLong _savedNanos = new AtomicLong();
+
+	private final AtomicLong _uncached = new AtomicLong();
+
+	private ObjectName _jmxName;
+
+	/**
+	 * Creates a {@link ExpressionCache}.
+	 *
+	 * @param maxSize
+	 *        The maximum number of compiled expressions to keep. If the cache is full, the least
+	 *        recently used expression is dropped.
+	 */
+	public ExpressionCache(int maxSize) {
+		_maxSize = maxSize;
+		_entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return size() > _maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Looks up the compiled version of the given expression.
+	 *
+	 * @param kb
+	 *        The {@link KnowledgeBase} the expression is compiled for.
+	 * @param model
+	 *        The {@link TLModel} the expression is compiled for.
+	 * @param expr
+	 *        The expression configuration.
+	 * @param compiler
+	 *        Creates the compiled expression, if there is no cached version.
+	 * @return A compiled and resolved expression exclusively owned by the caller.
+	 */
+	public SearchExpression lookup(KnowledgeBase kb, TLModel model, Expr expr, Supplier<SearchExpression> compiler) {
+		if (kb == null || model.tTransient()) {
+			// Changes are not announced.
+			_uncached.incrementAndGet();
+			return compiler.get();
+		}
+
+		Key key = new Key(kb, model, ExprPrinter.toString(expr));
+
+		Entry entry;
+		synchronized (this) {
+			entry = _entries.get(key);
+		}
+		if (entry != null) {
+			long start = System.nanoTime();
+			SearchExpression result = QueryExecutor.resolve(model, entry.copy());
+			long elapsed = System.nanoTime() - start;
+
+			_hits.incrementAndGet();
+			_savedNanos.addAndGet(Math.max(0, entry.getCompileNanos() - elapsed));
+			return result;
+		}
+
+		observe(kb);
+
+		long modCount = modCount();
+		long start = System.nanoTime();
+		SearchExpression result = compiler.get();
+		long elapsed = System.nanoTime() - start;
+		_misses.incrementAndGet();
+
+		Entry newEntry = new Entry(result.visit(Copy.INSTANCE, null), elapsed);
+		synchronized (this) {
+			if (_modCount == modCount) {
+				_entries.put(key, newEntry);
+			}
+		}
+		return result;
+	}
+
+	private synchronized long modCount() {
+		return _modCount;
+	}
+
+	/**
+	 * Registers this cache for model changes in the given {@link KnowledgeBase}.
+	 *
+	 * <p>
+	 * Expressions compiled for a {@link KnowledgeBase} that is not yet observed are observed
+	 * automatically, observing in advance ensures that no model change is missed.
+	 * </p>
+	 */
+	public void observe(KnowledgeBase kb) {
+		synchronized (_observed) {
+			if (_observed.add(kb)) {
+				kb.addUpdateListener(new Invalidator(this));
+			}
+		}
+	}
+
+	void handleUpdate(UpdateEvent event) {
+		if (isModelChange(event.getCreatedObjectKeys()) || isModelChange(event.getUpdatedObjectKeys())
+			|| isModelChange(event.getDeletedObjectKeys())) {
+			clear();
+		}
+	}
+
+	private static boolean isModelChange(Set<ObjectKey> keys) {
+		for (ObjectKey key : keys) {
+			if (ApplicationObjectUtil.DEFAULT_MODEL_PART_TYPE_NAMES.contains(key.getObjectType().getName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Drops all cached expressions.
+	 */
+	public synchronized void clear() {
+		_modCount++;
+		_entries.clear();
+	}
+
+	/**
+	 * The number of cached expressions.
+	 */
+	public synchronized int size() {
+		return _entries.size();
+	}
+
+	@Override
+	public int getSize() {
+		return size();
+	}
+
+	@Override
+	public int getMaxSize() {
+		return _maxSize;
+	}
+
+	@Override
+	public long getHits() {
+		return _hits.get();
+	}
+
+	@Override
+	public long getMisses() {
+		return _misses.get();
+	}
+
+	@Override
+	public long getUncached() {
+		return _uncached.get();
+	}
+
+	@Override
+	public double getHitRatio() {
+		long hits = getHits();
+		long total = hits + getMisses();
+		return total == 0 ? 0.0 : ((double) hits) / total;
+	}
+
+	@Override
+	public long getSavedMillis() {
+		return _savedNanos.get() / 1_000_000;
+	}
+
+	@Override
+	public void reset() {
+		_hits.set(0);
+		_misses.set(0);
+		_uncached.set(0);
+		_savedNanos.set(0);
+	}
+
+	/**
+	 * Publishes the statistics of this cache in the platform MBean server.
+	 *
+	 * @see ExpressionCacheMXBean
+	 */
+	@FrameworkInternal
+	public void register() {
+		try {
+			ObjectName jmxName = new ObjectName(ExpressionCacheMXBean.OBJECT_NAME);
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			if (server.isRegistered(jmxName)) {
+				// Left over from a previous start in the same VM.
+				server.unregisterMBean(jmxName);
+			}
+			server.registerMBean(this, jmxName);
+			_jmxName = jmxName;
+		} catch (JMException ex) {
+			Logger.warn("Cannot publish statistics of the expression cache.", ex, ExpressionCache.class);
+		}
+	}
+
+	/**
+	 * Removes this cache from the platform MBean server.
+	 *
+	 * @see #register()
+	 */
+	@FrameworkInternal
+	public void unregister() {
+		if (_jmxName == null) {
+			return;
+		}
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(_jmxName);
+		} catch (JMException ex) {
+			Logger.warn("Cannot remove statistics '" + _jmxName + "'.", ex, ExpressionCache.class);
+		}
+		_jmxName = null;
+	}
+
+	@Override
+	public String toString() {
+		return "ExpressionCache(size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses()
+			+ ", uncached=" + getUncached() + ", saved=" + getSavedMillis() + "ms)";
+	}
+
+	private static final class Key {
+
+		private final KnowledgeBase _kb;
+
+		private final TLModel _model;
+
+		private final String _source;
+
+		private final int _hash;
+
+		public Key(KnowledgeBase kb, TLModel model, String source) {
+			_kb = kb;
+			_model = model;
+			_source = source;
+			_hash = Objects.hash(System.identityHashCode(kb), System.identityHashCode(model), source);
+		}
+
+		@Override
+		public int hashCode() {
+			return _hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return _kb == other._kb && _model == other._model && _source.equals(other._source);
+		}
+	}
+
+	private static final class Entry {
+
+		private final SearchExpression _template;
+
+		private final long _compileNanos;
+
+		public Entry(SearchExpression template, long compileNanos) {
+			_template = template;
+			_compileNanos = compileNanos;
+		}
+
+		/**
+		 * A new copy of the cached expression.
+		 */
+		public SearchExpression copy() {
+			// Note: Copy only reads the template, concurrent copies are safe.
+			return _template.visit(Copy.INSTANCE, null);
+		}
+
+		public long getCompileNanos() {
+			return _compileNanos;
+		}
+	}
+
+	// Note: This class must not be anonymous to prevent an implicit this-reference to the cache
+	// resulting in a memory leak.
+	private static final class Invalidator extends AbstractWeakUpdateListener<ExpressionCache> {
+		public Invalidator(ExpressionCache referent) {
+			super(referent);
+		}
+
+		@Override
+		protected void internalUpdate(KnowledgeBase sender, ExpressionCache referent, UpdateEvent event) {
+			referent.handleUpdate(event);
+		}
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr.query;
+
+/**
+ * Management interface of {@link ExpressionCache}.
+ *
+ * <p>
+ * The cache of the application is registered in the platform MBean server with the name
+ * {@value #OBJECT_NAME}.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public interface ExpressionCacheMXBean {
+
+	/**
+	 * The name of the application's {@link ExpressionCache} in the platform MBean server.
+	 */
+	String OBJECT_NAME = "com.top_logic:type=ExpressionCache";
+
+	/**
+	 * The number of cached expressions.
+	 */
+	int getSize();
+
+	/**
+	 * The maximum number of cached expressions.
+	 */
+	int getMaxSize();
+
+	/**
+	 * The number of lookups that were answered from the cache.
+	 */
+	long getHits();
+
+	/**
+	 * The number of lookups that required compiling the expression.
+	 */
+	long getMisses();
+
+	/**
+	 * The number of expressions compiled without using the cache, because they were compiled for
+	 * a transient model.
+	 */
+	long getUncached();
+
+	/**
+	 * Fraction of lookups answered from the cache.
+	 */
+	double getHitRatio();
+
+	/**
+	 * The estimated time in milliseconds saved by answering lookups from the cache instead of
+	 * compiling expressions.
+	 */
+	long getSavedMillis();
+
+	/**
+	 * Resets all counters. Cached expressions are kept.
+	 */
+	void reset();
+
+}
@@ -17,6 +17,7 @@ import com.top_logic.model.search.expr.compile.SearchExpressionCompiler;
 import com.top_logic.model.search.expr.config.SearchBuilder;
 import com.top_logic.model.search.expr.config.dom.Expr;
 import com.top_logic.model.search.expr.interpreter.DefResolver;
+import com.top_logic.model.search.expr.interpreter.SlotAllocator;
 import com.top_logic.model.search.expr.interpreter.TypeResolver;
 import com.top_logic.util.model.ModelService;
 
@@ -175,11 +176,28 @@ public abstract class QueryExecutor {
 
 	/**
 	 * Builds and optimizes a {@link SearchExpression} from the given {@link Expr}.
+	 * 
+	 * <p>
+	 * The result is taken from the {@link SearchBuilder#getExpressionCache() expression cache}, if
+	 * the same expression has been compiled before.
+	 * </p>
 	 */
 	public static SearchExpression compileExpr(KnowledgeBase kb, TLModel model, Expr expr) {
+		ExpressionCache cache = expressionCache();
+		if (cache != null) {
+			return cache.lookup(kb, model, expr,
+				() -> compileExpr(kb, model, SearchBuilder.toSearchExpression(model, expr)));
+		}
 		return compileExpr(kb, model, SearchBuilder.toSearchExpression(model, expr));
 	}
 
+	private static ExpressionCache expressionCache() {
+		if (!SearchBuilder.Module.INSTANCE.isActive()) {
+			return null;
+		}
+		return SearchBuilder.getInstance().getExpressionCache();
+	}
+
 	/**
 	 * Optimizes the given {@link SearchExpression}.
 	 */
@@ -219,10 +237,12 @@ public abstract class QueryExecutor {
 	}
 
 	/**
-	 * Resolves symbols and attaches type information to the given expression.
+	 * Resolves symbols, assigns variable slots and attaches type information to the given
+	 * expression.
 	 */
 	public static SearchExpression resolve(TLModel model, SearchExpression expr) {
 		expr.visit(new DefResolver(), null);
+		SlotAllocator.allocate(expr);
 		expr.visit(new TypeResolver(model), null);
 		return expr;
 	}
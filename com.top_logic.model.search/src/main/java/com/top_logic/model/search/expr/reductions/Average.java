@@ -7,14 +7,12 @@ package com.top_logic.model.search.expr.reductions;
 
 import static com.top_logic.model.util.TLModelUtil.*;
 
-import java.util.Arrays;
 import java.util.List;
 
 import com.top_logic.basic.config.ConfigurationException;
 import com.top_logic.basic.config.InstantiationContext;
 import com.top_logic.model.TLType;
 import com.top_logic.model.builtin.TLCore;
-import com.top_logic.model.search.expr.EvalContext;
 import com.top_logic.model.search.expr.GenericMethod;
 import com.top_logic.model.search.expr.SearchExpression;
 import com.top_logic.model.search.expr.config.dom.Expr;
@@ -29,7 +27,7 @@ import com.top_logic.model.search.expr.config.operations.MethodBuilder;
  *
  * @author <a href=mailto:jst@top-logic.com>Jan Stolzenburg</a>
  */
-public class Average extends GenericMethod {
+public class Average extends NumericReduction {
 
 	/** Creates a {@link Average}. */
 	protected Average(String name, SearchExpression[] arguments) {
@@ -47,38 +45,54 @@ public class Average extends GenericMethod {
 	}
 
 	@Override
-	protected Double eval(Object[] arguments, EvalContext definitions) {
-		int size = size(this, arguments);
-		if (size == 0) {
-			return null;
-		}
-		double sum = Sum.sum(this, arguments);
-		return sum / size;
+	public Accumulator createAccumulator() {
+		return new Accumulator() {
+			private double _sum;
+
+			private int _size;
+
+			@Override
+			public void add(double value) {
+				_sum += value;
+				_size++;
+			}
+
+			@Override
+			public Object getResult() {
+				if (_size == 0) {
+					return null;
+				}
+				return toNumber(_sum / _size);
+			}
+		};
 	}
 
 	/**
-	 * Evaluates the sum function on the given arguments.
+	 * Counts the (potentially nested) values in the given arguments that are not
+	 * <code>null</code>.
+	 * 
+	 * @deprecated Use {@link #createAccumulator()} of an {@link Average} expression.
 	 */
+	@Deprecated
 	public static int size(SearchExpression context, Object[] arguments) {
-		return sizeIterable(context, Arrays.asList(arguments));
-	}
-
-	private static int sizeIterable(SearchExpression context, Iterable<?> arguments) {
-		int result = 0;
+		Average average = new Average("average", new SearchExpression[0]);
+		Accumulator counter = average.new Accumulator() {
+			private int _size;
+
+			@Override
+			public void add(double value) {
+				_size++;
+			}
+
+			@Override
+			public Object getResult() {
+				return Integer.valueOf(_size);
+			}
+		};
 		for (Object arg : arguments) {
-			result += sizeAny(context, arg);
-		}
-		return result;
-	}
-
-	private static int sizeAny(SearchExpression context, Object arg) {
-		if (arg instanceof Iterable<?>) {
-			return sizeIterable(context, (Iterable<?>) arg);
-		} else if (arg == null) {
-			return 0;
-		} else {
-			return 1;
+			counter.addAny(arg);
 		}
+		return ((Integer) counter.getResult()).intValue();
 	}
 
 	/** {@link MethodBuilder} creating {@link Average}. */
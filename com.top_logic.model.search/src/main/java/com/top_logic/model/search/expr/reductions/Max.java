@@ -5,13 +5,11 @@
  */
 package com.top_logic.model.search.expr.reductions;
 
-import java.lang.reflect.Array;
 import java.util.List;
 
 import com.top_logic.basic.config.ConfigurationException;
 import com.top_logic.basic.config.InstantiationContext;
 import com.top_logic.model.TLType;
-import com.top_logic.model.search.expr.EvalContext;
 import com.top_logic.model.search.expr.GenericMethod;
 import com.top_logic.model.search.expr.SearchExpression;
 import com.top_logic.model.search.expr.config.dom.Expr;
@@ -23,7 +21,7 @@ import com.top_logic.model.search.expr.config.operations.MethodBuilder;
  *
  * @author <a href=mailto:jst@top-logic.com>Jan Stolzenburg</a>
  */
-public class Max extends GenericMethod {
+public class Max extends NumericReduction {
 
 	/** Creates a {@link Max}. */
 	protected Max(String name, SearchExpression[] arguments) {
@@ -41,51 +39,27 @@ public class Max extends GenericMethod {
 	}
 
 	@Override
-	protected Object eval(Object[] arguments, EvalContext definitions) {
-		return new Evaluator().add(arguments).getValue();
-	}
-
-	class Evaluator {
-		boolean _hasValue = false;
+	public Accumulator createAccumulator() {
+		return new Accumulator() {
+			private boolean _hasValue;
 
-		double _value;
+			private double _value;
 
-		public Double getValue() {
-			return _hasValue ? Double.valueOf(_value) : null;
-		}
-
-		public Evaluator add(Object arg) {
-			if (arg != null) {
-				if (arg instanceof Iterable<?>) {
-					addIterable((Iterable<?>) arg);
-				} else if (arg.getClass().isArray()) {
-					addArray(arg);
+			@Override
+			public void add(double value) {
+				if (_hasValue) {
+					_value = Math.max(_value, value);
 				} else {
-					double next = asDouble(arg);
-					if (_hasValue) {
-						_value = Math.max(_value, next);
-					} else {
-						_hasValue = true;
-						_value = next;
-					}
+					_hasValue = true;
+					_value = value;
 				}
 			}
-			return this;
-		}
 
-		private Evaluator addIterable(Iterable<?> arguments) {
-			for (Object arg : arguments) {
-				add(arg);
+			@Override
+			public Object getResult() {
+				return _hasValue ? toNumber(_value) : null;
 			}
-			return this;
-		}
-
-		private Evaluator addArray(Object array) {
-			for (int n = 0, cnt = Array.getLength(array); n < cnt; n++) {
-				add(Array.get(array, n));
-			}
-			return this;
-		}
+		};
 	}
 
 	/** {@link MethodBuilder} creating {@link Max}. */
@@ -0,0 +1,100 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.expr.reductions;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.top_logic.model.search.expr.EvalContext;
+import com.top_logic.model.search.expr.GenericMethod;
+import com.top_logic.model.search.expr.SearchExpression;
+
+/**
+ * Base class for functions reducing a (potentially nested) collection of numbers to a single
+ * number.
+ *
+ * <p>
+ * The reduction is computed in a single pass with an {@link Accumulator} that works on primitive
+ * <code>double</code> values. Compiled code can feed the results of numeric computations directly
+ * into an {@link Accumulator} without creating an intermediate collection of boxed values.
+ * </p>
+ *
+ * <p>
+ * <code>null</code> values are ignored, collections and arrays are reduced element by element.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public abstract class NumericReduction extends GenericMethod {
+
+	/**
+	 * Creates a {@link NumericReduction}.
+	 */
+	protected NumericReduction(String name, SearchExpression[] arguments) {
+		super(name, arguments);
+	}
+
+	@Override
+	protected Object eval(Object[] arguments, EvalContext definitions) {
+		Accumulator accumulator = createAccumulator();
+		for (Object arg : arguments) {
+			accumulator.addAny(arg);
+		}
+		return accumulator.getResult();
+	}
+
+	/**
+	 * Creates a new {@link Accumulator} for computing this reduction.
+	 */
+	public abstract Accumulator createAccumulator();
+
+	/**
+	 * Mutable state of a {@link NumericReduction} computation.
+	 */
+	public abstract class Accumulator {
+
+		/**
+		 * Adds a single number to the reduction.
+		 */
+		public abstract void add(double value);
+
+		/**
+		 * Adds an arbitrary script value to the reduction.
+		 *
+		 * @param value
+		 *        A number, a value that can be converted to a number, a collection or array of such
+		 *        values, or <code>null</code>.
+		 */
+		public final void addAny(Object value) {
+			if (value == null) {
+				return;
+			}
+			if (value instanceof List<?> list && list instanceof RandomAccess) {
+				for (int n = 0, cnt = list.size(); n < cnt; n++) {
+					addAny(list.get(n));
+				}
+			} else if (value instanceof Iterable<?> iterable) {
+				for (Object element : iterable) {
+					addAny(element);
+				}
+			} else if (value.getClass().isArray()) {
+				for (int n = 0, cnt = Array.getLength(value); n < cnt; n++) {
+					addAny(Array.get(value, n));
+				}
+			} else {
+				add(asDouble(value));
+			}
+		}
+
+		/**
+		 * The result of the reduction of all values added so far.
+		 */
+		public abstract Object getResult();
+
+	}
+
+}
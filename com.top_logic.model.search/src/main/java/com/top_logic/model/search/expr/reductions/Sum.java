@@ -7,14 +7,12 @@ package com.top_logic.model.search.expr.reductions;
 
 import static com.top_logic.model.util.TLModelUtil.*;
 
-import java.util.Arrays;
 import java.util.List;
 
 import com.top_logic.basic.config.ConfigurationException;
 import com.top_logic.basic.config.InstantiationContext;
 import com.top_logic.model.TLType;
 import com.top_logic.model.builtin.TLCore;
-import com.top_logic.model.search.expr.EvalContext;
 import com.top_logic.model.search.expr.GenericMethod;
 import com.top_logic.model.search.expr.SearchExpression;
 import com.top_logic.model.search.expr.config.dom.Expr;
@@ -29,7 +27,7 @@ import com.top_logic.model.search.expr.config.operations.MethodBuilder;
  *
  * @author <a href=mailto:jst@top-logic.com>Jan Stolzenburg</a>
  */
-public class Sum extends GenericMethod {
+public class Sum extends NumericReduction {
 
 	/** Creates a {@link Sum}. */
 	protected Sum(String name, SearchExpression[] arguments) {
@@ -47,31 +45,34 @@ public class Sum extends GenericMethod {
 	}
 
 	@Override
-	protected Double eval(Object[] arguments, EvalContext definitions) {
-		return sum(this, arguments);
+	public Accumulator createAccumulator() {
+		return new Accumulator() {
+			private double _sum;
+
+			@Override
+			public void add(double value) {
+				_sum += value;
+			}
+
+			@Override
+			public Object getResult() {
+				return toNumber(_sum);
+			}
+		};
 	}
 
 	/**
 	 * Evaluates the sum function on the given arguments.
+	 * 
+	 * @deprecated Use {@link #createAccumulator()} of a {@link Sum} expression.
 	 */
+	@Deprecated
 	public static double sum(SearchExpression context, Object[] arguments) {
-		return sumIterable(context, Arrays.asList(arguments));
-	}
-
-	private static double sumIterable(SearchExpression context, Iterable<?> arguments) {
-		double result = 0.0;
+		Accumulator accumulator = new Sum("sum", new SearchExpression[0]).createAccumulator();
 		for (Object arg : arguments) {
-			result += sumAny(context, arg);
-		}
-		return result;
-	}
-
-	private static double sumAny(SearchExpression context, Object arg) {
-		if (arg instanceof Iterable<?>) {
-			return sumIterable(context, (Iterable<?>) arg);
-		} else {
-			return asDouble(context, arg);
+			accumulator.addAny(arg);
 		}
+		return ((Number) accumulator.getResult()).doubleValue();
 	}
 
 	/** {@link MethodBuilder} creating {@link Sum}. */
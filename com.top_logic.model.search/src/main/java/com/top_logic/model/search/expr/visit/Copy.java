@@ -127,7 +127,8 @@ public class Copy extends DescendingVisitor<SearchExpression, Void> {
 
 	@Override
 	protected SearchExpression composeSource(KBQuery expr, Void arg) {
-		return query(expr.getClassType(), expr.getQuery(), expr.getDynamicFilters());
+		return query(expr.getClassType(), expr.getQuery(), expr.getDynamicFilters(), expr.getOrder(),
+			expr.getStartRow(), expr.getStopRow());
 	}
 
 	@Override
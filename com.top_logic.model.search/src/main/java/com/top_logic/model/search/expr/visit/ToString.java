@@ -176,6 +176,19 @@ public class ToString implements Visitor<Void, StringBuilder> {
 		out.append(expr.getQuery());
 		out.append(" : ");
 		out.append(expr.getClassType());
+		if (!expr.getOrder().isEmpty()) {
+			out.append(" order ");
+			out.append(expr.getOrder());
+		}
+		if (expr.hasRange()) {
+			out.append(" [");
+			out.append(expr.getStartRow());
+			out.append(", ");
+			if (expr.getStopRow() != KBQuery.NO_LIMIT) {
+				out.append(expr.getStopRow());
+			}
+			out.append(")");
+		}
 		out.append(")");
 		return none();
 	}
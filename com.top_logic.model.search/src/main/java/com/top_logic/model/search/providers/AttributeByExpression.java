@@ -9,6 +9,7 @@ import static com.top_logic.model.search.expr.query.QueryExecutor.*;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -18,7 +19,9 @@ import com.top_logic.basic.annotation.InApp;
 import com.top_logic.basic.col.Sink;
 import com.top_logic.basic.config.InstantiationContext;
 import com.top_logic.basic.config.annotation.Label;
+import com.top_logic.basic.config.annotation.Name;
 import com.top_logic.basic.config.annotation.TagName;
+import com.top_logic.basic.config.annotation.defaults.IntDefault;
 import com.top_logic.basic.shared.collection.CollectionUtilShared;
 import com.top_logic.element.meta.AttributeException;
 import com.top_logic.element.meta.AttributeUpdate;
@@ -26,6 +29,7 @@ import com.top_logic.element.meta.AttributeUpdateContainer;
 import com.top_logic.element.meta.AttributeUpdateContainer.Handle;
 import com.top_logic.element.meta.form.overlay.TLFormObject;
 import com.top_logic.element.meta.kbbased.filtergen.AttributeValueLocator;
+import com.top_logic.knowledge.service.KnowledgeBase;
 import com.top_logic.layout.form.FormField;
 import com.top_logic.layout.form.ValueListener;
 import com.top_logic.model.ModelKind;
@@ -58,11 +62,41 @@ public class AttributeByExpression<C extends AttributeByExpression.Config<?>> ex
 	 */
 	@TagName("query")
 	public interface Config<I extends AttributeByExpression<?>> extends AbstractExpressionAttribute.Config<I> {
-		// Pure marker interface.
+
+		/**
+		 * Whether computed values are cached.
+		 *
+		 * <p>
+		 * A cached value is reused until one of the objects it was computed from is modified or
+		 * deleted, or an instance of a type is created, modified or deleted, whose instances the
+		 * computation enumerates (e.g. with <code>all()</code> or <code>referers()</code>). Caching
+		 * is useful for expensive computations that are read frequently, e.g. in table columns.
+		 * The computation must be deterministic and must only depend on the persistent model.
+		 * </p>
+		 *
+		 * <p>
+		 * Cached values are shared by all users. Therefore, a computation that depends on the
+		 * current user (e.g. by checking permissions, accessing the current user, or by applying
+		 * access rights) is never cached, even if this option is set.
+		 * </p>
+		 *
+		 * @see #getCacheSize()
+		 */
+		@Name("cache")
+		boolean isCache();
+
+		/**
+		 * The maximum number of cached values, if {@link #isCache() caching} is enabled.
+		 */
+		@Name("cache-size")
+		@IntDefault(10000)
+		int getCacheSize();
 	}
 
 	private ScriptTracer _analyzer;
 
+	private DerivedValueCache _cache;
+
 	/**
 	 * Creates a {@link AttributeByExpression} from configuration.
 	 * 
@@ -89,6 +123,19 @@ public class AttributeByExpression<C extends AttributeByExpression.Config<?>> ex
 
 		_analyzer = ScriptTracer.compile(attribute.getModel(), getConfig().getExpr());
 		_analyzer.disableSecurity();
+
+		_cache = getConfig().isCache() && DerivedValueCache.isCacheable(getExpr())
+			? new DerivedValueCache(attribute.tKnowledgeBase(), getExpr(), getConfig().getCacheSize())
+			: null;
+	}
+
+	/**
+	 * The cache of computed values, or <code>null</code>, if values are not cached.
+	 *
+	 * @see Config#isCache()
+	 */
+	DerivedValueCache getCache() {
+		return _cache;
 	}
 
 	@Override
@@ -129,10 +176,26 @@ public class AttributeByExpression<C extends AttributeByExpression.Config<?>> ex
 
 	@Override
 	public Object getAttributeValue(TLObject object, TLStructuredTypePart attribute) throws AttributeException {
+		KnowledgeBase kb = attribute.tKnowledgeBase();
+		if (_cache != null && DerivedValueCache.canCache(kb, object)) {
+			return _cache.lookup(object,
+				trace -> unmodifiable(convertAndCheck(object, attribute, _analyzer.execute(kb, trace, null, object))));
+		}
+
 		Object result = executor(attribute.tKnowledgeBase(), attribute.getModel(), getExpr()).execute(object);
 		return convertAndCheck(object, attribute, result);
 	}
 
+	private static Object unmodifiable(Object value) {
+		if (value instanceof List<?> list) {
+			return Collections.unmodifiableList(list);
+		}
+		if (value instanceof Set<?> set) {
+			return Collections.unmodifiableSet(set);
+		}
+		return value;
+	}
+
 	private Object convertAndCheck(TLObject object, TLStructuredTypePart attribute, Object result) {
 		TLType type = attribute.getType();
 		if (attribute.isMultiple()) {
@@ -49,7 +49,10 @@ import com.top_logic.model.TLType;
 import com.top_logic.model.annotate.AnnotatedConfig;
 import com.top_logic.model.annotate.TLAnnotation;
 import com.top_logic.model.annotate.TLAttributeAnnotation;
+import com.top_logic.model.export.EmptyPreloadContribution;
+import com.top_logic.model.export.PreloadContribution;
 import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.compile.transform.PreloadPlanner;
 import com.top_logic.model.search.expr.config.dom.Expr;
 import com.top_logic.model.search.expr.query.QueryExecutor;
 import com.top_logic.model.util.AllTypes;
@@ -313,6 +316,11 @@ public class ComputedColumnProviderByExpression
 		ColumnInfo columnInfo = new ColumnInfoFactory().createColumnInfo(type, labelKey);
 
 		columnInfo.setVisibility(displayMode);
+		PreloadContribution rowPreload = PreloadPlanner.plan(_accessor.getSearch());
+		if (rowPreload != EmptyPreloadContribution.INSTANCE) {
+			// Load the values navigated by the accessor for all displayed rows at once.
+			columnInfo.addPreloadContribution(rowPreload);
+		}
 		columnInfo.adapt(column);
 
 		/* Default CellExistenceTester is the WrapperValueExistenceTester which assumes an existing
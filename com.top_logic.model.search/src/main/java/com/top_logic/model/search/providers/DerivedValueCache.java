@@ -0,0 +1,600 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.providers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.top_logic.basic.col.Sink;
+import com.top_logic.dob.identifier.ObjectKey;
+import com.top_logic.dob.util.MetaObjectUtils;
+import com.top_logic.element.meta.form.overlay.TLFormObject;
+import com.top_logic.knowledge.objects.KnowledgeAssociation;
+import com.top_logic.knowledge.objects.KnowledgeItem;
+import com.top_logic.knowledge.service.HistoryUtils;
+import com.top_logic.knowledge.service.KBUtils;
+import com.top_logic.knowledge.service.KnowledgeBase;
+import com.top_logic.knowledge.service.UpdateEvent;
+import com.top_logic.knowledge.service.db2.AbstractWeakUpdateListener;
+import com.top_logic.model.TLObject;
+import com.top_logic.model.TLStructuredType;
+import com.top_logic.model.TLStructuredTypePart;
+import com.top_logic.model.search.WithSecurityCheck;
+import com.top_logic.model.search.expr.All;
+import com.top_logic.model.search.expr.DynamicAll;
+import com.top_logic.model.search.expr.DynamicReferers;
+import com.top_logic.model.search.expr.GenericMethod;
+import com.top_logic.model.search.expr.KBQuery;
+import com.top_logic.model.search.expr.Referers;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.config.operations.CanAccessAttribute;
+import com.top_logic.model.search.expr.config.operations.CanCreate;
+import com.top_logic.model.search.expr.config.operations.CanExecute;
+import com.top_logic.model.search.expr.config.operations.security.FilterPermission;
+import com.top_logic.model.search.expr.supplier.SupplierSearchExpression;
+import com.top_logic.model.search.expr.visit.DefaultDescendingVisitor;
+import com.top_logic.model.util.Pointer;
+import com.top_logic.model.util.TLModelUtil;
+
+/**
+ * Cache for the values of a {@link AttributeByExpression computed attribute}.
+ *
+ * <p>
+ * A value is computed with a tracing evaluation that reports all objects the computation reads.
+ * The cached value is dropped, when one of these objects is changed or deleted in a commit.
+ * </p>
+ *
+ * <p>
+ * A computation that enumerates the instances of a type (e.g. through <code>all()</code>,
+ * <code>referers()</code> or a database query) depends on objects it has not read. Its value is
+ * dropped, when an instance of such type is created, changed or deleted. The types are determined
+ * by analyzing the expression. If they cannot be determined (e.g. for <code>all($type)</code>),
+ * the value is dropped upon any change to an object of any type.
+ * </p>
+ *
+ * <p>
+ * Values are only cached for persistent objects in the current revision. Within a transaction, the
+ * cache is bypassed, since the computation could observe uncommitted changes. The number of cached
+ * values is bounded. When the bound is reached, an arbitrary value is dropped for each new value.
+ * </p>
+ *
+ * <p>
+ * A value is cached per object and shared by all users. Therefore, only computations that do not
+ * depend on the current user can be cached, see {@link #isCacheable(SearchExpression)}.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+final class DerivedValueCache {
+
+	private final int _maxSize;
+
+	/**
+	 * The types whose instances the computation enumerates, <code>null</code> if not known.
+	 */
+	private final Set<TLStructuredType> _extensionTypes;
+
+	private final Map<ObjectKey, Entry> _entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Index from an input object to the objects whose cached values were computed from it.
+	 *
+	 * <p>
+	 * Only accessed while holding the monitor of this cache.
+	 * </p>
+	 */
+	private final Map<ObjectKey, Set<ObjectKey>> _dependents = new HashMap<>();
+
+	/**
+	 * Index from a type to the objects whose cached values depend on the instances of this type.
+	 *
+	 * <p>
+	 * Only accessed while holding the monitor of this cache.
+	 * </p>
+	 */
+	private final Map<TLStructuredType, Set<ObjectKey>> _typeDependents = new HashMap<>();
+
+	/**
+	 * The objects whose cached values depend on the instances of types that are not known.
+	 *
+	 * <p>
+	 * Only accessed while holding the monitor of this cache.
+	 * </p>
+	 */
+	private final Set<ObjectKey> _anyTypeDependents = new HashSet<>();
+
+	/**
+	 * Counter of the commits seen, used to detect values that have been computed concurrently to a
+	 * commit and must not be stored.
+	 *
+	 * <p>
+	 * Only modified while holding the monitor of this cache.
+	 * </p>
+	 */
+	private volatile long _modCount;
+
+	/**
+	 * Creates a {@link DerivedValueCache}.
+	 *
+	 * @param kb
+	 *        The {@link KnowledgeBase} to observe for changes.
+	 * @param expr
+	 *        The expression computing the values, analyzed for the types whose instances it
+	 *        enumerates.
+	 * @param maxSize
+	 *        The maximum number of cached values.
+	 */
+	DerivedValueCache(KnowledgeBase kb, SearchExpression expr, int maxSize) {
+		_maxSize = Math.max(1, maxSize);
+		_extensionTypes = ExtensionTypes.analyze(expr);
+		kb.addUpdateListener(new Invalidator(this));
+	}
+
+	/**
+	 * Whether the values computed by the given expression can be cached.
+	 *
+	 * <p>
+	 * A cached value is shared by all users. This is only possible, if the computation yields the
+	 * same result for every user: It must not apply the current user's access rights, check
+	 * permissions, or access the current user or the current time.
+	 * </p>
+	 */
+	static boolean isCacheable(SearchExpression expr) {
+		return UserDependency.analyze(expr);
+	}
+
+	/**
+	 * Whether the value of the given object can be cached in the current context.
+	 */
+	static boolean canCache(KnowledgeBase kb, TLObject object) {
+		if (object instanceof TLFormObject) {
+			// Values of overlays depend on the edited state.
+			return false;
+		}
+		ObjectKey key = object.tId();
+		if (key == null || !HistoryUtils.isCurrent(key)) {
+			return false;
+		}
+		// Uncommitted changes are only visible within the transaction.
+		return KBUtils.getCurrentContext(kb) == null;
+	}
+
+	/**
+	 * Looks up the value of the given object, or computes and stores it, if there is no valid
+	 * cached value.
+	 *
+	 * @param object
+	 *        The object to retrieve the value for, see {@link #canCache(KnowledgeBase, TLObject)}.
+	 * @param computation
+	 *        The function computing the value. All model accesses must be reported to the given
+	 *        {@link Sink}. The function may be called concurrently by multiple threads.
+	 * @return The computed value.
+	 */
+	Object lookup(TLObject object, Function<Sink<Pointer>, Object> computation) {
+		ObjectKey key = object.tId();
+		Entry entry = _entries.get(key);
+		if (entry != null) {
+			return entry.getValue();
+		}
+
+		long modCount = _modCount;
+		Trace trace = new Trace(_extensionTypes);
+		Object value = computation.apply(trace);
+
+		if (trace.resolveDependencies()) {
+			store(key, new Entry(value, trace), modCount);
+		}
+		return value;
+	}
+
+	/**
+	 * The objects the cached value of the given object depends on, or <code>null</code> if there
+	 * is no cached value.
+	 */
+	Set<ObjectKey> getDependencies(ObjectKey key) {
+		Entry entry = _entries.get(key);
+		return entry == null ? null : entry.getDependencies();
+	}
+
+	/**
+	 * The types whose instances the cached value of the given object depends on, or
+	 * <code>null</code> if there is no cached value, or the types are not known.
+	 *
+	 * @see #hasValue(ObjectKey)
+	 */
+	Set<TLStructuredType> getTypeDependencies(ObjectKey key) {
+		Entry entry = _entries.get(key);
+		return entry == null ? null : entry.getTypes();
+	}
+
+	/**
+	 * Whether there is a cached value for the given object.
+	 */
+	boolean hasValue(ObjectKey key) {
+		return _entries.containsKey(key);
+	}
+
+	/**
+	 * The number of cached values.
+	 */
+	int size() {
+		return _entries.size();
+	}
+
+	private synchronized void store(ObjectKey key, Entry entry, long modCount) {
+		if (_modCount != modCount) {
+			// A commit happened during computation, the value may be outdated.
+			return;
+		}
+		if (!_entries.containsKey(key)) {
+			Iterator<ObjectKey> keys = _entries.keySet().iterator();
+			while (_entries.size() >= _maxSize && keys.hasNext()) {
+				drop(keys.next());
+			}
+		} else {
+			drop(key);
+		}
+
+		_entries.put(key, entry);
+		for (ObjectKey dependency : entry.getDependencies()) {
+			_dependents.computeIfAbsent(dependency, x -> new HashSet<>()).add(key);
+		}
+		Set<TLStructuredType> types = entry.getTypes();
+		if (types == null) {
+			_anyTypeDependents.add(key);
+		} else {
+			for (TLStructuredType type : types) {
+				_typeDependents.computeIfAbsent(type, x -> new HashSet<>()).add(key);
+			}
+		}
+	}
+
+	synchronized void handleUpdate(UpdateEvent event) {
+		_modCount++;
+		if (_entries.isEmpty()) {
+			return;
+		}
+
+		for (Map.Entry<ObjectKey, KnowledgeItem> created : event.getCreatedObjects().entrySet()) {
+			handleChange(created.getKey(), created.getValue());
+		}
+		for (Map.Entry<ObjectKey, KnowledgeItem> updated : event.getUpdatedObjects().entrySet()) {
+			handleChange(updated.getKey(), updated.getValue());
+		}
+
+		int resolvedDeletions = 0;
+		for (KnowledgeItem deleted : event.getCachedDeletedObjects()) {
+			handleChange(deleted.tId(), deleted);
+			resolvedDeletions++;
+		}
+		Set<ObjectKey> deletedKeys = event.getDeletedObjectKeys();
+		if (resolvedDeletions < deletedKeys.size()) {
+			// The type of some deleted objects is not known.
+			for (ObjectKey deleted : deletedKeys) {
+				dropDependents(deleted);
+			}
+			dropAll(_anyTypeDependents);
+			for (Set<ObjectKey> dependents : new ArrayList<>(_typeDependents.values())) {
+				dropAll(dependents);
+			}
+			if (containsAssociation(deletedKeys)) {
+				// A deleted link changes the references of objects not known.
+				clear();
+			}
+		}
+	}
+
+	private void handleChange(ObjectKey key, KnowledgeItem item) {
+		dropDependents(key);
+
+		if (MetaObjectUtils.isAssociation(key.getObjectType())) {
+			if (item instanceof KnowledgeAssociation link) {
+				// A link is part of the reference values of its source and destination.
+				dropDependents(link.getSourceIdentity());
+				dropDependents(link.getDestinationIdentity());
+				dropTypeDependents(null);
+			} else {
+				clear();
+			}
+		} else {
+			TLObject object = item.getWrapper();
+			dropTypeDependents(object == null ? null : object.tType());
+		}
+	}
+
+	private void dropDependents(ObjectKey key) {
+		Set<ObjectKey> dependents = _dependents.get(key);
+		if (dependents != null) {
+			dropAll(dependents);
+		}
+	}
+
+	/**
+	 * Drops all values that depend on the instances of the given type.
+	 *
+	 * @param type
+	 *        The type of the changed object, <code>null</code> if not known.
+	 */
+	private void dropTypeDependents(TLStructuredType type) {
+		dropAll(_anyTypeDependents);
+		if (_typeDependents.isEmpty()) {
+			return;
+		}
+		for (Map.Entry<TLStructuredType, Set<ObjectKey>> entry : new ArrayList<>(_typeDependents.entrySet())) {
+			if (type == null || TLModelUtil.isGeneralization(entry.getKey(), type)) {
+				dropAll(entry.getValue());
+			}
+		}
+	}
+
+	private void dropAll(Collection<ObjectKey> keys) {
+		if (keys.isEmpty()) {
+			return;
+		}
+		for (ObjectKey key : new ArrayList<>(keys)) {
+			drop(key);
+		}
+	}
+
+	private void drop(ObjectKey key) {
+		Entry entry = _entries.remove(key);
+		if (entry == null) {
+			return;
+		}
+		for (ObjectKey dependency : entry.getDependencies()) {
+			unlink(_dependents, dependency, key);
+		}
+		Set<TLStructuredType> types = entry.getTypes();
+		if (types == null) {
+			_anyTypeDependents.remove(key);
+		} else {
+			for (TLStructuredType type : types) {
+				unlink(_typeDependents, type, key);
+			}
+		}
+	}
+
+	private static <K> void unlink(Map<K, Set<ObjectKey>> index, K indexKey, ObjectKey key) {
+		Set<ObjectKey> dependents = index.get(indexKey);
+		if (dependents != null) {
+			dependents.remove(key);
+			if (dependents.isEmpty()) {
+				index.remove(indexKey);
+			}
+		}
+	}
+
+	private void clear() {
+		_entries.clear();
+		_dependents.clear();
+		_typeDependents.clear();
+		_anyTypeDependents.clear();
+	}
+
+	private static boolean containsAssociation(Set<ObjectKey> keys) {
+		for (ObjectKey key : keys) {
+			if (MetaObjectUtils.isAssociation(key.getObjectType())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Collector of model accesses during the computation of a value.
+	 */
+	private static final class Trace implements Sink<Pointer> {
+
+		private final Set<ObjectKey> _dependencies = new HashSet<>();
+
+		private final List<Pointer> _derived = new ArrayList<>();
+
+		private Set<TLStructuredType> _types;
+
+		private boolean _cacheable = true;
+
+		Trace(Set<TLStructuredType> extensionTypes) {
+			_types = extensionTypes == null ? null : new HashSet<>(extensionTypes);
+		}
+
+		@Override
+		public synchronized void add(Pointer pointer) {
+			ObjectKey key = pointer.object().tId();
+			if (key == null) {
+				// Changes to transient objects are not announced.
+				_cacheable = false;
+				return;
+			}
+			_dependencies.add(key);
+
+			if (pointer.attribute().isDerived()) {
+				_derived.add(pointer);
+			}
+		}
+
+		/**
+		 * Adds the dependencies of derived values read by the computation.
+		 *
+		 * @return Whether the computed value can be cached.
+		 */
+		synchronized boolean resolveDependencies() {
+			if (!_cacheable) {
+				return false;
+			}
+			for (Pointer pointer : _derived) {
+				// The inputs of a derived value are not reported by the tracing evaluation, they
+				// must be taken from the cache of the derived attribute.
+				DerivedValueCache cache = innerCache(pointer.attribute());
+				if (cache == null) {
+					return false;
+				}
+				ObjectKey key = pointer.object().tId();
+				Set<ObjectKey> inner = cache.getDependencies(key);
+				if (inner == null) {
+					return false;
+				}
+				_dependencies.addAll(inner);
+
+				Set<TLStructuredType> innerTypes = cache.getTypeDependencies(key);
+				if (innerTypes == null) {
+					_types = null;
+				} else if (_types != null) {
+					_types.addAll(innerTypes);
+				}
+			}
+			return true;
+		}
+
+		private static DerivedValueCache innerCache(TLStructuredTypePart attribute) {
+			if (!(attribute.getStorageImplementation() instanceof AttributeByExpression<?> storage)) {
+				return null;
+			}
+			return storage.getCache();
+		}
+
+		Set<ObjectKey> getDependencies() {
+			return _dependencies;
+		}
+
+		Set<TLStructuredType> getTypes() {
+			return _types;
+		}
+	}
+
+	private static final class Entry {
+
+		private final Object _value;
+
+		private final Set<ObjectKey> _dependencies;
+
+		private final Set<TLStructuredType> _types;
+
+		public Entry(Object value, Trace trace) {
+			_value = value;
+			_dependencies = trace.getDependencies();
+			_types = trace.getTypes();
+		}
+
+		public Object getValue() {
+			return _value;
+		}
+
+		public Set<ObjectKey> getDependencies() {
+			return _dependencies;
+		}
+
+		/**
+		 * The types whose instances the value depends on, <code>null</code> if not known.
+		 */
+		public Set<TLStructuredType> getTypes() {
+			return _types;
+		}
+	}
+
+	/**
+	 * Analysis of the types whose instances are enumerated by an expression.
+	 */
+	private static final class ExtensionTypes extends DefaultDescendingVisitor<Void, Void> {
+
+		private final Set<TLStructuredType> _types = new HashSet<>();
+
+		private boolean _unknown;
+
+		/**
+		 * The types whose instances are enumerated by the given expression, <code>null</code> if
+		 * not all types can be determined.
+		 */
+		static Set<TLStructuredType> analyze(SearchExpression expr) {
+			ExtensionTypes analysis = new ExtensionTypes();
+			expr.visit(analysis, null);
+			return analysis._unknown ? null : analysis._types;
+		}
+
+		@Override
+		protected Void composeAll(All expr, Void arg) {
+			_types.add(expr.getInstanceType());
+			return super.composeAll(expr, arg);
+		}
+
+		@Override
+		protected Void composeSource(KBQuery expr, Void arg) {
+			_types.add(expr.getClassType());
+			return super.composeSource(expr, arg);
+		}
+
+		@Override
+		protected Void composeReferers(Referers expr, Void arg, Void targetResult) {
+			_types.add(expr.getReference().getOwner());
+			return super.composeReferers(expr, arg, targetResult);
+		}
+
+		@Override
+		protected Void composeGenericMethod(GenericMethod expr, Void arg, List<Void> argumentsResult) {
+			if (expr instanceof DynamicAll || expr instanceof DynamicReferers) {
+				_unknown = true;
+			}
+			return super.composeGenericMethod(expr, arg, argumentsResult);
+		}
+	}
+
+	/**
+	 * Analysis whether an expression computes the same result for every user.
+	 */
+	private static final class UserDependency extends DefaultDescendingVisitor<Void, Void> {
+
+		private boolean _userDependent;
+
+		/**
+		 * Whether the given expression computes a result that does not depend on the current user.
+		 */
+		static boolean analyze(SearchExpression expr) {
+			UserDependency analysis = new UserDependency();
+			expr.visit(analysis, null);
+			return !analysis._userDependent;
+		}
+
+		@Override
+		protected Void compose(SearchExpression expr, Void arg, Void result) {
+			if (expr instanceof WithSecurityCheck secured && secured.usesSecurity()) {
+				// The result is filtered by the access rights of the current user.
+				_userDependent = true;
+			}
+			return super.compose(expr, arg, result);
+		}
+
+		@Override
+		protected Void composeGenericMethod(GenericMethod expr, Void arg, List<Void> argumentsResult) {
+			if (expr instanceof CanAccessAttribute || expr instanceof CanCreate || expr instanceof CanExecute
+				|| expr instanceof FilterPermission || expr instanceof SupplierSearchExpression) {
+				// Permission checks, the current user or the current time.
+				_userDependent = true;
+			}
+			return super.composeGenericMethod(expr, arg, argumentsResult);
+		}
+	}
+
+	// Note: This class must not be anonymous to prevent an implicit this-reference to the cache
+	// resulting in a memory leak.
+	private static final class Invalidator extends AbstractWeakUpdateListener<DerivedValueCache> {
+		public Invalidator(DerivedValueCache referent) {
+			super(referent);
+		}
+
+		@Override
+		protected void internalUpdate(KnowledgeBase sender, DerivedValueCache referent, UpdateEvent event) {
+			referent.handleUpdate(event);
+		}
+	}
+
+}
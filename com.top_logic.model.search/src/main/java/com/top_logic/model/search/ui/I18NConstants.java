@@ -28,6 +28,17 @@ public class I18NConstants extends I18NConstantsBase {
 	 */
 	public static ResKey1 EXECUTED_CUSTOM_SCRIPT__SCRIPT;
 
+	/**
+	 * @en Start profiling
+	 * @tooltip Records the evaluation time of all scripts executed in your session.
+	 */
+	public static ResKey START_SCRIPT_PROFILING;
+
+	/**
+	 * @en Stop profiling
+	 */
+	public static ResKey STOP_SCRIPT_PROFILING;
+
 	static {
 		initConstants(I18NConstants.class);
 	}
@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.ui;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import com.top_logic.mig.html.ListModelBuilder;
+import com.top_logic.mig.html.layout.LayoutComponent;
+import com.top_logic.model.search.expr.profile.ExpressionStatistics;
+import com.top_logic.model.search.expr.profile.ScriptProfiler;
+
+/**
+ * {@link ListModelBuilder}s for the tables of the TL-Script profiler.
+ *
+ * @see ScriptProfiler#getLast()
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public abstract class ScriptProfileBuilder implements ListModelBuilder {
+
+	@Override
+	public Collection<?> getModel(Object businessModel, LayoutComponent aComponent) {
+		ScriptProfiler profiler = ScriptProfiler.getLast();
+		if (profiler == null) {
+			return Collections.emptyList();
+		}
+		return getModel(profiler);
+	}
+
+	/**
+	 * The {@link ExpressionStatistics} to display from the given profiler.
+	 */
+	protected abstract Collection<?> getModel(ScriptProfiler profiler);
+
+	@Override
+	public boolean supportsModel(Object aModel, LayoutComponent aComponent) {
+		return aModel == null;
+	}
+
+	@Override
+	public Object retrieveModelFromListElement(LayoutComponent contextComponent, Object listElement) {
+		return null;
+	}
+
+	/**
+	 * {@link ScriptProfileBuilder} for the statistics per script.
+	 *
+	 * @see ScriptProfiler#getScriptStatistics()
+	 */
+	public static class Scripts extends ScriptProfileBuilder {
+
+		/**
+		 * Singleton {@link ScriptProfileBuilder.Scripts} instance.
+		 */
+		public static final Scripts INSTANCE = new Scripts();
+
+		private Scripts() {
+			// Singleton constructor.
+		}
+
+		@Override
+		protected Collection<?> getModel(ScriptProfiler profiler) {
+			return profiler.getScriptStatistics();
+		}
+
+	}
+
+	/**
+	 * {@link ScriptProfileBuilder} for the statistics per expression node.
+	 *
+	 * @see ScriptProfiler#getNodeStatistics()
+	 */
+	public static class Nodes extends ScriptProfileBuilder {
+
+		/**
+		 * Singleton {@link ScriptProfileBuilder.Nodes} instance.
+		 */
+		public static final Nodes INSTANCE = new Nodes();
+
+		private Nodes() {
+			// Singleton constructor.
+		}
+
+		@Override
+		protected Collection<?> getModel(ScriptProfiler profiler) {
+			return profiler.getNodeStatistics();
+		}
+
+	}
+
+}
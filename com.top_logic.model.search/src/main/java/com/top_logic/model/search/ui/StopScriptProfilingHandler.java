@@ -0,0 +1,77 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.search.ui;
+
+import java.util.Map;
+
+import com.top_logic.basic.config.InstantiationContext;
+import com.top_logic.basic.config.annotation.Label;
+import com.top_logic.basic.config.annotation.defaults.FormattedDefault;
+import com.top_logic.basic.util.ResKey;
+import com.top_logic.layout.DisplayContext;
+import com.top_logic.layout.ModelSpec;
+import com.top_logic.mig.html.layout.LayoutComponent;
+import com.top_logic.model.search.expr.profile.ScriptProfiler;
+import com.top_logic.tool.boundsec.AbstractCommandHandler;
+import com.top_logic.tool.boundsec.CommandGroupReference;
+import com.top_logic.tool.boundsec.CommandHandler;
+import com.top_logic.tool.boundsec.HandlerResult;
+import com.top_logic.tool.boundsec.simple.SimpleBoundCommandGroup;
+
+/**
+ * {@link CommandHandler} stopping the active {@link ScriptProfiler}.
+ *
+ * <p>
+ * The data recorded so far remains available for inspection.
+ * </p>
+ *
+ * @see StartScriptProfilingHandler
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@Label("Stop script profiling")
+public class StopScriptProfilingHandler extends AbstractCommandHandler {
+
+	/**
+	 * Configuration options for {@link StopScriptProfilingHandler}.
+	 */
+	public interface Config extends AbstractCommandHandler.Config {
+
+		@Override
+		@FormattedDefault("class.com.top_logic.model.search.ui.I18NConstants.STOP_SCRIPT_PROFILING")
+		ResKey getResourceKey();
+
+		@Override
+		@FormattedDefault(SimpleBoundCommandGroup.SYSTEM_NAME)
+		CommandGroupReference getGroup();
+
+		@Override
+		@FormattedDefault(TARGET_NULL)
+		ModelSpec getTarget();
+
+	}
+
+	/**
+	 * Creates a {@link StopScriptProfilingHandler} from configuration.
+	 * 
+	 * @param context
+	 *        The context for instantiating sub configurations.
+	 * @param config
+	 *        The configuration.
+	 */
+	public StopScriptProfilingHandler(InstantiationContext context, Config config) {
+		super(context, config);
+	}
+
+	@Override
+	public HandlerResult handleCommand(DisplayContext context, LayoutComponent component, Object model,
+			Map<String, Object> arguments) {
+		ScriptProfiler.stop();
+		component.invalidate();
+		return HandlerResult.DEFAULT_RESULT;
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.model.search.expr;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+
+import com.top_logic.basic.NamedConstant;
+import com.top_logic.model.search.expr.Definition;
+import com.top_logic.model.search.expr.EvalContext;
+import com.top_logic.model.search.expr.Lambda;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.parser.ParseException;
+import com.top_logic.model.search.expr.query.QueryExecutor;
+import com.top_logic.util.error.TopLogicException;
+
+/**
+ * Test case for the variable storage of {@link EvalContext}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestEvalContext extends AbstractSearchExpressionTest {
+
+	private static final NamedConstant X = new NamedConstant("x");
+
+	private static final NamedConstant Y = new NamedConstant("y");
+
+	private static final NamedConstant Z = new NamedConstant("z");
+
+	public void testSlots() {
+		EvalContext context = context();
+		context.defineVar(X, 0, "x0");
+		context.defineVar(Y, 5, "y0");
+
+		assertEquals("x0", context.getVar(X, 0));
+		assertEquals("y0", context.getVar(Y, 5));
+
+		// Access without slot finds slot variables.
+		assertTrue(context.hasVar(Y));
+		assertEquals("y0", context.getVar(Y));
+
+		context.defineVar(X, 0, "x1");
+		assertEquals("x1", context.getVar(X, 0));
+	}
+
+	public void testSlotCollision() {
+		EvalContext context = context();
+		context.defineVar(X, 0, "x");
+		context.defineVar(Y, 0, "y");
+
+		assertEquals("x", context.getVar(X, 0));
+		assertEquals("y", context.getVar(Y, 0));
+
+		assertEquals("x", context.deleteVar(X));
+		assertFalse(context.hasVar(X));
+
+		context.defineVar(Y, 0, "y2");
+		assertEquals("y2", context.getVar(Y, 0));
+		assertEquals("y2", context.getVar(Y));
+	}
+
+	public void testSlotChange() {
+		EvalContext context = context();
+		context.defineVar(X, 0, "x0");
+		context.defineVar(X, 3, "x3");
+
+		assertEquals("x3", context.getVar(X, 3));
+		assertEquals("x3", context.getVar(X, 0));
+		assertEquals("x3", context.getVar(X));
+
+		assertEquals("x3", context.deleteVar(X));
+		assertFalse(context.hasVar(X));
+		assertNull(context.getVarOrNull(X));
+	}
+
+	public void testVariablesWithoutSlot() {
+		EvalContext context = context();
+		context.defineVar(X, Definition.NO_SLOT, "x");
+		context.defineVar(Z, "z");
+
+		assertEquals("x", context.getVar(X, Definition.NO_SLOT));
+		assertEquals("z", context.getVarOrNull(Z));
+		assertNull(context.getVarOrNull(Y));
+	}
+
+	public void testUndefined() {
+		EvalContext context = context();
+		context.defineVar(X, 0, "x");
+		try {
+			context.getVar(Y, 0);
+			fail("Access to undefined variable must fail.");
+		} catch (TopLogicException ex) {
+			// Expected.
+		}
+	}
+
+	public void testSnapshot() {
+		EvalContext context = context();
+		context.defineVar(X, 0, "x");
+		context.defineVar(Z, "z");
+
+		EvalContext snapshot = context.snapshot();
+		context.defineVar(X, 0, "changed");
+		context.deleteVar(Z);
+
+		assertEquals("x", snapshot.getVar(X, 0));
+		assertEquals("z", snapshot.getVar(Z));
+	}
+
+	public void testSlotAssignment() throws ParseException {
+		SearchExpression expr = QueryExecutor.compileExpr(kb(), model(), search("x -> y -> $x + $y"));
+		Lambda outer = (Lambda) expr;
+		Lambda inner = (Lambda) outer.getBody();
+		assertTrue(outer.getSlot() >= 0);
+		assertTrue(inner.getSlot() >= 0);
+		assertTrue(outer.getSlot() != inner.getSlot());
+
+		int before = outer.getSlot();
+		QueryExecutor.resolve(model(), expr);
+		assertEquals("Slots must not change.", before, outer.getSlot());
+	}
+
+	public void testNestedFunctions() throws ParseException {
+		assertEquals(Arrays.asList(11.0, 12.0, 21.0, 22.0),
+			eval("x -> y -> $x.map(a -> $y.map(b -> $a * 10 + $b)).flatten()", Arrays.asList(1.0, 2.0),
+				Arrays.asList(1.0, 2.0)));
+	}
+
+	private static EvalContext context() {
+		return new EvalContext(false, kb(), model(), null, null);
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link TestEvalContext}.
+	 */
+	public static Test suite() {
+		return suite(TestEvalContext.class);
+	}
+
+}
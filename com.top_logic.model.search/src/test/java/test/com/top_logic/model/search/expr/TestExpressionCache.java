@@ -0,0 +1,122 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.model.search.expr;
+
+import junit.framework.Test;
+
+import com.top_logic.knowledge.service.I18NConstants;
+import com.top_logic.knowledge.service.Transaction;
+import com.top_logic.model.TLModel;
+import com.top_logic.model.TLModule;
+import com.top_logic.model.impl.TLModelImpl;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.config.dom.Expr;
+import com.top_logic.model.search.expr.parser.ParseException;
+import com.top_logic.model.search.expr.query.ExpressionCache;
+import com.top_logic.model.search.expr.query.QueryExecutor;
+import com.top_logic.model.util.TLModelUtil;
+
+/**
+ * Test case for {@link ExpressionCache}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestExpressionCache extends AbstractSearchExpressionTest {
+
+	public void testHit() throws ParseException {
+		ExpressionCache cache = new ExpressionCache(10);
+
+		SearchExpression first = lookup(cache, "x -> $x + 1");
+		assertEquals(1, cache.getMisses());
+		assertEquals(0, cache.getHits());
+
+		// Same expression, different formatting.
+		SearchExpression second = lookup(cache, "x ->  $x+1");
+		assertEquals(1, cache.getMisses());
+		assertEquals(1, cache.getHits());
+		assertEquals(0.5, cache.getHitRatio(), 0.0);
+
+		assertNotSame("Cached expressions must be copied.", first, second);
+		assertEquals(3.0, run(first, 2.0));
+		assertEquals(3.0, run(second, 2.0));
+	}
+
+	public void testBounded() throws ParseException {
+		ExpressionCache cache = new ExpressionCache(2);
+		lookup(cache, "1");
+		lookup(cache, "2");
+		lookup(cache, "3");
+		assertEquals(2, cache.size());
+
+		// Least recently used entry has been dropped.
+		lookup(cache, "1");
+		assertEquals(4, cache.getMisses());
+		lookup(cache, "3");
+		assertEquals(1, cache.getHits());
+	}
+
+	public void testClear() throws ParseException {
+		ExpressionCache cache = new ExpressionCache(10);
+		lookup(cache, "1");
+		cache.clear();
+		assertEquals(0, cache.size());
+		lookup(cache, "1");
+		assertEquals(2, cache.getMisses());
+	}
+
+	public void testModelChangeClearsCache() throws ParseException {
+		ExpressionCache cache = new ExpressionCache(10);
+		cache.observe(kb());
+		lookup(cache, "1");
+		assertEquals(1, cache.size());
+
+		TLModule module;
+		try (Transaction tx = kb().beginTransaction(I18NConstants.NO_COMMIT_MESSAGE)) {
+			module = TLModelUtil.addModule(model(), "TestExpressionCache");
+			tx.commit();
+		}
+		try {
+			assertEquals("Model change must clear the cache.", 0, cache.size());
+		} finally {
+			try (Transaction tx = kb().beginTransaction(I18NConstants.NO_COMMIT_MESSAGE)) {
+				module.tDelete();
+				tx.commit();
+			}
+		}
+	}
+
+	public void testTransientModelNotCached() throws ParseException {
+		ExpressionCache cache = new ExpressionCache(10);
+		TLModel transientModel = new TLModelImpl();
+		Expr expr = parse("1");
+		for (int n = 0; n < 2; n++) {
+			cache.lookup(kb(), transientModel, expr, () -> QueryExecutor.compileExpr(kb(), transientModel, build(expr)));
+		}
+		assertEquals(0, cache.size());
+		assertEquals(2, cache.getUncached());
+		assertEquals(0, cache.getHits());
+		assertEquals(0, cache.getMisses());
+	}
+
+	private static SearchExpression lookup(ExpressionCache cache, String source) throws ParseException {
+		Expr expr = parse(source);
+		return cache.lookup(kb(), model(), expr,
+			() -> QueryExecutor.compileExpr(kb(), model(), build(expr)));
+	}
+
+	private static double run(SearchExpression expr, Object arg) {
+		return ((Number) QueryExecutor.executor(kb(), model(), expr).execute(arg)).doubleValue();
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link TestExpressionCache}.
+	 */
+	public static Test suite() {
+		return suite(TestExpressionCache.class);
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.model.search.expr;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Test;
+
+import com.top_logic.knowledge.service.I18NConstants;
+import com.top_logic.knowledge.service.Transaction;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.config.SearchBuilder;
+import com.top_logic.model.search.expr.parser.ParseException;
+
+/**
+ * Test case for the parallel evaluation of <code>map()</code> and <code>filter()</code> on large
+ * collections.
+ *
+ * <p>
+ * The test configuration enables parallel evaluation for collections with at least 100 elements.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestParallelEvaluation extends AbstractSearchExpressionTest {
+
+	private static final int SIZE = 1000;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		assertTrue("Parallel evaluation not enabled in test configuration.",
+			SearchBuilder.getInstance().getParallelThreshold() > 0);
+	}
+
+	public void testMapSameAsSequential() throws ParseException {
+		assertSameAsSequential("x -> $x.map(e -> $e * $e + 1)");
+	}
+
+	public void testFilterSameAsSequential() throws ParseException {
+		assertSameAsSequential("x -> $x.filter(e -> $e % 3 == 0)");
+	}
+
+	public void testNestedSameAsSequential() throws ParseException {
+		assertSameAsSequential("x -> $x.map(e -> list($e, $e + 1).map(f -> $f * 2).sum())");
+	}
+
+	public void testSideEffectNotParallel() throws ParseException {
+		SearchExpression expr = search("x -> $x.map(e -> if($e < 0, throw('negative'), $e * 2))");
+
+		long before = parallelEvaluations();
+		Object result = eval(expr, numbers());
+		assertEquals("Function with side effects must not be evaluated in parallel.", before,
+			parallelEvaluations());
+
+		List<Object> expected = new ArrayList<>();
+		for (Object number : numbers()) {
+			expected.add(((Number) number).doubleValue() * 2);
+		}
+		assertEquals(expected, doubles(result));
+	}
+
+	public void testSmallCollectionNotParallel() throws ParseException {
+		long before = parallelEvaluations();
+		eval("x -> $x.map(e -> $e * 2)", numbers().subList(0, 10));
+		assertEquals(before, parallelEvaluations());
+	}
+
+	private void assertSameAsSequential(String script) throws ParseException {
+		SearchExpression expr = search(script);
+		List<Object> numbers = numbers();
+
+		Object sequential;
+		try (Transaction tx = kb().beginTransaction(I18NConstants.NO_COMMIT_MESSAGE)) {
+			// Within a transaction, evaluation is sequential.
+			long before = parallelEvaluations();
+			sequential = eval(expr, numbers);
+			assertEquals(before, parallelEvaluations());
+			tx.rollback();
+		}
+
+		long before = parallelEvaluations();
+		Object parallel = eval(expr, numbers);
+		assertTrue("Parallel evaluation expected.", parallelEvaluations() > before);
+
+		assertEquals(sequential, parallel);
+	}
+
+	private static long parallelEvaluations() {
+		return SearchBuilder.getInstance().getParallelEvaluationCount();
+	}
+
+	private static List<Object> numbers() {
+		List<Object> result = new ArrayList<>(SIZE);
+		for (int n = 0; n < SIZE; n++) {
+			result.add(Integer.valueOf(n));
+		}
+		return result;
+	}
+
+	private static List<Object> doubles(Object result) {
+		List<Object> doubles = new ArrayList<>();
+		for (Object value : (Iterable<?>) result) {
+			doubles.add(((Number) value).doubleValue());
+		}
+		return doubles;
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link TestParallelEvaluation}.
+	 */
+	public static Test suite() {
+		return suite(TestParallelEvaluation.class);
+	}
+
+}
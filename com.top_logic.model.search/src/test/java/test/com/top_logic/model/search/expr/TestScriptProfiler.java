@@ -0,0 +1,65 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.model.search.expr;
+
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.Test;
+
+import com.top_logic.basic.thread.ThreadContextManager;
+import com.top_logic.model.search.expr.parser.ParseException;
+import com.top_logic.model.search.expr.profile.ExpressionStatistics;
+import com.top_logic.model.search.expr.profile.ScriptProfiler;
+
+/**
+ * Test case for {@link ScriptProfiler}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestScriptProfiler extends AbstractSearchExpressionTest {
+
+	private static final List<Double> LIST = Arrays.asList(1.0, 2.0, 3.0, 4.0);
+
+	public void testProfile() throws ParseException {
+		ScriptProfiler profiler = ScriptProfiler.start(ThreadContextManager.getSession());
+		try {
+			assertEquals(Arrays.asList(2.0, 4.0, 6.0, 8.0), eval("x -> $x.map(e -> $e * 2)", LIST));
+		} finally {
+			ScriptProfiler.stop();
+		}
+		assertFalse(ScriptProfiler.isActive());
+		assertSame(profiler, ScriptProfiler.getLast());
+
+		List<ExpressionStatistics> scripts = profiler.getScriptStatistics();
+		assertEquals(1, scripts.size());
+		long scriptCalls = scripts.get(0).getCalls();
+		assertTrue(scriptCalls > 0);
+
+		boolean found = false;
+		for (ExpressionStatistics node : profiler.getNodeStatistics()) {
+			assertTrue(node.getTotalTime() >= node.getSelfTime());
+			if (node.getElements() > 0) {
+				assertEquals("Map produces 4 elements per evaluation.", 0, node.getElements() % LIST.size());
+				found = true;
+			}
+		}
+		assertTrue("Produced elements not recorded.", found);
+
+		// No longer recorded.
+		eval("x -> $x.map(e -> $e * 2)", LIST);
+		assertEquals(scriptCalls, profiler.getScriptStatistics().get(0).getCalls());
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link TestScriptProfiler}.
+	 */
+	public static Test suite() {
+		return suite(TestScriptProfiler.class);
+	}
+
+}
@@ -90,6 +90,7 @@ import com.top_logic.model.search.expr.parser.ParseException;
 import com.top_logic.model.search.expr.query.QueryExecutor;
 import com.top_logic.model.search.expr.supplier.SearchExpressionNow;
 import com.top_logic.model.search.expr.supplier.SearchExpressionToday;
+import com.top_logic.model.search.expr.visit.DefaultDescendingVisitor;
 import com.top_logic.model.util.TLModelUtil;
 import com.top_logic.util.Resources;
 import com.top_logic.util.TLContext;
@@ -367,6 +368,80 @@ public class TestSearchExpression extends AbstractSearchExpressionTest {
 			});
 	}
 
+	public void testQueryPushDown() {
+		with("TestSearchExpression-testQueryPushDown.scenario.xml",
+			scenario -> {
+				TLObject c0 = scenario.getObject("c0"); // long = 10
+				TLObject c1 = scenario.getObject("c1"); // long = 40
+				TLObject c2 = scenario.getObject("c2"); // long = 20
+				TLObject c3 = scenario.getObject("c3"); // long = 30
+				List<TLObject> all = list(c0, c1, c2, c3);
+				String type = "`TestSearchExpression:WithDatabaseColumns`";
+				String longAttr = "`TestSearchExpression:WithDatabaseColumns#long`";
+
+				assertTrue("Range must be pushed into the query.",
+					compileExpr(search("all(" + type + ").subList(1, 3)")) instanceof KBQuery);
+
+				assertEquals(4, ((Number) execute(search("all(" + type + ").size()"))).intValue());
+				assertEquals(1, ((Number) execute(
+					search("all(" + type + ").filter(x -> $x.get(" + longAttr + ") > 30).size()"))).intValue());
+				assertEquals(2, ((Collection<?>) execute(search("all(" + type + ").subList(1, 3)"))).size());
+				assertEquals(1, ((Collection<?>) execute(search("all(" + type + ").subList(3)"))).size());
+				assertTrue(all.contains(execute(search("all(" + type + ").firstElement()"))));
+
+				assertEquals(list(c2, c3),
+					execute(search("all(" + type + ").sort(comparator(x -> $x.get(" + longAttr + "))).subList(1, 3)")));
+				assertEquals(list(c3, c2),
+					execute(search("all(" + type + ").sort(comparator(x -> desc($x.get(" + longAttr + ")))).subList(1, 3)")));
+				assertEquals(10.0, execute(search("all(" + type + ").map(x -> $x.get(" + longAttr + ")).min()")));
+				assertEquals(40.0, execute(search("all(" + type + ").map(x -> $x.get(" + longAttr + ")).max()")));
+
+				// Orders are only pushed down for mandatory attributes, since the database sorts
+				// null values differently than the in-memory comparator.
+				String rankAttr = "`TestSearchExpression:WithDatabaseColumns#rank`";
+				String sortByRank = ".sort(comparator(x -> $x.get(" + rankAttr + ")))";
+				String sortByRankDesc = ".sort(comparator(x -> desc($x.get(" + rankAttr + "))))";
+				String minRank = ".map(x -> $x.get(" + rankAttr + ")).min()";
+				String maxRank = ".map(x -> $x.get(" + rankAttr + ")).max()";
+
+				SearchExpression sorted = compileExpr(search("all(" + type + ")" + sortByRank));
+				assertTrue("Sort must be pushed into the query.", sorted instanceof KBQuery);
+				assertFalse("Sort must be pushed into the query.", ((KBQuery) sorted).getOrder().isEmpty());
+				assertNotNull("Min must be computed by an ordered query.",
+					orderedQuery(compileExpr(search("all(" + type + ")" + minRank))));
+				assertNotNull("Max must be computed by an ordered query.",
+					orderedQuery(compileExpr(search("all(" + type + ")" + maxRank))));
+
+				assertEquals(list(c1, c3, c0, c2), execute(search("all(" + type + ")" + sortByRank)));
+				assertEquals(execute(search("all -> $all" + sortByRank), all),
+					execute(search("all(" + type + ")" + sortByRank)));
+				assertEquals(execute(search("all -> $all" + sortByRankDesc), all),
+					execute(search("all(" + type + ")" + sortByRankDesc)));
+				assertEquals(execute(search("all -> $all" + minRank), all),
+					execute(search("all(" + type + ")" + minRank)));
+				assertEquals(execute(search("all -> $all" + maxRank), all),
+					execute(search("all(" + type + ")" + maxRank)));
+			});
+	}
+
+	/**
+	 * The first {@link KBQuery} with an order in the given expression, or <code>null</code>, if
+	 * there is none.
+	 */
+	private static KBQuery orderedQuery(SearchExpression expr) {
+		KBQuery[] result = { null };
+		expr.visit(new DefaultDescendingVisitor<Void, Void>() {
+			@Override
+			protected Void composeSource(KBQuery query, Void arg) {
+				if (result[0] == null && !query.getOrder().isEmpty()) {
+					result[0] = query;
+				}
+				return super.composeSource(query, arg);
+			}
+		}, null);
+		return result[0];
+	}
+
 	/**
 	 * Asserts that a comparison predicate yields the given result both when delegated to the database
 	 * (rooted in {@code all(...)}) and when evaluated in memory (rooted in a passed-in list).
@@ -2868,6 +2943,74 @@ public class TestSearchExpression extends AbstractSearchExpressionTest {
 		});
 	}
 
+	public void testDerivedCacheHit() {
+		with("TestSearchExpression-testDerivedCache.scenario.xml", scenario -> {
+			TLObject c1 = scenario.getObject("c1");
+
+			Object positive = c1.tValueByName("positive");
+			assertEquals(list(c1), positive);
+			assertSame("Value must be taken from the cache.", positive, c1.tValueByName("positive"));
+
+			Object all = c1.tValueByName("all");
+			assertEquals(set(c1, scenario.getObject("c2")), new HashSet<>((Collection<?>) all));
+			assertSame("Value must be taken from the cache.", all, c1.tValueByName("all"));
+		});
+	}
+
+	public void testDerivedCacheInvalidationOnUpdate() {
+		with("TestSearchExpression-testDerivedCache.scenario.xml", scenario -> {
+			TLObject c1 = scenario.getObject("c1");
+			TLObject c2 = scenario.getObject("c2");
+
+			Object positive1 = c1.tValueByName("positive");
+			Object positive2 = c2.tValueByName("positive");
+			Object all = c1.tValueByName("all");
+			assertEquals(list(c1), positive1);
+
+			try (Transaction tx = kb().beginTransaction(com.top_logic.knowledge.service.I18NConstants.NO_COMMIT_MESSAGE)) {
+				c1.tUpdateByName("factor", -3);
+				tx.commit();
+			}
+
+			assertEquals("Value computed from the changed object must be dropped.", list(),
+				c1.tValueByName("positive"));
+			assertSame("Value not computed from the changed object must be kept.", positive2,
+				c2.tValueByName("positive"));
+			assertNotSame("Value depending on the instances of the changed object's type must be dropped.", all,
+				c1.tValueByName("all"));
+		});
+	}
+
+	public void testDerivedCacheInvalidationOnCreateAndDelete() {
+		with("TestSearchExpression-testDerivedCache.scenario.xml", scenario -> {
+			TLObject c1 = scenario.getObject("c1");
+			TLObject c2 = scenario.getObject("c2");
+
+			Object positive = c1.tValueByName("positive");
+			assertEquals(set(c1, c2), new HashSet<>((Collection<?>) c1.tValueByName("all")));
+
+			TLClass type = (TLClass) c1.tType();
+			TLObject c3;
+			try (Transaction tx = kb().beginTransaction(com.top_logic.knowledge.service.I18NConstants.NO_COMMIT_MESSAGE)) {
+				c3 = DynamicModelService.getFactoryFor(type.getModule().getName()).createObject(type);
+				c3.tUpdateByName("factor", 7);
+				tx.commit();
+			}
+			assertEquals("Created instance must be visible.", set(c1, c2, c3),
+				new HashSet<>((Collection<?>) c1.tValueByName("all")));
+			assertSame("Value not depending on the instances of the created object's type must be kept.", positive,
+				c1.tValueByName("positive"));
+
+			try (Transaction tx = kb().beginTransaction(com.top_logic.knowledge.service.I18NConstants.NO_COMMIT_MESSAGE)) {
+				c2.tDelete();
+				tx.commit();
+			}
+			assertEquals("Deleted instance must not be visible.", set(c1, c3),
+				new HashSet<>((Collection<?>) c1.tValueByName("all")));
+			assertEquals(list(c3), c3.tValueByName("positive"));
+		});
+	}
+
 	public void testEnumLiteralAccess() throws ParseException {
 		SearchExpression search = search("`TestSearchExpression:MyEnum#A`.singleton()");
 		Set<?> result = asSet(executeAsSet(search));
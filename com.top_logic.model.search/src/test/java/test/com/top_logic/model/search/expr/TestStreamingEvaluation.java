@@ -0,0 +1,76 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.model.search.expr;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.Test;
+
+import com.top_logic.model.search.expr.StreamingExpression;
+import com.top_logic.model.search.expr.parser.ParseException;
+
+/**
+ * Test case for the lazy evaluation of {@link StreamingExpression}s.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestStreamingEvaluation extends AbstractSearchExpressionTest {
+
+	private static final List<Double> LIST = Arrays.asList(1.0, 2.0, 3.0, 4.0);
+
+	public void testListAccess() throws ParseException {
+		assertEquals(2.0, eval("x -> $x.filter(e -> $e > 1).firstElement()", LIST));
+		assertEquals(8.0, eval("x -> $x.map(e -> $e * 2).lastElement()", LIST));
+		assertEquals(6.0, eval("x -> $x.map(e -> $e * 2).elementAt(2)", LIST));
+		assertEquals(null, eval("x -> $x.filter(e -> $e > 10).firstElement()", LIST));
+		assertEquals(null, eval("x -> $x.filter(e -> $e > 1).elementAt(5)", LIST));
+	}
+
+	public void testIsEmpty() throws ParseException {
+		assertEquals(Boolean.FALSE, eval("x -> $x.filter(e -> $e > 1).isEmpty()", LIST));
+		assertEquals(Boolean.TRUE, eval("x -> $x.filter(e -> $e > 10).isEmpty()", LIST));
+		assertEquals(Boolean.TRUE, eval("x -> $x.map(e -> $e).isEmpty()", Collections.emptyList()));
+	}
+
+	public void testSize() throws ParseException {
+		assertEquals(3.0, toDouble(eval("x -> $x.filter(e -> $e > 1).size()", LIST)));
+		assertEquals(8.0, toDouble(eval("x -> $x.map(e -> [$e, $e]).flatten().size()", LIST)));
+	}
+
+	public void testSubList() throws ParseException {
+		assertEquals(Arrays.asList(4.0, 6.0), eval("x -> $x.map(e -> $e * 2).subList(1, 3)", LIST));
+		assertEquals(Arrays.asList(3.0, 4.0), eval("x -> $x.filter(e -> $e > 1).subList(1, 10)", LIST));
+		assertEquals(Collections.emptyList(), eval("x -> $x.filter(e -> $e > 1).subList(5, 10)", LIST));
+		assertEquals(Arrays.asList(3.0, 4.0), eval("x -> $x.filter(e -> $e > 1).subList(-2, 0)", LIST));
+	}
+
+	public void testContainsSome() throws ParseException {
+		assertEquals(Boolean.TRUE, eval("x -> $x.containsSome($x.map(e -> $e + 1))", LIST));
+		assertEquals(Boolean.FALSE, eval("x -> $x.containsSome($x.map(e -> $e + 10))", LIST));
+	}
+
+	public void testFlatten() throws ParseException {
+		assertEquals(1.0, eval("x -> $x.map(e -> [$e, $e]).flatten().firstElement()", LIST));
+		assertEquals(Arrays.asList(1.0, 1.0, 2.0),
+			eval("x -> $x.map(e -> [$e, $e]).flatten().subList(0, 3)", LIST));
+		assertEquals(3.0, eval("x -> $x.map(e -> $e > 2 ? [$e] : []).flatten().firstElement()", LIST));
+	}
+
+	private static double toDouble(Object value) {
+		return ((Number) value).doubleValue();
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link TestStreamingEvaluation}.
+	 */
+	public static Test suite() {
+		return suite(TestStreamingEvaluation.class);
+	}
+
+}
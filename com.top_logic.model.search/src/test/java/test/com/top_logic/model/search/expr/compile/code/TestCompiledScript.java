@@ -0,0 +1,125 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.model.search.expr.compile.code;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+
+import test.com.top_logic.model.search.expr.AbstractSearchExpressionTest;
+
+import com.top_logic.model.TLModule;
+import com.top_logic.model.search.expr.EvalContext;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.compile.code.CompiledScript;
+import com.top_logic.model.search.expr.parser.ParseException;
+import com.top_logic.model.search.expr.query.Args;
+import com.top_logic.model.search.expr.query.QueryExecutor;
+import com.top_logic.model.util.TLModelUtil;
+import com.top_logic.util.error.TopLogicException;
+
+/**
+ * Test case for {@link CompiledScript}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestCompiledScript extends AbstractSearchExpressionTest {
+
+	public void testArithmetic() throws ParseException {
+		assertCompiled(3.0, "x -> $x + 1", 2.0);
+		assertCompiled(5.0, "x -> y -> $x * $y - 1", 1.5, 4.0);
+		assertCompiled("a1", "x -> $x + 1", "a");
+		assertCompiled(null, "x -> $x + 1", (Object) null);
+	}
+
+	public void testNumeric() throws ParseException {
+		assertCompiled(7.0, "x -> round($x, 0) * 2 + 1", 2.6);
+		assertCompiled(1.0, "x -> round($x, 0) * 2 + 1", (Object) null);
+		assertCompiled(Boolean.TRUE, "x -> round($x, 1) * 10 > 25", 2.6);
+		assertCompiled(null, "x -> y -> round($x, 1) * 10 > $y", 2.6, null);
+	}
+
+	public void testNumericReduction() throws ParseException {
+		assertCompiled(12.0, "x -> $x.map(e -> round($e, 0) * 2).sum()", Arrays.asList(1.0, 2.0, 3.0));
+		assertCompiled(2.0, "x -> $x.map(e -> $e).average()", Arrays.asList(1.0, null, 3.0));
+		assertCompiled(1.0, "x -> $x.map(e -> round($e, 0)).min()", Arrays.asList(3.0, 1.0, 2.0));
+		assertCompiled(null, "x -> $x.map(e -> $e).max()", Arrays.asList(null, null));
+		assertCompiled(6.0, "x -> $x.map(e -> $e).sum()", Arrays.asList(1.0, Arrays.asList(2.0, 3.0)));
+	}
+
+	public void testLocalVariables() throws ParseException {
+		assertCompiled(4.0, "x -> { a = $x + 1; b = $a * 2; $b - $a; }", 3.0);
+		assertCompiled(6.0, "x -> { a = $x; a2 = { a = $a * 2; $a }; $a + $a2; }", 2.0);
+	}
+
+	public void testLogic() throws ParseException {
+		assertCompiled(Boolean.TRUE, "x -> y -> $x > 3 && !($y == 'b')", 4.0, "a");
+		assertCompiled(Boolean.FALSE, "x -> y -> $x > 3 && !($y == 'b')", 2.0, "a");
+		assertCompiled("fallback", "x -> $x || 'fallback'", (Object) null);
+		assertCompiled("big", "x -> $x >= 10 ? 'big' : 'small'", 10.0);
+	}
+
+	public void testMethodsAndLambdas() throws ParseException {
+		assertCompiled(2.0, "x -> $x.filter(e -> $e > 1).size()", Arrays.asList(1.0, 2.0, 3.0));
+		assertCompiled(Arrays.asList(2.0, 4.0), "x -> f -> $x.map($f)", Arrays.asList(1.0, 2.0),
+			eval("x -> $x * 2"));
+		assertCompiled(7.0, "x -> { f = y -> $y + $x; $f(5) }", 2.0);
+	}
+
+	public void testAttributeAccess() throws ParseException {
+		TLModule module = TLModelUtil.findModule(model(), "tl.model");
+		assertCompiled("tl.model", "m -> $m.get(`tl.model:TLModule#name`)", module);
+	}
+
+	public void testArgumentMismatch() throws ParseException {
+		SearchExpression expr = compile("x -> y -> $x + $y");
+		CompiledScript script = CompiledScript.compile(expr);
+
+		// Partial application results in a function.
+		Object partial = script.execute(context(), Args.some(1.0));
+		assertTrue(partial instanceof SearchExpression);
+		assertEquals(3.0, ((SearchExpression) partial).eval(context(), 2.0));
+
+		// Function result applied to additional arguments.
+		assertEquals(6.0, CompiledScript.compile(compile("x -> y -> z -> $x + $y + $z"))
+			.execute(context(), Args.some(1.0, 2.0, 3.0)));
+	}
+
+	public void testFailure() throws ParseException {
+		CompiledScript script = CompiledScript.compile(compile("x -> $x.singleElement()"));
+		try {
+			script.execute(context(), Args.some(Arrays.asList("a", "b")));
+			fail("Expected failure.");
+		} catch (TopLogicException ex) {
+			// Expected.
+		}
+	}
+
+	private void assertCompiled(Object expected, String script, Object... args) throws ParseException {
+		SearchExpression expr = compile(script);
+		Object interpreted = expr.evalWith(context(), Args.some(args));
+		Object compiled = CompiledScript.compile(expr).execute(context(), Args.some(args));
+		assertEquals(expected, interpreted);
+		assertEquals(interpreted, compiled);
+	}
+
+	private static SearchExpression compile(String script) throws ParseException {
+		return QueryExecutor.compileExpr(kb(), model(), search(script));
+	}
+
+	private static EvalContext context() {
+		return new EvalContext(false, kb(), model(), null, null);
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link TestCompiledScript}.
+	 */
+	public static Test suite() {
+		return suite(TestCompiledScript.class);
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.model.search.expr.compile.transform;
+
+import junit.framework.Test;
+
+import test.com.top_logic.model.search.expr.AbstractSearchExpressionTest;
+
+import com.top_logic.model.search.expr.AnnotatedSearchExpression;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.SearchExpressionFactory;
+import com.top_logic.model.search.expr.compile.transform.HasSideEffects;
+import com.top_logic.model.search.expr.parser.ParseException;
+
+/**
+ * Test case for {@link HasSideEffects}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestHasSideEffects extends AbstractSearchExpressionTest {
+
+	public void testSideEffectFree() throws ParseException {
+		assertFalse(hasSideEffects("x -> $x.map(e -> toUpperCase($e))"));
+		assertFalse(hasSideEffects("x -> $x.filter(e -> $e > 1).map(e -> $e * 2)"));
+	}
+
+	public void testSideEffectInMethodArgument() throws ParseException {
+		assertTrue(hasSideEffects("x -> toUpperCase(throw('fail'))"));
+		assertTrue(hasSideEffects("x -> $x.map(e -> toUpperCase(throw($e)))"));
+	}
+
+	public void testUnknownFunction() throws ParseException {
+		assertFalse(hasSideEffects("x -> f -> $x.map($f)"));
+		assertTrue(appliesUnknownFunction(search("x -> f -> $x.map($f)")));
+		assertTrue(appliesUnknownFunction(search("x -> f -> $x.filter($f)")));
+		assertFalse(appliesUnknownFunction(search("x -> $x.map(e -> toUpperCase($e))")));
+	}
+
+	public void testAnnotatedFunction() throws ParseException {
+		SearchExpression function = search("e -> toUpperCase($e)");
+		SearchExpression annotated = new AnnotatedSearchExpression("e -> toUpperCase($e)", function);
+		SearchExpression map = SearchExpressionFactory.foreach(SearchExpressionFactory.var("x"), annotated);
+		assertFalse(appliesUnknownFunction(map));
+	}
+
+	private static boolean hasSideEffects(String script) throws ParseException {
+		return search(script).visit(HasSideEffects.INSTANCE, null).booleanValue();
+	}
+
+	private static boolean appliesUnknownFunction(SearchExpression expr) {
+		return expr.visit(HasSideEffects.WITH_UNKNOWN_FUNCTIONS, null).booleanValue();
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link TestHasSideEffects}.
+	 */
+	public static Test suite() {
+		return suite(TestHasSideEffects.class);
+	}
+
+}
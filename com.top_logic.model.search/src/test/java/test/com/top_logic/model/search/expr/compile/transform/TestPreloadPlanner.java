@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.model.search.expr.compile.transform;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Test;
+
+import test.com.top_logic.model.search.expr.AbstractSearchExpressionTest;
+
+import com.top_logic.model.TLStructuredTypePart;
+import com.top_logic.model.export.EmptyPreloadContribution;
+import com.top_logic.model.export.NavigationPreload;
+import com.top_logic.model.export.PreloadContribution;
+import com.top_logic.model.export.PreloadOperation;
+import com.top_logic.model.search.expr.compile.transform.PreloadPlanner;
+import com.top_logic.model.search.expr.parser.ParseException;
+import com.top_logic.model.search.expr.query.QueryExecutor;
+import com.top_logic.model.util.TLModelUtil;
+
+/**
+ * Test case for {@link PreloadPlanner}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestPreloadPlanner extends AbstractSearchExpressionTest {
+
+	public void testNoNavigation() throws ParseException {
+		assertSame(EmptyPreloadContribution.INSTANCE, plan("x -> 42"));
+		assertSame(EmptyPreloadContribution.INSTANCE, plan("x -> all(`tl.model:TLModule`)"));
+	}
+
+	public void testNavigationPath() throws ParseException {
+		List<PreloadOperation> preloads = preloads(plan(
+			"x -> $x.get(`tl.model:TLClass#module`).get(`tl.model:TLModule#name`)"));
+
+		assertEquals(1, preloads.size());
+		NavigationPreload modulePreload = (NavigationPreload) preloads.get(0);
+		assertEquals(part("tl.model:TLClass#module"), modulePreload.getPart());
+		assertEquals(1, modulePreload.getNext().size());
+
+		NavigationPreload namePreload = (NavigationPreload) modulePreload.getNext().get(0);
+		assertEquals(part("tl.model:TLModule#name"), namePreload.getPart());
+		assertTrue(namePreload.getNext().isEmpty());
+	}
+
+	public void testCommonPrefix() throws ParseException {
+		List<PreloadOperation> preloads = preloads(plan(
+			"x -> $x.get(`tl.model:TLClass#module`).get(`tl.model:TLModule#name`) + "
+				+ "$x.get(`tl.model:TLClass#module`).get(`tl.model:TLModule#types`).size() + "
+				+ "$x.get(`tl.model:TLClass#name`)"));
+
+		assertEquals(2, preloads.size());
+		NavigationPreload modulePreload = (NavigationPreload) preloads.get(0);
+		assertEquals(part("tl.model:TLClass#module"), modulePreload.getPart());
+		assertEquals(2, modulePreload.getNext().size());
+		assertEquals(part("tl.model:TLClass#name"), ((NavigationPreload) preloads.get(1)).getPart());
+	}
+
+	public void testNestedFunctionNotPlanned() throws ParseException {
+		// Only navigation starting at the function parameter can be preloaded.
+		List<PreloadOperation> preloads = preloads(plan(
+			"x -> all(`tl.model:TLModule`).map(m -> $m.get(`tl.model:TLModule#name`)) + $x.get(`tl.model:TLClass#name`)"));
+
+		assertEquals(1, preloads.size());
+		assertEquals(part("tl.model:TLClass#name"), ((NavigationPreload) preloads.get(0)).getPart());
+	}
+
+	private static PreloadContribution plan(String script) throws ParseException {
+		return PreloadPlanner.plan(QueryExecutor.compileExpr(search(script)));
+	}
+
+	private static List<PreloadOperation> preloads(PreloadContribution contribution) {
+		List<PreloadOperation> result = new ArrayList<>();
+		contribution.contribute(result::add);
+		return result;
+	}
+
+	private static TLStructuredTypePart part(String name) {
+		return TLModelUtil.findPart(name);
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link TestPreloadPlanner}.
+	 */
+	public static Test suite() {
+		return suite(TestPreloadPlanner.class);
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.model.search.expr.interpreter;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+
+import test.com.top_logic.model.search.expr.AbstractSearchExpressionTest;
+
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.interpreter.CommonSubExpressions;
+import com.top_logic.model.search.expr.parser.ParseException;
+import com.top_logic.model.search.expr.query.QueryExecutor;
+
+/**
+ * Test case for {@link CommonSubExpressions}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestCommonSubExpressions extends AbstractSearchExpressionTest {
+
+	public void testShared() throws ParseException {
+		SearchExpression expr = assertOptimized(9.0, "x -> $x.size() * 2 + $x.size()", Arrays.asList(1, 2, 3));
+		assertTrue(expr.toString(), expr.toString().contains("shared"));
+	}
+
+	public void testSharedInFunction() throws ParseException {
+		assertOptimized(Arrays.asList(8.0, 12.0), "x -> $x.map(e -> $e * $x.size() + $e * $x.size())",
+			Arrays.asList(2.0, 3.0));
+	}
+
+	public void testPureMapFilterOptimized() throws ParseException {
+		SearchExpression expr = assertOptimized(Arrays.asList(12.0),
+			"x -> $x.filter(e -> $e > 3 - 1).map(e -> $e * $x.size() + $e * $x.size())",
+			Arrays.asList(2.0, 3.0));
+		assertFalse("Literal operation not folded: " + expr, expr.toString().contains("sub"));
+		assertTrue("Sub-expression not shared: " + expr, expr.toString().contains("shared"));
+	}
+
+	public void testNotShared() throws ParseException {
+		// Occurrences in conditional branches must not be evaluated unconditionally.
+		SearchExpression expr =
+			assertOptimized(0.0, "x -> $x == null ? 0 : $x.size() + $x.size()", (Object) null);
+		assertFalse(expr.toString(), expr.toString().contains("shared"));
+	}
+
+	public void testQueryNotShared() throws ParseException {
+		// Each query is evaluated on its own, e.g. as count query in the database.
+		double modules = model().getModules().size();
+		SearchExpression expr = assertOptimized(modules,
+			"x -> all(`tl.model:TLModule`).size() + all(`tl.model:TLModule`).filter(m -> $m == $x).size()",
+			(Object) null);
+		assertFalse(expr.toString(), expr.toString().contains("shared"));
+	}
+
+	private SearchExpression assertOptimized(Object expected, String script, Object... args)
+			throws ParseException {
+		Object interpreted = QueryExecutor.interpret(kb(), model(), search(script)).execute(args);
+		SearchExpression optimized = QueryExecutor.compileExpr(kb(), model(), search(script));
+		assertEquals(expected, interpreted);
+		assertEquals(expected, QueryExecutor.executor(kb(), model(), optimized).execute(args));
+		return optimized;
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link TestCommonSubExpressions}.
+	 */
+	public static Test suite() {
+		return suite(TestCommonSubExpressions.class);
+	}
+
+}
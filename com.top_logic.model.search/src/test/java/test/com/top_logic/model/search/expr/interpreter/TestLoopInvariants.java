@@ -0,0 +1,84 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.model.search.expr.interpreter;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import junit.framework.Test;
+
+import test.com.top_logic.model.search.expr.AbstractSearchExpressionTest;
+
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.interpreter.LoopInvariants;
+import com.top_logic.model.search.expr.parser.ParseException;
+import com.top_logic.model.search.expr.query.QueryExecutor;
+
+/**
+ * Test case for {@link LoopInvariants}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestLoopInvariants extends AbstractSearchExpressionTest {
+
+	public void testHoisted() throws ParseException {
+		SearchExpression expr = assertOptimized(Arrays.asList(2.0, 4.0),
+			"x -> y -> $x.filter(e -> $y.map(z -> $z * 2).containsElement($e))",
+			Arrays.asList(2.0, 3.0, 4.0), Arrays.asList(1.0, 2.0));
+		assertTrue(expr.toString(), expr.toString().contains("invariant"));
+	}
+
+	public void testNested() throws ParseException {
+		assertOptimized(Arrays.asList(1.0, 1.0),
+			"x -> y -> $x.map(a -> $x.filter(b -> $b > $y.size()).size())",
+			Arrays.asList(1.0, 2.0), Arrays.asList(1.0));
+	}
+
+	public void testStreaming() throws ParseException {
+		assertOptimized(2.0,
+			"x -> y -> $x.filter(e -> $y.map(z -> $z * 2).containsElement($e)).firstElement()",
+			Arrays.asList(2.0, 3.0, 4.0), Arrays.asList(1.0, 2.0));
+	}
+
+	public void testNotHoisted() throws ParseException {
+		// Parts of conditional branches must not be evaluated unconditionally.
+		SearchExpression expr = assertOptimized(Arrays.asList(3.0),
+			"x -> y -> $x.filter(e -> $e > 2 ? $y.size() > 0 : false)",
+			Arrays.asList(2.0, 3.0), Arrays.asList(1.0));
+		assertFalse(expr.toString(), expr.toString().contains("invariant"));
+	}
+
+	public void testEmptyBase() throws ParseException {
+		// The invariant fails, but must not be evaluated, if the loop is not executed.
+		assertOptimized(Collections.emptyList(),
+			"x -> y -> $x.map(e -> $y.get(`tl.model:TLModule#name`))",
+			Collections.emptyList(), "no object");
+	}
+
+	public void testEmptyFilterBase() throws ParseException {
+		assertOptimized(Collections.emptyList(),
+			"x -> y -> $x.filter(e -> $y.get(`tl.model:TLModule#name`) == $e)",
+			null, "no object");
+	}
+
+	private SearchExpression assertOptimized(Object expected, String script, Object... args)
+			throws ParseException {
+		Object interpreted = QueryExecutor.interpret(kb(), model(), search(script)).execute(args);
+		SearchExpression optimized = QueryExecutor.compileExpr(kb(), model(), search(script));
+		assertEquals(expected, interpreted);
+		assertEquals(expected, QueryExecutor.executor(kb(), model(), optimized).execute(args));
+		return optimized;
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link TestLoopInvariants}.
+	 */
+	public static Test suite() {
+		return suite(TestLoopInvariants.class);
+	}
+
+}
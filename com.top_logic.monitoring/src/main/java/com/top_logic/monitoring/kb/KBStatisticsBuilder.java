@@ -0,0 +1,97 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.monitoring.kb;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import com.top_logic.knowledge.service.KnowledgeBase;
+import com.top_logic.knowledge.service.PersistencyLayer;
+import com.top_logic.knowledge.service.db2.DBKnowledgeBase;
+import com.top_logic.knowledge.service.db2.KBStatistics;
+import com.top_logic.mig.html.ListModelBuilder;
+import com.top_logic.mig.html.layout.LayoutComponent;
+
+/**
+ * {@link ListModelBuilder}s for the tables of the knowledge base statistics monitor.
+ *
+ * @see KBStatistics
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public abstract class KBStatisticsBuilder implements ListModelBuilder {
+
+	@Override
+	public Collection<?> getModel(Object businessModel, LayoutComponent aComponent) {
+		KnowledgeBase kb = PersistencyLayer.getKnowledgeBase();
+		if (!(kb instanceof DBKnowledgeBase)) {
+			return Collections.emptyList();
+		}
+		return getModel(((DBKnowledgeBase) kb).getStatistics());
+	}
+
+	/**
+	 * The rows to display from the given statistics.
+	 */
+	protected abstract Collection<?> getModel(KBStatistics statistics);
+
+	@Override
+	public boolean supportsModel(Object aModel, LayoutComponent aComponent) {
+		return aModel == null;
+	}
+
+	@Override
+	public Object retrieveModelFromListElement(LayoutComponent contextComponent, Object listElement) {
+		return null;
+	}
+
+	/**
+	 * {@link KBStatisticsBuilder} for the cache hit rates per table.
+	 *
+	 * @see KBStatistics#getCacheStatistics()
+	 */
+	public static class Cache extends KBStatisticsBuilder {
+
+		/**
+		 * Singleton {@link KBStatisticsBuilder.Cache} instance.
+		 */
+		public static final Cache INSTANCE = new Cache();
+
+		private Cache() {
+			// Singleton constructor.
+		}
+
+		@Override
+		protected Collection<?> getModel(KBStatistics statistics) {
+			return statistics.getCacheStatistics();
+		}
+
+	}
+
+	/**
+	 * {@link KBStatisticsBuilder} for the operation latencies per table.
+	 *
+	 * @see KBStatistics#getLatencyStatistics()
+	 */
+	public static class Latency extends KBStatisticsBuilder {
+
+		/**
+		 * Singleton {@link KBStatisticsBuilder.Latency} instance.
+		 */
+		public static final Latency INSTANCE = new Latency();
+
+		private Latency() {
+			// Singleton constructor.
+		}
+
+		@Override
+		protected Collection<?> getModel(KBStatistics statistics) {
+			return statistics.getLatencyStatistics();
+		}
+
+	}
+
+}
@@ -74,6 +74,16 @@ public abstract class AbstractCompiledQuery<E> implements CompiledQuery<E> {
 		}
 	}
 
+	@Override
+	public final int count(RevisionQueryArguments arguments) {
+		final PooledConnection con = _pool.borrowReadConnection();
+		try {
+			return count(con, arguments);
+		} finally {
+			_pool.releaseReadConnection(con);
+		}
+	}
+
 	@Override
 	public abstract CloseableIterator<E> searchStream(PooledConnection connection, RevisionQueryArguments arguments);
 
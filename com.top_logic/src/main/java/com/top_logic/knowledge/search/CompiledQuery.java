@@ -102,5 +102,55 @@ public interface CompiledQuery<E> {
 	 */
 	List<E> search(PooledConnection connection, RevisionQueryArguments arguments);
 
+	/**
+	 * Executes the compiled query with the given {@link RevisionQueryArguments} and returns the
+	 * number of results.
+	 * 
+	 * <p>
+	 * Implementations may compute the number in the database without loading the result objects.
+	 * </p>
+	 * 
+	 * @param arguments
+	 *        the actual arguments of the query.
+	 * 
+	 * @return The number of objects {@link #search(RevisionQueryArguments)} would return.
+	 */
+	default int count(RevisionQueryArguments arguments) {
+		try (CloseableIterator<E> result = searchStream(arguments)) {
+			return countResults(result);
+		}
+	}
+
+	/**
+	 * Executes the compiled query and returns the number of results.
+	 * 
+	 * @param connection
+	 *        the connection to the database to use.
+	 * @param arguments
+	 *        the actual arguments of the query.
+	 * 
+	 * @return The number of objects {@link #search(PooledConnection, RevisionQueryArguments)}
+	 *         would return.
+	 * 
+	 * @see #count(RevisionQueryArguments)
+	 */
+	default int count(PooledConnection connection, RevisionQueryArguments arguments) {
+		try (CloseableIterator<E> result = searchStream(connection, arguments)) {
+			return countResults(result);
+		}
+	}
+
+	/**
+	 * Counts the remaining elements of the given result.
+	 */
+	private static int countResults(CloseableIterator<?> result) {
+		int cnt = 0;
+		while (result.hasNext()) {
+			result.next();
+			cnt++;
+		}
+		return cnt;
+	}
+
 }
 
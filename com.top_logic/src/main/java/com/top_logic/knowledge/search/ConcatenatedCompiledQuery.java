@@ -125,6 +125,15 @@ public class ConcatenatedCompiledQuery<E> extends AbstractCompiledQuery<E> {
 		return result;
 	}
 
+	@Override
+	public int count(PooledConnection connection, RevisionQueryArguments arguments) {
+		int result = 0;
+		for (CompiledQuery<? extends E> innerQuery : _sources) {
+			result += innerQuery.count(connection, arguments);
+		}
+		return result;
+	}
+
 	/**
 	 * Iterator that merges the results of a sequence of {@link CompiledQuery} into an sorted
 	 * iterator.
@@ -0,0 +1,29 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.knowledge.service;
+
+/**
+ * {@link UpdateListener} that may be notified after the commit has returned.
+ * 
+ * <p>
+ * If {@link KnowledgeBaseConfiguration#isAsyncUpdateListeners()} is set, listeners implementing
+ * this interface are notified in commit order from a separate dispatcher thread. All other
+ * {@link UpdateListener}s are still notified before the commit returns.
+ * </p>
+ * 
+ * <p>
+ * An implementation must not rely on its state being up to date when the committing thread
+ * continues. Caches that are read in the same interaction that committed the change must not
+ * implement this interface.
+ * </p>
+ * 
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public interface AsyncUpdateListener extends UpdateListener {
+
+	// Pure marker interface.
+
+}
@@ -10,6 +10,7 @@ import static com.top_logic.knowledge.search.ExpressionFactory.*;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -85,9 +86,14 @@ public class BulkIdLoad {
 	}
 
 	private void scheduleForLoad(ObjectKey key) {
-		DefaultObjectKey category =
-			new DefaultObjectKey(key.getBranchContext(), key.getHistoryContext(), key.getObjectType(), NO_ID);
-		MultiMaps.add(_idsByCategory, category, key.getObjectName());
+		MultiMaps.add(_idsByCategory, category(key), key.getObjectName());
+	}
+
+	/**
+	 * The group of keys that are loaded with the same query.
+	 */
+	private static ObjectKey category(ObjectKey key) {
+		return new DefaultObjectKey(key.getBranchContext(), key.getHistoryContext(), key.getObjectType(), NO_ID);
 	}
 
 	/**
@@ -131,14 +137,37 @@ public class BulkIdLoad {
 	 * </p>
 	 */
 	protected void loadTableAttributesUncached(long dataRevision) {
+		loadTableAttributes(dataRevision, null);
+	}
+
+	/**
+	 * Loads the attributes stored in the database table of the objects scheduled for load.
+	 * 
+	 * @param loadedByCategory
+	 *        Map that receives the loaded objects indexed by {@link #category(ObjectKey)} and
+	 *        {@link ObjectKey#getObjectName() object name}. <code>null</code>, if the loaded objects
+	 *        are only added to the result.
+	 */
+	private void loadTableAttributes(long dataRevision, Map<ObjectKey, Map<TLID, KnowledgeItem>> loadedByCategory) {
 		if (_idsByCategory.size() > 0) {
 			int chunkSize = getChunkSize(_kb);
 			for (Entry<ObjectKey, Set<TLID>> entry : _idsByCategory.entrySet()) {
 				ObjectKey category = entry.getKey();
 
 				Set<TLID> monomorphicIds = entry.getValue();
+				Map<TLID, KnowledgeItem> loadedByName =
+					loadedByCategory == null ? null : new HashMap<>(monomorphicIds.size());
 				for (List<TLID> chunk : toIterable(chunk(chunkSize, monomorphicIds.iterator()))) {
-					_result.addAll(resolveIdentifiers(_kb, category, chunk, dataRevision));
+					Collection<KnowledgeItem> loaded = resolveIdentifiers(_kb, category, chunk, dataRevision);
+					_result.addAll(loaded);
+					if (loadedByName != null) {
+						for (KnowledgeItem item : loaded) {
+							loadedByName.put(item.tId().getObjectName(), item);
+						}
+					}
+				}
+				if (loadedByCategory != null) {
+					loadedByCategory.put(category, loadedByName);
 				}
 			}
 
@@ -191,6 +220,58 @@ public class BulkIdLoad {
 		}
 	}
 
+	/**
+	 * Resolves all given {@link ObjectKey}s.
+	 * 
+	 * <p>
+	 * Objects that are already cached are taken from the cache. All other keys are grouped by
+	 * type, branch and revision. Each group is loaded with one query per chunk of
+	 * {@link com.top_logic.basic.sql.DBHelper#getMaxSetSize() maximum IN-list size}.
+	 * </p>
+	 * 
+	 * @param kb
+	 *        The {@link KnowledgeBase} to resolve items in.
+	 * @param keys
+	 *        The keys to resolve.
+	 * @return The resolved items in the order of the given keys. An entry is <code>null</code>,
+	 *         if no object exists for the corresponding key.
+	 * 
+	 * @see KnowledgeBase#resolveObjectKeys(Collection)
+	 */
+	public static List<KnowledgeItem> resolveAll(KnowledgeBase kb, Collection<? extends ObjectKey> keys) {
+		KnowledgeItem[] result = new KnowledgeItem[keys.size()];
+		BulkIdLoad loader = new BulkIdLoad(kb);
+		int n = 0;
+		for (ObjectKey key : keys) {
+			KnowledgeItem cachedObject = kb.resolveCachedObjectKey(key);
+			if (cachedObject == null) {
+				loader.scheduleForLoad(key);
+			} else {
+				result[n] = cachedObject;
+			}
+			n++;
+		}
+
+		if (!loader._idsByCategory.isEmpty()) {
+			/* The loaded objects are matched by the group and name of the requested key, since the
+			 * key of a loaded object may differ from the requested one (e.g. an object of a base
+			 * branch). */
+			Map<ObjectKey, Map<TLID, KnowledgeItem>> loadedByCategory = new HashMap<>();
+			loader.loadTableAttributes(NO_SPECIAL_DATA_REVISION, loadedByCategory);
+			loader.loadFlexAttributes(NO_SPECIAL_DATA_REVISION);
+
+			n = 0;
+			for (ObjectKey key : keys) {
+				if (result[n] == null) {
+					// An object that has not been loaded does not exist.
+					result[n] = loadedByCategory.get(category(key)).get(key.getObjectName());
+				}
+				n++;
+			}
+		}
+		return Arrays.asList(result);
+	}
+
 	private static Collection<KnowledgeItem> resolveIdentifiers(KnowledgeBase kb, ObjectKey category, List<TLID> ids,
 			long dataRevision) {
 		RevisionQuery<KnowledgeItem> meQuery = queryUnresolved(
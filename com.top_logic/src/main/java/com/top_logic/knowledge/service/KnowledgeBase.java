@@ -1026,6 +1026,24 @@ public interface KnowledgeBase extends KABasedCacheManager, ObjectNameSource {
 	 */
 	public KnowledgeItem resolveObjectKey(ObjectKey objectKey);
 
+	/**
+	 * Resolves multiple {@link KnowledgeItem#tId() object keys} at once.
+	 * 
+	 * <p>
+	 * In contrast to calling {@link #resolveObjectKey(ObjectKey)} for each key, all keys of objects
+	 * that are not yet cached are loaded in bulk: The keys are grouped by type, branch and revision
+	 * and each group is loaded with a single query per table.
+	 * </p>
+	 * 
+	 * @param objectKeys
+	 *        The keys to resolve the objects for.
+	 * @return The {@link KnowledgeItem}s identified by the given keys in the order of the given
+	 *         keys. An entry is <code>null</code>, if there is no object for the corresponding key.
+	 */
+	default List<KnowledgeItem> resolveObjectKeys(Collection<? extends ObjectKey> objectKeys) {
+		return BulkIdLoad.resolveAll(this, objectKeys);
+	}
+
 	/**
 	 * Same as {@link #resolveObjectKey(ObjectKey)} for objects that are currently in cache.
 	 * 
@@ -5,9 +5,12 @@
  */
 package com.top_logic.knowledge.service;
 
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import com.top_logic.basic.config.ConfigurationItem;
 import com.top_logic.basic.config.NamedConfiguration;
+import com.top_logic.basic.config.annotation.Key;
 import com.top_logic.basic.config.annotation.Mandatory;
 import com.top_logic.basic.config.annotation.Name;
 import com.top_logic.basic.config.annotation.defaults.BooleanDefault;
@@ -17,8 +20,10 @@ import com.top_logic.basic.config.annotation.defaults.LongDefault;
 import com.top_logic.basic.config.annotation.defaults.StringDefault;
 import com.top_logic.basic.sql.ConnectionPool;
 import com.top_logic.basic.sql.ConnectionPoolRegistry;
+import com.top_logic.knowledge.service.db2.CachePolicy;
 import com.top_logic.knowledge.service.db2.DBContext;
 import com.top_logic.knowledge.service.db2.DBContextFactory;
+import com.top_logic.knowledge.service.db2.KBStatistics;
 
 /**
  * Configuration interface of a {@link KnowledgeBase}.
@@ -113,6 +118,57 @@ public interface KnowledgeBaseConfiguration extends NamedConfiguration {
 	 */
 	void setRefetchTimeout(long value);
 
+	/**
+	 * Property for configuring {@link #isNonBlockingRefetch()}.
+	 */
+	String NON_BLOCKING_REFETCH_PROPERTY = "non-blocking-refetch";
+
+	/**
+	 * Whether a {@link KnowledgeBase#refetch() refetch} returns immediately, if another refetch is
+	 * currently running.
+	 *
+	 * <p>
+	 * If set, the calling thread continues to work on the last published revision, while the
+	 * concurrent refetch applies the changes of other cluster nodes. The changes become visible
+	 * atomically, when the running refetch has completed. If not set, the calling thread waits
+	 * (at most {@link #getRefetchTimeout()}) until the concurrent refetch has completed.
+	 * </p>
+	 *
+	 * <p>
+	 * Refetches that are required before a commit always wait for a concurrent refetch.
+	 * </p>
+	 */
+	@Name(NON_BLOCKING_REFETCH_PROPERTY)
+	boolean isNonBlockingRefetch();
+
+	/**
+	 * @see #isNonBlockingRefetch()
+	 */
+	void setNonBlockingRefetch(boolean value);
+
+	/**
+	 * Property for configuring {@link #isAsyncUpdateListeners()}.
+	 */
+	String ASYNC_UPDATE_LISTENERS_PROPERTY = "async-update-listeners";
+
+	/**
+	 * Whether {@link AsyncUpdateListener}s are notified from a dedicated dispatcher thread.
+	 *
+	 * <p>
+	 * If set, a commit returns as soon as the changes are written to the database, the caches are
+	 * updated and all regular {@link UpdateListener}s are notified. Listeners that implement
+	 * {@link AsyncUpdateListener} are notified afterwards in commit order from a separate thread.
+	 * If not set, the committing thread notifies all listeners before the commit returns.
+	 * </p>
+	 */
+	@Name(ASYNC_UPDATE_LISTENERS_PROPERTY)
+	boolean isAsyncUpdateListeners();
+
+	/**
+	 * @see #isAsyncUpdateListeners()
+	 */
+	void setAsyncUpdateListeners(boolean value);
+
 	/**
 	 * Property for configuring {@link #getDisableVersioning}.
 	 */
@@ -145,6 +201,231 @@ public interface KnowledgeBaseConfiguration extends NamedConfiguration {
 	 */
 	void setReaderChunkSize(int value);
 
+	/**
+	 * Property for configuring {@link #getReplayParallelism()}.
+	 */
+	String REPLAY_PARALLELISM_PROPERTY = "replay-parallelism";
+
+	/**
+	 * Number of {@link #getReaderChunkSize() chunks} of the history that are read concurrently.
+	 *
+	 * <p>
+	 * When reading a large range of revisions, e.g. during a {@link KnowledgeBase#refetch()
+	 * refetch} after a node was idle for a long time, the following chunks are read ahead using
+	 * separate database connections while the current chunk is processed. Events are processed
+	 * in revision order nevertheless. A value of <code>1</code> reads chunks on demand.
+	 * </p>
+	 *
+	 * <p>
+	 * Reading ahead never uses more than the currently free read connections of the
+	 * {@link #getConnectionPool() connection pool}, so the value may exceed the pool size without
+	 * starving other users of the pool.
+	 * </p>
+	 */
+	@Name(REPLAY_PARALLELISM_PROPERTY)
+	@IntDefault(1)
+	int getReplayParallelism();
+
+	/**
+	 * @see #getReplayParallelism()
+	 */
+	void setReplayParallelism(int value);
+
+	/**
+	 * Property for configuring {@link #getCacheConcurrency()}.
+	 */
+	String CACHE_CONCURRENCY_PROPERTY = "cache-concurrency";
+
+	/**
+	 * Number of independently locked segments of the object cache.
+	 *
+	 * <p>
+	 * The value is rounded up to the next power of two. Higher values reduce lock contention when
+	 * many threads concurrently resolve objects. A value of <code>1</code> guards the whole cache by
+	 * a single lock.
+	 * </p>
+	 */
+	@Name(CACHE_CONCURRENCY_PROPERTY)
+	@IntDefault(64)
+	int getCacheConcurrency();
+
+	/**
+	 * @see #getCacheConcurrency()
+	 */
+	void setCacheConcurrency(int value);
+
+	/**
+	 * Property for configuring {@link #getCachePolicy()}.
+	 */
+	String CACHE_POLICY_PROPERTY = "cache-policy";
+
+	/**
+	 * Strategy for selecting cached objects that are kept in memory regardless of memory pressure.
+	 *
+	 * <p>
+	 * With the default {@link CachePolicy#SOFT}, the object cache only holds soft references, and
+	 * the garbage collector may drop large parts of the cache at once. Other policies keep a
+	 * bounded number of objects per type strongly referenced, see {@link #getCacheSize()} and
+	 * {@link #getTypeCacheSizes()}.
+	 * </p>
+	 */
+	@Name(CACHE_POLICY_PROPERTY)
+	CachePolicy getCachePolicy();
+
+	/**
+	 * @see #getCachePolicy()
+	 */
+	void setCachePolicy(CachePolicy value);
+
+	/**
+	 * Property for configuring {@link #getCacheSize()}.
+	 */
+	String CACHE_SIZE_PROPERTY = "cache-size";
+
+	/**
+	 * The maximum number of strongly referenced objects per type, if the type has no entry in
+	 * {@link #getTypeCacheSizes()}.
+	 *
+	 * <p>
+	 * Only relevant, if the {@link #getCachePolicy()} is not {@link CachePolicy#SOFT}.
+	 * </p>
+	 */
+	@Name(CACHE_SIZE_PROPERTY)
+	@IntDefault(10000)
+	int getCacheSize();
+
+	/**
+	 * @see #getCacheSize()
+	 */
+	void setCacheSize(int value);
+
+	/**
+	 * Property for configuring {@link #getTypeCacheSizes()}.
+	 */
+	String TYPE_CACHE_SIZES_PROPERTY = "type-cache-sizes";
+
+	/**
+	 * Type specific values of {@link #getCacheSize()} indexed by table name.
+	 */
+	@Name(TYPE_CACHE_SIZES_PROPERTY)
+	@Key(TypeCacheSize.TYPE_PROPERTY)
+	Map<String, TypeCacheSize> getTypeCacheSizes();
+
+	/**
+	 * Maximum number of strongly referenced objects of a single type.
+	 *
+	 * @see KnowledgeBaseConfiguration#getTypeCacheSizes()
+	 */
+	interface TypeCacheSize extends ConfigurationItem {
+
+		/**
+		 * @see #getType()
+		 */
+		String TYPE_PROPERTY = "type";
+
+		/**
+		 * @see #getSize()
+		 */
+		String SIZE_PROPERTY = "size";
+
+		/**
+		 * The name of the table.
+		 */
+		@Name(TYPE_PROPERTY)
+		@Mandatory
+		String getType();
+
+		/**
+		 * @see #getType()
+		 */
+		void setType(String value);
+
+		/**
+		 * The maximum number of strongly referenced objects of {@link #getType()}.
+		 */
+		@Name(SIZE_PROPERTY)
+		int getSize();
+
+		/**
+		 * @see #getSize()
+		 */
+		void setSize(int value);
+
+	}
+
+	/**
+	 * Property for configuring {@link #isCompactValues()}.
+	 */
+	String COMPACT_VALUES_PROPERTY = "compact-values";
+
+	/**
+	 * Whether equal immutable attribute values of loaded objects are shared between all cached
+	 * objects.
+	 *
+	 * <p>
+	 * If set, short strings and object identifiers loaded from the database are replaced with a
+	 * canonical instance. This reduces the heap consumption, if many cached objects share the same
+	 * values, at the cost of a lookup per loaded value.
+	 * </p>
+	 */
+	@Name(COMPACT_VALUES_PROPERTY)
+	boolean isCompactValues();
+
+	/**
+	 * @see #isCompactValues()
+	 */
+	void setCompactValues(boolean value);
+
+	/**
+	 * Property for configuring {@link #getCompactValuesCapacity()}.
+	 */
+	String COMPACT_VALUES_CAPACITY_PROPERTY = "compact-values-capacity";
+
+	/**
+	 * The maximum number of distinct values that are shared between cached objects.
+	 *
+	 * <p>
+	 * Only relevant, if {@link #isCompactValues()} is set. The least recently loaded values are
+	 * dropped first, so that values with many distinct occurrences do not increase the heap
+	 * consumption.
+	 * </p>
+	 */
+	@Name(COMPACT_VALUES_CAPACITY_PROPERTY)
+	@IntDefault(10000)
+	int getCompactValuesCapacity();
+
+	/**
+	 * @see #getCompactValuesCapacity()
+	 */
+	void setCompactValuesCapacity(int value);
+
+	/**
+	 * Property for configuring {@link #isCollectStatistics()}.
+	 */
+	String COLLECT_STATISTICS_PROPERTY = "collect-statistics";
+
+	/**
+	 * Whether cache hit rates and query latencies are recorded.
+	 *
+	 * <p>
+	 * The statistics are published via JMX and displayed in the monitoring application.
+	 * Recording does neither lock nor allocate, so statistics are collected by default, also in
+	 * production. Switching collection off saves the time measurement for each query and cache
+	 * rebuild, but also hides the fetches avoided by a
+	 * {@link com.top_logic.model.export.NavigationPreload}.
+	 * </p>
+	 *
+	 * @see KBStatistics
+	 */
+	@Name(COLLECT_STATISTICS_PROPERTY)
+	@BooleanDefault(true)
+	boolean isCollectStatistics();
+
+	/**
+	 * @see #isCollectStatistics()
+	 */
+	void setCollectStatistics(boolean value);
+
 	/**
 	 * Property for configuring {@link #getConnectionPool()}.
 	 */
@@ -277,6 +277,14 @@ abstract class AbstractDBKnowledgeItem extends AbstractKnowledgeItem implements
 		for (MOAttribute attribute : tTable().getAttributes()) {
 			loadAttribute(pool, resultSet, dbOffset, values, attribute);
 		}
+		ValueInterner interner = getKnowledgeBase().getValueInterner();
+		if (interner != null) {
+			// Share equal immutable values between all cached objects. The array is filled by
+			// this method, canonical values are stored directly instead of creating a copy.
+			for (int n = 0, cnt = values.length; n < cnt; n++) {
+				values[n] = interner.intern(values[n]);
+			}
+		}
 	}
 
 	protected final void loadAttribute(ConnectionPool pool, ResultSet resultSet, int dbOffset, Object[] values,
@@ -87,6 +87,28 @@ public abstract class AbstractKBCache<E> {
 	 */
 	private volatile SoftReference<KBCacheValue<E>> _cacheReference = uninitialized();
 
+	/**
+	 * Operation name for {@link KBStatistics} when the cache value is built from scratch.
+	 */
+	private final String _rebuildOperation;
+
+	/**
+	 * Operation name for {@link KBStatistics} when the cache value is adapted to an
+	 * {@link UpdateEvent}.
+	 */
+	private final String _updateOperation;
+
+	/**
+	 * Creates an {@link AbstractKBCache}.
+	 */
+	protected AbstractKBCache() {
+		Class<?> cacheClass = getClass();
+		// Anonymous caches have no simple name.
+		String name = cacheClass.isAnonymousClass() ? cacheClass.getName() : cacheClass.getSimpleName();
+		_rebuildOperation = name + ".rebuild";
+		_updateOperation = name + ".update";
+	}
+
 	/**
 	 * The {@link KnowledgeBase} this caches bases on.
 	 */
@@ -156,7 +178,10 @@ public abstract class AbstractKBCache<E> {
 			 * revision must be reached. If this is not the case the session revision is corrupt. */
 			long currentKBRevision = kb.getLastLocalRevision();
 
+			KBStatistics statistics = kb.getStatistics();
+			long startTime = statistics.start();
 			E globalCacheValue = newGlobalCacheValue();
+			statistics.record(null, _rebuildOperation, startTime);
 
 			long updateChainRevision = updateChain.current().getRevision();
 			long sessionRevision = kb.getSessionRevision();
@@ -278,7 +303,10 @@ public abstract class AbstractKBCache<E> {
 	 * @return A new cache or <code>null</code> when the event does not change the search result.
 	 */
 	KBCacheValue<E> newCache(UpdateEvent event, KBCacheValue<E> cache) {
+		KBStatistics statistics = kb().getStatistics();
+		long startTime = statistics.start();
 		E adaptedResult = newGlobalCacheValue(cache.globalCacheValue(), event);
+		statistics.record(null, _updateOperation, startTime);
 		if (adaptedResult == null) {
 			// No changes
 			return null;
@@ -0,0 +1,64 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.knowledge.service.db2;
+
+import com.top_logic.basic.config.ExternallyNamed;
+import com.top_logic.knowledge.service.KnowledgeBaseConfiguration;
+
+/**
+ * Strategy for choosing the cached objects of a {@link DBKnowledgeBase} that are kept in memory
+ * regardless of the garbage collector.
+ *
+ * <p>
+ * All cached objects are referenced softly. With a policy other than {@link #SOFT}, additionally
+ * a bounded set of objects per type is referenced strongly. When this set is full, the policy
+ * decides which object is demoted to a soft reference only.
+ * </p>
+ *
+ * @see KnowledgeBaseConfiguration#getCachePolicy()
+ * @see KnowledgeBaseConfiguration#getCacheSize()
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public enum CachePolicy implements ExternallyNamed {
+
+	/**
+	 * All objects are referenced softly. The garbage collector decides which objects are dropped.
+	 */
+	SOFT("soft"),
+
+	/**
+	 * The least recently used object is demoted.
+	 */
+	LRU("lru"),
+
+	/**
+	 * A newly accessed object replaces the least recently used object only if it was accessed
+	 * more frequently in the recent past (TinyLFU admission).
+	 */
+	LFU("lfu"),
+
+	/**
+	 * Newly accessed objects first enter a small LRU window. Objects leaving the window replace the
+	 * least recently used object of the main area only if they were accessed more frequently
+	 * (W-TinyLFU).
+	 */
+	W_TINY_LFU("w-tiny-lfu"),
+
+	;
+
+	private final String _externalName;
+
+	private CachePolicy(String externalName) {
+		_externalName = externalName;
+	}
+
+	@Override
+	public String getExternalName() {
+		return _externalName;
+	}
+
+}
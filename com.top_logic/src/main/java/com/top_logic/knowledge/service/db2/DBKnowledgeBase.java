@@ -27,6 +27,9 @@ import java.util.Map.Entry;
 import java.util.RandomAccess;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -72,9 +75,10 @@ import com.top_logic.basic.db.sql.CompiledStatement;
 import com.top_logic.basic.db.sql.SQLExpression;
 import com.top_logic.basic.db.sql.SQLFactory;
 import com.top_logic.basic.db.sql.SQLOrder;
-import com.top_logic.basic.db.sql.SQLPart;
 import com.top_logic.basic.db.sql.SQLQuery;
+import com.top_logic.basic.db.sql.SQLStatement;
 import com.top_logic.basic.exception.I18NRuntimeException;
+import com.top_logic.basic.sched.DaemonThreadFactory;
 import com.top_logic.basic.sched.SchedulerServiceHandle;
 import com.top_logic.basic.sql.CommitContext;
 import com.top_logic.basic.sql.ConnectionPool;
@@ -86,6 +90,7 @@ import com.top_logic.basic.thread.UnboundListener;
 import com.top_logic.basic.util.ComputationEx2;
 import com.top_logic.basic.util.ResKey;
 import com.top_logic.basic.util.StopWatch;
+import com.top_logic.basic.util.SystemContextRunnable;
 import com.top_logic.dob.DataObject;
 import com.top_logic.dob.DataObjectException;
 import com.top_logic.dob.MOAttribute;
@@ -148,6 +153,7 @@ import com.top_logic.knowledge.search.RevisionQuery.LoadStrategy;
 import com.top_logic.knowledge.search.RevisionQueryArguments;
 import com.top_logic.knowledge.search.SetExpression;
 import com.top_logic.knowledge.service.AbstractKnowledgeBase;
+import com.top_logic.knowledge.service.AsyncUpdateListener;
 import com.top_logic.knowledge.service.BasicTypes;
 import com.top_logic.knowledge.service.Branch;
 import com.top_logic.knowledge.service.BulkIdLoad;
@@ -163,6 +169,7 @@ import com.top_logic.knowledge.service.I18NConstants;
 import com.top_logic.knowledge.service.KBUtils;
 import com.top_logic.knowledge.service.KnowledgeBase;
 import com.top_logic.knowledge.service.KnowledgeBaseConfiguration;
+import com.top_logic.knowledge.service.KnowledgeBaseConfiguration.TypeCacheSize;
 import com.top_logic.knowledge.service.KnowledgeBaseException;
 import com.top_logic.knowledge.service.KnowledgeBaseFactory;
 import com.top_logic.knowledge.service.KnowledgeBaseRefetch;
@@ -209,8 +216,8 @@ import com.top_logic.util.TLContextManager;
 /**
  * A KnowledgeBase with direct Database access.
  * 
- * The cache is used as main semaphore, too. So think about 
- * proper synchronization before changing anything.
+ * The {@link ItemCache} is lock-striped. Never acquire the lock of one cache stripe while holding
+ * the lock of another one. So think about proper synchronization before changing anything.
  * 
  * Locking is not totally fool-proof due to design limitations: e.g.
  * <ul>
@@ -262,14 +269,21 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 
 	private final CompiledQueryCache _queryCache = new ConcurrentCompiledQueryCache();
 
-    /** Map of all Object indexed by indentifier (may be a HashMapWeak) */
-	final HashMap<DBObjectKey, Object> cache = new HashMap<>();
+	/**
+	 * All loaded objects indexed by identifier.
+	 * 
+	 * <p>
+	 * The cache is replaced with the configured one in
+	 * {@link #initialize(Protocol, KnowledgeBaseConfiguration)} and is read without further
+	 * synchronization.
+	 * </p>
+	 * 
+	 * @see KnowledgeBaseConfiguration#getCacheConcurrency()
+	 */
+	private volatile ItemCache cache = new ItemCache(ItemCache.DEFAULT_CONCURRENCY);
     
 	private final HashMap<Long, BranchReference> branchById = new HashMap<>();
 
-	private final ReferenceQueue<KnowledgeItemInternal> danglingReferences =
-		new ReferenceQueue<>();
-
 	private final ReferenceQueue<Branch> branchGarbage = new ReferenceQueue<>();
     
 	private List<UpdateListener> updateListeners = new CopyOnWriteArrayList<>();
@@ -304,6 +318,19 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 	 */
 	private long commitWarnTime;
 
+	/**
+	 * @see KnowledgeBaseConfiguration#isNonBlockingRefetch()
+	 */
+	private boolean _nonBlockingRefetch;
+
+	/**
+	 * Canonicalizer for loaded attribute values, or <code>null</code>, if values are not
+	 * compacted.
+	 * 
+	 * @see KnowledgeBaseConfiguration#isCompactValues()
+	 */
+	private ValueInterner _valueInterner;
+
 	private final SequenceManager sequenceManager = new RowLevelLockingSequenceManager();
 
 	/**
@@ -339,6 +366,33 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 	 */
 	private Thread _eventSendingThread = null;
 
+	/**
+	 * Single-threaded executor notifying the {@link AsyncUpdateListener}s in
+	 * {@link #updateListeners} after a commit, or <code>null</code>, if all listeners are notified
+	 * by the committing thread.
+	 * 
+	 * @see KnowledgeBaseConfiguration#isAsyncUpdateListeners()
+	 */
+	private ExecutorService _eventDispatcher;
+
+	/**
+	 * @see KnowledgeBaseConfiguration#getReplayParallelism()
+	 */
+	private int _replayParallelism = 1;
+
+	/**
+	 * Executor reading chunks of the history ahead, <code>null</code> if history is read on
+	 * demand.
+	 * 
+	 * @see KnowledgeBaseConfiguration#getReplayParallelism()
+	 */
+	private ExecutorService _replayExecutor;
+
+	/**
+	 * @see #getStatistics()
+	 */
+	private KBStatistics _statistics = new KBStatistics(false);
+
 	/** Entry in {@link SequenceManager} holding the last commit number. */
 	public static final String REVISION_SEQUENCE = "rev";
 	
@@ -398,13 +452,11 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 
 		@Override
 		public void cleanup() {
-			synchronized (cache) {
-				syncCacheCleanupReferences();
-				for (DBKnowledgeItem deletedObject : _deletedObjects) {
-					DBObjectKey key = deletedObject.tId();
-					IDReference reference = key.getReference();
-					syncCacheCleanupReference(reference);
-				}
+			cache.cleanupReferences();
+			for (DBKnowledgeItem deletedObject : _deletedObjects) {
+				DBObjectKey key = deletedObject.tId();
+				IDReference reference = key.getReference();
+				cache.cleanupReference(reference);
 			}
 		}
 
@@ -613,6 +665,21 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
     		this.refetchTimeout = configuration.getRefetchTimeout();
 			this.refetchLogTime = configuration.getRefetchLogTime();
 			this.commitWarnTime = configuration.getCommitWarnTime();
+			_nonBlockingRefetch = configuration.isNonBlockingRefetch();
+			this.cache = newItemCache(configuration);
+			if (configuration.isAsyncUpdateListeners()) {
+				_eventDispatcher = Executors.newSingleThreadExecutor(DaemonThreadFactory.daemonThreadFactory());
+			}
+			_replayParallelism = configuration.getReplayParallelism();
+			if (_replayParallelism > 1) {
+				_replayExecutor =
+					Executors.newFixedThreadPool(_replayParallelism, DaemonThreadFactory.daemonThreadFactory());
+			}
+			_statistics = new KBStatistics(configuration.isCollectStatistics());
+			_valueInterner =
+				configuration.isCompactValues()
+					? new ValueInterner(configuration.getCacheConcurrency(), configuration.getCompactValuesCapacity())
+					: null;
     		this.disableVersioning = configuration.getDisableVersioning();
     		this.chunkSize = configuration.getReaderChunkSize();
 			_dbContextFactory = ConfigUtil.getInstance(configuration.getContextFactory());
@@ -641,6 +708,15 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 		}
 	}
 
+	private static ItemCache newItemCache(KnowledgeBaseConfiguration configuration) {
+		Map<String, TypeCacheSize> typeSizes = configuration.getTypeCacheSizes();
+		int defaultSize = configuration.getCacheSize();
+		return new ItemCache(configuration.getCacheConcurrency(), configuration.getCachePolicy(), type -> {
+			TypeCacheSize typeSize = typeSizes.get(type.getName());
+			return typeSize == null ? defaultSize : typeSize.getSize();
+		});
+	}
+
 	private void initKeyAttributes() {
 		Map<MetaObject, Set<String>> keyAttributes = moRepository.getMetaObjects()
 			.stream()
@@ -792,6 +868,7 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
     @Override
 	public void startup(Protocol protocol) {
 		initLocalVariablesFromDatabase(protocol);
+		_statistics.register(name);
 
 		long refetchInterval = _configuration.getRefetchInterval();
 		if (refetchInterval > 0 && !singleNodeOptimization) {
@@ -819,6 +896,22 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 		if (_historyCleanup != null) {
 			_historyCleanup.stop(10L, TimeUnit.SECONDS);
 		}
+		if (_replayExecutor != null) {
+			_replayExecutor.shutdownNow();
+		}
+		if (_eventDispatcher != null) {
+			// Deliver outstanding events before shutting down.
+			_eventDispatcher.shutdown();
+			try {
+				if (!_eventDispatcher.awaitTermination(10L, TimeUnit.SECONDS)) {
+					Logger.warn("Not all update events delivered during shutdown of " + name + ".",
+						DBKnowledgeBase.class);
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		_statistics.unregister();
 	}
 
 	void installTrunk() {
@@ -832,7 +925,7 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 	@Override
 	public String toString() {
 		return name + " [types: " + getObjectTypes().size()
-					+ ((cache != null) ? (", cache size: " + cache.size()) : "")
+					+ ", cache size: " + cache.size()
                     + ", DB: " + dbUrl
                     + "] ";
     }
@@ -1252,6 +1345,7 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 		boolean includeLocalChanges = context != null && HistoryUtils.isCurrent(requestedIdentity);
 		KnowledgeItemInternal result = cleanupAndLookupCache(requestedIdentity, dataRevision);
         if (result != null) {
+			_statistics.cacheHit(requestedIdentity.getObjectType());
 			if (includeLocalChanges && isLocallyRemoved(context, requestedIdentity)) {
 				return null;
 			}
@@ -1269,6 +1363,7 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 			return null;
 		}
 
+		_statistics.cacheMiss(requestedIdentity.getObjectType());
 		return fetchItemById(context, requestedIdentity, dataRevision);
 	}
 
@@ -1284,6 +1379,7 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 		long dataBranchContext = requestedBranch.getBaseBranchId(type);
         
         MOKnowledgeItem table = type;
+        long startTime = _statistics.start();
         PooledConnection readConnection = connectionPool.borrowReadConnection();
         try {
     		Expression search = createSearchExpression(table, requestedIdentity);
@@ -1295,6 +1391,7 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 			throw new KnowledgeBaseRuntimeException("Lookup failed", e);
 		} finally {
 			connectionPool.releaseReadConnection(readConnection);
+			_statistics.record(table, KBStatistics.FETCH, startTime);
 		}
 	}
 
@@ -1319,224 +1416,17 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 		}
 	}
 
-	/**
-	 * Looks up the object with the given identity from the cache.
-	 * 
-	 * <p>
-	 * Note: This method must be called form a context synchronized at the {@link #cache} map.
-	 * </p>
-	 * 
-	 * @param identity
-	 *        The identity of the object to be returned.
-	 * @param lookupRevision
-	 *        The revision in which the lookup occurs.
-	 * @param getDeleted
-	 *        Whether objects that are deleted in the given revision must be reported.
-	 * @return The object found in the cache or <code>null</code>, if the object is not cached.
-	 */
-	private KnowledgeItemInternal syncCacheLookupCache(ObjectKey identity, long lookupRevision, boolean getDeleted) {
-		Object cacheEntry = this.cache.get(identity);
-		if (cacheEntry instanceof IDReference) {
-			IDReference reference = (IDReference) cacheEntry;
-			KnowledgeItemInternal result = reference.get();
-			if (result == null) {
-				// Drop garbage collected reference.
-				cache.remove(identity);
-				
-				// Mark reference as already processed. If it is found later in
-				// its reference queue, it is silently dropped.
-				reference.destroy();
-			}
-			
-			if (!getDeleted) {
-				if (result instanceof DBKnowledgeItem) {
-					// only current objects can be deleted.
-					if (!((DBKnowledgeItem) result).valuesAlive(lookupRevision).isAlive()) {
-						// object was deleted in given revision.
-						return null;
-					}
-				}
-			}
-			
-			return result;
-		} else if (cacheEntry instanceof CacheValidity) {
-			CacheValidity validity = (CacheValidity) cacheEntry;
-			if (lookupRevision > validity.maxValidity()) {
-				// session to new
-				return null;
-			}
-			while (true) {
-				CacheValidity formerValidity = validity.formerValidity();
-				if (formerValidity == null) {
-					// No former validity with valid data for session.
-					break;
-				}
-				if (lookupRevision > formerValidity.maxValidity()) {
-					// session to new for former validity.
-					break;
-				}
-				validity = formerValidity;
-			}
-			KnowledgeItemInternal cachedObject = validity.getReference().get();
-			if (!getDeleted) {
-				if (cachedObject instanceof DBKnowledgeItem) {
-					// only current objects can be deleted.
-					if (!((DBKnowledgeItem) cachedObject).valuesAlive(lookupRevision).isAlive()) {
-						// object was deleted in given revision.
-						return null;
-					}
-				}
-			}
-			return cachedObject;
-		} else {
-			return null;
-		}
-	}
-
-	/**
-	 * Inserts the given item into the {@link #cache} map.
-	 * 
-	 * <p>
-	 * Note: Must be called from a context synchronized on the {@link #cache} map.
-	 * </p>
-	 * 
-	 * @param item
-	 *        The object to insert into the cache.
-	 * @param revision
-	 *        The revision from which on the given item is valid.
-	 */
-	final void syncCacheInsertCache(KnowledgeItemInternal item, long revision) {
-		// Create soft reference for building the GC-limited cache.
-		DBObjectKey identity = item.tId();
-		
-		IDReference reference = new IDReference(item, this.danglingReferences, identity);
-		identity.updateReference(reference);
-		
-		Object clash = cache.put(identity, reference);
-		if (clash != null) {
-			syncCacheHandleInsertClash(identity, reference, clash, revision);
-		}
-	}
-
-	private void syncCacheHandleInsertClash(DBObjectKey identity, IDReference reference, Object clash, long revision) {
-		CacheValidity formerCacheValidity;
-		if (clash instanceof IDReference) {
-			KnowledgeItemInternal cachedItem = ((IDReference) clash).get();
-			if (cachedItem == null) {
-				/* old reference was cleared in the meanwhile. Inserted reference is the only valid
-				 * reference now. */
-				/* Actually this must not occur: As long as the update event for the delete session
-				 * exists, the reference can not be cleared. During finalization of the update event
-				 * the cache entry is actively removed. Therefore there is a hard reference (in the
-				 * update event) until the cache entry is removed. */
-				return;
-			}
-			formerCacheValidity = new CacheValidity((IDReference) clash, Revision.FIRST_REV, revision - 1);
-		} else {
-			formerCacheValidity = (CacheValidity) clash;
-			formerCacheValidity.updateMaxValidity(revision - 1);
-		}
-		CacheValidity newCacheValidity = new CacheValidity(reference, revision, Revision.CURRENT_REV);
-		newCacheValidity.setFormerValidity(formerCacheValidity);
-		// Remove entry as otherwise the old key is stored in cache.
-		cache.remove(identity);
-		cache.put(identity, newCacheValidity);
-	}
-
-	/**
-	 * Drop all those identities from cache, whose objects have been garbage
-	 * collected.
-	 * 
-	 * <p>
-	 * Note: Must be called from a context synchronized on the {@link #cache}
-	 * map.
-	 * </p>
-	 */
-	void syncCacheCleanupReferences() {
-		while (true) {
-			IDReference reference = (IDReference) this.danglingReferences.poll();
-			if (reference == null) {
-				break;
-			}
-			
-			syncCacheCleanupReference(reference);
-		}
-	}
-
-	/**
-	 * Removes the given reference from cache entries.
-	 * 
-	 * <p>
-	 * Note: Must be called from a context synchronized on the {@link #cache} map.
-	 * </p>
-	 * 
-	 * @param reference
-	 *        The reference pointing to the removed object.
-	 */
-	void syncCacheCleanupReference(IDReference reference) {
-		ObjectKey identity = reference.getIdentity();
-		
-		if (identity == null) {
-			/* reference was removed before, e.g. by general cache cleanup or by removing it
-			 * explicit in cleanup action. */
-			return;
-		}
-		syncCacheRemoveCacheEntry(identity, reference);
-
-		/* Mark reference as removed. */
-		reference.destroy();
-	}
-
-	/**
-	 * Removes the cache entry for the given key.
-	 * 
-	 * <p>
-	 * Note: Must be called from a context synchronized on the {@link #cache} map.
-	 * </p>
-	 * 
-	 * @param referenceToRemove
-	 *        The corresponding reference pointing to the removed object.
-	 */
-	private void syncCacheRemoveCacheEntry(ObjectKey identity, IDReference referenceToRemove) {
-		Object removed = cache.remove(identity);
-		if (removed == null) {
-			/* Already removed. */
-			return;
-		}
-		if (removed == referenceToRemove) {
-			/* There is only one entry, which is the given one. */
-			return;
-		}
-		if (removed instanceof IDReference) {
-			/* This may happen in following situation: Object A is deleted (rev1), recreated, and
-			 * again deleted (rev2). GC first cleans rev2 which completely clears the cache for A.
-			 * Before rev1 can be cleaned by GC, A is recreated. In this case the cache entry is the
-			 * reference to the new A. */
-			return;
-		}
-
-		CacheValidity mostRecentValidity = ((CacheValidity) removed).removeEntryFor(referenceToRemove);
-		if (mostRecentValidity == null) {
-			/* No valid item found at all. */
-			return;
-		}
-
-		CacheValidity formerValidity = mostRecentValidity.formerValidity();
-		if (formerValidity == null) {
-			/* Only one cache entry. Cache reference directly */
-			IDReference newReference = mostRecentValidity.getReference();
-			cache.put(newReference.getIdentity(), newReference);
-		} else {
-			cache.put(mostRecentValidity.getReference().getIdentity(), mostRecentValidity);
-		}
-	}
-	
-	class IDReference extends SoftReference<KnowledgeItemInternal> {
+	static class IDReference extends SoftReference<KnowledgeItemInternal> {
 
 		/**
 		 * @see #getIdentity()
 		 */
-		private DBObjectKey id;
+		private volatile DBObjectKey id;
+
+		/**
+		 * @see #markAccessed()
+		 */
+		private boolean _accessed;
 
 		public IDReference(KnowledgeItemInternal referent, ReferenceQueue<KnowledgeItemInternal> q, DBObjectKey id) {
 			super(referent, q);
@@ -1549,7 +1439,7 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 		 * @return The owning {@link ObjectKey}, or <code>null</code>, if this reference was dropped
 		 *         early from cache.
 		 * 
-		 * @see DBKnowledgeBase#syncCacheLookupCache(ObjectKey, long, boolean)
+		 * @see ItemCache#syncLookup(ObjectKey, long, boolean)
 		 */
 		public final DBObjectKey getIdentity() {
 			return id;
@@ -1563,6 +1453,34 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 			this.id = null;
 		}
 
+		/**
+		 * Records an access to the referenced object without acquiring a lock.
+		 * 
+		 * <p>
+		 * The flag is neither volatile nor updated atomically. An access that is lost due to a
+		 * concurrent update only affects the decision, which objects are kept by the
+		 * {@link CachePolicy}.
+		 * </p>
+		 * 
+		 * @see #consumeAccessed()
+		 */
+		final void markAccessed() {
+			_accessed = true;
+		}
+
+		/**
+		 * Whether the referenced object was accessed since the last call to this method.
+		 * 
+		 * @see #markAccessed()
+		 */
+		final boolean consumeAccessed() {
+			if (!_accessed) {
+				return false;
+			}
+			_accessed = false;
+			return true;
+		}
+
 		@Override
 		public String toString() {
 			return "IDReference [id=" + id + "]";
@@ -1979,12 +1897,12 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 			RevisionQuery<E> monomorphicQuery) {
 
 		boolean fullLoad = fullLoad(resultType, monomorphicQuery);
-		SQLPart select = SQLBuilder.createRevisionSearchSQL(dbHelper, moRepository, monomorphicQuery, fullLoad);
+		SQLStatement select = SQLBuilder.createRevisionSearchSQL(dbHelper, moRepository, monomorphicQuery, fullLoad);
 
 		Map<String, Integer> argumentIndexByName = monomorphicQuery.getArgumentIndexByName();
 		final CompiledStatement sql = SQLQuery.toSql(dbHelper, select, argumentIndexByName);
 
-		return new MonomorphicSearch<>(this, resultType, monomorphicQuery, sql, fullLoad);
+		return new MonomorphicSearch<>(this, resultType, monomorphicQuery, sql, select, fullLoad);
 	}
 
 	private boolean fullLoad(MOKnowledgeItemImpl resultType, RevisionQuery<?> monomorphicQuery) {
@@ -2258,11 +2176,7 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 
             	commitConnection.commit();
             	
-        		synchronized (cache) {
-					syncCacheCleanupReferences();
-
-					syncCacheInsertCache(newBranch, createRev);
-        		}
+				cache.insert(newBranch, createRev);
             	
 				link = new UpdateChainLink(newBranchEvent(baseBranch, newBranch, createRevision));
     			
@@ -2946,10 +2860,45 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 
 	private void fireUpdate(UpdateEvent event) {
 		updateWrappers(event);
+
+		ExecutorService dispatcher = _eventDispatcher;
+		boolean hasAsyncListeners = false;
 		for (UpdateListener updateListener : updateListeners) {
+			if (dispatcher != null && updateListener instanceof AsyncUpdateListener) {
+				hasAsyncListeners = true;
+				continue;
+			}
 			updateListener.notifyUpdate(this, event);
-    	}
-    }
+		}
+
+		if (hasAsyncListeners) {
+			// Events are enqueued in commit order, since this method is called in the context
+			// synchronized on the send event lock.
+			try {
+				dispatcher.execute(new SystemContextRunnable<>(() -> dispatchUpdate(event)));
+			} catch (RejectedExecutionException ex) {
+				// Dispatcher already shut down, deliver in the committing thread.
+				notifyAsyncUpdateListeners(event);
+			}
+		}
+	}
+
+	private void dispatchUpdate(UpdateEvent event) {
+		try {
+			notifyAsyncUpdateListeners(event);
+		} catch (Throwable ex) {
+			Logger.error("Unable to process event with number '" + event.getCommitNumber() + "'.", ex,
+				DBKnowledgeBase.class);
+		}
+	}
+
+	private void notifyAsyncUpdateListeners(UpdateEvent event) {
+		for (UpdateListener updateListener : updateListeners) {
+			if (updateListener instanceof AsyncUpdateListener) {
+				updateListener.notifyUpdate(this, event);
+			}
+		}
+	}
 
 	List<Modification> fireUpcomingDeletionEvent(DBContext modifiedContext, KnowledgeItem item) {
 		modifiedContext.lock();
@@ -3398,7 +3347,7 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 		}
 		
 		long lastCommittedRevision = commitNumber - 1;
-		refetch(commitConnection, lastCommittedRevision);
+		refetch(commitConnection, lastCommittedRevision, true);
 		RevisionImpl newRevision =
 			internalCreateRevision(commitNumber, contextId, commitStartTime, logMessage);
 		
@@ -3429,20 +3378,34 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 	public int refetch() throws RefetchTimeout {
 		long latestRevision = getLastRevisionId();
 		
-		PooledConnection readConnection = this.connectionPool.borrowReadConnection();
 		try {
-			return refetch(readConnection, latestRevision);
+			// A read connection is only borrowed, if a refetch is actually required. Threads
+			// waiting for a concurrent refetch must not block connections of the pool.
+			return refetch(null, latestRevision, !_nonBlockingRefetch);
 		} catch (SQLException e) {
 			throw new KnowledgeBaseRuntimeException(e);
 		} catch (MergeConflictException e) {
 			throw new KnowledgeBaseRuntimeException(e);
-		} finally {
-			connectionPool.releaseReadConnection(readConnection);
 		}
 	}
 	
-	private int refetch(PooledConnection context, long lastRemoteRevision) throws SQLException, RefetchTimeout,
-			MergeConflictException {
+	/**
+	 * Brings the cache and the session revision up to the given remote revision.
+	 * 
+	 * @param context
+	 *        The connection to read changes from. <code>null</code> means that a read connection
+	 *        is borrowed after the refetch lock has been acquired.
+	 * @param lastRemoteRevision
+	 *        The revision to refetch up to.
+	 * @param awaitConcurrentRefetch
+	 *        Whether to wait for the completion of a refetch that is concurrently executed by
+	 *        another thread. If <code>false</code> and another refetch is running, the session
+	 *        revision is updated to the last published revision and the changes of the running
+	 *        refetch become visible in a later request.
+	 * @return The number of refetched objects.
+	 */
+	private int refetch(PooledConnection context, long lastRemoteRevision, boolean awaitConcurrentRefetch)
+			throws SQLException, RefetchTimeout, MergeConflictException {
 		/* Must not skip following code, because waiting for currentRefetchRevision ==
 		 * lastLocalRevision is also necessary in single node case. This is e.g. necessary in case
 		 * of concurrent commit on the same node: The database lock is released *before* the updates
@@ -3465,44 +3428,51 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 			// 
 			// assert lastLocalRevision <= lastRemoteRevision : "Future revision in cache.";
 			
-			if (_refetchLocked) {
-				// Concurrent refetch is running, await completion.
-				long waitTime = refetchTimeout;
-				while (true) {
-					long waited = -System.currentTimeMillis();
-					try {
-						refetchLock.wait(waitTime);
-					} catch (InterruptedException e) {
-						throw new KnowledgeBaseRuntimeException("Refetch interrupted.", e);
-					}
+			if (_refetchLocked && !awaitConcurrentRefetch) {
+				/* Concurrent refetch is running. Continue with the last published revision, the
+				 * running refetch publishes its changes atomically when completed. */
+				noRefetch = updateChainTail;
+				firstRemoteRevision = -1;
+			} else {
+				if (_refetchLocked) {
+					// Concurrent refetch is running, await completion.
+					long waitTime = refetchTimeout;
+					while (true) {
+						long waited = -System.currentTimeMillis();
+						try {
+							refetchLock.wait(waitTime);
+						} catch (InterruptedException e) {
+							throw new KnowledgeBaseRuntimeException("Refetch interrupted.", e);
+						}
 
-					waited += System.currentTimeMillis();
-					waitTime -= waited;
+						waited += System.currentTimeMillis();
+						waitTime -= waited;
 					
-					if (_refetchLocked) {
-						// The wait condition is still true.
-						if (waitTime <= 0) {
-							// The max wait time has been elapsed.
-							throw new RefetchTimeout(
-									"Could not update data cache, refetch did not complete in time: " + 
-									"lastLocalRevision=" + lastLocalRevision + ", " + 
-									"lastRemoteRevision=" + lastRemoteRevision);
+						if (_refetchLocked) {
+							// The wait condition is still true.
+							if (waitTime <= 0) {
+								// The max wait time has been elapsed.
+								throw new RefetchTimeout(
+										"Could not update data cache, refetch did not complete in time: " + 
+										"lastLocalRevision=" + lastLocalRevision + ", " + 
+										"lastRemoteRevision=" + lastRemoteRevision);
+							}
+						} else {
+							break;
 						}
-					} else {
-						break;
 					}
 				}
-			}
 
-			boolean refetchRequired = lastRemoteRevision > lastLocalRevision;
-			firstRemoteRevision = lastLocalRevision + 1;
-			
-			if (refetchRequired) {
-				// Block concurrent refetches.
-				_refetchLocked = true;
-				noRefetch = null;
-			} else {
-				noRefetch = updateChainTail;
+				boolean refetchRequired = lastRemoteRevision > lastLocalRevision;
+				firstRemoteRevision = lastLocalRevision + 1;
+
+				if (refetchRequired) {
+					// Block concurrent refetches.
+					_refetchLocked = true;
+					noRefetch = null;
+				} else {
+					noRefetch = updateChainTail;
+				}
 			}
 		}
 		
@@ -3512,7 +3482,16 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 		}
 		int objCnt;
 		try {
-			objCnt = refetch(context, firstRemoteRevision, lastRemoteRevision);
+			if (context == null) {
+				PooledConnection readConnection = connectionPool.borrowReadConnection();
+				try {
+					objCnt = refetch(readConnection, firstRemoteRevision, lastRemoteRevision);
+				} finally {
+					connectionPool.releaseReadConnection(readConnection);
+				}
+			} else {
+				objCnt = refetch(context, firstRemoteRevision, lastRemoteRevision);
+			}
 		} finally {
 			// release refetch lock
 			synchronized (refetchLock) {
@@ -3605,11 +3584,7 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 				for (ItemDeletion deletion : deletions) {
 					touchedObjectKey.update(Revision.CURRENT_REV, deletion.getObjectId());
 					DBObjectKey deletedObjectKey;
-					DBKnowledgeItem cachedItem;
-					synchronized (cache) {
-						syncCacheCleanupReferences();
-						cachedItem = (DBKnowledgeItem) syncCacheLookupCache(touchedObjectKey, revision - 1, true);
-					}
+					DBKnowledgeItem cachedItem = (DBKnowledgeItem) cache.lookup(touchedObjectKey, revision - 1, true);
 					if (cachedItem != null) {
 						cachedDeletedItems = InlineList.add(DBKnowledgeItem.class, cachedDeletedItems, cachedItem);
 						deletedObjectKey = cachedItem.tId();
@@ -4001,12 +3976,7 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 	/* package protected */void insertNew(DBContext createContext, AbstractDBKnowledgeItem newObject) {
 		newObject.localCommit(createContext);
         
-        synchronized (cache) {
-			syncCacheCleanupReferences();
-        	
-			syncCacheInsertCache(newObject, createContext.getCommitNumber());
-        }
-        
+		cache.insert(newObject, createContext.getCommitNumber());
 	}
 
 	/*package protected*/ long fetchLongValue(PooledConnection connection, String fetchSource) {
@@ -4065,6 +4035,8 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 	private KnowledgeItemInternal resolveIdentifier(DBObjectKey identity, long dataRevision, boolean cacheOnly) {
 		KnowledgeItemInternal cached = identity.getCached();
 		if (cached != null) {
+			_statistics.cacheHit(identity.getObjectType());
+			cache.touch(cached);
 			return cached;
 		}
 		
@@ -4084,19 +4056,16 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 			DBObjectKey internalKey = (DBObjectKey) identity;
 			KnowledgeItemInternal cached = internalKey.getCached();
 			if (cached != null) {
+				cache.touch(cached);
 				return cached;
 			}
 
-			synchronized (cache) {
-				syncCacheCleanupReferences();
-
-				cached = syncCacheLookupCache(identity, lookupRevision, false);
-				if (cached != null) {
-					// Fix outdated identity.
-					internalKey.updateReference(cached.tId().getReference());
-				}
-				return cached;
+			cached = cache.lookup(identity, lookupRevision, false);
+			if (cached != null) {
+				// Fix outdated identity.
+				internalKey.updateReference(cached.tId().getReference());
 			}
+			return cached;
 		} else {
 			return cleanupAndLookupCache(identity, lookupRevision);
 		}
@@ -4509,6 +4478,25 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 	public ConnectionPool getConnectionPool() {
 		return connectionPool;
 	}
+
+	/**
+	 * Cache hit rates and query latencies of this {@link KnowledgeBase}.
+	 * 
+	 * @see KnowledgeBaseConfiguration#isCollectStatistics()
+	 */
+	public KBStatistics getStatistics() {
+		return _statistics;
+	}
+
+	/**
+	 * The canonicalizer for attribute values of loaded objects, or <code>null</code>, if values
+	 * are not compacted.
+	 * 
+	 * @see KnowledgeBaseConfiguration#isCompactValues()
+	 */
+	ValueInterner getValueInterner() {
+		return _valueInterner;
+	}
 	
 	@Override
 	public ChangeSetReader getChangeSetReader(ReaderConfig readerConfig) {
@@ -4587,7 +4575,7 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 		
 		final OrderedItemEventReader itemReader =
 			new OrderedItemEventReader(this, keepOldValues, startRev, stopRev, this.chunkSize, typeNames, branches,
-				itemOrder);
+				itemOrder, _replayExecutor, _replayParallelism);
 		return new KnowledgeEventMixer(revisionOrder, branchReader, itemReader, commitReader);
 	}
 	
@@ -5050,12 +5038,7 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 	}
 
 	final KnowledgeItemInternal cleanupAndLookupCache(ObjectKey key, long lookupRevision) {
-		KnowledgeItemInternal result;
-		synchronized (cache) {
-			syncCacheCleanupReferences();
-			result = syncCacheLookupCache(key, lookupRevision, false);
-		}
-		return result;
+		return cache.lookup(key, lookupRevision, false);
 	}
 
 	/**
@@ -5175,17 +5158,23 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 	KnowledgeItemInternal findOrCreateItem(PooledConnection connection, ResultSet resultSet, int dbOffset,
 			DBObjectKey identifier, long dataRevision) throws SQLException {
 
-		KnowledgeItemInternal cachedCopy;
-		synchronized (cache) {
-			syncCacheCleanupReferences();
-			
-			cachedCopy = syncCacheLookupCache(identifier, dataRevision, false);
+		KnowledgeItemInternal cachedCopy = cache.lookup(identifier, dataRevision, false);
+		if (cachedCopy == null) {
+			/* The item must be created outside the cache lock, since creating its application
+			 * object may resolve other items, whose cache entries are guarded by other locks.
+			 * 
+			 * If the same object is loaded concurrently, more than one copy is created, but only
+			 * the first inserted copy is published. The others are dropped before they can be
+			 * reached by any other thread. This is harmless, since creating a copy only
+			 * initializes the copy itself and its application object: Neither
+			 * DBKnowledgeItem#onLoad(PooledConnection) nor PersistentObject#handleLoad()
+			 * register the new copy anywhere. */
+			KnowledgeItemInternal newItem = createItem(connection, resultSet, dbOffset, identifier);
+			cachedCopy = cache.insertIfAbsent(newItem, dataRevision);
 			if (cachedCopy == null) {
-				KnowledgeItemInternal newItem = createItem(connection, resultSet, dbOffset, identifier);
-				syncCacheInsertCache(newItem, dataRevision);
-				
 				return newItem;
 			}
+			// Concurrently loaded by another thread, use the already cached copy.
 		}
 		if (!HistoryUtils.isCurrent(cachedCopy)) {
 			// no refetch necessary because historic object never change.
@@ -5228,13 +5217,6 @@ public class DBKnowledgeBase extends AbstractKnowledgeBase
 	 */
 	@CalledByReflection
 	private void clearCacheForTests() {
-		for (DBObjectKey key : cache.keySet()) {
-			java.lang.ref.Reference<KnowledgeItemInternal> reference = key.getReference();
-			if (reference instanceof IDReference) {
-				((IDReference) reference).destroy();
-			}
-			key.updateReference(null);
-		}
 		cache.clear();
 	}
 
@@ -1231,7 +1231,16 @@ public abstract class DBKnowledgeItem extends AbstractDBKnowledgeItem implements
 		Object[] localChanges = commitContext.getLocalValues(this);
 		assert localChanges != null : "Only object which are touched in context may be published. These objects have local values.";
 
-		return newValues(commitContext.getCommitNumber(), Revision.CURRENT_REV, localChanges);
+		Object[] storage;
+		ValueInterner interner = getKnowledgeBase().getValueInterner();
+		if (interner != null) {
+			// The committed values become the cached values of this object. The local values
+			// still belong to the commit context and must not be modified.
+			storage = interner.internAll(localChanges);
+		} else {
+			storage = localChanges;
+		}
+		return newValues(commitContext.getCommitNumber(), Revision.CURRENT_REV, storage);
 	}
 
 	/**
@@ -0,0 +1,99 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.knowledge.service.db2;
+
+/**
+ * Approximate access frequency of objects in the recent past.
+ *
+ * <p>
+ * Count-min sketch with saturating 4-bit counters. Each key is counted in {@link #DEPTH} rows, the
+ * estimated frequency is the minimum of these counters. After a number of increments proportional
+ * to the capacity of the cache, all counters are halved, so that the sketch forgets accesses that
+ * lie far in the past.
+ * </p>
+ *
+ * <p>
+ * Note: The sketch is not thread-safe.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+final class FrequencySketch {
+
+	private static final int DEPTH = 4;
+
+	private static final int MAX_COUNT = 15;
+
+	private static final int[] SEEDS = { 0x97CB3127, 0xB7E15163, 0x9E3779B9, 0x85EBCA6B };
+
+	private final byte[] _counters;
+
+	private final int _width;
+
+	private final int _sampleSize;
+
+	private int _additions;
+
+	/**
+	 * Creates a {@link FrequencySketch}.
+	 *
+	 * @param capacity
+	 *        The number of objects in the cache using this sketch.
+	 */
+	FrequencySketch(int capacity) {
+		int width = 16;
+		while (width < 2 * capacity) {
+			width <<= 1;
+		}
+		_width = width;
+		_counters = new byte[DEPTH * width];
+		_sampleSize = 10 * Math.max(capacity, 1);
+	}
+
+	/**
+	 * Records an access to the given key.
+	 */
+	void increment(Object key) {
+		int hash = key.hashCode();
+		boolean added = false;
+		for (int row = 0; row < DEPTH; row++) {
+			int index = index(hash, row);
+			if (_counters[index] < MAX_COUNT) {
+				_counters[index]++;
+				added = true;
+			}
+		}
+		if (added && ++_additions >= _sampleSize) {
+			age();
+		}
+	}
+
+	/**
+	 * The estimated number of recent accesses to the given key.
+	 */
+	int frequency(Object key) {
+		int hash = key.hashCode();
+		int result = MAX_COUNT;
+		for (int row = 0; row < DEPTH; row++) {
+			result = Math.min(result, _counters[index(hash, row)]);
+		}
+		return result;
+	}
+
+	private int index(int hash, int row) {
+		int h = (hash + SEEDS[row]) * SEEDS[row];
+		h ^= h >>> 16;
+		return row * _width + (h & (_width - 1));
+	}
+
+	private void age() {
+		for (int n = 0, cnt = _counters.length; n < cnt; n++) {
+			_counters[n] >>= 1;
+		}
+		_additions >>= 1;
+	}
+
+}
@@ -0,0 +1,207 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.knowledge.service.db2;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+/**
+ * Bounded set of strongly referenced objects in one stripe of an {@link ItemCache}.
+ *
+ * <p>
+ * Objects in the {@link HotSet} cannot be reclaimed by the garbage collector, even if their
+ * {@link DBKnowledgeBase.IDReference soft reference} in the cache would otherwise be cleared.
+ * Which objects are kept is decided by the {@link CachePolicy}.
+ * </p>
+ *
+ * <p>
+ * Note: A {@link HotSet} is not thread-safe. It is guarded by the monitor of the cache stripe it
+ * belongs to.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+final class HotSet {
+
+	private final int _windowCapacity;
+
+	private final int _mainCapacity;
+
+	/**
+	 * Recently added objects, <code>null</code> if the policy has no admission window.
+	 */
+	private final LinkedHashMap<DBObjectKey, KnowledgeItemInternal> _window;
+
+	private final LinkedHashMap<DBObjectKey, KnowledgeItemInternal> _main;
+
+	/**
+	 * Access frequencies for deciding about admission to {@link #_main}, <code>null</code> if all
+	 * objects are admitted.
+	 */
+	private final FrequencySketch _sketch;
+
+	private HotSet(int windowCapacity, int mainCapacity, boolean admission) {
+		_windowCapacity = windowCapacity;
+		_mainCapacity = mainCapacity;
+		_window = windowCapacity > 0 ? new LinkedHashMap<>(16, 0.75f, true) : null;
+		_main = new LinkedHashMap<>(16, 0.75f, true);
+		_sketch = admission ? new FrequencySketch(windowCapacity + mainCapacity) : null;
+	}
+
+	/**
+	 * Creates a {@link HotSet}.
+	 *
+	 * @param policy
+	 *        The policy that decides about the objects to keep.
+	 * @param capacity
+	 *        The maximum number of strongly referenced objects.
+	 */
+	static HotSet newHotSet(CachePolicy policy, int capacity) {
+		if (capacity <= 0) {
+			return new HotSet(0, 0, false);
+		}
+		switch (policy) {
+			case SOFT:
+				return new HotSet(0, 0, false);
+			case LRU:
+				return new HotSet(0, capacity, false);
+			case LFU:
+				return new HotSet(0, capacity, true);
+			case W_TINY_LFU:
+				int window = Math.max(1, capacity / 100);
+				return new HotSet(window, capacity - window, true);
+		}
+		throw new IllegalArgumentException("No such policy: " + policy);
+	}
+
+	/**
+	 * Records an access to the given object.
+	 */
+	void touch(DBObjectKey key, KnowledgeItemInternal item) {
+		if (_mainCapacity == 0 && _windowCapacity == 0) {
+			return;
+		}
+		if (_sketch != null) {
+			_sketch.increment(key);
+		}
+		if (_window != null && _window.get(key) != null) {
+			_window.put(key, item);
+			return;
+		}
+		if (_main.get(key) != null) {
+			_main.put(key, item);
+			return;
+		}
+
+		if (_window != null) {
+			_window.put(key, item);
+			if (_window.size() > _windowCapacity) {
+				Iterator<Entry<DBObjectKey, KnowledgeItemInternal>> eldest = _window.entrySet().iterator();
+				Entry<DBObjectKey, KnowledgeItemInternal> candidate = eldest.next();
+				eldest.remove();
+				recordUnlockedAccess(candidate.getKey());
+				offer(candidate.getKey(), candidate.getValue());
+			}
+		} else {
+			offer(key, item);
+		}
+	}
+
+	private void offer(DBObjectKey key, KnowledgeItemInternal item) {
+		if (_main.size() < _mainCapacity) {
+			_main.put(key, item);
+			return;
+		}
+		if (_mainCapacity == 0) {
+			return;
+		}
+		DBObjectKey victim = victim();
+		if (_sketch == null || _sketch.frequency(key) > _sketch.frequency(victim)) {
+			_main.remove(victim);
+			_main.put(key, item);
+		}
+	}
+
+	/**
+	 * The least recently used object in {@link #_main} that has not been accessed since it was
+	 * last considered.
+	 *
+	 * <p>
+	 * Accesses through the cache reference of a key are not recorded in the access order, see
+	 * {@link ItemCache#touch(KnowledgeItemInternal)}. An object with such an access gets a second
+	 * chance and is moved to the most recently used position instead of being demoted.
+	 * </p>
+	 */
+	private DBObjectKey victim() {
+		for (int n = 0, cnt = _main.size(); n < cnt; n++) {
+			DBObjectKey eldest = _main.keySet().iterator().next();
+			if (!recordUnlockedAccess(eldest)) {
+				return eldest;
+			}
+			// Move to the most recently used position.
+			_main.get(eldest);
+		}
+		return _main.keySet().iterator().next();
+	}
+
+	/**
+	 * Records an access to the given key that happened without the lock of the stripe.
+	 *
+	 * @return Whether such access has happened.
+	 */
+	private boolean recordUnlockedAccess(DBObjectKey key) {
+		DBKnowledgeBase.IDReference reference = key.getReference();
+		if (reference == null || !reference.consumeAccessed()) {
+			return false;
+		}
+		if (_sketch != null) {
+			_sketch.increment(key);
+		}
+		return true;
+	}
+
+	/**
+	 * Drops the strong reference to the given object, e.g. because it has been deleted.
+	 *
+	 * @param key
+	 *        The identity of the object.
+	 * @param item
+	 *        The object to drop. A different object with the same identity (e.g. a re-created
+	 *        object) is kept.
+	 */
+	void remove(DBObjectKey key, KnowledgeItemInternal item) {
+		if (_window != null && _window.remove(key, item)) {
+			return;
+		}
+		_main.remove(key, item);
+	}
+
+	/**
+	 * Whether the given object is strongly referenced.
+	 */
+	boolean contains(DBObjectKey key) {
+		return (_window != null && _window.containsKey(key)) || _main.containsKey(key);
+	}
+
+	/**
+	 * Number of strongly referenced objects.
+	 */
+	int size() {
+		return (_window == null ? 0 : _window.size()) + _main.size();
+	}
+
+	/**
+	 * Drops all strong references.
+	 */
+	void clear() {
+		if (_window != null) {
+			_window.clear();
+		}
+		_main.clear();
+	}
+
+}
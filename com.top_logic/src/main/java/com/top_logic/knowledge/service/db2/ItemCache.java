@@ -0,0 +1,534 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.knowledge.service.db2;
+
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+import com.top_logic.dob.MetaObject;
+import com.top_logic.dob.identifier.ObjectKey;
+import com.top_logic.knowledge.objects.KnowledgeItem;
+import com.top_logic.knowledge.service.Revision;
+import com.top_logic.knowledge.service.db2.DBKnowledgeBase.IDReference;
+
+/**
+ * Lock-striped cache of {@link KnowledgeItem}s loaded by a {@link DBKnowledgeBase}.
+ *
+ * <p>
+ * The cache is split into a fixed number of stripes. Each {@link ObjectKey} is assigned to exactly
+ * one stripe by its hash code. A stripe is a plain {@link HashMap} that is guarded by its own
+ * monitor. This way, lookups of different objects do not contend on a single lock.
+ * </p>
+ *
+ * <p>
+ * A cache entry is either an {@link IDReference} (soft reference to the single cached version of
+ * an object), or a {@link CacheValidity} chain, if an object was deleted and re-created while
+ * older sessions may still see the deleted version.
+ * </p>
+ *
+ * <p>
+ * Depending on the {@link CachePolicy}, each stripe additionally keeps a bounded {@link HotSet} of
+ * strong references per type. Objects in the hot set survive memory pressure, so that frequently
+ * used objects need not be reloaded after the garbage collector has cleared soft references.
+ * </p>
+ *
+ * <p>
+ * Note: Methods with prefix <code>sync</code> must be called from a context synchronized on
+ * {@link #lock(ObjectKey)} of the key passed. All other methods must <b>not</b> be called while
+ * holding the lock of any stripe, because they acquire stripe locks on their own. Holding the lock
+ * of one stripe while acquiring the lock of another one may result in a deadlock.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+final class ItemCache {
+
+	/**
+	 * Default number of stripes.
+	 */
+	static final int DEFAULT_CONCURRENCY = 64;
+
+	private final Stripe[] _stripes;
+
+	private final int _mask;
+
+	private final ReferenceQueue<KnowledgeItemInternal> _danglingReferences = new ReferenceQueue<>();
+
+	private final CachePolicy _policy;
+
+	private final ToIntFunction<MetaObject> _capacity;
+
+	/**
+	 * Creates a {@link ItemCache} that references all objects softly.
+	 *
+	 * @param concurrency
+	 *        The minimum number of stripes. The value is rounded up to the next power of two. A
+	 *        value of <code>1</code> results in a single monitor guarding all entries.
+	 */
+	ItemCache(int concurrency) {
+		this(concurrency, CachePolicy.SOFT, type -> 0);
+	}
+
+	/**
+	 * Creates a {@link ItemCache}.
+	 *
+	 * @param concurrency
+	 *        The minimum number of stripes. The value is rounded up to the next power of two. A
+	 *        value of <code>1</code> results in a single monitor guarding all entries.
+	 * @param policy
+	 *        The policy for selecting objects that are strongly referenced.
+	 * @param capacity
+	 *        The maximum number of strongly referenced objects for a given type.
+	 */
+	ItemCache(int concurrency, CachePolicy policy, ToIntFunction<MetaObject> capacity) {
+		_policy = policy;
+		_capacity = capacity;
+		int stripeCnt = 1;
+		while (stripeCnt < concurrency) {
+			stripeCnt <<= 1;
+		}
+		_stripes = new Stripe[stripeCnt];
+		for (int n = 0; n < stripeCnt; n++) {
+			_stripes[n] = new Stripe();
+		}
+		_mask = stripeCnt - 1;
+	}
+
+	/**
+	 * The number of stripes of this cache.
+	 */
+	int getConcurrency() {
+		return _stripes.length;
+	}
+
+	/**
+	 * The object to synchronize on before calling <code>sync</code> methods with the given key.
+	 */
+	Object lock(ObjectKey key) {
+		return stripe(key);
+	}
+
+	private Stripe stripe(ObjectKey key) {
+		int h = key.hashCode();
+		return _stripes[(h ^ (h >>> 16)) & _mask];
+	}
+
+	/**
+	 * Creates a new {@link IDReference} that is enqueued into this cache's reference queue when
+	 * the given item is garbage collected.
+	 */
+	IDReference newReference(KnowledgeItemInternal item, DBObjectKey identity) {
+		return new IDReference(item, _danglingReferences, identity);
+	}
+
+	/**
+	 * Drops garbage collected entries and looks up the object with the given identity.
+	 *
+	 * @see #syncLookup(ObjectKey, long, boolean)
+	 */
+	KnowledgeItemInternal lookup(ObjectKey identity, long lookupRevision, boolean getDeleted) {
+		cleanupReferences();
+
+		synchronized (lock(identity)) {
+			KnowledgeItemInternal result = syncLookup(identity, lookupRevision, getDeleted);
+			if (result != null) {
+				syncTouch(result);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Records an access to the given item that was resolved without a cache lookup.
+	 *
+	 * <p>
+	 * An item that is resolved directly through the cache reference of its key must be recorded
+	 * as well. Otherwise, frequently used objects would never be considered hot. Since this
+	 * happens on every resolve, no lock is acquired. Instead, the access is
+	 * {@link IDReference#markAccessed() marked} at the cache reference and considered by the
+	 * {@link HotSet}, when an object is selected for being demoted.
+	 * </p>
+	 *
+	 * <p>
+	 * An object that is not in the {@link HotSet} is not admitted by such access. As long as it
+	 * is resolved through the cache reference, it is not yet reclaimed by the garbage collector.
+	 * Otherwise, it is loaded and recorded again.
+	 * </p>
+	 */
+	void touch(KnowledgeItemInternal item) {
+		if (_policy == CachePolicy.SOFT) {
+			return;
+		}
+		IDReference reference = item.tId().getReference();
+		if (reference != null) {
+			reference.markAccessed();
+		}
+	}
+
+	/**
+	 * Records an access to the given cached item in the {@link HotSet} of its stripe.
+	 */
+	private void syncTouch(KnowledgeItemInternal item) {
+		if (_policy == CachePolicy.SOFT) {
+			return;
+		}
+		DBObjectKey identity = item.tId();
+		stripe(identity).hotSet(identity.getObjectType()).touch(identity, item);
+	}
+
+	/**
+	 * Looks up the object with the given identity from the cache.
+	 *
+	 * @param identity
+	 *        The identity of the object to be returned.
+	 * @param lookupRevision
+	 *        The revision in which the lookup occurs.
+	 * @param getDeleted
+	 *        Whether objects that are deleted in the given revision must be reported.
+	 * @return The object found in the cache or <code>null</code>, if the object is not cached.
+	 */
+	KnowledgeItemInternal syncLookup(ObjectKey identity, long lookupRevision, boolean getDeleted) {
+		Stripe stripe = stripe(identity);
+		Object cacheEntry = stripe.get(identity);
+		if (cacheEntry instanceof IDReference) {
+			IDReference reference = (IDReference) cacheEntry;
+			KnowledgeItemInternal result = reference.get();
+			if (result == null) {
+				// Drop garbage collected reference.
+				stripe.remove(identity);
+
+				// Mark reference as already processed. If it is found later in
+				// its reference queue, it is silently dropped.
+				reference.destroy();
+			}
+
+			if (!getDeleted && isDeleted(result, lookupRevision)) {
+				return null;
+			}
+
+			return result;
+		} else if (cacheEntry instanceof CacheValidity) {
+			CacheValidity validity = (CacheValidity) cacheEntry;
+			if (lookupRevision > validity.maxValidity()) {
+				// session to new
+				return null;
+			}
+			while (true) {
+				CacheValidity formerValidity = validity.formerValidity();
+				if (formerValidity == null) {
+					// No former validity with valid data for session.
+					break;
+				}
+				if (lookupRevision > formerValidity.maxValidity()) {
+					// session to new for former validity.
+					break;
+				}
+				validity = formerValidity;
+			}
+			KnowledgeItemInternal cachedObject = validity.getReference().get();
+			if (!getDeleted && isDeleted(cachedObject, lookupRevision)) {
+				return null;
+			}
+			return cachedObject;
+		} else {
+			return null;
+		}
+	}
+
+	private static boolean isDeleted(KnowledgeItemInternal item, long lookupRevision) {
+		if (item instanceof DBKnowledgeItem) {
+			// only current objects can be deleted.
+			return !((DBKnowledgeItem) item).valuesAlive(lookupRevision).isAlive();
+		}
+		return false;
+	}
+
+	/**
+	 * Drops garbage collected entries and inserts the given item into the cache.
+	 *
+	 * @see #syncInsert(KnowledgeItemInternal, long)
+	 */
+	void insert(KnowledgeItemInternal item, long revision) {
+		cleanupReferences();
+
+		synchronized (lock(item.tId())) {
+			syncInsert(item, revision);
+		}
+	}
+
+	/**
+	 * Inserts the given item into the cache, if there is no other version of the same object
+	 * visible in the given revision.
+	 *
+	 * @param item
+	 *        The item to insert.
+	 * @param revision
+	 *        The revision from which on the given item is valid.
+	 * @return The item that was already cached, or <code>null</code>, if the given item has been
+	 *         inserted.
+	 */
+	KnowledgeItemInternal insertIfAbsent(KnowledgeItemInternal item, long revision) {
+		cleanupReferences();
+
+		DBObjectKey identity = item.tId();
+		synchronized (lock(identity)) {
+			KnowledgeItemInternal cached = syncLookup(identity, revision, false);
+			if (cached != null) {
+				return cached;
+			}
+			syncInsert(item, revision);
+			return null;
+		}
+	}
+
+	/**
+	 * Inserts the given item into the cache.
+	 *
+	 * @param item
+	 *        The object to insert into the cache.
+	 * @param revision
+	 *        The revision from which on the given item is valid.
+	 */
+	void syncInsert(KnowledgeItemInternal item, long revision) {
+		// Create soft reference for building the GC-limited cache.
+		DBObjectKey identity = item.tId();
+
+		IDReference reference = newReference(item, identity);
+		identity.updateReference(reference);
+
+		Stripe stripe = stripe(identity);
+		Object clash = stripe.put(identity, reference);
+		if (clash != null) {
+			handleInsertClash(stripe, identity, reference, clash, revision);
+		}
+		syncTouch(item);
+	}
+
+	private static void handleInsertClash(Stripe stripe, DBObjectKey identity, IDReference reference, Object clash,
+			long revision) {
+		CacheValidity formerCacheValidity;
+		if (clash instanceof IDReference) {
+			KnowledgeItemInternal cachedItem = ((IDReference) clash).get();
+			if (cachedItem == null) {
+				/* old reference was cleared in the meanwhile. Inserted reference is the only valid
+				 * reference now. */
+				/* Actually this must not occur: As long as the update event for the delete session
+				 * exists, the reference can not be cleared. During finalization of the update event
+				 * the cache entry is actively removed. Therefore there is a hard reference (in the
+				 * update event) until the cache entry is removed. */
+				return;
+			}
+			formerCacheValidity = new CacheValidity((IDReference) clash, Revision.FIRST_REV, revision - 1);
+		} else {
+			formerCacheValidity = (CacheValidity) clash;
+			formerCacheValidity.updateMaxValidity(revision - 1);
+		}
+		CacheValidity newCacheValidity = new CacheValidity(reference, revision, Revision.CURRENT_REV);
+		newCacheValidity.setFormerValidity(formerCacheValidity);
+		// Remove entry as otherwise the old key is stored in cache.
+		stripe.remove(identity);
+		stripe.put(identity, newCacheValidity);
+	}
+
+	/**
+	 * Drop all those identities from cache, whose objects have been garbage collected.
+	 */
+	void cleanupReferences() {
+		while (true) {
+			IDReference reference = (IDReference) _danglingReferences.poll();
+			if (reference == null) {
+				break;
+			}
+
+			cleanupReference(reference);
+		}
+	}
+
+	/**
+	 * Removes the given reference from cache entries.
+	 *
+	 * @param reference
+	 *        The reference pointing to the removed object.
+	 */
+	void cleanupReference(IDReference reference) {
+		ObjectKey identity = reference.getIdentity();
+		if (identity == null) {
+			/* reference was removed before, e.g. by general cache cleanup or by removing it
+			 * explicit in cleanup action. */
+			return;
+		}
+
+		synchronized (lock(identity)) {
+			if (reference.getIdentity() == null) {
+				// Concurrently removed.
+				return;
+			}
+			syncRemoveCacheEntry(identity, reference);
+
+			// A deleted object must no longer be kept.
+			KnowledgeItemInternal item = reference.get();
+			if (item != null) {
+				syncRemoveRetained(item);
+			}
+
+			/* Mark reference as removed. */
+			reference.destroy();
+		}
+	}
+
+	private void syncRemoveRetained(KnowledgeItemInternal item) {
+		DBObjectKey identity = item.tId();
+		HotSet hotSet = stripe(identity)._hotSets.get(identity.getObjectType());
+		if (hotSet != null) {
+			hotSet.remove(identity, item);
+		}
+	}
+
+	/**
+	 * Removes the cache entry for the given key.
+	 *
+	 * @param referenceToRemove
+	 *        The corresponding reference pointing to the removed object.
+	 */
+	private void syncRemoveCacheEntry(ObjectKey identity, IDReference referenceToRemove) {
+		Stripe stripe = stripe(identity);
+		Object removed = stripe.remove(identity);
+		if (removed == null) {
+			/* Already removed. */
+			return;
+		}
+		if (removed == referenceToRemove) {
+			/* There is only one entry, which is the given one. */
+			return;
+		}
+		if (removed instanceof IDReference) {
+			/* This may happen in following situation: Object A is deleted (rev1), recreated, and
+			 * again deleted (rev2). GC first cleans rev2 which completely clears the cache for A.
+			 * Before rev1 can be cleaned by GC, A is recreated. In this case the cache entry is the
+			 * reference to the new A. */
+			return;
+		}
+
+		CacheValidity mostRecentValidity = ((CacheValidity) removed).removeEntryFor(referenceToRemove);
+		if (mostRecentValidity == null) {
+			/* No valid item found at all. */
+			return;
+		}
+
+		CacheValidity formerValidity = mostRecentValidity.formerValidity();
+		if (formerValidity == null) {
+			/* Only one cache entry. Cache reference directly */
+			IDReference newReference = mostRecentValidity.getReference();
+			stripe.put(newReference.getIdentity(), newReference);
+		} else {
+			stripe.put(mostRecentValidity.getReference().getIdentity(), mostRecentValidity);
+		}
+	}
+
+	/**
+	 * The number of entries in this cache.
+	 */
+	int size() {
+		int result = 0;
+		for (Stripe stripe : _stripes) {
+			synchronized (stripe) {
+				result += stripe.size();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The number of objects that are strongly referenced by this cache.
+	 *
+	 * @see CachePolicy
+	 */
+	int retainedSize() {
+		int result = 0;
+		for (Stripe stripe : _stripes) {
+			synchronized (stripe) {
+				for (HotSet hotSet : stripe._hotSets.values()) {
+					result += hotSet.size();
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Whether the object with the given identity is strongly referenced by this cache.
+	 *
+	 * @see CachePolicy
+	 */
+	boolean isRetained(DBObjectKey identity) {
+		synchronized (lock(identity)) {
+			HotSet hotSet = stripe(identity)._hotSets.get(identity.getObjectType());
+			return hotSet != null && hotSet.contains(identity);
+		}
+	}
+
+	/**
+	 * Removes all entries from this cache and detaches all keys from their cached objects.
+	 */
+	void clear() {
+		for (Stripe stripe : _stripes) {
+			List<DBObjectKey> keys;
+			synchronized (stripe) {
+				keys = new ArrayList<>(stripe.keySet());
+				stripe.clear();
+				stripe._hotSets.clear();
+			}
+			for (DBObjectKey key : keys) {
+				IDReference reference = key.getReference();
+				if (reference != null) {
+					reference.destroy();
+				}
+				key.updateReference(null);
+			}
+		}
+	}
+
+	/**
+	 * Single stripe of an {@link ItemCache}.
+	 *
+	 * <p>
+	 * The stripe map itself is used as monitor to guard its contents.
+	 * </p>
+	 */
+	private final class Stripe extends HashMap<DBObjectKey, Object> {
+
+		/**
+		 * Strongly referenced objects of this stripe by type.
+		 */
+		final Map<MetaObject, HotSet> _hotSets = new HashMap<>();
+
+		Stripe() {
+			super();
+		}
+
+		HotSet hotSet(MetaObject type) {
+			HotSet result = _hotSets.get(type);
+			if (result == null) {
+				// Distribute the capacity of the type over all stripes. The share of a stripe is
+				// rounded up. Otherwise, a capacity smaller than the number of stripes would leave
+				// most stripes without hot set. The total capacity is therefore exceeded by less
+				// than the number of stripes.
+				int stripeCnt = _stripes.length;
+				int typeCapacity = _capacity.applyAsInt(type);
+				int capacity = (typeCapacity + stripeCnt - 1) / stripeCnt;
+				result = HotSet.newHotSet(_policy, capacity);
+				_hotSets.put(type, result);
+			}
+			return result;
+		}
+
+	}
+
+}
@@ -0,0 +1,618 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.knowledge.service.db2;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.top_logic.basic.InteractionContext;
+import com.top_logic.basic.Logger;
+import com.top_logic.basic.col.TypedAnnotatable;
+import com.top_logic.basic.col.TypedAnnotatable.Property;
+import com.top_logic.basic.thread.ThreadContextManager;
+import com.top_logic.dob.MetaObject;
+import com.top_logic.knowledge.search.CompiledQuery;
+import com.top_logic.knowledge.service.KnowledgeBaseConfiguration;
+
+/**
+ * Counters and latency histograms of a {@link DBKnowledgeBase}.
+ *
+ * <p>
+ * The statistics are collected per table (the {@link MetaObject} of the accessed objects) and per
+ * operation (e.g. the execution of a {@link CompiledQuery} or the rebuild of a query cache). All
+ * counters are based on {@link LongAdder}s, recording a value does neither lock nor allocate, if
+ * the table and operation have been seen before. Therefore, statistics can be collected in
+ * production.
+ * </p>
+ *
+ * <p>
+ * Latencies are recorded into histograms with buckets of exponentially growing size (powers of two
+ * microseconds). Percentiles reported are the upper bounds of the bucket containing the requested
+ * rank.
+ * </p>
+ *
+ * @see KnowledgeBaseConfiguration#isCollectStatistics()
+ * @see DBKnowledgeBase#getStatistics()
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public final class KBStatistics implements KBStatisticsMXBean {
+
+	/**
+	 * Operation name for the execution of a {@link CompiledQuery}.
+	 */
+	public static final String QUERY = "query";
+
+	/**
+	 * Operation name for the execution of a {@link CompiledQuery} that failed.
+	 */
+	public static final String QUERY_FAILED = "query-failed";
+
+	/**
+	 * Operation name for loading a single object by its identifier after a cache miss.
+	 */
+	public static final String FETCH = "fetch";
+
+	/**
+	 * Operation name for reading a chunk of revisions from the history, e.g. during refetch.
+	 */
+	public static final String HISTORY_CHUNK = "history-chunk";
+
+	/**
+	 * Table name used for operations that are not bound to a single table.
+	 */
+	public static final String NO_TABLE = "-";
+
+	/**
+	 * Number of histogram buckets. The last bucket collects all values of more than 2^30
+	 * microseconds (approximately 18 minutes).
+	 */
+	private static final int BUCKET_CNT = 32;
+
+	/**
+	 * Number of queries executed in the current {@link InteractionContext}.
+	 */
+	private static final Property<LongAdder> REQUEST_QUERIES =
+		TypedAnnotatable.property(LongAdder.class, "kbRequestQueries");
+
+	private final boolean _enabled;
+
+	private final ConcurrentHashMap<String, TableCounters> _tables = new ConcurrentHashMap<>();
+
+	private final LongAdder _historyRevisions = new LongAdder();
+
+	private final LongAdder _historyEvents = new LongAdder();
+
+	private final LongAdder _historyReadAhead = new LongAdder();
+
+	private final LongAdder _avoidedFetches = new LongAdder();
+
+	private ObjectName _jmxName;
+
+	/**
+	 * Creates a {@link KBStatistics}.
+	 *
+	 * @param enabled
+	 *        Whether values are recorded at all. If <code>false</code>, all recording methods
+	 *        return immediately.
+	 */
+	KBStatistics(boolean enabled) {
+		_enabled = enabled;
+	}
+
+	/**
+	 * Publishes this instance in the platform MBean server.
+	 *
+	 * @param kbName
+	 *        The name of the {@link DBKnowledgeBase} this instance belongs to.
+	 *
+	 * @see KBStatisticsMXBean
+	 */
+	void register(String kbName) {
+		if (!_enabled) {
+			return;
+		}
+		try {
+			ObjectName jmxName =
+				new ObjectName("com.top_logic:type=KnowledgeBase,name=" + ObjectName.quote(kbName));
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			if (server.isRegistered(jmxName)) {
+				// Left over from a previous start in the same VM.
+				server.unregisterMBean(jmxName);
+			}
+			server.registerMBean(this, jmxName);
+			_jmxName = jmxName;
+		} catch (JMException ex) {
+			Logger.warn("Cannot publish statistics of knowledge base '" + kbName + "'.", ex, KBStatistics.class);
+		}
+	}
+
+	/**
+	 * Removes this instance from the platform MBean server.
+	 *
+	 * @see #register(String)
+	 */
+	void unregister() {
+		if (_jmxName == null) {
+			return;
+		}
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(_jmxName);
+		} catch (JMException ex) {
+			Logger.warn("Cannot remove statistics '" + _jmxName + "'.", ex, KBStatistics.class);
+		}
+		_jmxName = null;
+	}
+
+	/**
+	 * Whether statistics are collected.
+	 */
+	@Override
+	public boolean isEnabled() {
+		return _enabled;
+	}
+
+	/**
+	 * Records a lookup of an object of the given table that was answered from the cache.
+	 */
+	void cacheHit(MetaObject table) {
+		if (!_enabled) {
+			return;
+		}
+		tableCounters(table)._hits.increment();
+	}
+
+	/**
+	 * Records a lookup of an object of the given table that had to be answered from the database.
+	 */
+	void cacheMiss(MetaObject table) {
+		if (!_enabled) {
+			return;
+		}
+		tableCounters(table)._misses.increment();
+	}
+
+	/**
+	 * Start time for an operation to record with {@link #record(MetaObject, String, long)}.
+	 */
+	long start() {
+		return _enabled ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Records the latency of an operation.
+	 *
+	 * @param table
+	 *        The table the operation was performed on, <code>null</code> if the operation is not
+	 *        bound to a single table.
+	 * @param operation
+	 *        The operation performed, e.g. {@link #QUERY}.
+	 * @param startTime
+	 *        The value of {@link #start()} before the operation was started.
+	 */
+	void record(MetaObject table, String operation, long startTime) {
+		if (!_enabled) {
+			return;
+		}
+		long elapsed = System.nanoTime() - startTime;
+		tableCounters(table == null ? NO_TABLE : table.getName()).histogram(operation).add(elapsed);
+		if (QUERY.equals(operation) || QUERY_FAILED.equals(operation)) {
+			countRequestQuery();
+		}
+	}
+
+	private static void countRequestQuery() {
+		InteractionContext interaction = ThreadContextManager.getInteraction();
+		if (interaction == null) {
+			return;
+		}
+		LongAdder counter = interaction.get(REQUEST_QUERIES);
+		if (counter == null) {
+			counter = new LongAdder();
+			interaction.set(REQUEST_QUERIES, counter);
+		}
+		counter.increment();
+	}
+
+	/**
+	 * The number of queries (including failed ones) executed so far in the current
+	 * {@link InteractionContext}.
+	 *
+	 * <p>
+	 * A high number for a single request is a hint for a missing prefetch or a query executed
+	 * in a loop. If statistics are not {@link #isEnabled() enabled} or there is no current
+	 * interaction, the result is <code>0</code>.
+	 * </p>
+	 */
+	public long getRequestQueryCount() {
+		InteractionContext interaction = ThreadContextManager.getInteraction();
+		if (interaction == null) {
+			return 0;
+		}
+		LongAdder counter = interaction.get(REQUEST_QUERIES);
+		return counter == null ? 0 : counter.sum();
+	}
+
+	/**
+	 * Records that a chunk of revisions has been read from the history.
+	 *
+	 * @param revisions
+	 *        The number of revisions in the chunk.
+	 * @param events
+	 *        The number of item events read.
+	 */
+	void historyRead(long revisions, long events) {
+		if (!_enabled) {
+			return;
+		}
+		_historyRevisions.add(revisions);
+		_historyEvents.add(events);
+	}
+
+	/**
+	 * Adjusts the number of history chunks that are currently read ahead.
+	 *
+	 * @param delta
+	 *        <code>1</code> when reading ahead a chunk is started, <code>-1</code> when the chunk
+	 *        is consumed or dropped.
+	 */
+	void historyReadAhead(int delta) {
+		if (!_enabled) {
+			return;
+		}
+		_historyReadAhead.add(delta);
+	}
+
+	/**
+	 * Records database accesses that have been avoided by loading values of multiple objects in
+	 * bulk.
+	 *
+	 * @param count
+	 *        The number of objects whose values have been preloaded minus the number of queries
+	 *        required for preloading.
+	 */
+	public void recordAvoidedFetches(long count) {
+		if (!_enabled) {
+			return;
+		}
+		_avoidedFetches.add(count);
+	}
+
+	private TableCounters tableCounters(MetaObject table) {
+		return tableCounters(table.getName());
+	}
+
+	private TableCounters tableCounters(String name) {
+		TableCounters result = _tables.get(name);
+		if (result == null) {
+			result = _tables.computeIfAbsent(name, x -> new TableCounters());
+		}
+		return result;
+	}
+
+	@Override
+	public long getCacheHits() {
+		long result = 0;
+		for (TableCounters counters : _tables.values()) {
+			result += counters._hits.sum();
+		}
+		return result;
+	}
+
+	@Override
+	public long getCacheMisses() {
+		long result = 0;
+		for (TableCounters counters : _tables.values()) {
+			result += counters._misses.sum();
+		}
+		return result;
+	}
+
+	@Override
+	public double getCacheHitRatio() {
+		return ratio(getCacheHits(), getCacheMisses());
+	}
+
+	@Override
+	public long getQueryCount() {
+		long result = 0;
+		for (TableCounters counters : _tables.values()) {
+			Histogram histogram = counters._operations.get(QUERY);
+			if (histogram != null) {
+				result += histogram._count.sum();
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public long getHistoryRevisions() {
+		return _historyRevisions.sum();
+	}
+
+	@Override
+	public long getHistoryEvents() {
+		return _historyEvents.sum();
+	}
+
+	@Override
+	public long getHistoryChunksReadAhead() {
+		return _historyReadAhead.sum();
+	}
+
+	@Override
+	public long getAvoidedFetches() {
+		return _avoidedFetches.sum();
+	}
+
+	@Override
+	public List<CacheStatistics> getCacheStatistics() {
+		List<CacheStatistics> result = new ArrayList<>(_tables.size());
+		for (Entry<String, TableCounters> entry : _tables.entrySet()) {
+			TableCounters counters = entry.getValue();
+			long hits = counters._hits.sum();
+			long misses = counters._misses.sum();
+			if (hits + misses > 0) {
+				result.add(new CacheStatistics(entry.getKey(), hits, misses));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<LatencyStatistics> getLatencyStatistics() {
+		List<LatencyStatistics> result = new ArrayList<>();
+		for (Entry<String, TableCounters> table : _tables.entrySet()) {
+			for (Entry<String, Histogram> operation : table.getValue()._operations.entrySet()) {
+				result.add(operation.getValue().snapshot(table.getKey(), operation.getKey()));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void reset() {
+		_tables.clear();
+		_historyRevisions.reset();
+		_historyEvents.reset();
+		_avoidedFetches.reset();
+	}
+
+	static double ratio(long hits, long misses) {
+		long total = hits + misses;
+		return total == 0 ? 0.0 : ((double) hits) / total;
+	}
+
+	private static final class TableCounters {
+
+		final LongAdder _hits = new LongAdder();
+
+		final LongAdder _misses = new LongAdder();
+
+		final ConcurrentHashMap<String, Histogram> _operations = new ConcurrentHashMap<>();
+
+		Histogram histogram(String operation) {
+			Histogram result = _operations.get(operation);
+			if (result == null) {
+				result = _operations.computeIfAbsent(operation, x -> new Histogram());
+			}
+			return result;
+		}
+
+	}
+
+	private static final class Histogram {
+
+		final LongAdder _count = new LongAdder();
+
+		final LongAdder _totalNanos = new LongAdder();
+
+		final LongAccumulator _maxNanos = new LongAccumulator(Math::max, 0L);
+
+		final LongAdder[] _buckets = new LongAdder[BUCKET_CNT];
+
+		Histogram() {
+			for (int n = 0; n < BUCKET_CNT; n++) {
+				_buckets[n] = new LongAdder();
+			}
+		}
+
+		void add(long nanos) {
+			_count.increment();
+			_totalNanos.add(nanos);
+			_maxNanos.accumulate(nanos);
+			_buckets[bucket(nanos / 1000)].increment();
+		}
+
+		/**
+		 * The bucket for the given number of microseconds.
+		 *
+		 * <p>
+		 * Bucket <code>0</code> contains values below one microsecond, bucket <code>n</code>
+		 * values in the range <code>[2^(n-1), 2^n)</code>.
+		 * </p>
+		 */
+		private static int bucket(long micros) {
+			int bucket = 64 - Long.numberOfLeadingZeros(micros);
+			return Math.min(bucket, BUCKET_CNT - 1);
+		}
+
+		LatencyStatistics snapshot(String table, String operation) {
+			long[] buckets = new long[BUCKET_CNT];
+			long count = 0;
+			for (int n = 0; n < BUCKET_CNT; n++) {
+				buckets[n] = _buckets[n].sum();
+				count += buckets[n];
+			}
+			long totalMicros = _totalNanos.sum() / 1000;
+			return new LatencyStatistics(table, operation, count, count == 0 ? 0 : totalMicros / count,
+				percentile(buckets, count, 0.5), percentile(buckets, count, 0.95),
+				percentile(buckets, count, 0.99), _maxNanos.get() / 1000);
+		}
+
+		private static long percentile(long[] buckets, long count, double fraction) {
+			long rank = (long) Math.ceil(count * fraction);
+			long seen = 0;
+			for (int n = 0; n < BUCKET_CNT; n++) {
+				seen += buckets[n];
+				if (seen >= rank && seen > 0) {
+					return 1L << n;
+				}
+			}
+			return 0;
+		}
+	}
+
+	/**
+	 * Cache statistics of a single table.
+	 */
+	public static final class CacheStatistics {
+
+		private final String _table;
+
+		private final long _hits;
+
+		private final long _misses;
+
+		CacheStatistics(String table, long hits, long misses) {
+			_table = table;
+			_hits = hits;
+			_misses = misses;
+		}
+
+		/**
+		 * The name of the table.
+		 */
+		public String getTable() {
+			return _table;
+		}
+
+		/**
+		 * Number of object lookups answered from the cache.
+		 */
+		public long getHits() {
+			return _hits;
+		}
+
+		/**
+		 * Number of object lookups that required a database access.
+		 */
+		public long getMisses() {
+			return _misses;
+		}
+
+		/**
+		 * Fraction of lookups answered from the cache.
+		 */
+		public double getHitRatio() {
+			return ratio(_hits, _misses);
+		}
+	}
+
+	/**
+	 * Latency statistics of a single operation on a table.
+	 *
+	 * <p>
+	 * All times are in microseconds.
+	 * </p>
+	 */
+	public static final class LatencyStatistics {
+
+		private final String _table;
+
+		private final String _operation;
+
+		private final long _count;
+
+		private final long _average;
+
+		private final long _p50;
+
+		private final long _p95;
+
+		private final long _p99;
+
+		private final long _max;
+
+		LatencyStatistics(String table, String operation, long count, long average, long p50, long p95, long p99,
+				long max) {
+			_table = table;
+			_operation = operation;
+			_count = count;
+			_average = average;
+			_p50 = p50;
+			_p95 = p95;
+			_p99 = p99;
+			_max = max;
+		}
+
+		/**
+		 * The name of the table, or {@link KBStatistics#NO_TABLE}.
+		 */
+		public String getTable() {
+			return _table;
+		}
+
+		/**
+		 * The operation performed.
+		 */
+		public String getOperation() {
+			return _operation;
+		}
+
+		/**
+		 * Number of executions.
+		 */
+		public long getCount() {
+			return _count;
+		}
+
+		/**
+		 * Average duration of an execution.
+		 */
+		public long getAverage() {
+			return _average;
+		}
+
+		/**
+		 * Upper bound for the duration of half of the executions.
+		 */
+		public long getP50() {
+			return _p50;
+		}
+
+		/**
+		 * Upper bound for the duration of 95% of the executions.
+		 */
+		public long getP95() {
+			return _p95;
+		}
+
+		/**
+		 * Upper bound for the duration of 99% of the executions.
+		 */
+		public long getP99() {
+			return _p99;
+		}
+
+		/**
+		 * Longest duration of an execution.
+		 */
+		public long getMax() {
+			return _max;
+		}
+	}
+
+}
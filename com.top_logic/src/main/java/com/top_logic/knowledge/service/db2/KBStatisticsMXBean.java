@@ -0,0 +1,90 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.knowledge.service.db2;
+
+import java.util.List;
+
+import com.top_logic.knowledge.service.KnowledgeBaseConfiguration;
+import com.top_logic.knowledge.service.db2.KBStatistics.CacheStatistics;
+import com.top_logic.knowledge.service.db2.KBStatistics.LatencyStatistics;
+
+/**
+ * Management interface of {@link KBStatistics}.
+ *
+ * <p>
+ * The statistics of each {@link DBKnowledgeBase} are registered in the platform MBean server with
+ * the name <code>com.top_logic:type=KnowledgeBase,name=&lt;kb-name&gt;</code>.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public interface KBStatisticsMXBean {
+
+	/**
+	 * Whether statistics are collected.
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Total number of object lookups answered from the cache.
+	 */
+	long getCacheHits();
+
+	/**
+	 * Total number of object lookups that required a database access.
+	 */
+	long getCacheMisses();
+
+	/**
+	 * Fraction of object lookups answered from the cache.
+	 */
+	double getCacheHitRatio();
+
+	/**
+	 * Total number of executed database queries.
+	 */
+	long getQueryCount();
+
+	/**
+	 * Total number of revisions read from the history, e.g. during refetch.
+	 */
+	long getHistoryRevisions();
+
+	/**
+	 * Total number of item events read from the history.
+	 */
+	long getHistoryEvents();
+
+	/**
+	 * Number of history chunks that are currently read ahead.
+	 *
+	 * @see KnowledgeBaseConfiguration#getReplayParallelism()
+	 */
+	long getHistoryChunksReadAhead();
+
+	/**
+	 * Total number of database accesses avoided by preloading values of multiple objects in bulk.
+	 *
+	 * @see KBStatistics#recordAvoidedFetches(long)
+	 */
+	long getAvoidedFetches();
+
+	/**
+	 * Cache statistics per table.
+	 */
+	List<CacheStatistics> getCacheStatistics();
+
+	/**
+	 * Latency statistics per table and operation.
+	 */
+	List<LatencyStatistics> getLatencyStatistics();
+
+	/**
+	 * Drops all values collected so far.
+	 */
+	void reset();
+
+}
@@ -16,6 +16,8 @@ import com.top_logic.basic.Logger;
 import com.top_logic.basic.LongID;
 import com.top_logic.basic.col.CloseableIterator;
 import com.top_logic.basic.db.sql.CompiledStatement;
+import com.top_logic.basic.db.sql.SQLQuery;
+import com.top_logic.basic.db.sql.SQLStatement;
 import com.top_logic.basic.sql.DBHelper;
 import com.top_logic.basic.sql.PooledConnection;
 import com.top_logic.basic.sql.ResultSetBasedIterator;
@@ -23,6 +25,7 @@ import com.top_logic.dob.sql.DBAttribute;
 import com.top_logic.knowledge.objects.KnowledgeItem;
 import com.top_logic.knowledge.search.AbstractCompiledQuery;
 import com.top_logic.knowledge.search.BranchParam;
+import com.top_logic.knowledge.search.ExpressionFactory;
 import com.top_logic.knowledge.search.QueryArguments;
 import com.top_logic.knowledge.search.RangeParam;
 import com.top_logic.knowledge.search.RevisionQuery;
@@ -31,6 +34,7 @@ import com.top_logic.knowledge.service.Branch;
 import com.top_logic.knowledge.service.KnowledgeBase;
 import com.top_logic.knowledge.service.KnowledgeBaseRuntimeException;
 import com.top_logic.knowledge.service.Revision;
+import com.top_logic.knowledge.service.db2.expr.transform.sql.SQLBuilder;
 import com.top_logic.model.TLObject;
 import com.top_logic.util.TLContext;
 
@@ -49,17 +53,34 @@ final class MonomorphicSearch<E> extends AbstractCompiledQuery<E> {
 
 	private final CompiledStatement _sql;
 
+	/**
+	 * The search statement from which {@link #_sql} was created, <code>null</code> if the result
+	 * cannot be counted in the database.
+	 */
+	private final SQLStatement _select;
+
+	/**
+	 * The statement counting the results of {@link #_select}, <code>null</code> if not yet created.
+	 */
+	private volatile CompiledStatement _countSql;
+
 	/**
 	 * Whether the database result contains identifier and data.
 	 */
 	private final boolean _fullLoad;
 
-	MonomorphicSearch(DBKnowledgeBase kb, MOKnowledgeItemImpl resultType, RevisionQuery<E> monomorphicQuery, CompiledStatement sql, boolean fullLoad) {
+	MonomorphicSearch(DBKnowledgeBase kb, MOKnowledgeItemImpl resultType, RevisionQuery<E> monomorphicQuery,
+			CompiledStatement sql, SQLStatement select, boolean fullLoad) {
 		super(kb.getConnectionPool());
 		_kb = kb;
 		_resultType = resultType;
 		_monomorphicQuery = monomorphicQuery;
 		_sql = sql;
+		// Some databases do not support ordered sub-queries, limited results are counted by
+		// reading them.
+		boolean countable = monomorphicQuery.getRangeParam() == RangeParam.complete
+			&& monomorphicQuery.getOrder() == ExpressionFactory.NO_ORDER;
+		_select = countable ? select : null;
 		_fullLoad = fullLoad;
 	}
 
@@ -75,6 +96,74 @@ final class MonomorphicSearch<E> extends AbstractCompiledQuery<E> {
 		}
 	}
 
+	@Override
+	public int count(PooledConnection connection, RevisionQueryArguments queryArgs) {
+		if (_select == null) {
+			return super.count(connection, queryArgs);
+		}
+		checkRowArguments(RangeParam.complete, queryArgs.getStartRow(), queryArgs.getStopRow());
+
+		long itemRevision = queryArgs.getRequestedRevision();
+		long dataRevision;
+		if (itemRevision == Revision.CURRENT_REV) {
+			dataRevision = _kb.getDataRevision(queryArgs.getDataRevision());
+		} else {
+			dataRevision = itemRevision;
+		}
+		Branch requestedBranch =
+			QueryArguments.resolveRequestedBranch(queryArgs, _monomorphicQuery.getBranchParam(), _kb);
+		Object[] arguments =
+			_kb.addInternalArguments(_monomorphicQuery, requestedBranch, itemRevision, dataRevision, 0, -1,
+				queryArgs.getArguments());
+
+		KBStatistics statistics = _kb.getStatistics();
+		long startTime = statistics.start();
+		try {
+			int result = fetchCount(connection, arguments);
+			statistics.record(_resultType, KBStatistics.QUERY, startTime);
+			return result;
+		} catch (SQLException ex) {
+			statistics.record(_resultType, KBStatistics.QUERY_FAILED, startTime);
+			StringBuilder msg = new StringBuilder();
+			msg.append("Failed to count results of query '");
+			msg.append(_monomorphicQuery);
+			msg.append("' with arguments ");
+			msg.append(Arrays.toString(arguments));
+			msg.append(".");
+			throw new KnowledgeBaseRuntimeException(msg.toString(), ex);
+		}
+	}
+
+	private int fetchCount(PooledConnection readConnection, Object[] arguments) throws SQLException {
+		CompiledStatement countSql = countSql();
+		DBHelper sqlDialect = _kb.dbHelper;
+		int retry = sqlDialect.retryCount();
+		while (true) {
+			try (ResultSet resultSet = countSql.executeQuery(readConnection, arguments)) {
+				if (!resultSet.next()) {
+					return 0;
+				}
+				return resultSet.getInt(1);
+			} catch (SQLException ex) {
+				readConnection.closeConnection(ex);
+				if ((retry <= 0) || (!sqlDialect.canRetry(ex))) {
+					throw ex;
+				}
+				retry--;
+			}
+		}
+	}
+
+	private CompiledStatement countSql() {
+		CompiledStatement result = _countSql;
+		if (result == null) {
+			result = SQLQuery.toSql(_kb.dbHelper, SQLBuilder.createRevisionCountSQL(_select),
+				_monomorphicQuery.getArgumentIndexByName());
+			_countSql = result;
+		}
+		return result;
+	}
+
 	private BufferingCloseableIterator<E> createResult(PooledConnection connection, RevisionQueryArguments queryArgs) {
 		RangeParam rangeParam = _monomorphicQuery.getRangeParam();
 		int startRowArg = queryArgs.getStartRow();
@@ -119,10 +208,15 @@ final class MonomorphicSearch<E> extends AbstractCompiledQuery<E> {
 			_kb.addInternalArguments(_monomorphicQuery, requestedBranch, itemRevision, dataRevision,
 				startRow, stopRow, queryArgs.getArguments());
 
+		KBStatistics statistics = _kb.getStatistics();
+		long startTime = statistics.start();
 		try {
-			return fetchData(connection, itemRevision, dataRevision, startRow, stopRow, requestedBranch, arguments);
-
+			BufferingCloseableIterator<E> result =
+				fetchData(connection, itemRevision, dataRevision, startRow, stopRow, requestedBranch, arguments);
+			statistics.record(_resultType, KBStatistics.QUERY, startTime);
+			return result;
 		} catch (SQLException ex) {
+			statistics.record(_resultType, KBStatistics.QUERY_FAILED, startTime);
 			StringBuilder msg = new StringBuilder();
 			msg.append("Failed to execute query '");
 			msg.append(_monomorphicQuery);
@@ -6,11 +6,19 @@
 package com.top_logic.knowledge.service.db2;
 
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.top_logic.basic.Logger;
+import com.top_logic.basic.sql.ConnectionPool;
 import com.top_logic.knowledge.event.AbstractEventReader;
 import com.top_logic.knowledge.event.EventReader;
 import com.top_logic.knowledge.event.ItemEvent;
@@ -24,10 +32,32 @@ import com.top_logic.knowledge.service.KnowledgeBaseRuntimeException;
  * {@link ItemEventReader} and sorts them by revision order before returning
  * them.
  * 
+ * <p>
+ * If an {@link Executor} is given, up to <code>parallelism</code> chunks following the chunk
+ * currently returned are read ahead concurrently, each using its own database connection. The
+ * events are nevertheless returned chunk by chunk in revision order.
+ * </p>
+ * 
+ * <p>
+ * Reading ahead is limited to the {@link ConnectionPool#getFreeReadConnections() free
+ * connections} of the pool. If no connection is free, the next chunk is read on demand using the
+ * connection of the calling thread, so that reading ahead never waits for connections held by
+ * other users of the pool.
+ * </p>
+ * 
+ * <p>
+ * The progress of reading is recorded in the {@link KBStatistics} of the knowledge base.
+ * </p>
+ * 
  * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
  */
 public class OrderedItemEventReader extends AbstractEventReader<ItemEvent> {
 
+	/**
+	 * Minimum time in milliseconds between two progress messages.
+	 */
+	private static final long PROGRESS_LOG_INTERVAL = 10 * 1000;
+
 	private final DBKnowledgeBase kb;
 	private final boolean keepOldValues;
 	private final long stopRev;
@@ -35,7 +65,39 @@ public class OrderedItemEventReader extends AbstractEventReader<ItemEvent> {
 	private final Set<String> typeNameFilter;
 	private final Set<Long> branchFilter;
 	private final Comparator<? super ItemEvent> order;
-	
+
+	/**
+	 * Executor for reading chunks ahead, <code>null</code> for reading chunks on demand.
+	 */
+	private final Executor _prefetch;
+
+	private final int _parallelism;
+
+	private final KBStatistics _statistics;
+
+	/**
+	 * Chunks that are currently read ahead, in revision order.
+	 */
+	private final ArrayDeque<Chunk> _pending = new ArrayDeque<>();
+
+	/**
+	 * Number of chunks scheduled for reading ahead that have not yet borrowed a connection.
+	 */
+	private final AtomicInteger _waiting = new AtomicInteger();
+
+	/**
+	 * The stop revision of the last chunk scheduled for reading ahead.
+	 */
+	private long _scheduledStopRev;
+
+	private final long _startRev;
+
+	private long _eventCnt;
+
+	private long _startTime;
+
+	private long _lastProgressLog;
+
 	private long chunkStartRev;
 	private long chunkStopRev;
 	private boolean lastChunk;
@@ -67,11 +129,34 @@ public class OrderedItemEventReader extends AbstractEventReader<ItemEvent> {
 	public OrderedItemEventReader(DBKnowledgeBase kb, boolean keepOldValues, long startRev, long stopRev,
 			long chunkSize, Set<String> typeNameFilter, Set<Long> branchFilter, Comparator<? super ItemEvent> order)
 			throws SQLException {
+		this(kb, keepOldValues, startRev, stopRev, chunkSize, typeNameFilter, branchFilter, order, null, 1);
+	}
+
+	/**
+	 * Creates a {@link OrderedItemEventReader} that reads chunks ahead.
+	 * 
+	 * @param prefetch
+	 *        The {@link Executor} that reads chunks ahead. <code>null</code> means that chunks are
+	 *        read on demand.
+	 * @param parallelism
+	 *        The maximum number of chunks that are read ahead concurrently.
+	 * 
+	 * @see #OrderedItemEventReader(DBKnowledgeBase, boolean, long, long, long, Set, Set,
+	 *      Comparator)
+	 */
+	public OrderedItemEventReader(DBKnowledgeBase kb, boolean keepOldValues, long startRev, long stopRev,
+			long chunkSize, Set<String> typeNameFilter, Set<Long> branchFilter, Comparator<? super ItemEvent> order,
+			Executor prefetch, int parallelism) throws SQLException {
 		this.kb = kb;
 		this.keepOldValues = keepOldValues;
 		this.chunkStartRev = startRev;
 		this.chunkStopRev = startRev;
 		this.order = order;
+		_prefetch = parallelism > 1 ? prefetch : null;
+		_parallelism = parallelism;
+		_statistics = kb.getStatistics();
+		_startRev = startRev;
+		_scheduledStopRev = startRev;
 		
 		this.stopRev = stopRev;
 		
@@ -95,11 +180,19 @@ public class OrderedItemEventReader extends AbstractEventReader<ItemEvent> {
 	}
 
 	private void init() throws SQLException {
+		_startTime = System.currentTimeMillis();
+		_lastProgressLog = _startTime;
 		nextChunk();
 	}
 	
 	private void cleanup() {
-		// No allocated resources.
+		// Chunks read ahead are no longer required. Running readers close their connections on
+		// their own.
+		for (Chunk chunk : _pending) {
+			chunk._events.cancel(false);
+			_statistics.historyReadAhead(-1);
+		}
+		_pending.clear();
 	}
 
 	private void nextChunk() throws SQLException {
@@ -113,19 +206,37 @@ public class OrderedItemEventReader extends AbstractEventReader<ItemEvent> {
 		this.pos = 0;
 		
 		while (true) {
-			this.chunkStartRev = this.chunkStopRev;
-			this.chunkStopRev = Math.min(stopRev, this.chunkStartRev + chunkSize);
-			
-			ItemEventReader chunkReader = new ItemEventReader(kb, keepOldValues, chunkStartRev, chunkStopRev, typeNameFilter, branchFilter);
-			try {
-				ItemEvent event;
-				while ((event = chunkReader.readEvent()) != null) {
-					buffer.add(event);
+			if (_prefetch == null) {
+				this.chunkStartRev = this.chunkStopRev;
+				this.chunkStopRev = Math.min(stopRev, this.chunkStartRev + chunkSize);
+
+				readChunk(buffer, chunkStartRev, chunkStopRev);
+			} else {
+				schedulePrefetch();
+				Chunk chunk = _pending.poll();
+				if (chunk == null) {
+					this.chunkStartRev = _scheduledStopRev;
+					this.chunkStopRev = Math.min(stopRev, this.chunkStartRev + chunkSize);
+					_scheduledStopRev = this.chunkStopRev;
+
+					// Either the revision range is empty, or there is no free connection for
+					// reading ahead.
+					if (this.chunkStopRev > this.chunkStartRev) {
+						readChunk(buffer, chunkStartRev, chunkStopRev);
+					}
+				} else {
+					_statistics.historyReadAhead(-1);
+					this.chunkStartRev = chunk._startRev;
+					this.chunkStopRev = chunk._stopRev;
+
+					// Keep the pipeline filled while waiting for the current chunk.
+					schedulePrefetch();
+					buffer.addAll(chunk.get());
 				}
-			} finally {
-				chunkReader.close();
 			}
-			Collections.sort(buffer, order);
+			_eventCnt += buffer.size();
+			_statistics.historyRead(this.chunkStopRev - this.chunkStartRev, buffer.size());
+			logProgress();
 			
 			this.lastChunk = this.chunkStopRev >= this.stopRev;
 			if (lastChunk) {
@@ -142,6 +253,75 @@ public class OrderedItemEventReader extends AbstractEventReader<ItemEvent> {
 		}
 	}
 
+	private ArrayList<ItemEvent> readChunk(long start, long stop) throws SQLException {
+		ArrayList<ItemEvent> result = new ArrayList<>();
+		readChunk(result, start, stop);
+		return result;
+	}
+
+	private void readChunk(ArrayList<ItemEvent> result, long start, long stop) throws SQLException {
+		long startTime = _statistics.start();
+		ItemEventReader chunkReader =
+			new ItemEventReader(kb, keepOldValues, start, stop, typeNameFilter, branchFilter);
+		try {
+			ItemEvent event;
+			while ((event = chunkReader.readEvent()) != null) {
+				result.add(event);
+			}
+		} finally {
+			chunkReader.close();
+		}
+		_statistics.record(null, KBStatistics.HISTORY_CHUNK, startTime);
+		Collections.sort(result, order);
+	}
+
+	private void schedulePrefetch() {
+		while (_pending.size() < _parallelism && _scheduledStopRev < stopRev && hasFreeConnection()) {
+			long start = _scheduledStopRev;
+			long stop = Math.min(stopRev, start + chunkSize);
+			_scheduledStopRev = stop;
+
+			_waiting.incrementAndGet();
+			FutureTask<ArrayList<ItemEvent>> task = new FutureTask<>(() -> {
+				_waiting.decrementAndGet();
+				return readChunk(start, stop);
+			});
+			_prefetch.execute(task);
+			_pending.add(new Chunk(start, stop, task));
+			_statistics.historyReadAhead(1);
+		}
+	}
+
+	/**
+	 * Whether another chunk can be read ahead without waiting for a connection.
+	 * 
+	 * <p>
+	 * Chunks that are scheduled but not yet started will borrow a connection, too. One
+	 * connection is left for the calling thread and other users of the pool.
+	 * </p>
+	 */
+	private boolean hasFreeConnection() {
+		return kb.getConnectionPool().getFreeReadConnections() - _waiting.get() > 1;
+	}
+
+	private void logProgress() {
+		long now = System.currentTimeMillis();
+		if (now - _lastProgressLog < PROGRESS_LOG_INTERVAL) {
+			return;
+		}
+		_lastProgressLog = now;
+
+		long total = stopRev - _startRev;
+		if (total <= 0) {
+			return;
+		}
+		long done = chunkStopRev - _startRev;
+		long elapsed = now - _startTime;
+		Logger.info("Reading history: " + done + " of " + total + " revisions (" + (done * 100 / total) + "%), "
+			+ _eventCnt + " events, " + (_eventCnt * 1000 / Math.max(1, elapsed)) + " events/s, "
+			+ _pending.size() + " chunks read ahead.", OrderedItemEventReader.class);
+	}
+
 	@Override
 	public ItemEvent readEvent() {
 		try {
@@ -160,4 +340,45 @@ public class OrderedItemEventReader extends AbstractEventReader<ItemEvent> {
 		cleanup();
 	}
 
+	/**
+	 * Range of revisions that is read ahead.
+	 */
+	private static final class Chunk {
+
+		final long _startRev;
+
+		final long _stopRev;
+
+		final Future<ArrayList<ItemEvent>> _events;
+
+		Chunk(long startRev, long stopRev, Future<ArrayList<ItemEvent>> events) {
+			_startRev = startRev;
+			_stopRev = stopRev;
+			_events = events;
+		}
+
+		ArrayList<ItemEvent> get() throws SQLException {
+			try {
+				return _events.get();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new KnowledgeBaseRuntimeException("Interrupted while reading revisions " + _startRev
+					+ " to " + _stopRev + ".", ex);
+			} catch (ExecutionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof SQLException) {
+					throw (SQLException) cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new KnowledgeBaseRuntimeException("Reading revisions " + _startRev + " to " + _stopRev
+					+ " failed.", cause);
+			}
+		}
+	}
+
 }
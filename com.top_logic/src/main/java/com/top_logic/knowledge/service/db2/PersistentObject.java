@@ -90,6 +90,12 @@ public abstract class PersistentObject extends AbstractTLObject implements Seria
 	 * Note: This method is called for both, current and historic objects.
 	 * </p>
 	 * 
+	 * <p>
+	 * Note: If the same object is loaded concurrently by multiple threads, this method may also
+	 * be called for a copy that is dropped afterwards. An implementation must therefore not
+	 * register this object anywhere.
+	 * </p>
+	 * 
 	 * @see #handleDelete()
 	 */
 	protected void handleLoad() {
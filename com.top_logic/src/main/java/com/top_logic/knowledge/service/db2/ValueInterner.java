@@ -0,0 +1,208 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.knowledge.service.db2;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.top_logic.basic.LongID;
+import com.top_logic.knowledge.service.KnowledgeBaseConfiguration;
+
+/**
+ * Canonicalizer for immutable attribute values of cached {@link DBKnowledgeItem}s.
+ *
+ * <p>
+ * When loading objects from the database, the JDBC driver creates a fresh boxed value for each
+ * column of each row. If many objects share the same values (e.g. classifiers, references to the
+ * same object, flags, names of states), each cached object holds its own copy of such value. The
+ * {@link ValueInterner} replaces those values with a single canonical instance that is shared by
+ * all cached objects.
+ * </p>
+ *
+ * <p>
+ * The number of canonical instances is bounded. If the capacity is exceeded, the least recently
+ * used canonical instance is dropped. Values with many distinct occurrences (e.g. unique names or
+ * identifiers of the objects themselves) are therefore not kept, only values that occur
+ * frequently stay in the interner. Dropping a canonical instance only means that later loaded
+ * equal values are no longer shared with the ones loaded before.
+ * </p>
+ *
+ * <p>
+ * Only values of immutable types that occur frequently are canonicalized: short {@link String}s
+ * (e.g. names of states) and {@link LongID}s (references to the same objects). Numbers and
+ * characters are replaced by the instances cached by their <code>valueOf()</code> methods without
+ * taking a lock. Other values (e.g. {@link java.util.Date}s, which are mutable, and decimal numbers,
+ * which rarely repeat) are kept as loaded. The interner is guarded by independent locks for
+ * disjoint sets of values to allow concurrent loading.
+ * </p>
+ *
+ * @see KnowledgeBaseConfiguration#isCompactValues()
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+final class ValueInterner {
+
+	/**
+	 * Maximum length of {@link String}s to canonicalize.
+	 *
+	 * <p>
+	 * Long texts are typically unique. Canonicalizing them would only waste space in the interner.
+	 * </p>
+	 */
+	static final int MAX_STRING_LENGTH = 256;
+
+	private final Stripe[] _stripes;
+
+	private final int _mask;
+
+	/**
+	 * Creates a {@link ValueInterner}.
+	 *
+	 * @param concurrency
+	 *        The minimum number of independently locked segments. The value is rounded up to the
+	 *        next power of two.
+	 * @param capacity
+	 *        The maximum number of canonical instances to keep.
+	 */
+	ValueInterner(int concurrency, int capacity) {
+		int stripeCnt = 1;
+		while (stripeCnt < concurrency) {
+			stripeCnt <<= 1;
+		}
+		_stripes = new Stripe[stripeCnt];
+		for (int n = 0; n < stripeCnt; n++) {
+			// Distribute the capacity without exceeding it in total.
+			int stripeCapacity = capacity / stripeCnt + (n < capacity % stripeCnt ? 1 : 0);
+			_stripes[n] = new Stripe(stripeCapacity);
+		}
+		_mask = stripeCnt - 1;
+	}
+
+	/**
+	 * Creates a copy of the given storage with all values replaced by their canonical instances.
+	 *
+	 * @param storage
+	 *        The values of an object. The array is not modified.
+	 * @return A new array with the canonical instances of the given values.
+	 */
+	Object[] internAll(Object[] storage) {
+		int cnt = storage.length;
+		Object[] result = new Object[cnt];
+		for (int n = 0; n < cnt; n++) {
+			result[n] = intern(storage[n]);
+		}
+		return result;
+	}
+
+	/**
+	 * The canonical instance for the given value.
+	 *
+	 * @param value
+	 *        An arbitrary value, may be <code>null</code>.
+	 * @return A value equal to the given one. The given value itself, if it is not of a type that
+	 *         is canonicalized, or it is the first occurrence of this value.
+	 */
+	Object intern(Object value) {
+		if (value == null) {
+			return null;
+		}
+		Class<?> type = value.getClass();
+		if (type == String.class) {
+			if (((String) value).length() > MAX_STRING_LENGTH) {
+				return value;
+			}
+		} else if (type != LongID.class) {
+			return valueOf(value);
+		}
+
+		int h = value.hashCode();
+		Stripe stripe = _stripes[(h ^ (h >>> 16)) & _mask];
+		synchronized (stripe) {
+			if (stripe._capacity == 0) {
+				return value;
+			}
+			Object canonical = stripe.putIfAbsent(value, value);
+			return canonical != null ? canonical : value;
+		}
+	}
+
+	/**
+	 * The instance of the given value that is cached by the JVM, or the value itself, if there is
+	 * no such cached instance.
+	 */
+	private static Object valueOf(Object value) {
+		Class<?> type = value.getClass();
+		if (type == Boolean.class) {
+			return Boolean.valueOf(((Boolean) value).booleanValue());
+		}
+		if (type == Byte.class) {
+			return Byte.valueOf(((Byte) value).byteValue());
+		}
+		if (type == Integer.class) {
+			int intValue = ((Integer) value).intValue();
+			return isCached(intValue) ? Integer.valueOf(intValue) : value;
+		}
+		if (type == Long.class) {
+			long longValue = ((Long) value).longValue();
+			return isCached(longValue) ? Long.valueOf(longValue) : value;
+		}
+		if (type == Short.class) {
+			short shortValue = ((Short) value).shortValue();
+			return isCached(shortValue) ? Short.valueOf(shortValue) : value;
+		}
+		if (type == Character.class) {
+			char charValue = ((Character) value).charValue();
+			return charValue <= 127 ? Character.valueOf(charValue) : value;
+		}
+		return value;
+	}
+
+	/**
+	 * Whether <code>valueOf()</code> of a boxed integer type returns a shared instance for the
+	 * given value.
+	 */
+	private static boolean isCached(long value) {
+		return value >= -128 && value <= 127;
+	}
+
+	/**
+	 * The number of canonical values currently known.
+	 */
+	int size() {
+		int result = 0;
+		for (Stripe stripe : _stripes) {
+			synchronized (stripe) {
+				result += stripe.size();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Single segment of a {@link ValueInterner}.
+	 *
+	 * <p>
+	 * The map itself is used as monitor to guard its contents. Entries are kept in access order to
+	 * drop the least recently used canonical instance, if the capacity is exceeded.
+	 * </p>
+	 */
+	private static final class Stripe extends LinkedHashMap<Object, Object> {
+
+		final int _capacity;
+
+		Stripe(int capacity) {
+			super(16, 0.75f, true);
+			_capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+			return size() > _capacity;
+		}
+
+	}
+
+}
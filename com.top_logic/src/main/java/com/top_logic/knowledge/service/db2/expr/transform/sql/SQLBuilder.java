@@ -30,6 +30,7 @@ import com.top_logic.basic.db.sql.SQLLimit;
 import com.top_logic.basic.db.sql.SQLLiteral;
 import com.top_logic.basic.db.sql.SQLOrder;
 import com.top_logic.basic.db.sql.SQLSelect;
+import com.top_logic.basic.db.sql.SQLSelectionStatement;
 import com.top_logic.basic.db.sql.SQLStatement;
 import com.top_logic.basic.db.sql.SQLTable;
 import com.top_logic.basic.db.sql.SQLTableReference;
@@ -187,6 +188,25 @@ public class SQLBuilder implements SymbolVisitor<SQLExpression, Symbol>, OrderVi
 			limit);
 	}
 
+	/**
+	 * Creates an {@link SQLStatement} counting the rows of the given revision search.
+	 * 
+	 * @param search
+	 *        The search statement created by
+	 *        {@link #createRevisionSearchSQL(DBHelper, TypeSystem, RevisionQuery, boolean)}. The
+	 *        statement is copied and not modified.
+	 * @return A statement with the same parameters as the given search that returns a single row
+	 *         with the number of search results.
+	 */
+	public static SQLStatement createRevisionCountSQL(SQLStatement search) {
+		SQLSelectionStatement countedSearch = (SQLSelectionStatement) copy(search);
+		return select(false,
+			Collections.singletonList(columnDef(count(), null)),
+			subQuery(countedSearch, "cnt"),
+			SQLBoolean.TRUE,
+			Collections.<SQLOrder> emptyList());
+	}
+
 	private static void addParameter(AbstractQuery<?> query, String newParam) {
 		Map<String, Integer> argumentIndexByName = query.getArgumentIndexByName();
 		int newIndex = argumentIndexByName.size();
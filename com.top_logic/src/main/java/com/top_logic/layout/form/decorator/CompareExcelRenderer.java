@@ -63,7 +63,7 @@ public class CompareExcelRenderer extends ExcelCellRendererProxy {
 	}
 
 	private CompareRowObject getCompareRow(RenderContext context) {
-		Object tableRowObject = context.model().getRowObject(context.modelRow());
+		Object tableRowObject = context.rowObject();
 		if (_treeTable) {
 			tableRowObject = ((TLTreeNode<?>) tableRowObject).getBusinessObject();
 		}
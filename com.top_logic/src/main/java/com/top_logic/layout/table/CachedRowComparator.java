@@ -0,0 +1,245 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.layout.table;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.top_logic.basic.col.ComparableComparator;
+import com.top_logic.basic.col.Equality;
+import com.top_logic.basic.col.InverseComparator;
+import com.top_logic.basic.col.MappedComparator;
+import com.top_logic.basic.col.Mapping;
+import com.top_logic.basic.thread.ThreadContext;
+
+/**
+ * {@link Comparator} for table rows that computes the sort key of each row and sort column only
+ * once.
+ *
+ * <p>
+ * Sorting by a column compares the values of the column's sort key provider with the column's
+ * value comparator. Computing such a value may be expensive (e.g. accessing a computed attribute
+ * or resolving a label). Since each row takes part in <code>O(log n)</code> comparisons when
+ * sorting <code>n</code> rows, the sort keys are computed on first access and cached for the
+ * lifetime of this comparator. Strings that are compared with a {@link Collator} (see
+ * {@link ComparableComparator} and {@link CellObjectCollator}) are additionally normalized to
+ * {@link CollationKey}s, which can be compared without analyzing the strings again.
+ * </p>
+ *
+ * <p>
+ * The order defined by this comparator is the order of {@link #getBaseOrder()}, as long as the
+ * sort keys of the compared rows do not change. The cached keys of changed rows must be dropped
+ * with {@link #invalidate(Collection)}.
+ * </p>
+ *
+ * <p>
+ * A comparator that is used as order of a table model lives as long as the sort order of the
+ * table does not change. The table model must drop the keys of removed rows with
+ * {@link #invalidate(Collection)} or {@link #clear()}, since the cache would otherwise keep all
+ * rows ever sorted.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public class CachedRowComparator implements Comparator<Object> {
+
+	/**
+	 * Marker for a sort key that has not yet been computed.
+	 */
+	private static final Object NOT_COMPUTED = new Object();
+
+	private final List<Level> _levels = new ArrayList<>();
+
+	/**
+	 * Cached sort keys indexed by row.
+	 *
+	 * <p>
+	 * For each {@link Level} the sort key array contains two entries: The value of the
+	 * {@link Level#_mapping} and its {@link CollationKey} or <code>null</code>, if the value is not
+	 * normalized.
+	 * </p>
+	 */
+	private final Map<Object, Object[]> _keys = new HashMap<>();
+
+	/**
+	 * Adds a sort column with lower priority than all columns added before.
+	 *
+	 * @param mapping
+	 *        Computes the sort value of a row.
+	 * @param valueOrder
+	 *        The order of the sort values.
+	 * @param inverse
+	 *        Whether the inverse of the given value order is used.
+	 * @return This instance for call chaining.
+	 */
+	public CachedRowComparator addLevel(Mapping<Object, ?> mapping, Comparator<?> valueOrder, boolean inverse) {
+		if (!_keys.isEmpty()) {
+			throw new IllegalStateException("Sort columns cannot be added after rows have been compared.");
+		}
+		_levels.add(new Level(mapping, valueOrder, inverse));
+		return this;
+	}
+
+	/**
+	 * Drops the cached sort keys of the given rows.
+	 *
+	 * <p>
+	 * Must be called for rows whose sort values may have changed.
+	 * </p>
+	 */
+	public void invalidate(Collection<?> rows) {
+		for (Object row : rows) {
+			_keys.remove(row);
+		}
+	}
+
+	/**
+	 * Drops all cached sort keys.
+	 */
+	public void clear() {
+		_keys.clear();
+	}
+
+	/**
+	 * The number of rows with cached sort keys.
+	 */
+	public int getCachedRowCount() {
+		return _keys.size();
+	}
+
+	/**
+	 * The equivalent {@link Comparator} that computes the sort values in each comparison.
+	 */
+	public Comparator<Object> getBaseOrder() {
+		Comparator<Object> result = Equality.INSTANCE;
+		for (int n = _levels.size() - 1; n >= 0; n--) {
+			Level level = _levels.get(n);
+			Comparator<?> valueOrder =
+				level._inverse ? new InverseComparator<>(level._valueOrder) : level._valueOrder;
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			Comparator<Object> mapped = new MappedComparator(level._mapping, valueOrder, result);
+			result = mapped;
+		}
+		return result;
+	}
+
+	@Override
+	public int compare(Object row1, Object row2) {
+		if (row1 == row2) {
+			return 0;
+		}
+		Object[] keys1 = keys(row1);
+		Object[] keys2 = keys(row2);
+		for (int n = 0, cnt = _levels.size(); n < cnt; n++) {
+			Level level = _levels.get(n);
+			int valueIndex = 2 * n;
+			int collationIndex = valueIndex + 1;
+			if (keys1[valueIndex] == NOT_COMPUTED) {
+				computeKey(level, keys1, valueIndex, row1);
+			}
+			if (keys2[valueIndex] == NOT_COMPUTED) {
+				computeKey(level, keys2, valueIndex, row2);
+			}
+
+			int result;
+			CollationKey collationKey1 = (CollationKey) keys1[collationIndex];
+			CollationKey collationKey2 = (CollationKey) keys2[collationIndex];
+			if (collationKey1 != null && collationKey2 != null) {
+				result = level._inverse ? collationKey2.compareTo(collationKey1) : collationKey1.compareTo(collationKey2);
+			} else {
+				result = level.compareValues(keys1[valueIndex], keys2[valueIndex]);
+			}
+			if (result != 0) {
+				return result;
+			}
+		}
+		return 0;
+	}
+
+	private Object[] keys(Object row) {
+		Object[] keys = _keys.get(row);
+		if (keys == null) {
+			keys = new Object[2 * _levels.size()];
+			Arrays.fill(keys, NOT_COMPUTED);
+			_keys.put(row, keys);
+		}
+		return keys;
+	}
+
+	private static void computeKey(Level level, Object[] keys, int valueIndex, Object row) {
+		Object value = level._mapping.map(row);
+		keys[valueIndex] = value;
+		keys[valueIndex + 1] = level.collationKey(value);
+	}
+
+	/**
+	 * A single sort column.
+	 */
+	private static final class Level {
+
+		final Mapping<Object, ?> _mapping;
+
+		@SuppressWarnings("rawtypes")
+		final Comparator _valueOrder;
+
+		final boolean _inverse;
+
+		/**
+		 * The {@link Collator} that is used by {@link #_valueOrder} for comparing {@link String}s,
+		 * or <code>null</code>, if the values are not normalized.
+		 */
+		private final Collator _collator;
+
+		private final CellObjectCollator _cellCollator;
+
+		Level(Mapping<Object, ?> mapping, Comparator<?> valueOrder, boolean inverse) {
+			_mapping = mapping;
+			_valueOrder = valueOrder;
+			_inverse = inverse;
+			if (valueOrder == ComparableComparator.INSTANCE) {
+				_collator = Collator.getInstance(ThreadContext.getLocale());
+				_cellCollator = null;
+			} else if (valueOrder instanceof CellObjectCollator cellCollator) {
+				_collator = null;
+				_cellCollator = cellCollator;
+			} else {
+				_collator = null;
+				_cellCollator = null;
+			}
+		}
+
+		/**
+		 * The {@link CollationKey} of the given sort value, or <code>null</code>, if the value must
+		 * be compared with {@link #_valueOrder}.
+		 */
+		CollationKey collationKey(Object value) {
+			if (_collator != null) {
+				if (value instanceof String string) {
+					return _collator.getCollationKey(string);
+				}
+			} else if (_cellCollator != null) {
+				if (value instanceof CellObject cell) {
+					return _cellCollator.getCollationKey(cell);
+				}
+			}
+			return null;
+		}
+
+		@SuppressWarnings("unchecked")
+		int compareValues(Object value1, Object value2) {
+			return _inverse ? _valueOrder.compare(value2, value1) : _valueOrder.compare(value1, value2);
+		}
+
+	}
+
+}
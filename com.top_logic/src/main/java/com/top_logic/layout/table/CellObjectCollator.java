@@ -5,6 +5,7 @@
  */
 package com.top_logic.layout.table;
 
+import java.text.CollationKey;
 import java.text.Collator;
 import java.util.Comparator;
 
@@ -24,6 +25,20 @@ public final class CellObjectCollator implements Comparator<CellObject> {
 		return collator.compare(o1.getValue(), o2.getValue());
 	}
 
+	/**
+	 * The {@link CollationKey} that represents the given {@link CellObject} in this order.
+	 * 
+	 * @return The key of the cell's value, or <code>null</code>, if the cell has no
+	 *         {@link String} value.
+	 */
+	public CollationKey getCollationKey(CellObject cell) {
+		Object value = cell.getValue();
+		if (value instanceof String) {
+			return collator.getCollationKey((String) value);
+		}
+		return null;
+	}
+
 	@Override
 	public int hashCode() {
 		return 31 * 1 + collator.hashCode();
@@ -5,12 +5,14 @@
  */
 package com.top_logic.layout.table;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 
 import com.top_logic.basic.col.Filter;
+import com.top_logic.basic.col.TupleFactory.Pair;
 import com.top_logic.basic.util.ResKey;
 import com.top_logic.layout.Control;
 import com.top_logic.layout.DisplayContext;
@@ -244,6 +246,17 @@ public class TableFilter implements Filter<Object>, TableFilterModelListener {
 		}
 	}
 
+	/**
+	 * Called at begin of an incremental revalidation of single changed rows.
+	 * 
+	 * @see ConfiguredFilter#startIncrementalRevalidation(boolean)
+	 */
+	public void startIncrementalRevalidation() {
+		for (ConfiguredFilter configuredFilter : getSubFilters()) {
+			configuredFilter.startIncrementalRevalidation(isMatchCountingEnabled());
+		}
+	}
+
 	/**
 	 * Called at the end of table model / filter revalidation process, used for cleanup of caches
 	 * and filter model updates.
@@ -267,6 +280,42 @@ public class TableFilter implements Filter<Object>, TableFilterModelListener {
 		}
 	}
 
+	/**
+	 * Same as {@link #count(Object)}, but additionally returns the counted outcome of all sub
+	 * filters.
+	 * 
+	 * @param value
+	 *        for that the counter shall be increased
+	 * @return The counted outcome to pass to {@link #uncount(Object)}.
+	 * 
+	 * @see ConfiguredFilter#countOutcome(Object)
+	 */
+	public Object countOutcome(Object value) {
+		List<ConfiguredFilter> subFilters = getAppropriateSubfilters(value);
+		List<Pair<ConfiguredFilter, Object>> outcome = new ArrayList<>(subFilters.size());
+		for (ConfiguredFilter configuredFilter : subFilters) {
+			outcome.add(new Pair<>(configuredFilter, configuredFilter.countOutcome(value)));
+		}
+		return outcome;
+	}
+
+	/**
+	 * Called, when internal matching {@link ConfiguredFilter}s, shall decrement the counters that
+	 * have been incremented by {@link #countOutcome(Object)} during an incremental revalidation.
+	 * 
+	 * @param outcome
+	 *        The result of {@link #countOutcome(Object)} for the value that is no longer counted.
+	 * 
+	 * @see #startIncrementalRevalidation()
+	 */
+	public void uncount(Object outcome) {
+		@SuppressWarnings("unchecked")
+		List<Pair<ConfiguredFilter, Object>> subFilterOutcomes = (List<Pair<ConfiguredFilter, Object>>) outcome;
+		for (Pair<ConfiguredFilter, Object> subFilterOutcome : subFilterOutcomes) {
+			subFilterOutcome.getFirst().uncount(subFilterOutcome.getSecond());
+		}
+	}
+
 	/**
 	 * Delegate to sub filters.
 	 */
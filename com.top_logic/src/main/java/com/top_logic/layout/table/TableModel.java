@@ -336,6 +336,28 @@ public interface TableModel {
 	 */
 	void revalidateFilterMatchCount();
 
+	/**
+	 * Applies the current filter and order to the given rows that have changed.
+	 * 
+	 * <p>
+	 * In contrast to {@link #setFilter(TableRowFilter, Comparator)}, only the given rows are
+	 * evaluated. A changed row is hidden, if it is no longer accepted by the {@link #getFilter()
+	 * filter}, and displayed, if it is now accepted. A displayed row is moved to its position
+	 * according to the current {@link #getOrder() order}. The filter match counts are updated by
+	 * the difference of the contributions of the changed rows.
+	 * </p>
+	 * 
+	 * <p>
+	 * The default implementation revalidates all rows.
+	 * </p>
+	 * 
+	 * @param rowObjects
+	 *        The changed rows. Rows that are not part of this model are ignored.
+	 */
+	default void revalidateRowObjects(Collection<?> rowObjects) {
+		setFilter(getFilter(), getOrder());
+	}
+
 	/**
 	 * The currently active sort order.
 	 */
@@ -7,9 +7,11 @@ package com.top_logic.layout.table;
 
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import com.top_logic.basic.col.Filter;
 import com.top_logic.basic.col.TupleFactory.Pair;
@@ -27,6 +29,28 @@ public class TableRowFilter implements Filter<Object> {
 	private List<ColumnFilterHolder> activeFilters;
 	private List<ColumnFilterHolder> visibleFilters;
 
+	/**
+	 * The {@link TableFilter#countOutcome(Object) outcomes} counted for each row during the last
+	 * revalidation, if match counting is enabled.
+	 * 
+	 * <p>
+	 * Required to remove the contribution of a row that has changed since it was counted, see
+	 * {@link #uncount(Object)}. The rows are referenced weakly, since rows that are no longer
+	 * displayed must not be kept alive by the filter.
+	 * </p>
+	 */
+	private final Map<Object, List<Pair<ColumnFilterHolder, Object>>> _countedValues = new WeakHashMap<>();
+
+	/**
+	 * Whether {@link #_countedValues} are recorded during the current revalidation.
+	 */
+	private boolean _recordCounts;
+
+	/**
+	 * Whether {@link #_countedValues} have been recorded during the last full revalidation.
+	 */
+	private boolean _countsRecorded;
+
 	/**
 	 * Create a new {@link TableRowFilter}.
 	 */
@@ -41,15 +65,64 @@ public class TableRowFilter implements Filter<Object> {
 	 * (e.g. allocation of caches).
 	 */
 	public void startFilterRevalidation() {
+		_countedValues.clear();
+		_recordCounts = _countsRecorded = isMatchCountingEnabled();
 		for (ColumnFilterHolder columnFilterHolder : columnFilterHolders) {
 			TableFilter filter = columnFilterHolder.getFilter();
 			filter.startFilterRevalidation();
-			if (filter.isActive()) {
-				activeFilters.add(columnFilterHolder);
-			} else {
-				visibleFilters.add(columnFilterHolder);
+			addFilter(columnFilterHolder);
+		}
+	}
+
+	/**
+	 * Called at begin of an incremental revalidation of single changed rows.
+	 * 
+	 * <p>
+	 * In contrast to {@link #startFilterRevalidation()}, the match counts of the last revalidation
+	 * are kept. Before a changed row is evaluated again with {@link #accept(Object)}, its
+	 * contribution to the match counts must be removed with {@link #uncount(Object)}. The
+	 * incremental revalidation is finished with {@link #stopFilterRevalidation()}.
+	 * </p>
+	 * 
+	 * @see #isIncrementalRevalidationPossible()
+	 */
+	public void startIncrementalRevalidation() {
+		_recordCounts = _countsRecorded;
+		for (ColumnFilterHolder columnFilterHolder : columnFilterHolders) {
+			TableFilter filter = columnFilterHolder.getFilter();
+			filter.startIncrementalRevalidation();
+			addFilter(columnFilterHolder);
+		}
+	}
+
+	private void addFilter(ColumnFilterHolder columnFilterHolder) {
+		if (columnFilterHolder.getFilter().isActive()) {
+			activeFilters.add(columnFilterHolder);
+		} else {
+			visibleFilters.add(columnFilterHolder);
+		}
+	}
+
+	/**
+	 * Whether match counts can be updated by {@link #startIncrementalRevalidation() an incremental
+	 * revalidation}.
+	 * 
+	 * <p>
+	 * This is not the case, if match counting has been enabled after the last full revalidation,
+	 * since the contributions of the rows to the match counts are unknown.
+	 * </p>
+	 */
+	public boolean isIncrementalRevalidationPossible() {
+		return _countsRecorded || !isMatchCountingEnabled();
+	}
+
+	private boolean isMatchCountingEnabled() {
+		for (ColumnFilterHolder columnFilterHolder : columnFilterHolders) {
+			if (columnFilterHolder.getFilter().isMatchCountingEnabled()) {
+				return true;
 			}
 		}
+		return false;
 	}
 
 	/**
@@ -57,6 +130,12 @@ public class TableRowFilter implements Filter<Object> {
 	 * and filter model updates.
 	 */
 	public void stopFilterRevalidation() {
+		_recordCounts = false;
+		if (!isMatchCountingEnabled()) {
+			// No incremental update of counts will follow.
+			_countedValues.clear();
+			_countsRecorded = false;
+		}
 		activeFilters.clear();
 		visibleFilters.clear();
 		for (ColumnFilterHolder columnFilterHolder : columnFilterHolders) {
@@ -71,11 +150,60 @@ public class TableRowFilter implements Filter<Object> {
 		boolean isCountable =
 			allFilterMatching || (filterResult.areAllFilterApplicable() && filterResult.isSingleFilterDenial());
 		if (isCountable) {
-			count(filterResult);
+			count(filterResult, recordFor(value));
 		}
 		return allFilterMatching;
 	}
 
+	private List<Pair<ColumnFilterHolder, Object>> recordFor(Object row) {
+		if (!_recordCounts) {
+			return null;
+		}
+		List<Pair<ColumnFilterHolder, Object>> result = new ArrayList<>();
+		_countedValues.put(row, result);
+		return result;
+	}
+
+	/**
+	 * Whether any of the given rows has contributed to the match counts of the last
+	 * revalidation.
+	 * 
+	 * @see #uncount(Object)
+	 */
+	public boolean isCounted(Collection<?> rows) {
+		if (_countedValues.isEmpty()) {
+			return false;
+		}
+		for (Object row : rows) {
+			if (_countedValues.containsKey(row)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the contribution of the given row from the match counts.
+	 * 
+	 * <p>
+	 * The outcome counted for the given row during the last revalidation is removed, even if the
+	 * row has changed since then. Must only be called during {@link #startIncrementalRevalidation()
+	 * an incremental revalidation}.
+	 * </p>
+	 * 
+	 * @param row
+	 *        The row that has changed or was removed.
+	 */
+	public void uncount(Object row) {
+		List<Pair<ColumnFilterHolder, Object>> countedValues = _countedValues.remove(row);
+		if (countedValues == null) {
+			return;
+		}
+		for (Pair<ColumnFilterHolder, Object> countedValue : countedValues) {
+			countedValue.getFirst().getFilter().uncount(countedValue.getSecond());
+		}
+	}
+
 	/**
 	 * Adds a visible {@link TableFilter column filter} to this {@link TableRowFilter}.
 	 * 
@@ -188,35 +316,45 @@ public class TableRowFilter implements Filter<Object> {
 	 * Counts filter matches, based on the given {@link FilterResult}.
 	 */
 	public void count(FilterResult filterResult) {
-		countActiveFilterMatches(filterResult);
-		countVisibleFilterMatches(filterResult);
+		count(filterResult, null);
 	}
 
-	private void countActiveFilterMatches(FilterResult filterResult) {
+	private void count(FilterResult filterResult, List<Pair<ColumnFilterHolder, Object>> record) {
+		countActiveFilterMatches(filterResult, record);
+		countVisibleFilterMatches(filterResult, record);
+	}
+
+	private void countActiveFilterMatches(FilterResult filterResult, List<Pair<ColumnFilterHolder, Object>> record) {
 		for (int i = 0; i < activeFilters.size(); i++) {
 			if (filterResult.isFilterApplicable(i)) {
 				if (filterResult.doOtherFiltersAllow(i)) {
-					countFilterMatch(filterResult, activeFilters.get(i));
+					countFilterMatch(filterResult, activeFilters.get(i), record);
 				}
 			}
 		}
 	}
 
-	private void countVisibleFilterMatches(FilterResult filterResult) {
+	private void countVisibleFilterMatches(FilterResult filterResult, List<Pair<ColumnFilterHolder, Object>> record) {
 		if (filterResult.doAllFilterAccept()) {
 			for (ColumnFilterHolder columnFilterHolder : visibleFilters) {
-				countFilterMatch(filterResult, columnFilterHolder);
+				countFilterMatch(filterResult, columnFilterHolder, record);
 			}
 		}
 	}
 
-	private void countFilterMatch(FilterResult filterResult, ColumnFilterHolder columnFilterHolder) {
+	private void countFilterMatch(FilterResult filterResult, ColumnFilterHolder columnFilterHolder,
+			List<Pair<ColumnFilterHolder, Object>> record) {
 		CellExistenceTester cellExistenceTester = columnFilterHolder.getCellExistenceTester();
 		Object evaluatedRow = filterResult.getEvaluatedRow();
 		if (cellExistenceTester.isCellExistent(evaluatedRow, columnFilterHolder.getFilterPosition())) {
 			Object cellValue = columnFilterHolder.getFilterValueMapping().map(evaluatedRow);
 			if (isCountableValue(filterResult, columnFilterHolder, cellValue)) {
-				columnFilterHolder.getFilter().count(cellValue);
+				TableFilter filter = columnFilterHolder.getFilter();
+				if (record != null) {
+					record.add(new Pair<>(columnFilterHolder, filter.countOutcome(cellValue)));
+				} else {
+					filter.count(cellValue);
+				}
 			}
 		}
 	}
@@ -17,6 +17,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import com.google.common.collect.ImmutableList;
 
@@ -26,9 +27,7 @@ import com.top_logic.basic.Logger;
 import com.top_logic.basic.col.Equality;
 import com.top_logic.basic.col.Filter;
 import com.top_logic.basic.col.FilteredIterator;
-import com.top_logic.basic.col.InverseComparator;
 import com.top_logic.basic.col.MapUtil;
-import com.top_logic.basic.col.MappedComparator;
 import com.top_logic.basic.col.Mapping;
 import com.top_logic.basic.col.MappingIterator;
 import com.top_logic.basic.col.Mappings;
@@ -200,6 +199,15 @@ public class TableViewModel extends AbstractTableModel implements WrappedModel,
 	 */
 	private Comparator[] comparators;
 
+	/**
+	 * All {@link CachedRowComparator}s created by {@link #getRowComparator()} that are still in use.
+	 *
+	 * <p>
+	 * The cached sort keys of changed rows are dropped from all of them.
+	 * </p>
+	 */
+	private final Set<CachedRowComparator> _rowComparators = Collections.newSetFromMap(new WeakHashMap<>());
+
 	/**
 	 * The list of possible TableFilter for a column number.
 	 *
@@ -1150,6 +1158,12 @@ public class TableViewModel extends AbstractTableModel implements WrappedModel,
 
 	/**
 	 * A {@link Comparator}, which determines the sort order of row objects.
+	 *
+	 * <p>
+	 * The sort keys of the rows are computed only once and cached in the returned comparator, see
+	 * {@link CachedRowComparator}. The cached keys of rows are dropped, when the rows are
+	 * revalidated with {@link #revalidateRowObjects(Collection)}.
+	 * </p>
 	 */
 	public Comparator<Object> getRowComparator() {
 		int sortSize = getSortColumnCount();
@@ -1157,27 +1171,24 @@ public class TableViewModel extends AbstractTableModel implements WrappedModel,
 			return Equality.INSTANCE;
 		}
 
-		int mainSortedApplicationColumn = getSortApplicationModelColumn(0);
-		boolean ascending = internalGetSortDirection(mainSortedApplicationColumn);
-
-		Mapping mainRowMapping = getRowMapping(mainSortedApplicationColumn);
-		Comparator mainValueComparator = getComparator(mainSortedApplicationColumn, ascending);
-
-		Comparator additionalComparator = Equality.INSTANCE;
-		for (int n = sortSize - 1; n >= 1; n--) {
-			int additionalSortedApplicationColumn = getSortApplicationModelColumn(n);
-			boolean additionalAscending = internalGetSortDirection(additionalSortedApplicationColumn);
+		CachedRowComparator result = new CachedRowComparator();
+		for (int n = 0; n < sortSize; n++) {
+			int sortedApplicationColumn = getSortApplicationModelColumn(n);
+			assert isSortableApplicationModelColumn(sortedApplicationColumn);
+			boolean ascending = internalGetSortDirection(sortedApplicationColumn);
 
-			// Prepend additional comparators.
-			Mapping additionalRowMapping = getRowMapping(additionalSortedApplicationColumn);
-			Comparator additionalValueComparator =
-				getComparator(additionalSortedApplicationColumn, additionalAscending);
-
-			additionalComparator =
-				new MappedComparator(additionalRowMapping, additionalValueComparator, additionalComparator);
+			Mapping rowMapping = getRowMapping(sortedApplicationColumn);
+			Comparator descendingComparator =
+				ascending ? null : this.comparators[sortedApplicationColumn + getColumnCountApplication()];
+			if (descendingComparator != null) {
+				result.addLevel(rowMapping, descendingComparator, false);
+			} else {
+				// Use the inverted ascending comparator, if no specialized descending comparator is given.
+				result.addLevel(rowMapping, this.comparators[sortedApplicationColumn], !ascending);
+			}
 		}
-
-		return new MappedComparator(mainRowMapping, mainValueComparator, additionalComparator);
+		_rowComparators.add(result);
+		return result;
 	}
 
 	private Mapping getRowMapping(int applicationColumn) {
@@ -1201,32 +1212,6 @@ public class TableViewModel extends AbstractTableModel implements WrappedModel,
 		}
 	}
 
-	/**
-	 * Finds the comparator applicable for a given sortable application model
-	 * column.
-	 *
-	 * @param applicationColumn
-	 *        The column to retrieve the comparator for.
-	 * @param ascending
-	 *        The sort order.
-	 * @return The comparator to use.
-	 */
-	private Comparator getComparator(int applicationColumn, boolean ascending) {
-		assert isSortableApplicationModelColumn(applicationColumn);
-
-		if (ascending) {
-		    return this.comparators[applicationColumn];
-		} else {
-			Comparator result = this.comparators[applicationColumn + getColumnCountApplication()];
-            if (result == null) {
-        		// Use the inverted ascending comparator, if no specialized descending comparator is given.
-                return new InverseComparator(this.comparators[applicationColumn]);
-            } else {
-            	return result;
-            }
-		}
-	}
-
 	public int getSortColumnCount() {
 		return sortColumns.size();
 	}
@@ -2901,6 +2886,34 @@ public class TableViewModel extends AbstractTableModel implements WrappedModel,
 		context.close();
 	}
 
+	/**
+	 * Applies the current filters and sort order to the given changed rows without revalidating
+	 * all rows of the {@link #getApplicationModel() application model}.
+	 *
+	 * @see TableModel#revalidateRowObjects(Collection)
+	 */
+	@Override
+	public void revalidateRowObjects(Collection<?> rowObjects) {
+		if (!isValid()) {
+			// The pending revalidation covers the changed rows.
+			return;
+		}
+		for (CachedRowComparator rowComparator : _rowComparators) {
+			rowComparator.invalidate(rowObjects);
+		}
+		AccessContext context = applicationModel.prepareRows(rowObjects, accessedFilterColumns());
+		try {
+			applicationModel.revalidateRowObjects(rowObjects);
+		} catch (Throwable throwable) {
+			InfoService.logError(I18NConstants.ERROR_TABLE_FILTERING,
+				"Cannot update changed rows of table '" + getConfigKey().get() + "' for columns "
+					+ getUsedFilterColumnNames() + ".",
+				throwable, TableViewModel.class);
+			invalidateFilters();
+		}
+		context.close();
+	}
+
 	@Override
 	public Comparator getOrder() {
 		return applicationModel.getOrder();
@@ -94,6 +94,7 @@ import com.top_logic.layout.table.model.CachedObjectTableModel;
 import com.top_logic.layout.table.model.EditableRowTableModel;
 import com.top_logic.layout.table.model.FormTableModel;
 import com.top_logic.layout.table.model.ObjectTableModel;
+import com.top_logic.layout.table.model.TLObjectRowResolver;
 import com.top_logic.layout.table.model.TableConfig;
 import com.top_logic.layout.table.model.TableConfiguration;
 import com.top_logic.layout.table.model.TableConfigurationFactory;
@@ -101,6 +102,7 @@ import com.top_logic.layout.table.model.TableConfigurationProvider;
 import com.top_logic.layout.table.model.TableModelEvent;
 import com.top_logic.layout.table.model.TableModelListener;
 import com.top_logic.layout.table.model.TableUtil;
+import com.top_logic.layout.table.model.VirtualizedObjectTableModel;
 import com.top_logic.layout.table.provider.GenericTableConfigurationProvider;
 import com.top_logic.layout.toolbar.ToolBar;
 import com.top_logic.mig.html.ElementUpdate;
@@ -181,6 +183,21 @@ public class TableComponent extends BuilderComponent implements SelectableWithSe
 		@BooleanDefault(false)
 		boolean getCaching();
 
+		/**
+		 * Whether the table only keeps the keys of its rows and materializes the visible rows on
+		 * demand.
+		 * 
+		 * <p>
+		 * Reduces the memory consumption of tables with many rows. Can only be used for tables
+		 * whose rows are persistent objects.
+		 * </p>
+		 * 
+		 * @see VirtualizedObjectTableModel
+		 */
+		@Name(XML_CONF_KEY_VIRTUALIZED)
+		@BooleanDefault(false)
+		boolean getVirtualized();
+
 		@Name(XML_CONF_KEY_DEFAULT_SORTABLE)
 		@BooleanDefault(true)
 		boolean getDefaultSortable();
@@ -254,6 +271,9 @@ public class TableComponent extends BuilderComponent implements SelectableWithSe
     /** Configuration name for the caching flag of the table control (default is "true"). */
     public static final String XML_CONF_KEY_CACHING = "caching";
 
+    /** Configuration name for the virtualized flag of the application model (default is "false"). */
+    public static final String XML_CONF_KEY_VIRTUALIZED = "virtualized";
+
     /** Configuration name for the class to use as a form member provider. */
     public static final String XML_CONF_KEY_FORM_MEMBER_PROVIDER = "formMemberProvider";
 
@@ -413,6 +433,9 @@ public class TableComponent extends BuilderComponent implements SelectableWithSe
     /** Flag, if the application model should be a cacheable (default is "true"). */
     private boolean cachingApplModel;
 
+	/** Flag, if the application model should only keep the keys of its rows. */
+	private boolean _virtualizedApplModel;
+
 	private FormMemberProvider formMemberProvider;
 
 	private SelectionVetoListener selectionVetoListener;
@@ -481,6 +504,7 @@ public class TableComponent extends BuilderComponent implements SelectableWithSe
 
 		this.selectable = config.getSelectable();
 		this.cachingApplModel = config.getCaching();
+		_virtualizedApplModel = config.getVirtualized();
 		this.defaultSortable = config.getDefaultSortable();
 
         // initialization of the column comparators of the newly created TableComponent is done in #componentsResolved to allow for post changes 
@@ -840,8 +864,8 @@ public class TableComponent extends BuilderComponent implements SelectableWithSe
 				removeRow(tableModel, aModel, row);
 				invalidateSelection();
 			} else {
-				// Forward event to the UI and request a repaint.
-				tableModel.updateRows(row, row);
+				// Move the changed row to its position and request a repaint.
+				getViewModel().revalidateRowObjects(Collections.singletonList(aModel));
             }
         	
         	return true;
@@ -1086,7 +1110,7 @@ public class TableComponent extends BuilderComponent implements SelectableWithSe
      *
      * @return    The application model to be used by this component, must not be <code>null</code>.
      */
-    protected ObjectTableModel createApplicationModel() {
+    protected EditableRowTableModel createApplicationModel() {
     	TableConfiguration theConfiguration = createTableConfiguration();
     	List<String>       theColumnNames;
 
@@ -1113,10 +1137,14 @@ public class TableComponent extends BuilderComponent implements SelectableWithSe
 		int theSize = theColumnNames.size();
 
 		String[] theColumns = theColumnNames.toArray(new String[theSize]);
-		ObjectTableModel theObjectTableModel;
+		EditableRowTableModel theObjectTableModel;
 
 		List rows = this.createRowObjects();
-		if (this.cachingApplModel) {
+		if (_virtualizedApplModel) {
+			theObjectTableModel =
+				new VirtualizedObjectTableModel(theColumns, theConfiguration, rows, TLObjectRowResolver.INSTANCE);
+		}
+		else if (this.cachingApplModel) {
 			theObjectTableModel = new CachedObjectTableModel(theColumns, theConfiguration, rows);
 		}
 		else { 
@@ -0,0 +1,229 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.layout.table.export;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.top_logic.basic.SubSessionContext;
+import com.top_logic.basic.UnreachableAssertion;
+import com.top_logic.basic.sched.DaemonThreadFactory;
+import com.top_logic.basic.thread.ThreadContextManager;
+import com.top_logic.basic.util.Computation;
+
+/**
+ * Algorithm processing a sequence of rows in blocks, optionally computing the blocks in parallel.
+ *
+ * <p>
+ * Blocks are {@link Handler#prepare(int, int) prepared} and {@link Handler#write(Object, Object)
+ * written} by the calling thread in row order. Only the {@link Handler#compute(Object)
+ * computation} of a block's result is delegated to worker threads, if the parallelism is greater
+ * than <code>1</code>. The workers run in the sub-session of the calling thread.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public class ParallelBlockProcessor {
+
+	/**
+	 * Callback of a {@link ParallelBlockProcessor}.
+	 *
+	 * @param <B>
+	 *        The type of a prepared block.
+	 * @param <R>
+	 *        The type of the computed result of a block.
+	 */
+	public interface Handler<B, R> {
+
+		/**
+		 * Prepares the block of rows from <code>start</code> (inclusive) to <code>stop</code>
+		 * (exclusive).
+		 *
+		 * <p>
+		 * Called by the processing thread in row order.
+		 * </p>
+		 */
+		B prepare(int start, int stop);
+
+		/**
+		 * Computes the result of the given prepared block.
+		 *
+		 * <p>
+		 * Called concurrently by worker threads, if the parallelism is greater than
+		 * <code>1</code>. Must only access the given block.
+		 * </p>
+		 */
+		R compute(B block);
+
+		/**
+		 * Consumes the result of the given block.
+		 *
+		 * <p>
+		 * Called by the processing thread in row order.
+		 * </p>
+		 */
+		void write(B block, R result) throws IOException;
+
+		/**
+		 * Releases the resources of the given prepared block.
+		 *
+		 * <p>
+		 * Called by the processing thread for each prepared block, also if processing fails.
+		 * </p>
+		 */
+		void release(B block);
+
+	}
+
+	private final int _parallelism;
+
+	private final int _blockSize;
+
+	/**
+	 * Creates a {@link ParallelBlockProcessor}.
+	 *
+	 * @param parallelism
+	 *        The number of worker threads. A value of <code>0</code> (or less) uses the number of
+	 *        available processors. With a value of <code>1</code>, all blocks are computed by the
+	 *        calling thread.
+	 * @param blockSize
+	 *        The number of rows in a block.
+	 */
+	public ParallelBlockProcessor(int parallelism, int blockSize) {
+		_parallelism = parallelism <= 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+		_blockSize = Math.max(1, blockSize);
+	}
+
+	/**
+	 * The effective number of threads computing blocks.
+	 */
+	public int getParallelism() {
+		return _parallelism;
+	}
+
+	/**
+	 * The number of rows in a block.
+	 */
+	public int getBlockSize() {
+		return _blockSize;
+	}
+
+	/**
+	 * Processes the given number of rows.
+	 *
+	 * @param size
+	 *        The number of rows to process.
+	 * @param handler
+	 *        Callback preparing, computing and writing the blocks.
+	 * @throws IOException
+	 *         If writing a block fails.
+	 */
+	public <B, R> void process(int size, Handler<B, R> handler) throws IOException {
+		if (_parallelism == 1 || size <= _blockSize) {
+			for (int start = 0; start < size; start += _blockSize) {
+				B block = handler.prepare(start, Math.min(start + _blockSize, size));
+				try {
+					handler.write(block, handler.compute(block));
+				} finally {
+					handler.release(block);
+				}
+			}
+			return;
+		}
+
+		SubSessionContext subSession = ThreadContextManager.getSubSession();
+		ExecutorService workers =
+			Executors.newFixedThreadPool(_parallelism, DaemonThreadFactory.daemonThreadFactory());
+		// Limit the number of prepared blocks waiting to be written.
+		int maxPending = 2 * _parallelism;
+		Deque<PendingBlock<B, R>> pending = new ArrayDeque<>();
+		try {
+			for (int start = 0; start < size; start += _blockSize) {
+				B block = handler.prepare(start, Math.min(start + _blockSize, size));
+				Computation<R> job = () -> handler.compute(block);
+				pending.add(new PendingBlock<>(block,
+					workers.submit(() -> ThreadContextManager.inContext(subSession, job))));
+
+				if (pending.size() >= maxPending) {
+					writeFirst(handler, pending);
+				}
+			}
+			while (!pending.isEmpty()) {
+				writeFirst(handler, pending);
+			}
+		} finally {
+			workers.shutdownNow();
+			if (!pending.isEmpty()) {
+				// Blocks must not be released while a worker still accesses them.
+				awaitTermination(workers);
+				for (PendingBlock<B, R> block : pending) {
+					handler.release(block._block);
+				}
+			}
+		}
+	}
+
+	private static <B, R> void writeFirst(Handler<B, R> handler, Deque<PendingBlock<B, R>> pending)
+			throws IOException {
+		PendingBlock<B, R> first = pending.removeFirst();
+		try {
+			handler.write(first._block, getResult(first._result));
+		} finally {
+			handler.release(first._block);
+		}
+	}
+
+	private static <R> R getResult(Future<R> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting for block result.", ex);
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new UnreachableAssertion(ex);
+		}
+	}
+
+	private static void awaitTermination(ExecutorService workers) {
+		try {
+			while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+				// Wait for running blocks.
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * A prepared block whose result is computed by a worker.
+	 */
+	private static final class PendingBlock<B, R> {
+
+		final B _block;
+
+		final Future<R> _result;
+
+		PendingBlock(B block, Future<R> result) {
+			_block = block;
+			_result = result;
+		}
+
+	}
+
+}
@@ -8,6 +8,7 @@ package com.top_logic.layout.table.export;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -27,6 +28,7 @@ import com.top_logic.basic.config.annotation.Label;
 import com.top_logic.basic.config.annotation.Name;
 import com.top_logic.basic.config.annotation.defaults.BooleanDefault;
 import com.top_logic.basic.config.annotation.defaults.ComplexDefault;
+import com.top_logic.basic.config.annotation.defaults.IntDefault;
 import com.top_logic.basic.config.order.DisplayInherited;
 import com.top_logic.basic.config.order.DisplayInherited.DisplayStrategy;
 import com.top_logic.basic.config.order.DisplayOrder;
@@ -48,6 +50,7 @@ import com.top_logic.layout.table.TableViewModel;
 import com.top_logic.layout.table.model.Column;
 import com.top_logic.layout.table.renderer.ColumnLabelProvider;
 import com.top_logic.mig.html.layout.LayoutComponent;
+import com.top_logic.model.export.AccessContext;
 import com.top_logic.tool.boundsec.CommandHandler;
 import com.top_logic.tool.export.ExcelCellRenderer;
 import com.top_logic.tool.export.ExcelExportSupport;
@@ -75,6 +78,8 @@ public class StreamingExcelExportHandler extends AbstractTableExportHandler {
 		Config.CONFIRMATION,
 		Config.EXPORT_SHEET_KEY,
 		Config.STREAMING,
+		Config.PARALLELISM,
+		Config.BLOCK_SIZE,
 		Config.DOWNLOAD_NAME_PROVIDER,
 	})
 	public interface Config extends AbstractTableExportHandler.Config {
@@ -86,6 +91,16 @@ public class StreamingExcelExportHandler extends AbstractTableExportHandler {
 		 */
 		String STREAMING = "streaming";
 
+		/**
+		 * @see #getParallelism()
+		 */
+		String PARALLELISM = "parallelism";
+
+		/**
+		 * @see #getBlockSize()
+		 */
+		String BLOCK_SIZE = "blockSize";
+
 		/**
 		 * Name of the Excel sheet that is filled with data.
 		 */
@@ -107,6 +122,34 @@ public class StreamingExcelExportHandler extends AbstractTableExportHandler {
 		@BooleanDefault(true)
 		boolean getStreaming();
 
+		/**
+		 * Number of threads that compute the cell values of the exported rows.
+		 * 
+		 * <p>
+		 * With a value greater than <code>1</code>, blocks of rows (see {@link #getBlockSize()})
+		 * are computed in parallel in the session context of the user and written to the export
+		 * in their table order. This requires that the accessors and Excel renderers of all
+		 * exported columns can be used concurrently. A value of <code>0</code> uses the number of
+		 * available processors.
+		 * </p>
+		 */
+		@Name(PARALLELISM)
+		@IntDefault(1)
+		int getParallelism();
+
+		/**
+		 * Number of rows whose cell values are computed together.
+		 * 
+		 * <p>
+		 * The objects of a block of rows are prepared for export at once, see
+		 * {@link TableViewModel#prepareRows(java.util.Collection, List)}. Computed blocks are
+		 * written to the export one after another.
+		 * </p>
+		 */
+		@Name(BLOCK_SIZE)
+		@IntDefault(1000)
+		int getBlockSize();
+
 		/** {@link DefaultValueProvider} for {@link Config#getExportSheetKey()}. */
 		class ExportSheetKeyDefault extends DefaultValueProviderShared {
 			@Override
@@ -146,12 +189,28 @@ public class StreamingExcelExportHandler extends AbstractTableExportHandler {
 
 	/**
 	 * The algorithm creating the export data.
+	 * 
+	 * <p>
+	 * If the export is configured to run in parallel (see {@link Config#getParallelism()}), the
+	 * hooks computing cell values ({@link #shouldExportRow(TableViewModel, int)},
+	 * {@link #loadValue(TableViewModel, int, Object, Column)}, {@link #toExportValue(Object)}, and
+	 * {@link #formatValue(Object, TableViewModel, int, Column)}) are called concurrently from
+	 * multiple threads. Row objects are resolved and prepared for export by the exporting thread
+	 * only.
+	 * </p>
 	 */
 	protected class Exporter {
 
-		private RowContext _exportRowContext;
+		/**
+		 * The {@link RowContext} of the block of rows processed by the current thread.
+		 */
+		private final ThreadLocal<RowContext> _exportRowContext = new ThreadLocal<>();
 
-		private Map<Column, AdjustableCellValueContext> _exportRenderContexts;
+		/**
+		 * The cell render contexts of the block of rows processed by the current thread.
+		 */
+		private final ThreadLocal<Map<Column, AdjustableCellValueContext>> _exportRenderContexts =
+			new ThreadLocal<>();
 
 		private final I18NLog _log;
 
@@ -272,35 +331,131 @@ public class StreamingExcelExportHandler extends AbstractTableExportHandler {
 			TableViewModel viewModel = getTableData().getViewModel();
 			int theRows = viewModel.getRowCount();
 			ExcelExportSupport exportSupport = ExcelExportSupport.newInstance();
-			List<Column> exportColumns =
-				exportSupport.filterExportColumns(viewModel.getHeader().getAllElementaryColumns());
-			int rowId = 0;
-			_exportRowContext = new RowContext(viewModel, rowId, rowId);
-			_exportRenderContexts = CollectionFactoryShared.map();
-			for (; rowId < theRows; rowId++) {
-				_exportRowContext.updateRows(rowId, rowId);
-				_progressIncrementer.run();
-				log().info(I18NConstants.EXPORTING_ROW__NUM_TOTAL.fill(rowId + 1, theRows));
+			List<Column> exportColumns = new ArrayList<>();
+			for (Column column : exportSupport
+				.filterExportColumns(viewModel.getHeader().getAllElementaryColumns())) {
+				if (!exportSupport.excludeColumnFromExport(column)) {
+					exportColumns.add(column);
+				}
+			}
 
-				if (shouldExportRow(viewModel, rowId)) {
-					writer.newRow();
+			Config config = (Config) getConfig();
+			ParallelBlockProcessor processor =
+				new ParallelBlockProcessor(config.getParallelism(), config.getBlockSize());
+			processor.process(theRows, new ParallelBlockProcessor.Handler<RowBlock, Object[][]>() {
+				int _exportedRows;
 
-					for (Column column : exportColumns) {
-						if (exportSupport.excludeColumnFromExport(column)) {
-							continue;
-						}
+				@Override
+				public RowBlock prepare(int start, int stop) {
+					return prepareBlock(viewModel, exportColumns, start, stop);
+				}
+
+				@Override
+				public Object[][] compute(RowBlock block) {
+					return computeBlock(viewModel, exportColumns, block);
+				}
+
+				@Override
+				public void write(RowBlock block, Object[][] result) throws IOException {
+					_exportedRows = writeBlock(writer, result, _exportedRows, theRows);
+				}
+
+				@Override
+				public void release(RowBlock block) {
+					block._accessContext.close();
+				}
+			});
+		}
+
+		/**
+		 * Resolves the row objects of a block of rows and prepares them for export.
+		 *
+		 * <p>
+		 * Called by the exporting thread, since the table model must not be accessed concurrently.
+		 * </p>
+		 *
+		 * @param viewModel
+		 *        The component's table view model.
+		 * @param exportColumns
+		 *        The columns to export.
+		 * @param start
+		 *        The first view model row of the block.
+		 * @param stop
+		 *        The view model row after the last row of the block.
+		 */
+		private RowBlock prepareBlock(TableViewModel viewModel, List<Column> exportColumns, int start, int stop) {
+			List<Object> rowObjects = new ArrayList<>(stop - start);
+			for (int rowId = start; rowId < stop; rowId++) {
+				rowObjects.add(viewModel.getRowObject(rowId));
+			}
+			List<String> columnNames = new ArrayList<>(exportColumns.size());
+			for (Column column : exportColumns) {
+				columnNames.add(column.getName());
+			}
+			AccessContext accessContext = viewModel.prepareRows(rowObjects, columnNames);
+			return new RowBlock(start, rowObjects, accessContext);
+		}
 
-						Object rawValue = loadValue(viewModel, rowId, column);
-						Object exportValue = toExportValue(rawValue);
-						if (!(exportValue instanceof Control)) {
-							Object formattedValue = formatValue(exportValue, viewModel, rowId, column);
-							writer.write(formattedValue);
+		/**
+		 * Computes the values to write for a prepared block of rows.
+		 * 
+		 * @param viewModel
+		 *        The component's table view model.
+		 * @param exportColumns
+		 *        The columns to export.
+		 * @param block
+		 *        The block of rows, see {@link #prepareBlock(TableViewModel, List, int, int)}.
+		 * @return For each row of the block the values to write, or <code>null</code>, if the row
+		 *         is not exported.
+		 */
+		private Object[][] computeBlock(TableViewModel viewModel, List<Column> exportColumns, RowBlock block) {
+			int start = block._start;
+			List<Object> rowObjects = block._rowObjects;
+			RowContext rowContext = new RowContext(viewModel, start, start);
+			_exportRowContext.set(rowContext);
+			_exportRenderContexts.set(CollectionFactoryShared.map());
+			try {
+				Object[][] result = new Object[rowObjects.size()][];
+				List<Object> values = new ArrayList<>(exportColumns.size());
+				for (int n = 0, cnt = rowObjects.size(); n < cnt; n++) {
+					int rowId = start + n;
+					Object rowObject = rowObjects.get(n);
+					rowContext.updateRows(rowId, rowId, rowObject);
+
+					if (shouldExportRow(viewModel, rowId)) {
+						for (Column column : exportColumns) {
+							Object rawValue = loadValue(viewModel, rowId, rowObject, column);
+							Object exportValue = toExportValue(rawValue);
+							if (!(exportValue instanceof Control)) {
+								values.add(formatValue(exportValue, viewModel, rowId, column));
+							}
 						}
+						result[n] = values.toArray();
+						values.clear();
 					}
 				}
+				return result;
+			} finally {
+				_exportRowContext.remove();
+				_exportRenderContexts.remove();
 			}
-			_exportRowContext = null;
-			_exportRenderContexts = null;
+		}
+
+		private int writeBlock(ExcelWriter writer, Object[][] block, int exportedRows, int totalRows)
+				throws IOException {
+			for (Object[] values : block) {
+				_progressIncrementer.run();
+				if (values == null) {
+					continue;
+				}
+				writer.newRow();
+				for (Object value : values) {
+					writer.write(value);
+				}
+			}
+			int result = exportedRows + block.length;
+			log().info(I18NConstants.EXPORTING_ROW__NUM_TOTAL.fill(result, totalRows));
+			return result;
 		}
 
 		/**
@@ -310,17 +465,45 @@ public class StreamingExcelExportHandler extends AbstractTableExportHandler {
 		 *        The component's table view model.
 		 * @param rowId
 		 *        The view model row being processed.
+		 * @param rowObject
+		 *        The row object of the given row. Must be used instead of accessing the row
+		 *        through the table model, since the table model must not be accessed concurrently.
 		 * @param column
 		 *        Is not allowed to be null.
 		 * 
 		 * @return the value to export for the given of position of the grid.
 		 */
+		protected Object loadValue(TableViewModel viewModel, int rowId, Object rowObject, Column column) {
+			return loadValue(viewModel, rowId, column);
+		}
+
+		/**
+		 * Loads the value to export from the given table model.
+		 * 
+		 * <p>
+		 * The row object of the given row is available from the {@link RowContext} of the current
+		 * thread and is used instead of accessing the row through the table model.
+		 * </p>
+		 * 
+		 * @param viewModel
+		 *        The component's table view model.
+		 * @param rowId
+		 *        The view model row being processed.
+		 * @param column
+		 *        Is not allowed to be null.
+		 * 
+		 * @return the value to export for the given of position of the grid.
+		 * 
+		 * @deprecated Override {@link #loadValue(TableViewModel, int, Object, Column)}, which
+		 *             delivers the row object of the given row.
+		 */
+		@Deprecated
 		protected Object loadValue(TableViewModel viewModel, int rowId, Column column) {
-			return viewModel.getValueAt(rowId, column.getName());
+			return viewModel.getValueAt(_exportRowContext.get().rowObject(), column.getName());
 		}
 
 		/**
-		 * Maps a raw value retrieved from {@link #loadValue(TableViewModel, int, Column)} to a
+		 * Maps a raw value retrieved from {@link #loadValue(TableViewModel, int, Object, Column)} to a
 		 * value usable for Excel export.
 		 */
 		protected Object toExportValue(Object value) {
@@ -405,7 +588,7 @@ public class StreamingExcelExportHandler extends AbstractTableExportHandler {
 		protected Object formatValue(Object aValue, TableViewModel model, int row, Column column) {
 			ExcelCellRenderer excelRenderer = column.getConfig().getExcelRenderer();
 			AdjustableCellValueContext cellContext =
-				_exportRenderContexts.computeIfAbsent(column, ignored -> createCellValueContext(model, column));
+				_exportRenderContexts.get().computeIfAbsent(column, ignored -> createCellValueContext(model, column));
 			cellContext.setCellValue(aValue);
 			return excelRenderer.renderCell(cellContext);
 		}
@@ -456,9 +639,28 @@ public class StreamingExcelExportHandler extends AbstractTableExportHandler {
 
 		private AdjustableCellValueContext createCellValueContext(TableViewModel model, Column column) {
 			int resultColumn = model.getColumnIndex(column.getName());
-			return new AdjustableCellValueContext(_exportRowContext,
+			return new AdjustableCellValueContext(_exportRowContext.get(),
 				column.getConfig().getExcelRenderer().newCustomContext(model, column), column, resultColumn);
 		}
 	}
 
+	/**
+	 * Block of rows prepared for export.
+	 */
+	private static final class RowBlock {
+
+		final int _start;
+
+		final List<Object> _rowObjects;
+
+		final AccessContext _accessContext;
+
+		RowBlock(int start, List<Object> rowObjects, AccessContext accessContext) {
+			_start = start;
+			_rowObjects = rowObjects;
+			_accessContext = accessContext;
+		}
+
+	}
+
 }
@@ -102,13 +102,7 @@ public abstract class AbstractSelectionBasedFilter<T extends SelectionFilterConf
 
 	@Override
 	public void startFilterRevalidation(boolean countableRevalidation) {
-		if (selectionFilterActive() && !ruleBasedFilterActive()) {
-			_combinedEvaluationFilter = _selectionBasedFilter;
-		} else if (!selectionFilterActive() && ruleBasedFilterActive()) {
-			_combinedEvaluationFilter = _ruleBasedFilter;
-		} else if (!selectionFilterActive() && !ruleBasedFilterActive()) {
-			_combinedEvaluationFilter = TrueFilter.INSTANCE;
-		}
+		initCombinedEvaluationFilter();
 		if (_showNonMatchingOptions) {
 			if (doCount(countableRevalidation)) {
 				_counter = new DefaultMultiOptionMatchCounter();
@@ -124,6 +118,23 @@ public abstract class AbstractSelectionBasedFilter<T extends SelectionFilterConf
 		}
 	}
 
+	@Override
+	public void startIncrementalRevalidation(boolean countableRevalidation) {
+		initCombinedEvaluationFilter();
+		_counter = new IncrementalMultiOptionMatchCounter(_config.getOptions(), _showNonMatchingOptions,
+			doCount(countableRevalidation));
+	}
+
+	private void initCombinedEvaluationFilter() {
+		if (selectionFilterActive() && !ruleBasedFilterActive()) {
+			_combinedEvaluationFilter = _selectionBasedFilter;
+		} else if (!selectionFilterActive() && ruleBasedFilterActive()) {
+			_combinedEvaluationFilter = _ruleBasedFilter;
+		} else if (!selectionFilterActive() && !ruleBasedFilterActive()) {
+			_combinedEvaluationFilter = TrueFilter.INSTANCE;
+		}
+	}
+
 	private boolean doCount(boolean countableRevalidation) {
 		return getTypedConfig().showOptionEntries() && countableRevalidation;
 	}
@@ -146,6 +157,30 @@ public abstract class AbstractSelectionBasedFilter<T extends SelectionFilterConf
 		}
 	}
 
+	/**
+	 * Counts the given value and returns the keys of the counted options.
+	 */
+	@Override
+	public Object countOutcome(Object value) {
+		List<Object> countedOptions = new ArrayList<>();
+		_valueIterator.setIterableValue(value);
+		while (_valueIterator.hasNext()) {
+			Object mappedValue = _valueMapping.map(_valueIterator.next());
+			if (!StringServices.isEmpty(mappedValue)) {
+				_counter.increaseCounter(mappedValue);
+				countedOptions.add(mappedValue);
+			}
+		}
+		return countedOptions;
+	}
+
+	@Override
+	public void uncount(Object outcome) {
+		for (Object countedOption : (List<?>) outcome) {
+			_counter.decreaseCounter(countedOption);
+		}
+	}
+
 	@Override
 	public boolean accept(Object anObject) {
 		if (StringServices.isEmpty(anObject)) {
@@ -175,6 +210,37 @@ public abstract class AbstractSelectionBasedFilter<T extends SelectionFilterConf
 		return accept;
 	}
 
+	/**
+	 * Adds the values, that are matched against the filter configuration when the given value is
+	 * {@link #accept(Object) filtered}, to the given list.
+	 * 
+	 * @see #acceptFilterValue(Object)
+	 */
+	final void addFilterValues(Object anObject, List<Object> filterValues) {
+		if (StringServices.isEmpty(anObject)) {
+			return;
+		}
+		if (anObject instanceof ProtectedValueReplacement && !supportsBlockedValues()) {
+			return;
+		}
+		_valueIterator.setIterableValue(anObject);
+		while (_valueIterator.hasNext()) {
+			Object mappedValue = _valueMapping.map(_valueIterator.next());
+			if (!StringServices.isEmpty(mappedValue)) {
+				filterValues.add(mappedValue);
+			}
+		}
+	}
+
+	/**
+	 * Whether a single value computed by {@link #addFilterValues(Object, List)} matches the filter
+	 * configuration.
+	 */
+	final boolean acceptFilterValue(Object filterValue) {
+		_counter.markOption(filterValue);
+		return _combinedEvaluationFilter.accept(filterValue);
+	}
+
 	@Override
 	public final List<Class<?>> getSupportedObjectTypes() {
 		return _supportedTypes;
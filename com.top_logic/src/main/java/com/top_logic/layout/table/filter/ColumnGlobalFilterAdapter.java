@@ -87,6 +87,11 @@ public abstract class ColumnGlobalFilterAdapter<T extends ConfiguredFilter> exte
 		columnFilter.startFilterRevalidation(countableRevalidation);
 	}
 
+	@Override
+	public void startIncrementalRevalidation(boolean countableRevalidation) {
+		columnFilter.startIncrementalRevalidation(countableRevalidation);
+	}
+
 	@Override
 	public void stopFilterRevalidation() {
 		columnFilter.stopFilterRevalidation();
@@ -97,4 +97,53 @@ public interface ConfiguredFilter extends Filter<Object> {
 	 *        for that the internal counter shall be increased
 	 */
 	public void count(Object value);
+
+	/**
+	 * Same as {@link #count(Object)}, but additionally returns the counted outcome.
+	 * 
+	 * <p>
+	 * The outcome describes which counters have been increased for the given value (e.g. the keys
+	 * of the counted options). Passing it to {@link #uncount(Object)} decreases exactly these
+	 * counters, even if the value has changed since it was counted.
+	 * </p>
+	 * 
+	 * @param value
+	 *        for that the internal counter shall be increased
+	 * @return The counted outcome for {@link #uncount(Object)}, <code>null</code> if this filter
+	 *         does not support {@link #uncount(Object)}.
+	 */
+	public default Object countOutcome(Object value) {
+		count(value);
+		return null;
+	}
+
+	/**
+	 * Called at begin of an incremental revalidation of single changed rows.
+	 * 
+	 * <p>
+	 * In contrast to {@link #startFilterRevalidation(boolean)}, the match counts of the last
+	 * revalidation are kept. They are updated by {@link #uncount(Object)} for the outcome counted
+	 * for a changed row before the change and by {@link #count(Object)} for its current values. The
+	 * incremental revalidation is finished with {@link #stopFilterRevalidation()}.
+	 * </p>
+	 * 
+	 * @param countableRevalidation
+	 *        - matches of following filter revalidation can be counted
+	 */
+	public default void startIncrementalRevalidation(boolean countableRevalidation) {
+		startFilterRevalidation(countableRevalidation);
+	}
+
+	/**
+	 * Called, when internal matching {@link ConfiguredFilter}s, shall decrement the counters that
+	 * have been incremented by {@link #countOutcome(Object)} during an incremental revalidation.
+	 * 
+	 * @param outcome
+	 *        The result of {@link #countOutcome(Object)} for the value that is no longer counted.
+	 * 
+	 * @see #startIncrementalRevalidation(boolean)
+	 */
+	public default void uncount(Object outcome) {
+		// No counting by default.
+	}
 }
@@ -18,7 +18,17 @@ public class DefaultSingleOptionMatchCounter implements SingleOptionMatchCounter
 	 * Create a new {@link DefaultSingleOptionMatchCounter}
 	 */
 	public DefaultSingleOptionMatchCounter() {
-		matchCount = 0;
+		this(0);
+	}
+
+	/**
+	 * Create a new {@link DefaultSingleOptionMatchCounter} continuing a previous count.
+	 * 
+	 * @param matchCount
+	 *        The match count to start with.
+	 */
+	public DefaultSingleOptionMatchCounter(int matchCount) {
+		this.matchCount = matchCount;
 	}
 
 	@Override
@@ -26,6 +36,13 @@ public class DefaultSingleOptionMatchCounter implements SingleOptionMatchCounter
 		matchCount++;
 	}
 
+	@Override
+	public void decreaseCounter() {
+		if (matchCount > 0) {
+			matchCount--;
+		}
+	}
+
 	@Override
 	public int getMatchCount() {
 		return matchCount;
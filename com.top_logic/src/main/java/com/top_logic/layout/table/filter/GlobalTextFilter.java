@@ -8,8 +8,11 @@ package com.top_logic.layout.table.filter;
 import static com.top_logic.layout.table.filter.LabelFilterProvider.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.collections4.ResettableIterator;
 
@@ -17,12 +20,27 @@ import com.top_logic.basic.col.Filter;
 import com.top_logic.basic.col.Mapping;
 import com.top_logic.layout.LabelProvider;
 import com.top_logic.layout.provider.DefaultLabelProvider;
+import com.top_logic.layout.table.TableModel;
 import com.top_logic.layout.table.TableViewModel;
+import com.top_logic.layout.table.WeakTableModelListener;
 import com.top_logic.layout.table.model.ColumnConfiguration;
+import com.top_logic.layout.table.model.TableModelEvent;
+import com.top_logic.layout.table.model.TableModelListener;
 
 /**
  * {@link Filter} for specified text in any column of a table row.
  * 
+ * <p>
+ * Optionally, the labels of the filterable cells are kept in a {@link GlobalTextIndex}. The index
+ * is built during the first filter revalidation and is reused, if the table is revalidated after
+ * the search text has changed. In that case, only the indexed rows with labels containing all
+ * n-grams of a case-insensitive search text are checked. Labels of changed rows are updated in
+ * the incremental revalidation of these rows (see
+ * {@link TableModel#revalidateRowObjects(java.util.Collection)}) and dropped for other rows reported
+ * as updated. If the table is revalidated for any other reason (e.g. new rows or a changed column
+ * filter), the index is rebuilt, since the labels of the rows may have changed.
+ * </p>
+ * 
  * @author <a href="mailto:sts@top-logic.com">Stefan Steinert</a>
  */
 public class GlobalTextFilter extends ColumnGlobalFilterAdapter<TextFilter> {
@@ -30,16 +48,84 @@ public class GlobalTextFilter extends ColumnGlobalFilterAdapter<TextFilter> {
 	private ResettableIterator<FilterableColumn> filterableColumnsIterator;
 	private ResettableIterator<FilterableColumn> defaultFilterableColumnsIterator;
 
+	/**
+	 * The index of the cell labels, <code>null</code> if no index is used.
+	 */
+	private final GlobalTextIndex _index;
+
+	/**
+	 * Whether the {@link #_index} is updated with the rows passed to {@link #accept(Object)}.
+	 */
+	private boolean _indexing;
+
+	/**
+	 * Whether the current revalidation is an incremental revalidation of changed rows.
+	 */
+	private boolean _incremental;
+
+	/**
+	 * The indexed rows that may match the search text, <code>null</code> if all rows must be
+	 * checked.
+	 */
+	private Set<Object> _candidates;
+
+	/**
+	 * The rows re-indexed in the last incremental revalidation, for which no event of the
+	 * application model has been received yet.
+	 * 
+	 * <p>
+	 * The application model reports the revalidated rows after the revalidation has been completed.
+	 * Labels of these rows are already up to date and must not be dropped from the {@link #_index}.
+	 * </p>
+	 */
+	private final Set<Object> _reindexed = new HashSet<>();
+
+	/**
+	 * Names of the columns whose labels are kept in the {@link #_index}.
+	 */
+	private List<String> _indexedColumns = Collections.emptyList();
+
+	/**
+	 * The filter settings of the last full revalidation.
+	 */
+	private List<Object> _indexedFilterState = Collections.emptyList();
+
+	/**
+	 * Listener for changes of the application model, <code>null</code> before the first indexing
+	 * revalidation.
+	 * 
+	 * <p>
+	 * The listener is registered through a {@link WeakTableModelListener}, since the application
+	 * model may outlive the table view model this filter belongs to. This field holds the only
+	 * strong reference to the listener, so that it is removed from the application model after this
+	 * filter has been dropped.
+	 * </p>
+	 */
+	private TableModelListener _applicationModelListener;
+
 	/**
 	 * Creates a {@link GlobalTextFilter}
 	 * 
 	 * @param tableViewModel
 	 *        See {@link #getTableViewModel()}
 	 */
-	@SuppressWarnings("synthetic-access")
 	public GlobalTextFilter(TableViewModel tableViewModel, boolean showNonMatchingOptions) {
+		this(tableViewModel, showNonMatchingOptions, false);
+	}
+
+	/**
+	 * Creates a {@link GlobalTextFilter}
+	 * 
+	 * @param tableViewModel
+	 *        See {@link #getTableViewModel()}
+	 * @param fullTextIndex
+	 *        Whether the labels of the filterable cells are indexed, see {@link GlobalTextIndex}.
+	 */
+	@SuppressWarnings("synthetic-access")
+	public GlobalTextFilter(TableViewModel tableViewModel, boolean showNonMatchingOptions, boolean fullTextIndex) {
 		super(tableViewModel, createTextFilter(tableViewModel, showNonMatchingOptions));
 		defaultFilterableColumnsIterator = filterableColumnsIterator = new SearchIterator(tableViewModel);
+		_index = fullTextIndex ? new GlobalTextIndex() : null;
 	}
 
 	private static TextFilter createTextFilter(TableViewModel tableViewModel, boolean showNonMatchingOptions) {
@@ -56,11 +142,88 @@ public class GlobalTextFilter extends ColumnGlobalFilterAdapter<TextFilter> {
 	public void startFilterRevalidation(boolean countableRevalidation) {
 		boolean doCount = false;
 		super.startFilterRevalidation(doCount);
-		filterableColumnsIterator = new PrederminedColumnsIterator(getTableViewModel());
+		PrederminedColumnsIterator columns = new PrederminedColumnsIterator(getTableViewModel());
+		filterableColumnsIterator = columns;
+		if (_index != null) {
+			startIndexing(columns, false);
+		}
+	}
+
+	@SuppressWarnings("synthetic-access")
+	@Override
+	public void startIncrementalRevalidation(boolean countableRevalidation) {
+		boolean doCount = false;
+		super.startIncrementalRevalidation(doCount);
+		PrederminedColumnsIterator columns = new PrederminedColumnsIterator(getTableViewModel());
+		filterableColumnsIterator = columns;
+		if (_index != null) {
+			startIndexing(columns, true);
+		}
+	}
+
+	@SuppressWarnings("synthetic-access")
+	private void startIndexing(PrederminedColumnsIterator columns, boolean incremental) {
+		if (_applicationModelListener == null) {
+			_applicationModelListener = this::handleApplicationModelEvent;
+			getTableViewModel().getApplicationModel()
+				.addTableModelListener(new WeakTableModelListener(_applicationModelListener));
+		}
+
+		List<String> columnNames = columns.getColumnNames();
+		if (!columnNames.equals(_indexedColumns)) {
+			_index.clear();
+			_indexedColumns = columnNames;
+		}
+		_reindexed.clear();
+
+		TextFilterConfiguration config = (TextFilterConfiguration) getFilterConfiguration();
+		if (!incremental) {
+			List<Object> filterState = Arrays.asList(config.getTextPattern(), config.isRegExp(),
+				config.isWholeField(), config.isCaseSensitive(), new ArrayList<>(config.getFilterPattern()));
+			if (filterState.equals(_indexedFilterState)) {
+				// Revalidation is not caused by a change of the search text, rows may have changed.
+				_index.clear();
+			}
+			_indexedFilterState = filterState;
+			_index.startPass();
+		}
+
+		boolean ignoreCaseTextSearch = !config.getTextPattern().isEmpty() && config.getFilterPattern().isEmpty()
+			&& !config.isRegExp() && !config.isCaseSensitive();
+		_candidates = !incremental && ignoreCaseTextSearch ? _index.candidates(config.getTextPattern()) : null;
+		_incremental = incremental;
+		_indexing = true;
+	}
+
+	private void handleApplicationModelEvent(TableModelEvent event) {
+		if (_indexing) {
+			return;
+		}
+		int type = event.getType();
+		if (type != TableModelEvent.UPDATE && type != TableModelEvent.INSERT) {
+			return;
+		}
+		TableModel applicationModel = (TableModel) event.getSource();
+		int last = Math.min(event.getLastRow(), applicationModel.getRowCount() - 1);
+		for (int row = Math.max(0, event.getFirstRow()); row <= last; row++) {
+			Object rowObject = applicationModel.getRowObject(row);
+			if (_reindexed.remove(rowObject)) {
+				// Event of the incremental revalidation, labels are up to date.
+				continue;
+			}
+			if (type == TableModelEvent.UPDATE) {
+				// Labels of the updated rows may have changed.
+				_index.remove(rowObject);
+			}
+		}
 	}
 
 	@Override
 	public boolean accept(Object rowObject) {
+		if (_indexing) {
+			return acceptIndexed(rowObject);
+		}
+
 		boolean result = false;
 		if (rowObject != null) {
 			while (filterableColumnsIterator.hasNext()) {
@@ -83,10 +246,55 @@ public class GlobalTextFilter extends ColumnGlobalFilterAdapter<TextFilter> {
 		return acceptedByColumnFilter(valueMapping.map(rowObject));
 	}
 
+	private boolean acceptIndexed(Object rowObject) {
+		if (rowObject == null) {
+			return false;
+		}
+
+		GlobalTextIndex.Entry entry = _incremental ? null : _index.lookup(rowObject);
+		if (entry == null) {
+			entry = _index.put(rowObject, computeFilterValues(rowObject));
+		} else if (_candidates != null && !_candidates.contains(rowObject)) {
+			return false;
+		}
+
+		TextFilter columnFilter = getColumnFilter();
+		for (Object filterValue : entry.getFilterValues()) {
+			if (columnFilter.acceptFilterValue(filterValue)) {
+				if (_incremental) {
+					// The accepted row is reported as updated or inserted after the revalidation.
+					_reindexed.add(rowObject);
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Object[] computeFilterValues(Object rowObject) {
+		List<Object> result = new ArrayList<>();
+		TextFilter columnFilter = getColumnFilter();
+		while (filterableColumnsIterator.hasNext()) {
+			FilterableColumn filterableColumn = filterableColumnsIterator.next();
+			columnFilter.setLabelProvider(filterableColumn.getFullTextProvider());
+			columnFilter.addFilterValues(filterableColumn.getValueMapping().map(rowObject), result);
+		}
+		filterableColumnsIterator.reset();
+		return result.toArray();
+	}
+
 	@Override
 	public void stopFilterRevalidation() {
 		super.stopFilterRevalidation();
 		filterableColumnsIterator = defaultFilterableColumnsIterator;
+		if (_indexing) {
+			if (!_incremental) {
+				_index.sweep();
+			}
+			_indexing = false;
+			_incremental = false;
+			_candidates = null;
+		}
 	}
 
 	private static class SearchIterator implements ResettableIterator<FilterableColumn> {
@@ -177,6 +385,14 @@ public class GlobalTextFilter extends ColumnGlobalFilterAdapter<TextFilter> {
 			return filterableColumns;
 		}
 
+		List<String> getColumnNames() {
+			List<String> result = new ArrayList<>(filterableColumns.size());
+			for (FilterableColumn column : filterableColumns) {
+				result.add(column.getName());
+			}
+			return result;
+		}
+
 		@Override
 		public boolean hasNext() {
 			return currentElementIndex < filterableColumns.size();
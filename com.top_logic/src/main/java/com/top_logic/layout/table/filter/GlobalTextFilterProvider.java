@@ -10,6 +10,7 @@ import java.util.List;
 
 import com.top_logic.basic.CalledByReflection;
 import com.top_logic.basic.config.InstantiationContext;
+import com.top_logic.basic.config.annotation.Name;
 import com.top_logic.basic.config.annotation.defaults.ClassDefault;
 import com.top_logic.layout.table.TableViewModel;
 import com.top_logic.layout.table.component.AbstractTableFilterProvider;
@@ -27,10 +28,32 @@ public class GlobalTextFilterProvider extends AbstractTableFilterProvider {
 	 */
 	public interface Config extends AbstractTableFilterProvider.Config {
 
+		/** Configuration name of property {@link #getFullTextIndex()}. */
+		String FULL_TEXT_INDEX = "full-text-index";
+
 		@Override
 		@ClassDefault(GlobalTextFilterProvider.class)
 		Class<? extends AbstractTableFilterProvider> getImplementationClass();
 
+		/**
+		 * Whether the labels of the filterable cells are kept in an index.
+		 * 
+		 * <p>
+		 * The index speeds up filtering while the search text is typed in large tables, but keeps
+		 * the labels of all cells in memory.
+		 * </p>
+		 * 
+		 * <p>
+		 * The index holds strong references to all row objects and their labels as long as the
+		 * filter is in use. Rows of a
+		 * {@link com.top_logic.layout.table.model.VirtualizedObjectTableModel} can therefore not be
+		 * released, which defeats the virtualization. The index should not be enabled for such
+		 * tables.
+		 * </p>
+		 */
+		@Name(FULL_TEXT_INDEX)
+		boolean getFullTextIndex();
+
 	}
 
 	/**
@@ -38,6 +61,8 @@ public class GlobalTextFilterProvider extends AbstractTableFilterProvider {
 	 */
 	public static final TableFilterProvider INSTANCE = new GlobalTextFilterProvider();
 
+	private final boolean _fullTextIndex;
+
 	/**
 	 * Creates a {@link GlobalTextFilterProvider} from configuration.
 	 * 
@@ -49,10 +74,12 @@ public class GlobalTextFilterProvider extends AbstractTableFilterProvider {
 	@CalledByReflection
 	public GlobalTextFilterProvider(InstantiationContext context, Config config) {
 		super(context, config);
+		_fullTextIndex = config.getFullTextIndex();
 	}
 
 	private GlobalTextFilterProvider() {
 		// Singleton constructor
+		_fullTextIndex = false;
 	}
 
 	@Override
@@ -61,6 +88,6 @@ public class GlobalTextFilterProvider extends AbstractTableFilterProvider {
 	}
 
 	private ConfiguredFilter createGlobalTextFilter(TableViewModel tableViewModel) {
-		return new GlobalTextFilter(tableViewModel, showNonMatchingOptions());
+		return new GlobalTextFilter(tableViewModel, showNonMatchingOptions(), _fullTextIndex);
 	}
 }
@@ -0,0 +1,215 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.layout.table.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the cell labels of table rows for the {@link GlobalTextFilter}.
+ *
+ * <p>
+ * For each indexed row, the index keeps the values that are matched against the filter pattern
+ * (the labels of all filterable cells of the row). Additionally, the lower case variants of all
+ * {@link String} labels are split into n-grams of length {@link #GRAM_LENGTH}. For each n-gram,
+ * the index keeps the rows with a label containing that n-gram. A case-insensitive search for a
+ * text of at least {@link #GRAM_LENGTH} characters only needs to check the rows that contain all
+ * n-grams of the searched text, see {@link #candidates(String)}.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+final class GlobalTextIndex {
+
+	/**
+	 * Length of the indexed n-grams.
+	 */
+	static final int GRAM_LENGTH = 3;
+
+	private final Map<Object, Entry> _entries = new HashMap<>();
+
+	private final Map<String, Set<Object>> _postings = new HashMap<>();
+
+	/**
+	 * Counter of the full revalidations, see {@link #startPass()}.
+	 */
+	private int _pass;
+
+	/**
+	 * The indexed values of a single row.
+	 */
+	static final class Entry {
+
+		final Object[] _filterValues;
+
+		int _pass;
+
+		Entry(Object[] filterValues, int pass) {
+			_filterValues = filterValues;
+			_pass = pass;
+		}
+
+		/**
+		 * The values of the row that are matched against the filter pattern.
+		 */
+		Object[] getFilterValues() {
+			return _filterValues;
+		}
+	}
+
+	/**
+	 * Starts a pass over all rows of the table.
+	 *
+	 * <p>
+	 * Rows that are neither {@link #lookup(Object) looked up} nor {@link #put(Object, Object[])
+	 * added} before the next call to {@link #sweep()} are dropped from the index.
+	 * </p>
+	 */
+	void startPass() {
+		_pass++;
+	}
+
+	/**
+	 * Drops all rows that have not been accessed since the last {@link #startPass()}.
+	 */
+	void sweep() {
+		for (Iterator<Map.Entry<Object, Entry>> it = _entries.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<Object, Entry> entry = it.next();
+			if (entry.getValue()._pass != _pass) {
+				it.remove();
+				removePostings(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * The indexed values of the given row, or <code>null</code>, if the row is not indexed.
+	 */
+	Entry lookup(Object row) {
+		Entry entry = _entries.get(row);
+		if (entry != null) {
+			entry._pass = _pass;
+		}
+		return entry;
+	}
+
+	/**
+	 * Indexes the given row, replaces a former entry of the row.
+	 *
+	 * @param row
+	 *        The row to index.
+	 * @param filterValues
+	 *        The values of the row that are matched against the filter pattern.
+	 * @return The new entry of the row.
+	 */
+	Entry put(Object row, Object[] filterValues) {
+		remove(row);
+
+		Entry entry = new Entry(filterValues, _pass);
+		_entries.put(row, entry);
+		for (Object value : filterValues) {
+			if (value instanceof String) {
+				for (String gram : grams(((String) value).toLowerCase())) {
+					_postings.computeIfAbsent(gram, x -> new HashSet<>()).add(row);
+				}
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * Drops the given row from the index.
+	 */
+	void remove(Object row) {
+		Entry entry = _entries.remove(row);
+		if (entry != null) {
+			removePostings(row, entry);
+		}
+	}
+
+	/**
+	 * Drops all rows from the index.
+	 */
+	void clear() {
+		_entries.clear();
+		_postings.clear();
+	}
+
+	/**
+	 * Number of indexed rows.
+	 */
+	int size() {
+		return _entries.size();
+	}
+
+	/**
+	 * All indexed rows that may have a label containing the given text when ignoring case.
+	 *
+	 * @param text
+	 *        The searched text.
+	 * @return A super set of the indexed rows with a label containing the given text, or
+	 *         <code>null</code>, if the text is too short to restrict the indexed rows.
+	 */
+	Set<Object> candidates(String text) {
+		Set<String> grams = grams(text.toLowerCase());
+		if (grams.isEmpty()) {
+			return null;
+		}
+
+		List<Set<Object>> postings = new ArrayList<>(grams.size());
+		for (String gram : grams) {
+			Set<Object> rows = _postings.get(gram);
+			if (rows == null) {
+				return Collections.emptySet();
+			}
+			postings.add(rows);
+		}
+
+		// Intersect starting with the smallest set.
+		postings.sort(Comparator.comparingInt(Set::size));
+		Set<Object> result = new HashSet<>(postings.get(0));
+		for (int n = 1, cnt = postings.size(); n < cnt && !result.isEmpty(); n++) {
+			result.retainAll(postings.get(n));
+		}
+		return result;
+	}
+
+	private void removePostings(Object row, Entry entry) {
+		for (Object value : entry._filterValues) {
+			if (value instanceof String) {
+				for (String gram : grams(((String) value).toLowerCase())) {
+					Set<Object> rows = _postings.get(gram);
+					if (rows != null) {
+						rows.remove(row);
+						if (rows.isEmpty()) {
+							_postings.remove(gram);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private static Set<String> grams(String text) {
+		int cnt = text.length() - GRAM_LENGTH + 1;
+		if (cnt <= 0) {
+			return Collections.emptySet();
+		}
+		Set<String> result = new HashSet<>();
+		for (int n = 0; n < cnt; n++) {
+			result.add(text.substring(n, n + GRAM_LENGTH));
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.layout.table.filter;
+
+import static com.top_logic.layout.table.filter.SingleEmptyValueMatchCounter.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.top_logic.basic.col.MutableInteger;
+
+/**
+ * {@link MultiOptionMatchCounter}, that continues the match counts of a previous revalidation.
+ *
+ * <p>
+ * Used during the incremental revalidation of single changed rows. The contribution of a changed
+ * row before its change is removed with {@link #decreaseCounter(Object)}, its current
+ * contribution is added with {@link #increaseCounter(Object)}.
+ * </p>
+ *
+ * @see DefaultMultiOptionMatchCounter
+ * @see OptionCollectingMatchCounter
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public class IncrementalMultiOptionMatchCounter implements MultiOptionMatchCounter {
+
+	private final Map<Object, MutableInteger> _matchCounter;
+
+	private final boolean _showNonMatchingOptions;
+
+	private final boolean _counting;
+
+	/**
+	 * Creates a {@link IncrementalMultiOptionMatchCounter}.
+	 *
+	 * @param options
+	 *        The options and match counts of the last revalidation. The given map is not modified.
+	 * @param showNonMatchingOptions
+	 *        Whether options without matches are kept, see {@link DefaultMultiOptionMatchCounter}.
+	 *        Otherwise, only options with matches are collected, see
+	 *        {@link OptionCollectingMatchCounter}.
+	 * @param counting
+	 *        Whether matches are counted. Otherwise, only options are collected.
+	 */
+	public IncrementalMultiOptionMatchCounter(Map<Object, MutableInteger> options, boolean showNonMatchingOptions,
+			boolean counting) {
+		_matchCounter = new HashMap<>();
+		if (options != null) {
+			for (Entry<Object, MutableInteger> entry : options.entrySet()) {
+				_matchCounter.put(entry.getKey(), new MutableInteger(entry.getValue().intValue()));
+			}
+		}
+		_showNonMatchingOptions = showNonMatchingOptions;
+		_counting = counting;
+	}
+
+	@Override
+	public void increaseCounter(Object value) {
+		MutableInteger matchCount = _matchCounter.get(value);
+		if (matchCount == null) {
+			if (!_showNonMatchingOptions) {
+				_matchCounter.put(value, new MutableInteger(_counting ? 1 : EMPTY_VALUE));
+			}
+		} else if (_counting && matchCount.intValue() != EMPTY_VALUE) {
+			matchCount.inc();
+		}
+	}
+
+	@Override
+	public void decreaseCounter(Object value) {
+		MutableInteger matchCount = _matchCounter.get(value);
+		if (matchCount == null || !_counting || matchCount.intValue() <= 0) {
+			return;
+		}
+		if (matchCount.dec() == 0 && !_showNonMatchingOptions) {
+			_matchCounter.remove(value);
+		}
+	}
+
+	@Override
+	public void markOption(Object value) {
+		if (_showNonMatchingOptions && !_matchCounter.containsKey(value)) {
+			_matchCounter.put(value, new MutableInteger(_counting ? 0 : EMPTY_VALUE));
+		}
+	}
+
+	@Override
+	public Map<Object, MutableInteger> getMatchCount() {
+		return _matchCounter;
+	}
+
+}
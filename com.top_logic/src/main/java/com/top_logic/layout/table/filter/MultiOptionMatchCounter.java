@@ -22,6 +22,18 @@ public interface MultiOptionMatchCounter {
 	 */
 	void increaseCounter(Object value);
 
+	/**
+	 * Decreases the counter by 1 for options, which are equal to the given value.
+	 * 
+	 * <p>
+	 * Used when the contribution of a single changed row is removed during an incremental
+	 * revalidation. Counters that do not count ignore this call.
+	 * </p>
+	 */
+	default void decreaseCounter(Object value) {
+		// Nothing counted.
+	}
+
 	/**
 	 * Add options, which are equal to the given value, to the index of existing column options.
 	 */
@@ -17,6 +17,18 @@ public interface SingleOptionMatchCounter {
 	 */
 	void increaseCounter();
 
+	/**
+	 * Decreases the counter by 1.
+	 * 
+	 * <p>
+	 * Used when the contribution of a single changed row is removed during an incremental
+	 * revalidation. Counters that do not count ignore this call.
+	 * </p>
+	 */
+	default void decreaseCounter() {
+		// Nothing counted.
+	}
+
 	/**
 	 * the match count of the filter option, after what has been filtered for.
 	 */
@@ -103,6 +103,14 @@ public class StaticFilterWrapper extends AbstractConfiguredFilter {
 		}
 	}
 
+	@Override
+	public void startIncrementalRevalidation(boolean countableRevalidation) {
+		int matchCount = config.getMatchCount();
+		if (countableRevalidation && matchCount != SingleEmptyValueMatchCounter.EMPTY_VALUE) {
+			counter = new DefaultSingleOptionMatchCounter(matchCount);
+		}
+	}
+
 	@Override
 	public void stopFilterRevalidation() {
 		config.setMatchCount(counter.getMatchCount());
@@ -111,8 +119,22 @@ public class StaticFilterWrapper extends AbstractConfiguredFilter {
 
 	@Override
 	public void count(Object value) {
+		countOutcome(value);
+	}
+
+	@Override
+	public Object countOutcome(Object value) {
 		if (accept(value)) {
 			counter.increaseCounter();
+			return Boolean.TRUE;
+		}
+		return Boolean.FALSE;
+	}
+
+	@Override
+	public void uncount(Object outcome) {
+		if (Boolean.TRUE.equals(outcome)) {
+			counter.decreaseCounter();
 		}
 	}
 
@@ -319,6 +319,11 @@ public class DelegatingTableModel implements EditableRowTableModel, WrappedModel
 		inner.revalidateFilterMatchCount();
 	}
 
+	@Override
+	public void revalidateRowObjects(Collection<?> rowObjects) {
+		inner.revalidateRowObjects(rowObjects);
+	}
+
 	@Override
 	public Comparator getOrder() {
 		return inner.getOrder();
@@ -16,7 +16,9 @@ import java.util.List;
 import com.top_logic.basic.col.Maybe;
 import com.top_logic.basic.col.TupleFactory.Pair;
 import com.top_logic.layout.Accessor;
+import com.top_logic.layout.table.CachedRowComparator;
 import com.top_logic.layout.table.TableModel;
+import com.top_logic.layout.table.TableRowFilter;
 import com.top_logic.model.export.AccessContext;
 import com.top_logic.model.export.PreloadContext;
 import com.top_logic.model.export.Preloader;
@@ -143,6 +145,7 @@ public class ObjectTableModel extends AbstractObjectTableModel implements Editab
 	 * Internally sets the base list of rows without firing events.
 	 */
 	protected void initRowObjects(List newRowObjects) {
+		dropSortKeys();
 		getFilter().startFilterRevalidation();
 		_dataStructure.initRowObjects(newRowObjects);
 		getFilter().stopFilterRevalidation();
@@ -159,6 +162,94 @@ public class ObjectTableModel extends AbstractObjectTableModel implements Editab
 		}
 	}
 	
+	/**
+	 * Only the given rows are evaluated by the {@link #getFilter() filter}. A changed row that is
+	 * displayed is moved to its position by binary search in the sorted displayed rows.
+	 */
+	@Override
+	public void revalidateRowObjects(Collection<?> rowObjects) {
+		TableRowFilter filter = getFilter();
+		if (!filter.isIncrementalRevalidationPossible()) {
+			setFilter(filter, getOrder());
+			return;
+		}
+
+		// Events are fired after the filter revalidation has been completed.
+		List<int[]> events = new ArrayList<>();
+		filter.startIncrementalRevalidation();
+		try {
+			for (Object rowObject : rowObjects) {
+				if (!containsRowObject(rowObject)) {
+					continue;
+				}
+				int oldRow = getRowOfObject(rowObject);
+				filter.uncount(rowObject);
+				int newRow = _dataStructure.revalidateRow(rowObject, filter.accept(rowObject));
+
+				if (oldRow == newRow) {
+					if (oldRow >= 0) {
+						events.add(new int[] { oldRow, TableModelEvent.UPDATE });
+					}
+				} else {
+					if (oldRow >= 0) {
+						events.add(new int[] { oldRow, TableModelEvent.DELETE });
+					}
+					if (newRow >= 0) {
+						events.add(new int[] { newRow, TableModelEvent.INSERT });
+					}
+				}
+			}
+		} finally {
+			filter.stopFilterRevalidation();
+		}
+
+		for (int[] event : events) {
+			fireTableModelEvent(event[0], event[0], event[1]);
+		}
+	}
+
+	/**
+	 * Removes the contribution of the given rows to the filter match counts before they are
+	 * removed.
+	 */
+	private void uncount(Collection<?> removedRows) {
+		TableRowFilter filter = getFilter();
+		if (!filter.isCounted(removedRows)) {
+			return;
+		}
+		filter.startIncrementalRevalidation();
+		try {
+			for (Object rowObject : removedRows) {
+				filter.uncount(rowObject);
+			}
+		} finally {
+			filter.stopFilterRevalidation();
+		}
+	}
+
+	/**
+	 * Drops the sort keys of the given removed rows from the cache of the current
+	 * {@link #getOrder() order}.
+	 * 
+	 * @see CachedRowComparator#invalidate(Collection)
+	 */
+	private void dropSortKeys(Collection<?> removedRows) {
+		if (getOrder() instanceof CachedRowComparator rowOrder) {
+			rowOrder.invalidate(removedRows);
+		}
+	}
+
+	/**
+	 * Drops all sort keys from the cache of the current {@link #getOrder() order}.
+	 * 
+	 * @see CachedRowComparator#clear()
+	 */
+	private void dropSortKeys() {
+		if (getOrder() instanceof CachedRowComparator rowOrder) {
+			rowOrder.clear();
+		}
+	}
+
 	/**
 	 * @see TableModelDataStructure#isValidated(Object)
 	 */
@@ -185,6 +276,7 @@ public class ObjectTableModel extends AbstractObjectTableModel implements Editab
 		List rows = rows();
 		int sizeBefore = rows.size();
 		_dataStructure.removeAll();
+		dropSortKeys();
 
 		if (sizeBefore > 0) {
 			rows.clear();
@@ -290,7 +382,10 @@ public class ObjectTableModel extends AbstractObjectTableModel implements Editab
 
 	@Override
 	public void removeRowObject(Object rowObject) {
+		List<Object> removedRows = Collections.singletonList(rowObject);
+		uncount(removedRows);
 		int removedRow = _dataStructure.removeRowObject(rowObject);
+		dropSortKeys(removedRows);
 		if (removedRow >= 0) {
 			fireTableModelEvent(removedRow, removedRow, TableModelEvent.DELETE);
 		}
@@ -314,7 +409,10 @@ public class ObjectTableModel extends AbstractObjectTableModel implements Editab
 				+ "], RowIndex: " + removedRow);
 		}
 		
+		List<Object> removedRows = Collections.singletonList(rows.get(removedRow));
+		uncount(removedRows);
 		_dataStructure.removeRow(removedRow);
+		dropSortKeys(removedRows);
 
 		fireTableModelEvent(removedRow, removedRow, TableModelEvent.DELETE);
 	}
@@ -334,7 +432,10 @@ public class ObjectTableModel extends AbstractObjectTableModel implements Editab
 				+ "], RowIndices: [" + start + ", " + stop + "]");
 		}
 		
+		List<Object> removedRows = new ArrayList<>(rows.subList(start, stop));
+		uncount(removedRows);
 		_dataStructure.removeRows(start, stop);
+		dropSortKeys(removedRows);
 		fireTableModelEvent(start, stop - 1, TableModelEvent.DELETE);
 	}
 
@@ -389,10 +490,19 @@ public class ObjectTableModel extends AbstractObjectTableModel implements Editab
 
 	@Override
 	public AccessContext prepareRows(Collection<?> accessedObjects, List<String> accessedColumns) {
+		return prepareRows(getTableConfiguration(), accessedObjects, accessedColumns);
+	}
+
+	/**
+	 * Preloads the values of the given columns for the given rows.
+	 * 
+	 * @see TableModel#prepareRows(Collection, List)
+	 */
+	static AccessContext prepareRows(TableConfiguration tableConfiguration, Collection<?> accessedObjects,
+			List<String> accessedColumns) {
 		if (accessedObjects.size() < 2) {
 			return NoPrepare.INSTANCE;
 		}
-		TableConfiguration tableConfiguration = getTableConfiguration();
 
 		Preloader preloader = new Preloader();
 		for (String columnName : accessedColumns) {
@@ -170,6 +170,44 @@ class PriorityTableModelDataStructure<T> extends HashMap<T, RowIndex<T>> impleme
 		}
 	}
 
+	/**
+	 * The position of a displayed row is determined by the explicit priority order and is kept.
+	 * Only a row that is shown or hidden by the changed filter result is inserted or removed from
+	 * the displayed rows.
+	 */
+	@Override
+	public int revalidateRow(T rowObject, boolean accepted) {
+		_notValidatedRows.remove(rowObject);
+
+		RowIndex<T> index = get(rowObject);
+		int displayedRow = index.getDisplayedIndex();
+		if (accepted == (displayedRow >= 0)) {
+			return displayedRow;
+		}
+
+		List<T> rows = getRows();
+		if (accepted) {
+			displayedRow = 0;
+			for (RowIndex<T> previous = index.previous(); previous != none(); previous = previous.previous()) {
+				if (previous.getDisplayedIndex() >= 0) {
+					displayedRow = previous.getDisplayedIndex() + 1;
+					break;
+				}
+			}
+			rows.add(displayedRow, rowObject);
+			index.setDisplayedIndex(displayedRow);
+			changeDisplayIndex(index.next(), none(), 1);
+		} else {
+			rows.remove(displayedRow);
+			index.setDisplayedIndex(-1);
+			changeDisplayIndex(index.next(), none(), -1);
+			displayedRow = -1;
+		}
+
+		increaseModCount();
+		return displayedRow;
+	}
+
 	@Override
 	public boolean isValidated(Object rowObject) {
 		return !_notValidatedRows.contains(rowObject);
@@ -166,6 +166,35 @@ class SimpleTableModelStructure<T> extends LinkedHashMap<T, Integer> implements
 		}
 	}
 
+	@Override
+	public int revalidateRow(T rowObject, boolean accepted) {
+		_notValidatedRows.remove(rowObject);
+
+		List<T> rows = getRows();
+		int oldRow = getRowOfObject(rowObject);
+		if (oldRow >= 0) {
+			rows.remove(oldRow);
+		}
+		int newRow;
+		if (accepted) {
+			newRow = insertPosition(rowObject);
+			rows.add(newRow, rowObject);
+		} else {
+			newRow = -1;
+			put(rowObject, Integer.valueOf(-1));
+		}
+
+		// Only the positions of rows between the old and the new position are affected.
+		if (oldRow >= 0 && newRow >= 0) {
+			updatePositions(Math.min(oldRow, newRow), Math.max(oldRow, newRow) + 1);
+		} else if (oldRow >= 0) {
+			updatePositions(oldRow, rows.size());
+		} else if (newRow >= 0) {
+			updatePositions(newRow, rows.size());
+		}
+		return newRow;
+	}
+
 	@Override
 	public boolean isValidated(Object rowObject) {
 		return !_notValidatedRows.contains(rowObject);
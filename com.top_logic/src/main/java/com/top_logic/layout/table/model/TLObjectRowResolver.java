@@ -0,0 +1,61 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.layout.table.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.top_logic.dob.identifier.ObjectKey;
+import com.top_logic.knowledge.objects.KnowledgeItem;
+import com.top_logic.knowledge.service.KnowledgeBase;
+import com.top_logic.knowledge.service.PersistencyLayer;
+import com.top_logic.model.TLObject;
+
+/**
+ * {@link VirtualizedObjectTableModel.RowResolver} for tables displaying persistent
+ * {@link TLObject}s.
+ *
+ * <p>
+ * Rows are identified by their {@link TLObject#tId() object keys}. Windows of rows are resolved
+ * with a single {@link KnowledgeBase#resolveObjectKeys(Collection) bulk load}. A row whose object
+ * has been deleted is resolved to <code>null</code>.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public class TLObjectRowResolver implements VirtualizedObjectTableModel.RowResolver {
+
+	/**
+	 * Singleton {@link TLObjectRowResolver} instance.
+	 */
+	public static final TLObjectRowResolver INSTANCE = new TLObjectRowResolver();
+
+	private TLObjectRowResolver() {
+		// Singleton constructor.
+	}
+
+	@Override
+	public Object getKey(Object rowObject) {
+		if (rowObject instanceof TLObject object) {
+			return object.tId();
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public List<?> resolve(List<?> keys) {
+		KnowledgeBase kb = PersistencyLayer.getKnowledgeBase();
+		List<KnowledgeItem> items = kb.resolveObjectKeys((Collection<ObjectKey>) keys);
+		List<Object> result = new ArrayList<>(items.size());
+		for (KnowledgeItem item : items) {
+			result.add(item == null ? null : item.getWrapper());
+		}
+		return result;
+	}
+
+}
@@ -73,6 +73,19 @@ interface TableModelDataStructure<T> {
 	 */
 	void revalidateFilter(boolean updateDisplayedRows);
 
+	/**
+	 * Updates the displayed position of the given row after it has changed.
+	 * 
+	 * @param rowObject
+	 *        The changed row. Must be {@link #containsRow(Object) contained}.
+	 * @param accepted
+	 *        Whether the changed row is accepted by the current filter.
+	 * @return The new displayed row, or <code>-1</code>, if the row is no longer displayed.
+	 * 
+	 * @see ObjectTableModel#revalidateRowObjects(Collection)
+	 */
+	int revalidateRow(T rowObject, boolean accepted);
+
 	/**
 	 * true, if the given rowObject has been checked by {@link TableRowFilter}, false
 	 *         otherwise.
@@ -0,0 +1,806 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.layout.table.model;
+
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import com.top_logic.basic.CollectionUtil;
+import com.top_logic.basic.col.Equality;
+import com.top_logic.basic.col.MappedComparator;
+import com.top_logic.basic.col.Mapping;
+import com.top_logic.basic.col.Maybe;
+import com.top_logic.layout.table.CachedRowComparator;
+import com.top_logic.layout.table.TableModel;
+import com.top_logic.layout.table.TableRowFilter;
+import com.top_logic.model.export.AccessContext;
+
+/**
+ * {@link EditableRowTableModel} that only keeps the keys of its rows and materializes row objects
+ * on demand.
+ *
+ * <p>
+ * In contrast to {@link ObjectTableModel}, this model does not hold references to its row objects.
+ * Rows are identified by keys (e.g. object keys of persistent objects) that are resolved to row
+ * objects through a {@link RowResolver}. Only a small number of windows of consecutive displayed
+ * rows is kept materialized. Accessing a displayed row resolves at most one window of rows, no
+ * matter how many rows the table has.
+ * </p>
+ *
+ * <p>
+ * Filtering and sorting process all rows in chunks of the window size. For sorting, the sort
+ * values of all displayed rows are extracted into a compact index that is sorted instead of the
+ * row objects. Neither the row objects nor the index are kept after the operation.
+ * </p>
+ *
+ * <p>
+ * Rows whose keys can no longer be resolved (e.g. deleted persistent objects) are dropped from
+ * the table as soon as they are detected. For each dropped displayed row, a
+ * {@link TableModelEvent#DELETE} event is fired.
+ * </p>
+ *
+ * <p>
+ * Moving rows is not supported.
+ * </p>
+ *
+ * @see TLObjectRowResolver
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class VirtualizedObjectTableModel extends AbstractObjectTableModel implements EditableRowTableModel {
+
+	/**
+	 * Default number of rows that are materialized at once.
+	 */
+	public static final int DEFAULT_WINDOW_SIZE = 200;
+
+	/**
+	 * Number of windows of materialized rows that are kept.
+	 */
+	private static final int MAX_WINDOWS = 4;
+
+	/**
+	 * Strategy for identifying and resolving rows of a {@link VirtualizedObjectTableModel}.
+	 */
+	public interface RowResolver {
+
+		/**
+		 * The key identifying the given row object, <code>null</code> if the given object cannot
+		 * be a row of the table.
+		 */
+		Object getKey(Object rowObject);
+
+		/**
+		 * Resolves the given keys to row objects.
+		 *
+		 * @param keys
+		 *        The keys to resolve, see {@link #getKey(Object)}.
+		 * @return The row objects in the order of the given keys. A key that can no longer be
+		 *         resolved (e.g. the key of a deleted object) is resolved to <code>null</code>.
+		 */
+		List<?> resolve(List<?> keys);
+
+	}
+
+	private final RowResolver _resolver;
+
+	private final int _windowSize;
+
+	/**
+	 * Keys of all rows in insertion order mapped to their position in {@link #_displayed}, or
+	 * {@link TableModel#NO_ROW}, if the row is currently not displayed.
+	 */
+	private final LinkedHashMap<Object, Integer> _positions = new LinkedHashMap<>();
+
+	/**
+	 * Keys of the displayed rows in display order.
+	 */
+	private final List<Object> _displayed = new ArrayList<>();
+
+	/**
+	 * Materialized windows of {@link #_displayed} rows indexed by window number.
+	 */
+	private final Map<Integer, List<?>> _windows = new LinkedHashMap<>(MAX_WINDOWS, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Entry<Integer, List<?>> eldest) {
+			return size() > MAX_WINDOWS;
+		}
+	};
+
+	/**
+	 * Keys of {@link #_displayed} rows that have been added without being checked against the
+	 * filter.
+	 *
+	 * @see #isValidated(Object)
+	 */
+	private final Set<Object> _notValidated = new HashSet<>();
+
+	/**
+	 * Keys that have been resolved to <code>null</code> but are not yet dropped from the table.
+	 *
+	 * @see #dropDeleted()
+	 */
+	private final Set<Object> _deleted = new LinkedHashSet<>();
+
+	private final List<Object> _displayedRows = new DisplayedRows();
+
+	private final Collection<Object> _allRows = new AllRows();
+
+	/**
+	 * The columns that were last requested in {@link #prepareRows(Collection, List)}.
+	 *
+	 * <p>
+	 * These columns are preloaded for each chunk of rows processed during filtering and sorting.
+	 * </p>
+	 */
+	private List<String> _accessedColumns = Collections.emptyList();
+
+	/**
+	 * Creates a {@link VirtualizedObjectTableModel} with {@link #DEFAULT_WINDOW_SIZE}.
+	 *
+	 * @see #VirtualizedObjectTableModel(List, TableConfiguration, List, RowResolver, int)
+	 */
+	public VirtualizedObjectTableModel(String[] columnNames, TableConfiguration config, List rows,
+			RowResolver resolver) {
+		this(Arrays.asList(columnNames), config, rows, resolver, DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * Creates a {@link VirtualizedObjectTableModel}.
+	 *
+	 * @param columnNames
+	 *        See {@link #getColumnNames()}
+	 * @param config
+	 *        See {@link TableModel#getTableConfiguration()}
+	 * @param rows
+	 *        The row objects. Only their keys are kept.
+	 * @param resolver
+	 *        The {@link RowResolver} identifying and resolving rows.
+	 * @param windowSize
+	 *        The number of rows that are materialized at once.
+	 */
+	public VirtualizedObjectTableModel(List<String> columnNames, TableConfiguration config, List rows,
+			RowResolver resolver, int windowSize) {
+		super(config, columnNames);
+		_resolver = resolver;
+		_windowSize = windowSize;
+		initRowObjects(rows);
+	}
+
+	@Override
+	public Collection getAllRows() {
+		return _allRows;
+	}
+
+	@Override
+	public List getDisplayedRows() {
+		return _displayedRows;
+	}
+
+	@Override
+	public int getRowCount() {
+		return _displayed.size();
+	}
+
+	@Override
+	public Object getRowObject(int row) {
+		while (true) {
+			int window = row / _windowSize;
+			List<?> rows = _windows.get(window);
+			if (rows == null) {
+				int start = window * _windowSize;
+				int stop = Math.min(start + _windowSize, _displayed.size());
+				rows = resolve(_displayed.subList(start, stop));
+				if (!_deleted.isEmpty()) {
+					dropDeleted();
+					if (row >= _displayed.size()) {
+						throw new IndexOutOfBoundsException(
+							"Row " + row + " no longer exists, size: " + _displayed.size());
+					}
+					// Window contents have been shifted.
+					continue;
+				}
+				_windows.put(window, rows);
+			}
+			return rows.get(row - window * _windowSize);
+		}
+	}
+
+	@Override
+	public void setRowObjects(List newRowObjects) {
+		initRowObjects(newRowObjects);
+		fireTableModelEvent(0, getRowCount() - 1, TableModelEvent.INVALIDATE);
+	}
+
+	private void initRowObjects(List newRowObjects) {
+		_positions.clear();
+		_deleted.clear();
+		for (Object key : keys(newRowObjects)) {
+			_positions.put(key, NO_ROW);
+		}
+		revalidateFilter(true);
+	}
+
+	@Override
+	protected void revalidateFilter(boolean updateDisplayedRows) {
+		TableRowFilter filter = getFilter();
+		filter.startFilterRevalidation();
+		List<Object> keys = new ArrayList<>(_positions.keySet());
+		List<Object> accepted = new ArrayList<>();
+		for (int start = 0, size = keys.size(); start < size; start += _windowSize) {
+			List<Object> chunkKeys = keys.subList(start, Math.min(start + _windowSize, size));
+			List<?> chunk = resolve(chunkKeys);
+			AccessContext context = prepareChunk(chunk);
+			for (int n = 0, cnt = chunk.size(); n < cnt; n++) {
+				Object row = chunk.get(n);
+				if (row == null) {
+					continue;
+				}
+				if (filter.accept(row)) {
+					accepted.add(chunkKeys.get(n));
+				}
+			}
+			context.close();
+		}
+		filter.stopFilterRevalidation();
+		dropDeleted();
+
+		if (updateDisplayedRows) {
+			for (Entry<Object, Integer> entry : _positions.entrySet()) {
+				entry.setValue(NO_ROW);
+			}
+			_notValidated.clear();
+			_displayed.clear();
+			for (Object key : accepted) {
+				if (_positions.containsKey(key)) {
+					_displayed.add(key);
+				}
+			}
+			revalidateOrder();
+		}
+	}
+
+	@Override
+	protected void revalidateOrder() {
+		Comparator order = getOrder();
+		if (order != Equality.INSTANCE) {
+			sortDisplayed(order);
+		}
+		invalidateWindows();
+		updatePositions(0);
+	}
+
+	/**
+	 * Sorts the {@link #_displayed} rows by sorting a compact index of their sort values.
+	 *
+	 * <p>
+	 * Chains of {@link MappedComparator}s are decomposed, so that the sort values are computed only
+	 * once per row. Only if the remaining order cannot be expressed in terms of sort values, the row
+	 * objects themselves are part of the index. A {@link CachedRowComparator} (as created by
+	 * {@link com.top_logic.layout.table.TableViewModel} for sorting by columns) is replaced by its
+	 * {@link CachedRowComparator#getBaseOrder() base order}, since its cache would keep all
+	 * resolved rows in memory.
+	 * </p>
+	 */
+	private void sortDisplayed(Comparator order) {
+		List<Mapping> mappings = new ArrayList<>();
+		List<Comparator> valueOrders = new ArrayList<>();
+		Comparator rowOrder = order instanceof CachedRowComparator cached ? cached.getBaseOrder() : order;
+		while (rowOrder instanceof MappedComparator<?, ?> mapped) {
+			MappedComparator.Config<?, ?> config = mapped.getConfig();
+			mappings.add(config.getMapping());
+			valueOrders.add(config.getValueOrder());
+			rowOrder = config.getGlobalOrder();
+		}
+		boolean needsRows = rowOrder != Equality.INSTANCE;
+
+		int levels = mappings.size();
+		int keyIndex = needsRows ? levels + 1 : levels;
+		int size = _displayed.size();
+		List<Object[]> index = new ArrayList<>(size);
+		for (int start = 0; start < size; start += _windowSize) {
+			List<Object> chunkKeys = _displayed.subList(start, Math.min(start + _windowSize, size));
+			List<?> chunk = resolve(chunkKeys);
+			AccessContext context = prepareChunk(chunk);
+			for (int n = 0, cnt = chunk.size(); n < cnt; n++) {
+				Object row = chunk.get(n);
+				if (row == null) {
+					continue;
+				}
+				Object[] entry = new Object[keyIndex + 1];
+				for (int level = 0; level < levels; level++) {
+					entry[level] = mappings.get(level).map(row);
+				}
+				if (needsRows) {
+					entry[levels] = row;
+				}
+				entry[keyIndex] = chunkKeys.get(n);
+				index.add(entry);
+			}
+			context.close();
+		}
+		dropDeleted();
+
+		Comparator finalRowOrder = rowOrder;
+		index.sort((entry1, entry2) -> {
+			for (int level = 0; level < levels; level++) {
+				int result = valueOrders.get(level).compare(entry1[level], entry2[level]);
+				if (result != 0) {
+					return result;
+				}
+			}
+			return needsRows ? finalRowOrder.compare(entry1[levels], entry2[levels]) : 0;
+		});
+
+		for (int n = 0, cnt = index.size(); n < cnt; n++) {
+			_displayed.set(n, index.get(n)[keyIndex]);
+		}
+	}
+
+	@Override
+	public void clear() {
+		int sizeBefore = _displayed.size();
+		_positions.clear();
+		_displayed.clear();
+		_notValidated.clear();
+		_deleted.clear();
+		invalidateWindows();
+
+		if (sizeBefore > 0) {
+			fireTableModelEvent(0, sizeBefore - 1, TableModelEvent.DELETE);
+		}
+	}
+
+	@Override
+	public boolean containsRowObject(Object anObject) {
+		Object key = key(anObject);
+		return key != null && _positions.containsKey(key);
+	}
+
+	@Override
+	public int getRowOfObject(Object rowObject) {
+		Object key = key(rowObject);
+		if (key == null) {
+			return NO_ROW;
+		}
+		Integer position = _positions.get(key);
+		if (position == null) {
+			return NO_ROW;
+		}
+		return position.intValue();
+	}
+
+	/**
+	 * <p>
+	 * Finds the previous displayed element. If there is none, returns the next.
+	 * </p>
+	 *
+	 * @see ObjectTableModel#findNearestDisplayedRow(Object)
+	 */
+	@Override
+	public int findNearestDisplayedRow(Object rowObject) {
+		if (isDisplayed(rowObject)) {
+			return getRowOfObject(rowObject);
+		}
+		NearestDisplayedRowFinder<Object> nearestDisplayedRowFinder =
+			new NearestDisplayedRowFinder<Object>(getDisplayedRows(), getAllRows(), getOrder());
+		Maybe<Object> nearestDisplayedRow = nearestDisplayedRowFinder.find(rowObject);
+		if (!nearestDisplayedRow.hasValue()) {
+			return NO_ROW;
+		}
+		return getRowOfObject(nearestDisplayedRow.get());
+	}
+
+	@Override
+	public Collection<Object> getNecessaryRows(Object rowObject) {
+		return Collections.singleton(rowObject);
+	}
+
+	@Override
+	public void addRowObject(Object rowObject) {
+		if (containsRowObject(rowObject)) {
+			return;
+		}
+
+		int addedRow = CollectionUtil.insertPosition(getDisplayedRows(), rowObject, getOrder());
+		insertKeys(addedRow, keys(Collections.singletonList(rowObject)));
+
+		fireTableModelEvent(addedRow, addedRow, TableModelEvent.INSERT);
+	}
+
+	@Override
+	public void addAllRowObjects(List newRows) {
+		List<Object> addedRows = new ArrayList<>();
+		for (Object row : newRows) {
+			if (!containsRowObject(row)) {
+				addedRows.add(row);
+			}
+		}
+		if (addedRows.isEmpty()) {
+			return;
+		}
+		if (addedRows.size() == 1) {
+			addRowObject(addedRows.get(0));
+			return;
+		}
+		List<Object> newKeys = keys(addedRows);
+
+		// New rows are displayed, even if they do not match the current filter.
+		insertKeys(_displayed.size(), newKeys);
+		revalidateOrder();
+
+		int firstAddedRow = Integer.MAX_VALUE;
+		int lastAddedRow = -1;
+		for (Object key : newKeys) {
+			int row = _positions.get(key).intValue();
+			firstAddedRow = Math.min(firstAddedRow, row);
+			lastAddedRow = Math.max(lastAddedRow, row);
+		}
+		fireTableModelEvent(firstAddedRow, lastAddedRow, TableModelEvent.INSERT);
+	}
+
+	@Override
+	public void insertRowObject(int row, Object rowObject) {
+		insertRowObject(row, Collections.singletonList(rowObject));
+	}
+
+	@Override
+	public void insertRowObject(int row, List newRows) {
+		if (newRows.isEmpty()) {
+			return;
+		}
+		if (row < 0 || row > _displayed.size()) {
+			throw new IndexOutOfBoundsException(
+				"Row must neither be negative nor greater than number of displayed rows.");
+		}
+
+		insertKeys(row, keys(newRows));
+		fireTableModelEvent(row, row + newRows.size() - 1, TableModelEvent.INSERT);
+	}
+
+	private void insertKeys(int row, List<Object> newKeys) {
+		_displayed.addAll(row, newKeys);
+		for (Object key : newKeys) {
+			_positions.put(key, NO_ROW);
+			_deleted.remove(key);
+		}
+		_notValidated.addAll(newKeys);
+		invalidateWindows();
+		updatePositions(row);
+	}
+
+	@Override
+	public void removeRowObject(Object rowObject) {
+		int removedRow = getRowOfObject(rowObject);
+		if (removedRow >= 0) {
+			removeRow(removedRow);
+		} else {
+			Object key = key(rowObject);
+			if (key != null) {
+				_positions.remove(key);
+				_deleted.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * returns true. each row can be removed.
+	 *
+	 * @see com.top_logic.layout.table.model.EditableTableModel#canRemove(int)
+	 */
+	@Override
+	public boolean canRemove(int rowNr) {
+		return true;
+	}
+
+	@Override
+	public void removeRow(int removedRow) {
+		if (removedRow >= _displayed.size() || removedRow < 0) {
+			throw new IllegalArgumentException("Row index, that shall be removed, is out of range! Range: [0, "
+				+ (_displayed.size() - 1) + "], RowIndex: " + removedRow);
+		}
+
+		removeKeys(removedRow, removedRow + 1);
+
+		fireTableModelEvent(removedRow, removedRow, TableModelEvent.DELETE);
+	}
+
+	@Override
+	public void removeRows(int start, int stop) {
+		if (stop <= start) {
+			if (stop < start) {
+				throw new IllegalArgumentException("Stop (" + stop + ") < start (" + start + ").");
+			} else {
+				return;
+			}
+		}
+		if (start < 0 || stop > _displayed.size()) {
+			throw new IllegalArgumentException("Row indices, that shall be removed, are out of range! Range: [0, "
+				+ (_displayed.size() - 1) + "], RowIndices: [" + start + ", " + stop + "]");
+		}
+
+		removeKeys(start, stop);
+		fireTableModelEvent(start, stop - 1, TableModelEvent.DELETE);
+	}
+
+	private void removeKeys(int start, int stop) {
+		List<Object> removed = _displayed.subList(start, stop);
+		for (Object key : removed) {
+			_positions.remove(key);
+			_notValidated.remove(key);
+			_deleted.remove(key);
+		}
+		removed.clear();
+		invalidateWindows();
+		updatePositions(start);
+	}
+
+	@Override
+	public void showRowAt(Object rowObject, int beforeRow) {
+		int currentRow = getRowOfObject(rowObject);
+		if (currentRow >= 0) {
+			moveRow(currentRow, beforeRow > currentRow ? beforeRow - 1 : beforeRow);
+		} else {
+			insertRowObject(beforeRow, rowObject);
+		}
+	}
+
+	@Override
+	public void moveRow(int from, int to) {
+		if (from == to) {
+			return;
+		}
+		throw new IllegalStateException("No move of rows in virtualized tables.");
+	}
+
+	@Override
+	public void moveRowUp(int movedRow) {
+		if (movedRow == 0) {
+			return;
+		}
+		moveRow(movedRow, movedRow - 1);
+	}
+
+	@Override
+	public void moveRowDown(int movedRow) {
+		if (movedRow == getRowCount() - 1) {
+			return;
+		}
+		moveRow(movedRow, movedRow + 1);
+	}
+
+	@Override
+	public void moveRowToTop(int movedRow) {
+		moveRow(movedRow, 0);
+	}
+
+	@Override
+	public void moveRowToBottom(int movedRow) {
+		moveRow(movedRow, getRowCount() - 1);
+	}
+
+	/**
+	 * Preloads the given columns for the given rows, if only a window of rows is accessed.
+	 *
+	 * <p>
+	 * Preloading all rows of the table would materialize all rows at once. Instead, the given
+	 * columns are remembered and preloaded chunk by chunk during the next filter or sort operation.
+	 * </p>
+	 */
+	@Override
+	public AccessContext prepareRows(Collection<?> accessedObjects, List<String> accessedColumns) {
+		_accessedColumns = new ArrayList<>(accessedColumns);
+		if (accessedObjects.size() > _windowSize) {
+			return NoPrepare.INSTANCE;
+		}
+		return ObjectTableModel.prepareRows(getTableConfiguration(), accessedObjects, accessedColumns);
+	}
+
+	private AccessContext prepareChunk(List<?> chunk) {
+		return ObjectTableModel.prepareRows(getTableConfiguration(), chunk, _accessedColumns);
+	}
+
+	/**
+	 * Whether the given row has been checked against the current filter.
+	 *
+	 * <p>
+	 * Rows added after the last filter revalidation are displayed, even if they do not match the
+	 * filter.
+	 * </p>
+	 *
+	 * @see ObjectTableModel#isValidated(Object)
+	 */
+	public boolean isValidated(Object rowObject) {
+		Object key = key(rowObject);
+		return key == null || !_notValidated.contains(key);
+	}
+
+	@Override
+	public boolean isFilterCountingEnabled() {
+		return true;
+	}
+
+	private Object key(Object rowObject) {
+		return _resolver.getKey(rowObject);
+	}
+
+	private List<Object> keys(List<?> rowObjects) {
+		List<Object> result = new ArrayList<>(rowObjects.size());
+		for (Object rowObject : rowObjects) {
+			Object key = key(rowObject);
+			if (key == null) {
+				throw new IllegalArgumentException("Not a valid row of a virtualized table: " + rowObject);
+			}
+			result.add(key);
+		}
+		return result;
+	}
+
+	/**
+	 * Resolves the given keys and records the keys that could not be resolved in
+	 * {@link #_deleted}.
+	 */
+	private List<?> resolve(List<Object> keys) {
+		List<?> result = _resolver.resolve(new ArrayList<>(keys));
+		for (int n = 0, cnt = result.size(); n < cnt; n++) {
+			if (result.get(n) == null) {
+				_deleted.add(keys.get(n));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Drops the rows with {@link #_deleted} keys from the table.
+	 *
+	 * <p>
+	 * A {@link TableModelEvent#DELETE} event is fired for each dropped displayed row.
+	 * </p>
+	 */
+	private void dropDeleted() {
+		if (_deleted.isEmpty()) {
+			return;
+		}
+		List<Integer> removedRows = new ArrayList<>();
+		for (int n = _displayed.size() - 1; n >= 0; n--) {
+			if (_deleted.contains(_displayed.get(n))) {
+				_displayed.remove(n);
+				removedRows.add(Integer.valueOf(n));
+			}
+		}
+		for (Object key : _deleted) {
+			_positions.remove(key);
+			_notValidated.remove(key);
+		}
+		_deleted.clear();
+		if (removedRows.isEmpty()) {
+			return;
+		}
+
+		invalidateWindows();
+		updatePositions(removedRows.get(removedRows.size() - 1).intValue());
+
+		// Fire from the end to keep the indices of the remaining removed rows valid.
+		for (Integer row : removedRows) {
+			fireTableModelEvent(row.intValue(), row.intValue(), TableModelEvent.DELETE);
+		}
+	}
+
+	private void invalidateWindows() {
+		_windows.clear();
+	}
+
+	private void updatePositions(int start) {
+		for (int n = start, size = _displayed.size(); n < size; n++) {
+			_positions.put(_displayed.get(n), Integer.valueOf(n));
+		}
+	}
+
+	/**
+	 * View of the displayed rows materializing rows on access.
+	 */
+	private final class DisplayedRows extends AbstractList<Object> implements RandomAccess {
+
+		@Override
+		public Object get(int index) {
+			if (index < 0 || index >= size()) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+			}
+			return getRowObject(index);
+		}
+
+		@Override
+		public int size() {
+			return getRowCount();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return isDisplayed(o);
+		}
+
+		@Override
+		public int indexOf(Object o) {
+			return getRowOfObject(o);
+		}
+
+		@Override
+		public int lastIndexOf(Object o) {
+			return getRowOfObject(o);
+		}
+
+	}
+
+	/**
+	 * View of all rows materializing rows chunk by chunk during iteration.
+	 */
+	private final class AllRows extends AbstractCollection<Object> {
+
+		@Override
+		public Iterator<Object> iterator() {
+			List<Object> keys = new ArrayList<>(_positions.keySet());
+			return new Iterator<>() {
+				private int _next;
+
+				private List<?> _chunk = Collections.emptyList();
+
+				private int _chunkStart;
+
+				@Override
+				public boolean hasNext() {
+					// Skip rows that could not be resolved.
+					while (_next < keys.size()) {
+						if (_next >= _chunkStart + _chunk.size()) {
+							_chunkStart = _next;
+							_chunk = resolve(keys.subList(_next, Math.min(_next + _windowSize, keys.size())));
+						}
+						if (_chunk.get(_next - _chunkStart) != null) {
+							return true;
+						}
+						_next++;
+					}
+					return false;
+				}
+
+				@Override
+				public Object next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return _chunk.get(_next++ - _chunkStart);
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return _positions.size();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return containsRowObject(o);
+		}
+
+	}
+
+}
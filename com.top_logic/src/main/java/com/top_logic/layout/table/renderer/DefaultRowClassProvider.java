@@ -19,6 +19,7 @@ import com.top_logic.layout.table.TableRenderer;
 import com.top_logic.layout.table.TableViewModel;
 import com.top_logic.layout.table.control.TableControl;
 import com.top_logic.layout.table.model.ObjectTableModel;
+import com.top_logic.layout.table.model.VirtualizedObjectTableModel;
 import com.top_logic.layout.tree.model.AbstractTreeTableModel.AbstractTreeTableNode;
 import com.top_logic.layout.tree.model.AbstractTreeTableModel.NodeFilterState;
 import com.top_logic.util.css.CssUtil;
@@ -163,14 +164,16 @@ public class DefaultRowClassProvider<C extends DefaultRowClassProvider.Config<?>
 
 		TableModel applicationModel = viewModel.getApplicationModel();
 		if (applicationModel instanceof ObjectTableModel) {
-			return getTableFilterCssClass(rowObject, (ObjectTableModel) applicationModel);
+			return getTableFilterCssClass(((ObjectTableModel) applicationModel).isValidated(rowObject));
+		} else if (applicationModel instanceof VirtualizedObjectTableModel) {
+			return getTableFilterCssClass(((VirtualizedObjectTableModel) applicationModel).isValidated(rowObject));
 		} else {
 			return getTreeTableFilterCssClass(rowObject, viewModel);
 		}
 	}
 
-	private String getTableFilterCssClass(Object rowObject, ObjectTableModel tableModel) {
-		if (tableModel.isValidated(rowObject)) {
+	private String getTableFilterCssClass(boolean validated) {
+		if (validated) {
 			return FILTER_DIRECT_MATCH_CSS_CLASS;
 		} else {
 			return FILTER_NO_VALIDATED_MATCH_CSS_CLASS;
@@ -125,6 +125,24 @@ public abstract class AbstractTreeTableModel<N extends AbstractTreeTableModel.Ab
 			revalidateRowsWithoutFiltering();
 		}
 
+		/**
+		 * Only updates the display of the changed nodes.
+		 *
+		 * <p>
+		 * Whether a node is displayed in a filtered tree also depends on its parents and children.
+		 * The filter is therefore not applied to single changed nodes.
+		 * </p>
+		 */
+		@Override
+		public void revalidateRowObjects(Collection<?> rowObjects) {
+			for (Object rowObject : rowObjects) {
+				int row = getRowOfObject(rowObject);
+				if (row >= 0) {
+					updateRows(row, row);
+				}
+			}
+		}
+
 		@Override
 		public Collection getAllRows() {
 			ArrayList<N> buffer = new ArrayList<>();
@@ -0,0 +1,167 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.model.export;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.top_logic.basic.Logger;
+import com.top_logic.basic.thread.ThreadContextManager;
+import com.top_logic.knowledge.service.KnowledgeBase;
+import com.top_logic.knowledge.service.db2.DBKnowledgeBase;
+import com.top_logic.knowledge.service.db2.KBStatistics;
+import com.top_logic.model.TLObject;
+import com.top_logic.model.TLPrimitive;
+import com.top_logic.model.TLStructuredTypePart;
+import com.top_logic.model.util.TLModelUtil;
+import com.top_logic.util.model.CompatibilityService;
+
+/**
+ * {@link PreloadOperation} that preloads the values of a {@link TLStructuredTypePart} in all base
+ * objects and then applies further preloads to the values found.
+ *
+ * <p>
+ * A {@link NavigationPreload} describes a navigation path like <code>row.a.b</code> through the
+ * model. Instead of resolving the values of <code>a</code> and <code>b</code> object by object
+ * (issuing one query per object and step), all values of one step are loaded in bulk.
+ * </p>
+ *
+ * <p>
+ * The number of queries avoided is reported to {@link KBStatistics#recordAvoidedFetches(long)},
+ * if statistics are collected.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public class NavigationPreload implements PreloadOperation {
+
+	private final TLStructuredTypePart _part;
+
+	private final List<? extends PreloadOperation> _next;
+
+	/**
+	 * Creates a {@link NavigationPreload}.
+	 *
+	 * @param part
+	 *        See {@link #getPart()}.
+	 * @param next
+	 *        See {@link #getNext()}.
+	 */
+	public NavigationPreload(TLStructuredTypePart part, List<? extends PreloadOperation> next) {
+		_part = part;
+		_next = next;
+	}
+
+	/**
+	 * The part whose values are preloaded in the base objects.
+	 */
+	public TLStructuredTypePart getPart() {
+		return _part;
+	}
+
+	/**
+	 * Preloads to apply to the values of {@link #getPart()}.
+	 */
+	public List<? extends PreloadOperation> getNext() {
+		return _next;
+	}
+
+	@Override
+	public void prepare(PreloadContext context, Collection<?> baseObjects) {
+		List<TLObject> objects = new ArrayList<>(baseObjects.size());
+		for (Object baseObject : baseObjects) {
+			if (!(baseObject instanceof TLObject)) {
+				continue;
+			}
+			TLObject object = (TLObject) baseObject;
+			if (!PreloadOperation.canFetch(object) || !TLModelUtil.isCompatibleInstance(_part.getOwner(), object)) {
+				continue;
+			}
+			objects.add(object);
+		}
+
+		// Values of primitive attributes are loaded with their objects, no fetch can be avoided.
+		KBStatistics statistics = objects.isEmpty() || _part.getType() instanceof TLPrimitive ? null
+			: statistics(objects.get(0).tKnowledgeBase());
+		long queriesBefore = statistics == null ? 0 : statistics.getRequestQueryCount();
+
+		Preloader partPreload = new Preloader();
+		CompatibilityService.getInstance().preloadContribution(_part).contribute(partPreload);
+		partPreload.prepare(context, baseObjects);
+
+		if (statistics != null) {
+			long queries = statistics.getRequestQueryCount() - queriesBefore;
+			long avoided = objects.size() - queries;
+			if (avoided > 0) {
+				statistics.recordAvoidedFetches(avoided);
+			}
+			if (Logger.isDebugEnabled(NavigationPreload.class)) {
+				Logger.debug("Preloaded '" + _part + "' for " + objects.size() + " objects with " + queries
+					+ " queries.", NavigationPreload.class);
+			}
+		}
+
+		if (_next.isEmpty()) {
+			return;
+		}
+
+		Set<Object> values = new LinkedHashSet<>();
+		for (TLObject object : objects) {
+			Object value = object.tValue(_part);
+			if (value instanceof Collection<?>) {
+				values.addAll((Collection<?>) value);
+			} else if (value != null) {
+				values.add(value);
+			}
+		}
+		values.forEach(context::keepObject);
+
+		for (PreloadOperation next : _next) {
+			next.prepare(context, values);
+		}
+	}
+
+	/**
+	 * The {@link KBStatistics} to report avoided fetches to, <code>null</code> if statistics are
+	 * not collected or queries are not counted, because there is no current interaction.
+	 */
+	private static KBStatistics statistics(KnowledgeBase kb) {
+		if (ThreadContextManager.getInteraction() == null) {
+			return null;
+		}
+		if (!(kb instanceof DBKnowledgeBase)) {
+			return null;
+		}
+		KBStatistics result = ((DBKnowledgeBase) kb).getStatistics();
+		return result.isEnabled() ? result : null;
+	}
+
+	@Override
+	public int hashCode() {
+		return _part.hashCode() * 31 + _next.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof NavigationPreload)) {
+			return false;
+		}
+		NavigationPreload other = (NavigationPreload) obj;
+		return _part.equals(other._part) && _next.equals(other._next);
+	}
+
+	@Override
+	public String toString() {
+		return "NavigationPreload(" + _part + " -> " + _next + ")";
+	}
+
+}
@@ -30,6 +30,14 @@ public interface ExcelCellRenderer {
 
 		/**
 		 * The table being exported.
+		 * 
+		 * <p>
+		 * In a parallel export, cells are rendered concurrently by multiple threads. The rows of
+		 * the table must then not be accessed through the model (e.g. with
+		 * {@link TableModel#getRowObject(int)} or {@link TableModel#getValueAt(int, int)}), since
+		 * a table model is not thread-safe. Use {@link #rowObject()} and {@link #getCellValue()}
+		 * instead.
+		 * </p>
 		 */
 		TableModel model();
 
@@ -53,6 +61,18 @@ public interface ExcelCellRenderer {
 		 */
 		int excelRow();
 
+		/**
+		 * The row object of {@link #modelRow()}.
+		 * 
+		 * <p>
+		 * In contrast to accessing the row through {@link #model()}, this is safe in a parallel
+		 * export.
+		 * </p>
+		 */
+		default Object rowObject() {
+			return model().getRowObject(modelRow());
+		}
+
 		/**
 		 * The custom context object for the using {@link ExcelCellRenderer}.
 		 * 
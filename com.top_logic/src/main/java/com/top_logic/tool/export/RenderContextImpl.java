@@ -59,6 +59,11 @@ public class RenderContextImpl implements RenderContext {
 		return _rowContext.excelRow();
 	}
 
+	@Override
+	public Object rowObject() {
+		return _rowContext.rowObject();
+	}
+
 	@Override
 	public Object getCustomContext() {
 		return _customContext;
@@ -66,6 +71,10 @@ public class RenderContextImpl implements RenderContext {
 
 	@Override
 	public Object getCellValue() {
+		if (_rowContext.hasRowObject()) {
+			// Do not access the table rows, the row may be rendered concurrently.
+			return model().getValueAt(rowObject(), modelColumn().getName());
+		}
 		return model().getValueAt(modelRow(), modelColumn().getIndex());
 	}
 
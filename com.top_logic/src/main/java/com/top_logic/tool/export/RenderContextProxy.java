@@ -41,6 +41,11 @@ public abstract class RenderContextProxy implements RenderContext {
 		return impl().excelRow();
 	}
 
+	@Override
+	public Object rowObject() {
+		return impl().rowObject();
+	}
+
 	@Override
 	public Object getCustomContext() {
 		return impl().getCustomContext();
@@ -23,6 +23,10 @@ public class RowContext {
 
 	private int _excelRow;
 
+	private Object _rowObject;
+
+	private boolean _hasRowObject;
+
 	/**
 	 * Create a new {@link RowContext}
 	 */
@@ -52,9 +56,31 @@ public class RowContext {
 		return _model;
 	}
 
+	/**
+	 * @see RenderContext#rowObject()
+	 */
+	public Object rowObject() {
+		if (_hasRowObject) {
+			return _rowObject;
+		}
+		return _model.getRowObject(_modelRow);
+	}
+
+	/**
+	 * Whether the {@link #rowObject()} was given explicitly in
+	 * {@link #updateRows(int, int, Object)}.
+	 */
+	boolean hasRowObject() {
+		return _hasRowObject;
+	}
+
 	/**
 	 * Updates {@link #modelRow()} and {@link #excelRow()}.
 	 * 
+	 * <p>
+	 * The {@link #rowObject()} is resolved from the {@link #model()} on demand.
+	 * </p>
+	 * 
 	 * @param modelRow
 	 *        New value of {@link #modelRow()}.
 	 * @param excelRow
@@ -63,7 +89,30 @@ public class RowContext {
 	public void updateRows(int modelRow, int excelRow) {
 		_modelRow = modelRow;
 		_excelRow = excelRow;
+		_rowObject = null;
+		_hasRowObject = false;
 	}
 
-}
+	/**
+	 * Updates {@link #modelRow()}, {@link #excelRow()}, and {@link #rowObject()}.
+	 * 
+	 * <p>
+	 * Must be used, if the row is rendered in a thread other than the one owning the
+	 * {@link #model()}, since the model must not be accessed concurrently.
+	 * </p>
+	 * 
+	 * @param modelRow
+	 *        New value of {@link #modelRow()}.
+	 * @param excelRow
+	 *        New value of {@link #excelRow()}.
+	 * @param rowObject
+	 *        The already resolved row object of the given model row.
+	 */
+	public void updateRows(int modelRow, int excelRow, Object rowObject) {
+		_modelRow = modelRow;
+		_excelRow = excelRow;
+		_rowObject = rowObject;
+		_hasRowObject = true;
+	}
 
+}
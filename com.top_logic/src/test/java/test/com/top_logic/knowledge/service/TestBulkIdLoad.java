@@ -5,12 +5,14 @@
  */
 package test.com.top_logic.knowledge.service;
 
+import java.util.List;
 import java.util.Set;
 
 import junit.framework.Test;
 import test.com.top_logic.knowledge.service.db2.AbstractDBKnowledgeBaseClusterTest;
 
 import com.top_logic.dob.DataObjectException;
+import com.top_logic.dob.identifier.ObjectKey;
 import com.top_logic.knowledge.objects.KnowledgeItem;
 import com.top_logic.knowledge.objects.KnowledgeObject;
 import com.top_logic.knowledge.service.BulkIdLoad;
@@ -71,6 +73,29 @@ public class TestBulkIdLoad extends AbstractDBKnowledgeBaseClusterTest {
 		assertEmpty("Loader has been cleared", false, node2loader.load());
 	}
 
+	public void testResolveObjectKeys() throws DataObjectException {
+		Transaction tx = begin();
+		KnowledgeObject b1 = newB("b1");
+		KnowledgeObject b2 = newB("b2");
+		KnowledgeObject b3 = newB("b3");
+		commit(tx);
+
+		Transaction tx2 = begin();
+		ObjectKey deletedKey = b3.tId();
+		b3.delete();
+		commit(tx2);
+
+		refetchNode2();
+		List<ObjectKey> keys = list(node1Key(b2), deletedKey, node1Key(b1), node1Key(b2));
+		/* Attention: do not inline variable to ensure the objects are loaded by the bulk
+		 * operation, and not by the creation of expectation. */
+		List<KnowledgeItem> resolved = kbNode2().resolveObjectKeys(keys);
+		assertEquals(list(node2Item(b2), null, node2Item(b1), node2Item(b2)), resolved);
+
+		// All objects are cached now.
+		assertEquals(resolved, kbNode2().resolveObjectKeys(keys));
+	}
+
 	/**
 	 * a cumulative {@link Test} for all Tests in {@link TestBulkIdLoad}.
 	 */
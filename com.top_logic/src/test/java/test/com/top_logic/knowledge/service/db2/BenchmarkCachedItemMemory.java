@@ -0,0 +1,128 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.knowledge.service.db2;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Test;
+
+import test.com.top_logic.KBTestUtils;
+import test.com.top_logic.basic.ReflectionUtils;
+
+import com.top_logic.basic.Logger;
+import com.top_logic.dob.DataObjectException;
+import com.top_logic.dob.identifier.ObjectKey;
+import com.top_logic.knowledge.objects.KnowledgeItem;
+import com.top_logic.knowledge.service.KnowledgeBaseConfiguration;
+import com.top_logic.knowledge.service.Transaction;
+
+/**
+ * Benchmark measuring the heap consumption per cached object.
+ *
+ * <p>
+ * The benchmark loads a large number of objects into the cache with and without
+ * {@link KnowledgeBaseConfiguration#isCompactValues() compact values} and reports the number of
+ * bytes retained per cached object.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public class BenchmarkCachedItemMemory extends AbstractDBKnowledgeBaseTest {
+
+	private static final int OBJECT_CNT = 50000;
+
+	/**
+	 * Number of different values of the attributes that are not unique.
+	 */
+	private static final int DISTINCT_VALUES = 20;
+
+	private Object _originalInterner;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		_originalInterner = ReflectionUtils.getValue(kb(), "_valueInterner");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		KBTestUtils.clearCache(kb());
+		ReflectionUtils.setValue(kb(), "_valueInterner", _originalInterner);
+		_originalInterner = null;
+		super.tearDown();
+	}
+
+	public void testBytesPerObject() throws Throwable {
+		List<ObjectKey> keys = createObjects();
+
+		long plain = measure(keys, false);
+		long compact = measure(keys, true);
+		log("Bytes per cached object: " + plain + " (plain), " + compact + " (compact values).");
+	}
+
+	private List<ObjectKey> createObjects() throws DataObjectException {
+		List<ObjectKey> result = new ArrayList<>(OBJECT_CNT);
+		Transaction tx = begin();
+		for (int n = 0; n < OBJECT_CNT; n++) {
+			KnowledgeItem b = newB("b" + n);
+			setA2(b, "state-" + (n % DISTINCT_VALUES));
+			setB1(b, "category-" + (n % DISTINCT_VALUES));
+			result.add(b.tId());
+		}
+		commit(tx);
+		return result;
+	}
+
+	private long measure(List<ObjectKey> keys, boolean compact) throws Exception {
+		installInterner(compact);
+
+		long before = usedMemory();
+		List<KnowledgeItem> loaded = kb().resolveObjectKeys(keys);
+		long after = usedMemory();
+
+		assertEquals(keys.size(), loaded.size());
+		return (after - before) / loaded.size();
+	}
+
+	private void installInterner(boolean compact) throws Exception {
+		KBTestUtils.clearCache(kb());
+
+		Object interner;
+		if (compact) {
+			Class<?> internerClass =
+				ReflectionUtils.getClass("com.top_logic.knowledge.service.db2.ValueInterner");
+			Constructor<?> constructor = internerClass.getDeclaredConstructor(int.class, int.class);
+			constructor.setAccessible(true);
+			interner = constructor.newInstance(1, 10000);
+		} else {
+			interner = null;
+		}
+		ReflectionUtils.setValue(kb(), "_valueInterner", interner);
+	}
+
+	private static long usedMemory() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int n = 0; n < 3; n++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static void log(String message) {
+		Logger.info(message, BenchmarkCachedItemMemory.class);
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link BenchmarkCachedItemMemory}.
+	 */
+	public static Test suite() {
+		return suite(BenchmarkCachedItemMemory.class);
+	}
+
+}
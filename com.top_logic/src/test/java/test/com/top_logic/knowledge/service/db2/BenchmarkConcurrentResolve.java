@@ -0,0 +1,140 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.knowledge.service.db2;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.Test;
+
+import test.com.top_logic.KBTestUtils;
+import test.com.top_logic.basic.ReflectionUtils;
+
+import com.top_logic.basic.Logger;
+import com.top_logic.basic.util.StopWatch;
+import com.top_logic.dob.DataObjectException;
+import com.top_logic.dob.identifier.DefaultObjectKey;
+import com.top_logic.dob.identifier.ObjectKey;
+import com.top_logic.knowledge.objects.KnowledgeItem;
+import com.top_logic.knowledge.service.KnowledgeBaseConfiguration;
+import com.top_logic.knowledge.service.Transaction;
+import com.top_logic.knowledge.service.db2.DBKnowledgeBase;
+
+/**
+ * Benchmark of concurrent {@link DBKnowledgeBase#resolveObjectKey(ObjectKey)} lookups.
+ *
+ * <p>
+ * The benchmark compares a cache guarded by a single lock (the behavior before lock striping)
+ * with the default {@link KnowledgeBaseConfiguration#getCacheConcurrency() cache concurrency}.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public class BenchmarkConcurrentResolve extends AbstractDBKnowledgeBaseTest {
+
+	private static final int OBJECT_CNT = 10000;
+
+	private static final int THREAD_CNT = 32;
+
+	private static final int LOOKUPS_PER_THREAD = 200000;
+
+	private static final int WARMUP_ROUNDS = 2;
+
+	private static final int ROUNDS = 5;
+
+	private Object _originalCache;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		_originalCache = ReflectionUtils.getValue(kb(), "cache");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		ReflectionUtils.setValue(kb(), "cache", _originalCache);
+		KBTestUtils.clearCache(kb());
+		_originalCache = null;
+		super.tearDown();
+	}
+
+	public void testResolveConcurrently() throws Throwable {
+		List<ObjectKey> keys = createObjects();
+
+		for (int concurrency : new int[] { 1, 64 }) {
+			installCache(concurrency);
+			for (int n = 0; n < WARMUP_ROUNDS; n++) {
+				resolveAll(keys);
+			}
+
+			StopWatch watch = new StopWatch();
+			for (int n = 0; n < ROUNDS; n++) {
+				watch.start();
+				resolveAll(keys);
+				watch.stop();
+			}
+			long nanosPerLookup = watch.getElapsedNanos() / ((long) ROUNDS * THREAD_CNT * LOOKUPS_PER_THREAD);
+			log("Cache concurrency " + concurrency + ": "
+				+ StopWatch.toStringNanos(watch.getElapsedNanos() / ROUNDS) + " per round, "
+				+ nanosPerLookup + "ns per lookup.");
+		}
+	}
+
+	private List<ObjectKey> createObjects() throws DataObjectException {
+		List<ObjectKey> result = new ArrayList<>(OBJECT_CNT);
+		Transaction tx = begin();
+		for (int n = 0; n < OBJECT_CNT; n++) {
+			KnowledgeItem b = newB("b" + n);
+			ObjectKey id = b.tId();
+			// Use a key that is not linked to its object to enforce a cache lookup.
+			result.add(new DefaultObjectKey(id.getBranchContext(), id.getHistoryContext(), id.getObjectType(),
+				id.getObjectName()));
+		}
+		commit(tx);
+		return result;
+	}
+
+	private void resolveAll(final List<ObjectKey> keys) throws InterruptedException {
+		parallelTest(THREAD_CNT, new ExecutionFactory() {
+			@Override
+			public Execution createExecution(final int threadId) {
+				return new Execution() {
+					@Override
+					public void run() {
+						Random rnd = new Random(threadId);
+						for (int n = 0; n < LOOKUPS_PER_THREAD; n++) {
+							ObjectKey key = keys.get(rnd.nextInt(keys.size()));
+							assertNotNull(kb().resolveObjectKey(key));
+						}
+					}
+				};
+			}
+		});
+	}
+
+	private void installCache(int concurrency) throws Exception {
+		KBTestUtils.clearCache(kb());
+
+		Class<?> cacheClass = ReflectionUtils.getClass("com.top_logic.knowledge.service.db2.ItemCache");
+		Constructor<?> constructor = cacheClass.getDeclaredConstructor(int.class);
+		constructor.setAccessible(true);
+		ReflectionUtils.setValue(kb(), "cache", constructor.newInstance(concurrency));
+	}
+
+	private static void log(String message) {
+		Logger.info(message, BenchmarkConcurrentResolve.class);
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link BenchmarkConcurrentResolve}.
+	 */
+	public static Test suite() {
+		return suite(BenchmarkConcurrentResolve.class);
+	}
+
+}
@@ -0,0 +1,217 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.knowledge.service.db2;
+
+import static com.top_logic.knowledge.search.ExpressionFactory.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.Test;
+
+import test.com.top_logic.KBTestUtils;
+import test.com.top_logic.basic.DatabaseTestSetup.DBType;
+import test.com.top_logic.knowledge.wrap.SimpleWrapperFactoryTestScenario.BObj;
+
+import com.top_logic.basic.Logger;
+import com.top_logic.basic.util.StopWatch;
+import com.top_logic.dob.identifier.DefaultObjectKey;
+import com.top_logic.dob.identifier.ObjectKey;
+import com.top_logic.knowledge.objects.KnowledgeObject;
+import com.top_logic.knowledge.search.CompiledQuery;
+import com.top_logic.knowledge.service.KnowledgeBase;
+import com.top_logic.knowledge.service.Transaction;
+
+/**
+ * Reproducible micro benchmarks of the {@link KnowledgeBase} hot paths.
+ *
+ * <p>
+ * Each operation is executed a fixed number of {@link #WARMUP_ITERATIONS warmup iterations},
+ * followed by {@link #ITERATIONS measured iterations}. For each operation, the mean time per
+ * operation, its standard deviation and the fastest iteration are reported. All random choices use
+ * fixed seeds and the benchmark always runs against the embedded H2 database, so that numbers of
+ * different releases can be compared.
+ * </p>
+ *
+ * <p>
+ * Covered operations are object creation with commit, object lookup by key (from cache and from
+ * the database), association navigation, execution of a {@link CompiledQuery}, and refetch of a
+ * second cluster node.
+ * </p>
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class BenchmarkPersistenceOperations extends AbstractDBKnowledgeBaseClusterTest {
+
+	private static final int WARMUP_ITERATIONS = 5;
+
+	private static final int ITERATIONS = 20;
+
+	private static final int BATCH_SIZE = 100;
+
+	private static final int OBJECT_CNT = 2000;
+
+	private static final int FANOUT = 10;
+
+	private static final int CHANGES_PER_COMMIT = 50;
+
+	private int _id;
+
+	public void testCreateAndCommit() throws Exception {
+		measure("create+commit", BATCH_SIZE, null, () -> createObjects(BATCH_SIZE));
+	}
+
+	public void testResolveCached() throws Exception {
+		List<ObjectKey> keys = keys(createObjects(OBJECT_CNT));
+		measure("resolve (cached)", keys.size(), null, () -> resolveAll(keys));
+	}
+
+	public void testResolveUncached() throws Exception {
+		List<ObjectKey> keys = keys(createObjects(OBJECT_CNT));
+		measure("resolve (uncached)", keys.size(), () -> KBTestUtils.clearCache(kb()), () -> resolveAll(keys));
+	}
+
+	public void testNavigateAssociations() throws Exception {
+		List<BObj> sources = createObjects(OBJECT_CNT / FANOUT);
+		List<BObj> targets = createObjects(OBJECT_CNT);
+		Random rnd = new Random(42);
+		Transaction tx = begin();
+		for (BObj source : sources) {
+			for (int n = 0; n < FANOUT; n++) {
+				source.addAB(targets.get(rnd.nextInt(targets.size())));
+			}
+		}
+		commit(tx);
+
+		measure("navigate", sources.size(), null, () -> {
+			for (BObj source : sources) {
+				assertFalse(source.getAB().isEmpty());
+			}
+		});
+	}
+
+	public void testCompiledQuery() throws Exception {
+		createObjects(OBJECT_CNT);
+		CompiledQuery<KnowledgeObject> query = kb().compileQuery(
+			queryUnresolved(filter(allOf(B_NAME), eqBinary(attribute(A_NAME, A1_NAME), literal("b" + OBJECT_CNT / 2)))));
+
+		measure("compiled query", 1, null, () -> assertEquals(1, query.search().size()));
+	}
+
+	public void testRefetch() throws Exception {
+		List<BObj> objects = createObjects(OBJECT_CNT);
+		refetchNode2();
+		Random rnd = new Random(42);
+
+		measure("refetch", CHANGES_PER_COMMIT, () -> {
+			Transaction tx = begin();
+			for (int n = 0; n < CHANGES_PER_COMMIT; n++) {
+				objects.get(rnd.nextInt(objects.size())).setValue(A2_NAME, "value-" + _id++);
+			}
+			commit(tx);
+		}, this::refetchNode2);
+	}
+
+	private List<BObj> createObjects(int cnt) {
+		List<BObj> result = new ArrayList<>(cnt);
+		Transaction tx = begin();
+		for (int n = 0; n < cnt; n++) {
+			result.add(BObj.newBObj("b" + _id++));
+		}
+		commit(tx);
+		return result;
+	}
+
+	private static List<ObjectKey> keys(List<BObj> objects) {
+		List<ObjectKey> result = new ArrayList<>(objects.size());
+		for (BObj obj : objects) {
+			ObjectKey id = obj.tId();
+			// Use a key that is not linked to its object to enforce a cache lookup.
+			result.add(new DefaultObjectKey(id.getBranchContext(), id.getHistoryContext(), id.getObjectType(),
+				id.getObjectName()));
+		}
+		return result;
+	}
+
+	private void resolveAll(List<ObjectKey> keys) {
+		for (ObjectKey key : keys) {
+			assertNotNull(kb().resolveObjectKey(key));
+		}
+	}
+
+	/**
+	 * Measures the given operation.
+	 *
+	 * @param name
+	 *        Name of the operation in the report.
+	 * @param opsPerIteration
+	 *        The number of operations performed by a single call to the operation.
+	 * @param setup
+	 *        Preparation executed before each iteration that is not measured, or
+	 *        <code>null</code>.
+	 * @param operation
+	 *        The operation to measure.
+	 */
+	private void measure(String name, int opsPerIteration, Operation setup, Operation operation) throws Exception {
+		for (int n = 0; n < WARMUP_ITERATIONS; n++) {
+			if (setup != null) {
+				setup.run();
+			}
+			operation.run();
+		}
+
+		long[] samples = new long[ITERATIONS];
+		for (int n = 0; n < ITERATIONS; n++) {
+			if (setup != null) {
+				setup.run();
+			}
+			long start = System.nanoTime();
+			operation.run();
+			samples[n] = System.nanoTime() - start;
+		}
+
+		double sum = 0;
+		long min = Long.MAX_VALUE;
+		for (long sample : samples) {
+			sum += sample;
+			min = Math.min(min, sample);
+		}
+		double mean = sum / ITERATIONS;
+		double variance = 0;
+		for (long sample : samples) {
+			variance += (sample - mean) * (sample - mean);
+		}
+		double stdDev = Math.sqrt(variance / (ITERATIONS - 1));
+
+		log(name + ": " + StopWatch.toStringNanos((long) (mean / opsPerIteration)) + " per op (± "
+			+ StopWatch.toStringNanos((long) (stdDev / opsPerIteration)) + ", best "
+			+ StopWatch.toStringNanos(min / opsPerIteration) + ", " + opsPerIteration + " ops x " + ITERATIONS
+			+ " iterations)");
+	}
+
+	private static void log(String message) {
+		Logger.info(message, BenchmarkPersistenceOperations.class);
+	}
+
+	/**
+	 * A measured operation.
+	 */
+	private interface Operation {
+
+		void run() throws Exception;
+
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link BenchmarkPersistenceOperations}.
+	 */
+	public static Test suite() {
+		return suite(BenchmarkPersistenceOperations.class, DBType.H2_DB);
+	}
+
+}
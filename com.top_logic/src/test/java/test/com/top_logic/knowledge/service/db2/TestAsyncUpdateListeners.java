@@ -0,0 +1,122 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.knowledge.service.db2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Test;
+
+import test.com.top_logic.LocalTestSetup;
+
+import com.top_logic.dob.DataObjectException;
+import com.top_logic.knowledge.service.AsyncUpdateListener;
+import com.top_logic.knowledge.service.KnowledgeBase;
+import com.top_logic.knowledge.service.KnowledgeBaseConfiguration;
+import com.top_logic.knowledge.service.Transaction;
+import com.top_logic.knowledge.service.UpdateEvent;
+import com.top_logic.knowledge.service.UpdateListener;
+
+/**
+ * Test for {@link KnowledgeBaseConfiguration#isAsyncUpdateListeners()}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestAsyncUpdateListeners extends AbstractDBKnowledgeBaseTest {
+
+	private static final int COMMIT_CNT = 10;
+
+	@Override
+	protected LocalTestSetup createSetup(Test self) {
+		return new DBKnowledgeBaseTestSetup(self) {
+			@Override
+			protected Map<String, String> createKBConfig(String name, String connectionPool) {
+				Map<String, String> kbConfig = super.createKBConfig(name, connectionPool);
+				kbConfig.put(KnowledgeBaseConfiguration.ASYNC_UPDATE_LISTENERS_PROPERTY, "true");
+				return kbConfig;
+			}
+		};
+	}
+
+	public void testNotifiedInCommitOrder() throws DataObjectException, InterruptedException {
+		RecordingListener listener = new AsyncRecordingListener(COMMIT_CNT);
+		RecordingListener syncListener = new RecordingListener(COMMIT_CNT);
+		kb().addUpdateListener(listener);
+		kb().addUpdateListener(syncListener);
+		try {
+			List<Long> expectedRevisions = new ArrayList<>();
+			for (int n = 0; n < COMMIT_CNT; n++) {
+				Transaction tx = begin();
+				newB("b" + n);
+				commit(tx);
+				expectedRevisions.add(tx.getCommitRevision().getCommitNumber());
+				synchronized (syncListener) {
+					assertEquals("Regular listener must be notified before the commit returns.", expectedRevisions,
+						syncListener._commitNumbers);
+				}
+			}
+
+			assertTrue("Not all events delivered.", listener._delivered.await(10, TimeUnit.SECONDS));
+			synchronized (listener) {
+				assertEquals(expectedRevisions, listener._commitNumbers);
+				for (Thread thread : listener._threads) {
+					assertNotSame("Listener must not be called from committing thread.", Thread.currentThread(),
+						thread);
+				}
+			}
+			synchronized (syncListener) {
+				for (Thread thread : syncListener._threads) {
+					assertSame("Regular listener must be called from committing thread.", Thread.currentThread(),
+						thread);
+				}
+			}
+		} finally {
+			kb().removeUpdateListener(listener);
+			kb().removeUpdateListener(syncListener);
+		}
+	}
+
+	static class RecordingListener implements UpdateListener {
+
+		final CountDownLatch _delivered;
+
+		final List<Long> _commitNumbers = new ArrayList<>();
+
+		final List<Thread> _threads = new ArrayList<>();
+
+		RecordingListener(int expectedEvents) {
+			_delivered = new CountDownLatch(expectedEvents);
+		}
+
+		@Override
+		public synchronized void notifyUpdate(KnowledgeBase sender, UpdateEvent event) {
+			_commitNumbers.add(event.getCommitNumber());
+			_threads.add(Thread.currentThread());
+			_delivered.countDown();
+		}
+
+	}
+
+	static class AsyncRecordingListener extends RecordingListener implements AsyncUpdateListener {
+
+		AsyncRecordingListener(int expectedEvents) {
+			super(expectedEvents);
+		}
+
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link TestAsyncUpdateListeners}.
+	 */
+	public static Test suite() {
+		return suite(TestAsyncUpdateListeners.class);
+	}
+
+}
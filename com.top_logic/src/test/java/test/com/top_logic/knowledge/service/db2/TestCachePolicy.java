@@ -0,0 +1,143 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.knowledge.service.db2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.Test;
+
+import test.com.top_logic.LocalTestSetup;
+import test.com.top_logic.basic.ReflectionUtils;
+
+import com.top_logic.basic.ArrayUtil;
+import com.top_logic.dob.DataObjectException;
+import com.top_logic.dob.identifier.DefaultObjectKey;
+import com.top_logic.dob.identifier.ObjectKey;
+import com.top_logic.knowledge.objects.KnowledgeItem;
+import com.top_logic.knowledge.service.KnowledgeBaseConfiguration;
+import com.top_logic.knowledge.service.Transaction;
+import com.top_logic.knowledge.service.db2.CachePolicy;
+
+/**
+ * Test for {@link KnowledgeBaseConfiguration#getCachePolicy()}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestCachePolicy extends AbstractDBKnowledgeBaseTest {
+
+	private static final int CAPACITY = 10;
+
+	private static final int OBJECT_CNT = 3 * CAPACITY;
+
+	@Override
+	protected LocalTestSetup createSetup(Test self) {
+		return new DBKnowledgeBaseTestSetup(self) {
+			@Override
+			protected Map<String, String> createKBConfig(String name, String connectionPool) {
+				Map<String, String> kbConfig = super.createKBConfig(name, connectionPool);
+				kbConfig.put(KnowledgeBaseConfiguration.CACHE_POLICY_PROPERTY, policy().getExternalName());
+				kbConfig.put(KnowledgeBaseConfiguration.CACHE_SIZE_PROPERTY, Integer.toString(CAPACITY));
+				// A single stripe makes the capacity exact.
+				kbConfig.put(KnowledgeBaseConfiguration.CACHE_CONCURRENCY_PROPERTY, "1");
+				return kbConfig;
+			}
+		};
+	}
+
+	CachePolicy policy() {
+		String name = getName();
+		if (name.startsWith("testSoft")) {
+			return CachePolicy.SOFT;
+		} else if (name.startsWith("testLRU")) {
+			return CachePolicy.LRU;
+		} else if (name.startsWith("testLFU")) {
+			return CachePolicy.LFU;
+		} else {
+			return CachePolicy.W_TINY_LFU;
+		}
+	}
+
+	public void testSoftRetainsNothing() throws Exception {
+		resolveAll(createObjects());
+		assertEquals(0, retainedSize());
+	}
+
+	public void testLRUBounded() throws Exception {
+		resolveAll(createObjects());
+		assertEquals(CAPACITY, retainedSize());
+	}
+
+	public void testLRUKeepsAccessedObject() throws Exception {
+		assertKeepsAccessedObject();
+	}
+
+	public void testLFUKeepsAccessedObject() throws Exception {
+		assertKeepsAccessedObject();
+	}
+
+	public void testWTinyLFUKeepsAccessedObject() throws Exception {
+		assertKeepsAccessedObject();
+	}
+
+	private void assertKeepsAccessedObject() throws DataObjectException {
+		List<ObjectKey> keys = createObjects();
+
+		// Resolve through the identity of the object, which uses the cached reference of the key.
+		ObjectKey hotId = kb().resolveObjectKey(keys.get(0)).tId();
+		for (ObjectKey key : keys.subList(1, keys.size())) {
+			assertNotNull(kb().resolveObjectKey(key));
+			assertNotNull(kb().resolveObjectKey(hotId));
+		}
+
+		assertTrue("Object that is accessed all the time was dropped.", isRetained(hotId));
+		assertTrue(retainedSize() <= CAPACITY);
+	}
+
+	private List<ObjectKey> createObjects() throws DataObjectException {
+		List<ObjectKey> result = new ArrayList<>(OBJECT_CNT);
+		Transaction tx = begin();
+		for (int n = 0; n < OBJECT_CNT; n++) {
+			KnowledgeItem b = newB("b" + n);
+			ObjectKey id = b.tId();
+			result.add(new DefaultObjectKey(id.getBranchContext(), id.getHistoryContext(), id.getObjectType(),
+				id.getObjectName()));
+		}
+		commit(tx);
+		return result;
+	}
+
+	private void resolveAll(List<ObjectKey> keys) {
+		for (ObjectKey key : keys) {
+			assertNotNull(kb().resolveObjectKey(key));
+		}
+	}
+
+	private int retainedSize() {
+		return (Integer) ReflectionUtils.executeMethod(cache(), "retainedSize", new Class[0],
+			ArrayUtil.EMPTY_OBJECT_ARRAY);
+	}
+
+	private boolean isRetained(ObjectKey id) {
+		Class<?> keyClass = ReflectionUtils.getClass("com.top_logic.knowledge.service.db2.DBObjectKey");
+		return (Boolean) ReflectionUtils.executeMethod(cache(), "isRetained", new Class[] { keyClass },
+			new Object[] { id });
+	}
+
+	private Object cache() {
+		return ReflectionUtils.getValue(kb(), "cache");
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link TestCachePolicy}.
+	 */
+	public static Test suite() {
+		return suite(TestCachePolicy.class);
+	}
+
+}
@@ -16,6 +16,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import junit.framework.Test;
 
@@ -354,6 +356,48 @@ public class TestItemEventReader extends AbstractDBKnowledgeBaseClusterTest {
 		}
 	}
 
+	public void testReadAhead() throws DataObjectException, SQLException {
+		{
+			Transaction tx = begin();
+			KnowledgeObject d1 = newD("d1");
+			KnowledgeObject d2 = newD("d2");
+			tx.commit();
+			for (int i = 0; i < 35; i++) {
+				Transaction update = begin();
+				(i % 2 == 0 ? d1 : d2).setAttributeValue(A2_NAME, "a2_" + i);
+				update.commit();
+			}
+		}
+
+		long stopRev = kb().getHistoryManager().getLastRevision() + 1;
+		List<String> expected = readEvents(
+			new OrderedItemEventReader(kb(), true, 1, stopRev, 3, null, null,
+				KnowledgeEvent.RevisionOrder.ASCENDING_INSTANCE));
+
+		ExecutorService prefetch = Executors.newFixedThreadPool(4);
+		try {
+			List<String> readAhead = readEvents(
+				new OrderedItemEventReader(kb(), true, 1, stopRev, 3, null, null,
+					KnowledgeEvent.RevisionOrder.ASCENDING_INSTANCE, prefetch, 4));
+			assertEquals(expected, readAhead);
+		} finally {
+			prefetch.shutdown();
+		}
+	}
+
+	private static List<String> readEvents(OrderedItemEventReader reader) {
+		List<String> result = new ArrayList<>();
+		try {
+			ItemEvent event;
+			while ((event = reader.readEvent()) != null) {
+				result.add(event.getRevision() + ":" + event.getClass().getSimpleName() + ":" + event.getObjectId());
+			}
+		} finally {
+			reader.close();
+		}
+		return result;
+	}
+
 	private static class MyCommitable implements Committable {
 
 		private final KnowledgeObject _ko;
@@ -0,0 +1,212 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.knowledge.service.db2;
+
+import static com.top_logic.knowledge.search.ExpressionFactory.*;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.Test;
+
+import test.com.top_logic.KBTestUtils;
+import test.com.top_logic.LocalTestSetup;
+
+import com.top_logic.basic.thread.ThreadContextManager;
+import com.top_logic.dob.DataObjectException;
+import com.top_logic.dob.identifier.DefaultObjectKey;
+import com.top_logic.dob.identifier.ObjectKey;
+import com.top_logic.knowledge.event.KnowledgeEvent;
+import com.top_logic.knowledge.objects.KnowledgeItem;
+import com.top_logic.knowledge.service.KnowledgeBaseConfiguration;
+import com.top_logic.knowledge.service.Transaction;
+import com.top_logic.knowledge.service.db2.KBStatistics;
+import com.top_logic.knowledge.service.db2.KBStatistics.CacheStatistics;
+import com.top_logic.knowledge.service.db2.KBStatistics.LatencyStatistics;
+import com.top_logic.knowledge.service.db2.OrderedItemEventReader;
+
+/**
+ * Test case for {@link KBStatistics}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestKBStatistics extends AbstractDBKnowledgeBaseTest {
+
+	@Override
+	protected LocalTestSetup createSetup(Test self) {
+		return new DBKnowledgeBaseTestSetup(self) {
+			@Override
+			protected Map<String, String> createKBConfig(String name, String connectionPool) {
+				Map<String, String> kbConfig = super.createKBConfig(name, connectionPool);
+				kbConfig.put(KnowledgeBaseConfiguration.COLLECT_STATISTICS_PROPERTY, "true");
+				return kbConfig;
+			}
+		};
+	}
+
+	public void testCacheHitsAndMisses() throws DataObjectException {
+		KBStatistics statistics = kb().getStatistics();
+		assertTrue(statistics.isEnabled());
+
+		Transaction tx = begin();
+		KnowledgeItem b = newB("b1");
+		commit(tx);
+
+		ObjectKey id = b.tId();
+		ObjectKey key = new DefaultObjectKey(id.getBranchContext(), id.getHistoryContext(), id.getObjectType(),
+			id.getObjectName());
+
+		KBTestUtils.clearCache(kb());
+		statistics.reset();
+
+		assertNotNull(kb().resolveObjectKey(key));
+		assertEquals(0, statistics.getCacheHits());
+		assertEquals(1, statistics.getCacheMisses());
+
+		assertNotNull(kb().resolveObjectKey(key));
+		assertEquals(1, statistics.getCacheHits());
+		assertEquals(1, statistics.getCacheMisses());
+		assertEquals(0.5, statistics.getCacheHitRatio(), 0.0);
+
+		CacheStatistics tableStatistics = find(statistics, B_NAME);
+		assertEquals(1, tableStatistics.getHits());
+		assertEquals(1, tableStatistics.getMisses());
+
+		LatencyStatistics fetch = find(statistics, B_NAME, KBStatistics.FETCH);
+		assertEquals(1, fetch.getCount());
+		assertTrue(fetch.getP50() <= fetch.getP99());
+	}
+
+	public void testQueryLatency() throws DataObjectException {
+		KBStatistics statistics = kb().getStatistics();
+
+		Transaction tx = begin();
+		newB("b1");
+		newB("b2");
+		commit(tx);
+
+		statistics.reset();
+		assertEquals(0, statistics.getQueryCount());
+
+		assertEquals(2, kb().search(queryUnresolved(allOf(B_NAME))).size());
+		assertEquals(2, kb().search(queryUnresolved(allOf(B_NAME))).size());
+
+		// Sub-types of B are queried in separate statements.
+		assertTrue(statistics.getQueryCount() >= 2);
+		LatencyStatistics query = find(statistics, B_NAME, KBStatistics.QUERY);
+		assertEquals(2, query.getCount());
+		assertTrue(query.getAverage() <= query.getMax());
+		assertTrue(query.getMax() <= query.getP99());
+	}
+
+	public void testRequestQueryCount() throws DataObjectException, InterruptedException {
+		KBStatistics statistics = kb().getStatistics();
+
+		Transaction tx = begin();
+		newB("b1");
+		commit(tx);
+
+		statistics.reset();
+		long[] requestCounts = new long[2];
+		Throwable[] problem = new Throwable[1];
+		Thread request = new Thread(() -> {
+			try {
+				ThreadContextManager.inSystemInteraction(TestKBStatistics.class, () -> {
+					requestCounts[0] = statistics.getRequestQueryCount();
+					kb().search(queryUnresolved(allOf(B_NAME)));
+					requestCounts[1] = statistics.getRequestQueryCount();
+				});
+			} catch (Throwable ex) {
+				problem[0] = ex;
+			}
+		});
+		request.start();
+		request.join();
+		if (problem[0] != null) {
+			throw new AssertionError("Request failed.", problem[0]);
+		}
+
+		assertEquals("Request starts without queries.", 0, requestCounts[0]);
+		assertTrue(requestCounts[1] > 0);
+		assertEquals("All queries have been executed in the request.", statistics.getQueryCount(), requestCounts[1]);
+	}
+
+	public void testAvoidedFetches() {
+		KBStatistics statistics = kb().getStatistics();
+		statistics.reset();
+
+		statistics.recordAvoidedFetches(3);
+		statistics.recordAvoidedFetches(4);
+		assertEquals(7, statistics.getAvoidedFetches());
+
+		statistics.reset();
+		assertEquals(0, statistics.getAvoidedFetches());
+	}
+
+	public void testHistoryReadAhead() throws DataObjectException, SQLException {
+		KBStatistics statistics = kb().getStatistics();
+
+		for (int n = 0; n < 10; n++) {
+			Transaction tx = begin();
+			newB("b" + n);
+			commit(tx);
+		}
+
+		statistics.reset();
+		long stopRev = kb().getHistoryManager().getLastRevision() + 1;
+		ExecutorService prefetch = Executors.newFixedThreadPool(2);
+		try {
+			OrderedItemEventReader reader = new OrderedItemEventReader(kb(), false, 1, stopRev, 2, null, null,
+				KnowledgeEvent.RevisionOrder.ASCENDING_INSTANCE, prefetch, 2);
+			int events = 0;
+			try {
+				while (reader.readEvent() != null) {
+					events++;
+				}
+			} finally {
+				reader.close();
+			}
+
+			long revisions = stopRev - 1;
+			assertEquals(revisions, statistics.getHistoryRevisions());
+			assertEquals(events, statistics.getHistoryEvents());
+			assertEquals(0, statistics.getHistoryChunksReadAhead());
+			LatencyStatistics chunks = find(statistics, KBStatistics.NO_TABLE, KBStatistics.HISTORY_CHUNK);
+			assertEquals((revisions + 1) / 2, chunks.getCount());
+		} finally {
+			prefetch.shutdown();
+		}
+	}
+
+	private static CacheStatistics find(KBStatistics statistics, String table) {
+		for (CacheStatistics entry : statistics.getCacheStatistics()) {
+			if (entry.getTable().equals(table)) {
+				return entry;
+			}
+		}
+		throw new AssertionError("No cache statistics for '" + table + "'.");
+	}
+
+	private static LatencyStatistics find(KBStatistics statistics, String table, String operation) {
+		for (LatencyStatistics entry : statistics.getLatencyStatistics()) {
+			if (entry.getTable().equals(table) && entry.getOperation().equals(operation)) {
+				return entry;
+			}
+		}
+		throw new AssertionError("No statistics for '" + operation + "' on '" + table + "'.");
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link TestKBStatistics}.
+	 */
+	public static Test suite() {
+		return suite(TestKBStatistics.class);
+	}
+
+}
@@ -5,12 +5,10 @@
  */
 package test.com.top_logic.knowledge.service.db2;
 
-import java.util.Map;
-
 import junit.framework.Test;
 
+import test.com.top_logic.KBTestUtils;
 import test.com.top_logic.LocalTestSetup;
-import test.com.top_logic.basic.ReflectionUtils;
 import test.com.top_logic.knowledge.wrap.SimpleWrapperFactoryTestScenario.BObj;
 
 import com.top_logic.dob.DataObjectException;
@@ -64,8 +62,7 @@ public class TestKnowledgeItemState extends AbstractDBKnowledgeBaseTest {
 	}
 
 	private void flushCache() {
-		Map<?, ?> cache = (Map<?, ?>) ReflectionUtils.getValue(kb(), "cache");
-		cache.clear();
+		KBTestUtils.clearCache(kb());
 	}
 
 	class ScenarioWithState extends KnowledgeBaseTestScenarioImpl {
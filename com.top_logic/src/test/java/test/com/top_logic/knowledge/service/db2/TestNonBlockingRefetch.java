@@ -0,0 +1,136 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.knowledge.service.db2;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Test;
+
+import test.com.top_logic.LocalTestSetup;
+
+import com.top_logic.basic.thread.ThreadContextManager;
+import com.top_logic.dob.DataObjectException;
+import com.top_logic.knowledge.service.KnowledgeBase;
+import com.top_logic.knowledge.service.KnowledgeBaseConfiguration;
+import com.top_logic.knowledge.service.Transaction;
+import com.top_logic.knowledge.service.UpdateEvent;
+import com.top_logic.knowledge.service.UpdateListener;
+
+/**
+ * Test for {@link KnowledgeBaseConfiguration#isNonBlockingRefetch()}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestNonBlockingRefetch extends AbstractDBKnowledgeBaseClusterTest {
+
+	private static final long TIMEOUT_SECONDS = 10;
+
+	@Override
+	protected LocalTestSetup createSetup(Test self) {
+		return new DBKnowledgeBaseClusterTestSetup(self) {
+			@Override
+			protected Map<String, String> createKBConfig(String name, String connectionPool) {
+				Map<String, String> kbConfig = super.createKBConfig(name, connectionPool);
+				kbConfig.put(KnowledgeBaseConfiguration.NON_BLOCKING_REFETCH_PROPERTY, "true");
+				return kbConfig;
+			}
+		};
+	}
+
+	public void testConcurrentRefetchDoesNotWait() throws DataObjectException, InterruptedException {
+		Transaction tx = begin();
+		newB("b1");
+		commit(tx);
+
+		BlockingListener listener = new BlockingListener();
+		kbNode2().addUpdateListener(listener);
+		try {
+			Refetch running = new Refetch();
+			running.start();
+			assertTrue("Refetch on node 2 not started.", listener._entered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+			// The first refetch holds the refetch lock until the listener is released.
+			Refetch concurrent = new Refetch();
+			concurrent.start();
+			concurrent.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+			assertFalse("Concurrent refetch waits for the running refetch.", concurrent.isAlive());
+			concurrent.checkProblem();
+			assertEquals("Concurrent refetch must not refetch objects.", 0, concurrent._objCnt);
+			assertTrue("Running refetch completed before the concurrent one.", running.isAlive());
+
+			listener._release.countDown();
+			running.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+			assertFalse("Running refetch does not complete.", running.isAlive());
+			running.checkProblem();
+			assertTrue("Running refetch must refetch the created object.", running._objCnt > 0);
+		} finally {
+			listener._release.countDown();
+			kbNode2().removeUpdateListener(listener);
+		}
+	}
+
+	/**
+	 * {@link UpdateListener} that blocks the refetch delivering the first event.
+	 */
+	static class BlockingListener implements UpdateListener {
+
+		final CountDownLatch _entered = new CountDownLatch(1);
+
+		final CountDownLatch _release = new CountDownLatch(1);
+
+		@Override
+		public void notifyUpdate(KnowledgeBase sender, UpdateEvent event) {
+			if (_entered.getCount() == 0) {
+				return;
+			}
+			_entered.countDown();
+			try {
+				_release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+	/**
+	 * Thread performing a refetch on {@link #kbNode2()} in its own interaction.
+	 */
+	static class Refetch extends Thread {
+
+		int _objCnt = -1;
+
+		Throwable _problem;
+
+		@Override
+		public void run() {
+			try {
+				_objCnt = ThreadContextManager.inSystemInteraction(TestNonBlockingRefetch.class,
+					() -> kbNode2().refetch());
+			} catch (Throwable ex) {
+				_problem = ex;
+			}
+		}
+
+		void checkProblem() {
+			if (_problem != null) {
+				throw new AssertionError("Refetch failed.", _problem);
+			}
+		}
+
+	}
+
+	/**
+	 * a cumulative {@link Test} for all Tests in {@link TestNonBlockingRefetch}.
+	 */
+	public static Test suite() {
+		return suite(TestNonBlockingRefetch.class);
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.layout.table;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import com.top_logic.basic.col.ComparableComparator;
+import com.top_logic.basic.col.Mapping;
+import com.top_logic.layout.table.CachedRowComparator;
+
+/**
+ * Test case for {@link CachedRowComparator}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+public class TestCachedRowComparator extends TestCase {
+
+	private int _mappingCalls;
+
+	private final Mapping<Object, Object> _label = row -> {
+		_mappingCalls++;
+		return ((Object[]) row)[0];
+	};
+
+	private final Mapping<Object, Object> _number = row -> {
+		_mappingCalls++;
+		return ((Object[]) row)[1];
+	};
+
+	public void testSameOrderAsBaseOrder() {
+		List<Object[]> rows = rows();
+		CachedRowComparator order = new CachedRowComparator()
+			.addLevel(_label, ComparableComparator.INSTANCE, false)
+			.addLevel(_number, ComparableComparator.INSTANCE, true);
+
+		List<Object[]> expected = new ArrayList<>(rows);
+		Collections.sort(expected, order.getBaseOrder());
+
+		List<Object[]> sorted = new ArrayList<>(rows);
+		Collections.sort(sorted, order);
+		assertEquals(expected, sorted);
+		assertNull(sorted.get(0)[0]);
+	}
+
+	public void testInverseOrder() {
+		List<Object[]> rows = rows();
+		CachedRowComparator order = new CachedRowComparator().addLevel(_label, ComparableComparator.INSTANCE, true);
+
+		List<Object[]> sorted = new ArrayList<>(rows);
+		Collections.sort(sorted, order);
+
+		List<Object[]> expected = new ArrayList<>(rows);
+		Collections.sort(expected, order.getBaseOrder());
+		assertEquals(labels(expected), labels(sorted));
+		assertNull(sorted.get(sorted.size() - 1)[0]);
+	}
+
+	public void testComputesKeysOnce() {
+		List<Object[]> rows = new ArrayList<>();
+		for (int n = 0; n < 1000; n++) {
+			rows.add(new Object[] { "row " + (n * 7919 % 1000), Integer.valueOf(n % 3) });
+		}
+		CachedRowComparator order = new CachedRowComparator()
+			.addLevel(_number, ComparableComparator.INSTANCE, false)
+			.addLevel(_label, ComparableComparator.INSTANCE, false);
+
+		Collections.sort(rows, order);
+		assertTrue("Sort keys computed more than once per row and column: " + _mappingCalls,
+			_mappingCalls <= 2 * rows.size());
+
+		for (int n = 1; n < rows.size(); n++) {
+			assertTrue(order.getBaseOrder().compare(rows.get(n - 1), rows.get(n)) <= 0);
+		}
+	}
+
+	public void testInvalidate() {
+		Object[] row1 = { "a", null };
+		Object[] row2 = { "b", null };
+		CachedRowComparator order = new CachedRowComparator().addLevel(_label, ComparableComparator.INSTANCE, false);
+		assertTrue(order.compare(row1, row2) < 0);
+
+		row1[0] = "c";
+		assertTrue("Cached key is used.", order.compare(row1, row2) < 0);
+
+		order.invalidate(Collections.singletonList(row1));
+		assertTrue(order.compare(row1, row2) > 0);
+		assertEquals(3, _mappingCalls);
+	}
+
+	public void testClear() {
+		List<Object[]> rows = rows();
+		CachedRowComparator order = new CachedRowComparator().addLevel(_label, ComparableComparator.INSTANCE, false);
+		Collections.sort(rows, order);
+		assertEquals(rows.size(), order.getCachedRowCount());
+
+		order.invalidate(rows.subList(0, 2));
+		assertEquals(rows.size() - 2, order.getCachedRowCount());
+
+		order.clear();
+		assertEquals(0, order.getCachedRowCount());
+	}
+
+	private static List<Object[]> rows() {
+		return new ArrayList<>(Arrays.asList(
+			new Object[] { "c", Integer.valueOf(1) },
+			new Object[] { "B", Integer.valueOf(1) },
+			new Object[] { null, Integer.valueOf(2) },
+			new Object[] { "b", Integer.valueOf(3) },
+			new Object[] { Arrays.asList("a", "z"), Integer.valueOf(1) },
+			new Object[] { "ä", Integer.valueOf(1) }));
+	}
+
+	private static List<Object> labels(List<Object[]> rows) {
+		List<Object> result = new ArrayList<>();
+		for (Object[] row : rows) {
+			result.add(row[0]);
+		}
+		return result;
+	}
+
+	/**
+	 * Suite of tests.
+	 */
+	public static Test suite() {
+		return new TestSuite(TestCachedRowComparator.class);
+	}
+
+}
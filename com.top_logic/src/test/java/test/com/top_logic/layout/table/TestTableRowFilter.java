@@ -6,6 +6,7 @@
 package test.com.top_logic.layout.table;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import junit.framework.Test;
 import junit.framework.TestCase;
@@ -33,12 +34,14 @@ import com.top_logic.layout.table.model.EditableRowTableModel;
  */
 public class TestTableRowFilter extends AbstractLayoutTest {
 
+	private TableModelTestScenario scenario;
+
 	private TableViewModelTestScenario testScenario;
 
 	@Override
 	protected void setUp() throws Exception {
 		super.setUp();
-		TableModelTestScenario scenario = new TableModelTestScenario();
+		scenario = new TableModelTestScenario();
 		EditableRowTableModel applicationModel = scenario.createTableModel();
 		testScenario = new TableViewModelTestScenario(applicationModel);
 	}
@@ -116,6 +119,50 @@ public class TestTableRowFilter extends AbstractLayoutTest {
 		assertMatchCount(testScenario.getC1StaticFilter2(), 0);
 	}
 
+	public void testIncrementalMatchCount() throws Exception {
+		activateSubFilterOfFirstColumn(
+			(StaticFilterWrapperConfiguration) testScenario.getC0StaticFilter1().getFilterConfiguration());
+		assertMatchCount(testScenario.getC0StaticFilter1(), 3);
+		assertMatchCount(testScenario.getC0StaticFilter2(), 4);
+
+		Object[] changedRow = (Object[]) scenario.getRows().get(1);
+		changedRow[0] = TableModelTestScenario.C0_A;
+		TableViewModel viewModel = testScenario.getViewModel();
+		viewModel.revalidateRowObjects(Collections.singletonList(changedRow));
+		assertEquals(4, viewModel.getRowCount());
+		assertMatchCount(testScenario.getC0StaticFilter1(), 4);
+		assertMatchCount(testScenario.getC0StaticFilter2(), 3);
+
+		testScenario.getApplicationModel().removeRowObject(changedRow);
+		assertEquals(3, viewModel.getRowCount());
+		assertMatchCount(testScenario.getC0StaticFilter1(), 3);
+		assertMatchCount(testScenario.getC0StaticFilter2(), 3);
+
+		// Full revalidation produces the same counts.
+		fireFilterUpdateForColumn(TableModelTestScenario.C0);
+		assertMatchCount(testScenario.getC0StaticFilter1(), 3);
+		assertMatchCount(testScenario.getC0StaticFilter2(), 3);
+	}
+
+	public void testUncountChangedRow() throws Exception {
+		activateSubFilterOfFirstColumn(
+			(StaticFilterWrapperConfiguration) testScenario.getC0StaticFilter1().getFilterConfiguration());
+		assertMatchCount(testScenario.getC0StaticFilter1(), 3);
+		assertMatchCount(testScenario.getC0StaticFilter2(), 4);
+
+		// The row changes without revalidation, removal must uncount the outcome counted before.
+		Object[] changedRow = (Object[]) scenario.getRows().get(1);
+		changedRow[0] = TableModelTestScenario.C0_A;
+		testScenario.getApplicationModel().removeRowObject(changedRow);
+		assertMatchCount(testScenario.getC0StaticFilter1(), 3);
+		assertMatchCount(testScenario.getC0StaticFilter2(), 3);
+
+		// Full revalidation produces the same counts.
+		fireFilterUpdateForColumn(TableModelTestScenario.C0);
+		assertMatchCount(testScenario.getC0StaticFilter1(), 3);
+		assertMatchCount(testScenario.getC0StaticFilter2(), 3);
+	}
+
 	private void makeFirstColumnFilterVisible() {
 		testScenario.getC0StaticFilter1().getFilterConfiguration()
 			.addValueListener(new FilterViewControl(null, new FormContext("dummyForm", ResPrefix.GLOBAL)) {
@@ -555,6 +555,34 @@ public class TestTableViewModel extends AbstractLayoutTest {
 												C2_G + cellValueSuffix });
 	}
 
+	public void testRevalidateChangedRows() {
+		sort(sortConfig(C2, true));
+		activateFirstFilterOfFirstColumn();
+		assertColumnValues(2, new Object[] { C2_A, C2_B, C2_C });
+
+		// Row is now accepted by the filter and sorted to the top.
+		Object[] changedRow = (Object[]) scenario.getRows().get(1);
+		changedRow[0] = C0_A;
+		changedRow[2] = "C2_0";
+		model.revalidateRowObjects(Collections.singletonList(changedRow));
+		assertEquals(4, model.getRowCount());
+		assertColumnValues(2, new Object[] { "C2_0", C2_A, C2_B, C2_C });
+
+		// Row moves to the end.
+		changedRow[2] = "C2_X";
+		model.revalidateRowObjects(Collections.singletonList(changedRow));
+		assertColumnValues(2, new Object[] { C2_A, C2_B, C2_C, "C2_X" });
+
+		// Row is no longer accepted by the filter.
+		Object[] hiddenRow = (Object[]) scenario.getRows().get(0);
+		hiddenRow[0] = C0_B;
+		model.revalidateRowObjects(Collections.singletonList(hiddenRow));
+		assertEquals(3, model.getRowCount());
+		assertColumnValues(2, new Object[] { C2_B, C2_C, "C2_X" });
+		assertEquals(-1, model.getRowOfObject(hiddenRow));
+		assertEquals(2, model.getRowOfObject(changedRow));
+	}
+
 	public void testSetEmptySortOrder() {
 		sort(sortConfig(C2, false));
 		sort(sortConfig(null, false));
@@ -0,0 +1,136 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.layout.table.export;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+
+import test.com.top_logic.basic.module.ServiceTestSetup;
+
+import com.top_logic.basic.thread.ThreadContextManager;
+import com.top_logic.layout.table.export.ParallelBlockProcessor;
+
+/**
+ * Test case for {@link ParallelBlockProcessor}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestParallelBlockProcessor extends TestCase {
+
+	public void testSequential() throws IOException {
+		RecordingHandler handler = new RecordingHandler(-1);
+		new ParallelBlockProcessor(1, 10).process(95, handler);
+
+		assertEquals(range(95), handler._written);
+		assertEquals(Collections.singleton(Thread.currentThread()), handler._computingThreads);
+		assertEquals(10, handler._prepared);
+		assertEquals(10, handler._released);
+	}
+
+	public void testParallelKeepsBlockOrder() throws IOException {
+		RecordingHandler handler = new RecordingHandler(-1);
+		new ParallelBlockProcessor(4, 7).process(1000, handler);
+
+		assertEquals(range(1000), handler._written);
+		assertFalse("Blocks must be computed by workers.",
+			handler._computingThreads.contains(Thread.currentThread()));
+		assertEquals(143, handler._prepared);
+		assertEquals(handler._prepared, handler._released);
+	}
+
+	public void testDefaultParallelism() throws IOException {
+		ParallelBlockProcessor processor = new ParallelBlockProcessor(0, 3);
+		assertEquals(Runtime.getRuntime().availableProcessors(), processor.getParallelism());
+
+		RecordingHandler handler = new RecordingHandler(-1);
+		processor.process(100, handler);
+		assertEquals(range(100), handler._written);
+		assertEquals(handler._prepared, handler._released);
+	}
+
+	public void testWorkerFailure() throws IOException {
+		RecordingHandler handler = new RecordingHandler(50);
+		try {
+			new ParallelBlockProcessor(4, 10).process(1000, handler);
+			fail("Failure of worker must be reported.");
+		} catch (IllegalStateException ex) {
+			assertEquals("Failure in block 50", ex.getMessage());
+		}
+		assertEquals("Blocks before the failed block must be written.", range(50), handler._written);
+		assertEquals("Each prepared block must be released.", handler._prepared, handler._released);
+	}
+
+	private static List<Integer> range(int size) {
+		List<Integer> result = new ArrayList<>(size);
+		for (int n = 0; n < size; n++) {
+			result.add(n);
+		}
+		return result;
+	}
+
+	/**
+	 * Handler computing the row numbers of a block and recording what has been written.
+	 */
+	static class RecordingHandler implements ParallelBlockProcessor.Handler<int[], List<Integer>> {
+
+		private final int _failingBlock;
+
+		final List<Integer> _written = new ArrayList<>();
+
+		final Set<Thread> _computingThreads = Collections.synchronizedSet(new HashSet<>());
+
+		int _prepared;
+
+		int _released;
+
+		RecordingHandler(int failingBlock) {
+			_failingBlock = failingBlock;
+		}
+
+		@Override
+		public int[] prepare(int start, int stop) {
+			_prepared++;
+			return new int[] { start, stop };
+		}
+
+		@Override
+		public List<Integer> compute(int[] block) {
+			_computingThreads.add(Thread.currentThread());
+			if (block[0] == _failingBlock) {
+				throw new IllegalStateException("Failure in block " + _failingBlock);
+			}
+			List<Integer> result = new ArrayList<>();
+			for (int n = block[0]; n < block[1]; n++) {
+				result.add(n);
+			}
+			return result;
+		}
+
+		@Override
+		public void write(int[] block, List<Integer> result) {
+			_written.addAll(result);
+		}
+
+		@Override
+		public void release(int[] block) {
+			_released++;
+		}
+
+	}
+
+	public static Test suite() {
+		return ServiceTestSetup.createSetup(TestParallelBlockProcessor.class, ThreadContextManager.Module.INSTANCE);
+	}
+
+}
@@ -5,6 +5,10 @@
  */
 package test.com.top_logic.layout.table.filter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import junit.framework.Test;
 
 import test.com.top_logic.basic.module.ServiceTestSetup;
@@ -12,6 +16,7 @@ import test.com.top_logic.layout.AbstractLayoutTest;
 import test.com.top_logic.layout.table.TableModelTestScenario;
 import test.com.top_logic.layout.table.TestTableViewModel.TestingTableViewModel;
 
+import com.top_logic.layout.LabelProvider;
 import com.top_logic.layout.provider.DefaultLabelProvider;
 import com.top_logic.layout.provider.LabelProviderService;
 import com.top_logic.layout.table.TableViewModel;
@@ -80,6 +85,93 @@ public class TestGlobalTextFilter extends AbstractLayoutTest {
 			filterAccepts(null));
 	}
 
+	public void testIndexedFilterMatchesUnindexedFilter() {
+		GlobalTextFilter indexedFilter = new GlobalTextFilter(viewModel, false, true);
+		TextFilterConfiguration indexedConfiguration =
+			(TextFilterConfiguration) indexedFilter.getFilterConfiguration();
+
+		for (String pattern : new String[] { "c", "c0", "c0_", "C0_B", "0_a", "_A", "xyz", "0_a" }) {
+			for (boolean caseSensitive : new boolean[] { false, true }) {
+				filterConfiguration.setTextPattern(pattern);
+				filterConfiguration.setCaseSensitive(caseSensitive);
+				indexedConfiguration.setTextPattern(pattern);
+				indexedConfiguration.setCaseSensitive(caseSensitive);
+
+				assertEquals("Search for '" + pattern + "', case sensitive: " + caseSensitive,
+					acceptedRows(globalTextFilter), acceptedRows(indexedFilter));
+			}
+		}
+	}
+
+	public void testIndexedFilterWithChangedRows() {
+		GlobalTextFilter indexedFilter = new GlobalTextFilter(viewModel, false, true);
+		TextFilterConfiguration indexedConfiguration =
+			(TextFilterConfiguration) indexedFilter.getFilterConfiguration();
+		indexedConfiguration.setTextPattern("c0_");
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6), acceptedRows(indexedFilter));
+
+		indexedConfiguration.setTextPattern("0_a");
+		assertEquals(Arrays.asList(0, 2, 4), acceptedRows(indexedFilter));
+
+		// Incremental revalidation of a changed row updates the index.
+		Object[] changedRow = (Object[]) scenario.getRows().get(1);
+		changedRow[0] = TableModelTestScenario.C0_A;
+		indexedFilter.startIncrementalRevalidation(false);
+		assertTrue(indexedFilter.accept(changedRow));
+		indexedFilter.stopFilterRevalidation();
+
+		indexedConfiguration.setTextPattern("c0_a");
+		assertEquals(Arrays.asList(0, 1, 2, 4), acceptedRows(indexedFilter));
+
+		// A revalidation that is not caused by the search text rebuilds the index.
+		Object[] otherRow = (Object[]) scenario.getRows().get(3);
+		otherRow[0] = TableModelTestScenario.C0_A;
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4), acceptedRows(indexedFilter));
+	}
+
+	public void testIncrementallyIndexedRowKeptOnUpdateEvent() {
+		CountingLabelProvider labels = new CountingLabelProvider();
+		applicationModel.getTableConfiguration().getDeclaredColumn(TableModelTestScenario.C0)
+			.setFullTextProvider(labels);
+		GlobalTextFilter indexedFilter = new GlobalTextFilter(viewModel, false, true);
+		TextFilterConfiguration indexedConfiguration =
+			(TextFilterConfiguration) indexedFilter.getFilterConfiguration();
+		indexedConfiguration.setTextPattern("c0_");
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6), acceptedRows(indexedFilter));
+
+		// The application model reports the revalidated row after the revalidation is completed.
+		Object[] changedRow = (Object[]) scenario.getRows().get(1);
+		changedRow[0] = TableModelTestScenario.C0_A;
+		indexedFilter.startIncrementalRevalidation(false);
+		assertTrue(indexedFilter.accept(changedRow));
+		indexedFilter.stopFilterRevalidation();
+		applicationModel.updateRows(1, 1);
+
+		labels._count = 0;
+		indexedConfiguration.setTextPattern("c0_a");
+		assertEquals(Arrays.asList(0, 1, 2, 4), acceptedRows(indexedFilter));
+		assertEquals("Labels of the revalidated row must be taken from the index.", 0, labels._count);
+
+		// A later update of the row drops its labels from the index.
+		applicationModel.updateRows(1, 1);
+		indexedConfiguration.setTextPattern("0_a");
+		assertEquals(Arrays.asList(0, 1, 2, 4), acceptedRows(indexedFilter));
+		assertEquals(1, labels._count);
+	}
+
+	private List<Integer> acceptedRows(GlobalTextFilter filter) {
+		List<Integer> result = new ArrayList<>();
+		List<?> rows = scenario.getRows();
+		filter.startFilterRevalidation(false);
+		for (int n = 0, cnt = rows.size(); n < cnt; n++) {
+			if (filter.accept(rows.get(n))) {
+				result.add(n);
+			}
+		}
+		filter.stopFilterRevalidation();
+		return result;
+	}
+
 	private boolean filterAccepts(Object rowObject) {
 		globalTextFilter.startFilterRevalidation(false);
 		boolean acceptWithSetup = globalTextFilter.accept(rowObject);
@@ -88,6 +180,22 @@ public class TestGlobalTextFilter extends AbstractLayoutTest {
 		return acceptWithSetup && acceptWithoutSetup;
 	}
 
+	private static class CountingLabelProvider implements LabelProvider {
+
+		int _count;
+
+		CountingLabelProvider() {
+			// Instantiable by the test only.
+		}
+
+		@Override
+		public String getLabel(Object object) {
+			_count++;
+			return DefaultLabelProvider.INSTANCE.getLabel(object);
+		}
+
+	}
+
 	public static Test suite() {
 		return suite(ServiceTestSetup.createSetup(TestGlobalTextFilter.class, LabelProviderService.Module.INSTANCE));
 	}
@@ -29,6 +29,7 @@ import com.top_logic.basic.col.filter.MappingBasedFilter;
 import com.top_logic.layout.Accessor;
 import com.top_logic.layout.AccessorMapping;
 import com.top_logic.layout.SimpleAccessor;
+import com.top_logic.layout.table.CachedRowComparator;
 import com.top_logic.layout.table.TableModel;
 import com.top_logic.layout.table.model.EditableRowTableModel;
 import com.top_logic.layout.table.model.ObjectTableModel;
@@ -232,6 +233,27 @@ public abstract class TestObjectTableModel extends BasicTestCase {
 
 	}
 
+	public void testRemoveDropsSortKeys() {
+		ObjectTableModel tableModel = createTableModelSimple(list(3, 1, 0, 2, 5, 4));
+		CachedRowComparator order =
+			new CachedRowComparator().addLevel(row -> row, ComparableComparator.INSTANCE, false);
+		tableModel.setOrder(order);
+		assertEquals(list(0, 1, 2, 3, 4, 5), tableModel.getDisplayedRows());
+		assertEquals(6, order.getCachedRowCount());
+
+		tableModel.removeRowObject(1);
+		assertEquals(5, order.getCachedRowCount());
+
+		tableModel.removeRow(0);
+		assertEquals(4, order.getCachedRowCount());
+
+		tableModel.removeRows(1, 3);
+		assertEquals(2, order.getCachedRowCount());
+
+		tableModel.clear();
+		assertEquals(0, order.getCachedRowCount());
+	}
+
 	public void testRemoveAllRowObjectsSequential() {
 		List<Integer> tableRows = list(0, 1, 2, 3);
 		ObjectTableModel tableModel = createTableModelSimple(tableRows);
@@ -0,0 +1,274 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ *
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package test.com.top_logic.layout.table.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.Test;
+
+import test.com.top_logic.basic.BasicTestCase;
+import test.com.top_logic.basic.module.ServiceTestSetup;
+import test.com.top_logic.knowledge.KBSetup;
+import test.com.top_logic.knowledge.service.KBTestMeta;
+import test.com.top_logic.layout.table.WrappingTableRowFilter;
+
+import com.top_logic.basic.col.ComparableComparator;
+import com.top_logic.basic.col.Equality;
+import com.top_logic.basic.col.Filter;
+import com.top_logic.basic.col.MappedComparator;
+import com.top_logic.basic.col.Mapping;
+import com.top_logic.basic.col.filter.FilterFactory;
+import com.top_logic.dob.DataObjectException;
+import com.top_logic.knowledge.objects.KnowledgeObject;
+import com.top_logic.knowledge.service.I18NConstants;
+import com.top_logic.knowledge.service.KnowledgeBase;
+import com.top_logic.knowledge.service.Transaction;
+import com.top_logic.knowledge.wrap.WrapperFactory;
+import com.top_logic.layout.SimpleAccessor;
+import com.top_logic.layout.table.model.TLObjectRowResolver;
+import com.top_logic.layout.table.model.TableConfiguration;
+import com.top_logic.layout.table.model.TableConfigurationFactory;
+import com.top_logic.layout.table.model.TableModelEvent;
+import com.top_logic.layout.table.model.VirtualizedObjectTableModel;
+
+/**
+ * Test case for {@link VirtualizedObjectTableModel}.
+ *
+ * @author <a href="mailto:bhu@top-logic.com">Bernhard Haumacher</a>
+ */
+@SuppressWarnings("javadoc")
+public class TestVirtualizedObjectTableModel extends BasicTestCase {
+
+	private static final int WINDOW_SIZE = 10;
+
+	private CountingResolver _resolver;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		_resolver = new CountingResolver();
+	}
+
+	public void testWindowedAccess() {
+		VirtualizedObjectTableModel tableModel = createTableModel(range(1000));
+		_resolver.reset();
+
+		assertEquals(505, tableModel.getRowObject(505));
+		assertEquals(WINDOW_SIZE, _resolver.getResolved());
+
+		// Same window, no further materialization.
+		assertEquals(509, tableModel.getRowObject(509));
+		assertEquals(WINDOW_SIZE, _resolver.getResolved());
+
+		assertEquals(999, tableModel.getRowObject(999));
+		assertEquals(2 * WINDOW_SIZE, _resolver.getResolved());
+	}
+
+	public void testFilter() {
+		VirtualizedObjectTableModel tableModel = createTableModel(range(100));
+
+		setFilter(tableModel, value -> ((Integer) value).intValue() % 25 == 0);
+		assertEquals(list(0, 25, 50, 75), tableModel.getDisplayedRows());
+		assertEquals(100, tableModel.getAllRows().size());
+		assertFalse(tableModel.isDisplayed(1));
+		assertTrue(tableModel.containsRowObject(1));
+
+		setFilter(tableModel, FilterFactory.trueFilter());
+		assertEquals(range(100), tableModel.getDisplayedRows());
+	}
+
+	public void testSort() {
+		VirtualizedObjectTableModel tableModel = createTableModel(range(30));
+
+		tableModel.setOrder(ComparableComparator.INSTANCE_DESCENDING);
+		assertEquals(29, tableModel.getRowObject(0));
+		assertEquals(0, tableModel.getRowOfObject(29));
+
+		// Sort by last digit, stable with respect to the previous order.
+		Mapping<Object, Object> lastDigit = value -> ((Integer) value).intValue() % 10;
+		tableModel.setOrder(new MappedComparator<>(lastDigit, ComparableComparator.INSTANCE));
+		assertEquals(list(20, 10, 0, 21, 11, 1), tableModel.getDisplayedRows().subList(0, 6));
+		assertEquals(3, tableModel.getRowOfObject(21));
+	}
+
+	public void testAddRemove() {
+		VirtualizedObjectTableModel tableModel = createTableModel(list(0, 1, 3, 4));
+		tableModel.setOrder(ComparableComparator.INSTANCE);
+
+		tableModel.addRowObject(2);
+		assertEquals(list(0, 1, 2, 3, 4), tableModel.getDisplayedRows());
+
+		tableModel.removeRowObject(0);
+		assertEquals(list(1, 2, 3, 4), tableModel.getDisplayedRows());
+		assertFalse(tableModel.containsRowObject(0));
+
+		tableModel.addAllRowObjects(list(7, 5, 2));
+		assertEquals(list(1, 2, 3, 4, 5, 7), tableModel.getDisplayedRows());
+
+		tableModel.removeRows(1, 3);
+		assertEquals(list(1, 4, 5, 7), tableModel.getDisplayedRows());
+		assertEquals(3, tableModel.getRowOfObject(7));
+	}
+
+	public void testDeletedRows() {
+		VirtualizedObjectTableModel tableModel = createTableModel(range(30));
+		List<TableModelEvent> events = new ArrayList<>();
+		tableModel.addTableModelListener(events::add);
+
+		_resolver.delete(3);
+		_resolver.delete(25);
+		assertEquals(4, tableModel.getRowObject(3));
+		assertEquals(29, tableModel.getRowCount());
+		assertFalse(tableModel.containsRowObject(3));
+		assertDeleteEvents(events, 3);
+
+		events.clear();
+		assertEquals(27, tableModel.getRowObject(25));
+		assertEquals(28, tableModel.getRowCount());
+		assertFalse(tableModel.containsRowObject(25));
+		assertEquals(24, tableModel.getRowOfObject(26));
+		assertDeleteEvents(events, 24);
+
+		events.clear();
+		_resolver.delete(0);
+		setFilter(tableModel, value -> ((Integer) value).intValue() % 2 == 0);
+		assertEquals(list(2, 4, 6), tableModel.getDisplayedRows().subList(0, 3));
+		assertFalse(tableModel.containsRowObject(0));
+
+		_resolver.delete(4);
+		tableModel.setOrder(ComparableComparator.INSTANCE_DESCENDING);
+		assertEquals(list(28, 26, 24), tableModel.getDisplayedRows().subList(0, 3));
+		assertEquals(2, tableModel.getRowObject(tableModel.getRowCount() - 1));
+		assertFalse(tableModel.containsRowObject(4));
+
+		_resolver.delete(7);
+		for (Object row : tableModel.getAllRows()) {
+			assertNotNull(row);
+			assertFalse(Integer.valueOf(7).equals(row));
+		}
+	}
+
+	public void testDeletedObjects() throws DataObjectException {
+		KnowledgeBase kb = KBSetup.getKnowledgeBase();
+		List<KnowledgeObject> items = new ArrayList<>();
+		List<Object> rows = new ArrayList<>();
+		Transaction createTx = kb.beginTransaction(I18NConstants.NO_COMMIT_MESSAGE);
+		for (int n = 0; n < 3; n++) {
+			KnowledgeObject item = kb.createKnowledgeObject(KBTestMeta.TEST_C);
+			item.setAttributeValue(KBTestMeta.TEST_C_NAME, "c" + n);
+			items.add(item);
+			rows.add(WrapperFactory.getWrapper(item));
+		}
+		createTx.commit();
+
+		TableConfiguration tableConfig = TableConfiguration.table();
+		tableConfig.getDefaultColumn().setAccessor(SimpleAccessor.INSTANCE);
+		VirtualizedObjectTableModel tableModel = new VirtualizedObjectTableModel(Arrays.asList("a"), tableConfig,
+			rows, TLObjectRowResolver.INSTANCE, WINDOW_SIZE);
+		List<TableModelEvent> events = new ArrayList<>();
+		tableModel.addTableModelListener(events::add);
+
+		Transaction deleteTx = kb.beginTransaction(I18NConstants.NO_COMMIT_MESSAGE);
+		items.get(1).delete();
+		deleteTx.commit();
+
+		assertEquals(rows.get(0), tableModel.getRowObject(0));
+		assertEquals(rows.get(2), tableModel.getRowObject(1));
+		assertEquals(2, tableModel.getRowCount());
+		assertFalse(tableModel.containsRowObject(rows.get(1)));
+		assertDeleteEvents(events, 1);
+	}
+
+	private static void assertDeleteEvents(List<TableModelEvent> events, int... rows) {
+		assertEquals(rows.length, events.size());
+		for (int n = 0; n < rows.length; n++) {
+			TableModelEvent event = events.get(n);
+			assertEquals(TableModelEvent.DELETE, event.getType());
+			assertEquals(rows[n], event.getFirstRow());
+			assertEquals(rows[n], event.getLastRow());
+		}
+	}
+
+	public void testInvalidRow() {
+		try {
+			createTableModel(Arrays.asList("no key"));
+			fail("Rows without key must be rejected.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+	}
+
+	private VirtualizedObjectTableModel createTableModel(List<?> rows) {
+		TableConfiguration tableConfig = TableConfiguration.table();
+		tableConfig.getDefaultColumn().setAccessor(SimpleAccessor.INSTANCE);
+		return new VirtualizedObjectTableModel(Arrays.asList("a"), tableConfig, rows, _resolver, WINDOW_SIZE);
+	}
+
+	private static void setFilter(VirtualizedObjectTableModel tableModel, Filter<?> filter) {
+		tableModel.setFilter(new WrappingTableRowFilter(filter), Equality.INSTANCE);
+	}
+
+	private static List<Integer> range(int size) {
+		List<Integer> result = new ArrayList<>(size);
+		for (int n = 0; n < size; n++) {
+			result.add(n);
+		}
+		return result;
+	}
+
+	/**
+	 * Resolver using {@link Integer} rows as their own keys and counting resolved rows.
+	 */
+	static class CountingResolver implements VirtualizedObjectTableModel.RowResolver {
+
+		private int _resolved;
+
+		private final Set<Object> _deleted = new HashSet<>();
+
+		@Override
+		public Object getKey(Object rowObject) {
+			return rowObject instanceof Integer ? rowObject : null;
+		}
+
+		@Override
+		public List<?> resolve(List<?> keys) {
+			_resolved += keys.size();
+			List<Object> result = new ArrayList<>(keys.size());
+			for (Object key : keys) {
+				result.add(_deleted.contains(key) ? null : key);
+			}
+			return result;
+		}
+
+		/**
+		 * Simulates the deletion of the given row, which is resolved to <code>null</code>
+		 * afterwards.
+		 */
+		public void delete(Object key) {
+			_deleted.add(key);
+		}
+
+		public int getResolved() {
+			return _resolved;
+		}
+
+		public void reset() {
+			_resolved = 0;
+		}
+
+	}
+
+	public static Test suite() {
+		return KBSetup.getSingleKBTest(
+			ServiceTestSetup.createSetup(TestVirtualizedObjectTableModel.class,
+				TableConfigurationFactory.Module.INSTANCE));
+	}
+
+}